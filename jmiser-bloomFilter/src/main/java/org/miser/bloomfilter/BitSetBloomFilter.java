@@ -65,10 +65,8 @@ public class BitSetBloomFilter implements BloomFilter{
 			return false;
 		}
 
-		int[] positions = createHashes(str, hashFunctionNumber);
-		for (int value : positions) {
-			int position = Math.abs(value % bitSetSize);
-			bitSet.set(position, true);
+		for (int i = 0; i < hashFunctionNumber; i++) {
+			bitSet.set(Math.abs(hash(str, i) % bitSetSize), true);
 		}
 		return true;
 	}
@@ -80,10 +78,9 @@ public class BitSetBloomFilter implements BloomFilter{
 	 */
 	@Override
 	public boolean contains(String str) {
-		int[] positions = createHashes(str, hashFunctionNumber);
-		for (int i : positions) {
-			int position = Math.abs(i % bitSetSize);
-			if (!bitSet.get(position)) {
+		// 逐个计算Hash，避免每次分配数组
+		for (int i = 0; i < hashFunctionNumber; i++) {
+			if (!bitSet.get(Math.abs(hash(str, i) % bitSetSize))) {
 				return false;
 			}
 		}
@@ -1,5 +1,8 @@
 package org.miser.bloomfilter;
 
+import org.miser.bloomfilter.bitMap.BitMap;
+import org.miser.core.lang.Assert;
+
 /**
  * 布隆过滤器工具
  *
@@ -8,6 +11,11 @@ package org.miser.bloomfilter;
  */
 public class BloomFilterUtil {
 
+	/**
+	 * 最小位数
+	 */
+	private static final long MIN_BITS = BitMap.MACHINE64;
+
 	/**
 	 * 创建一个BitSet实现的布隆过滤器，过滤器的容量为c * n 个bit.
 	 *
@@ -29,4 +37,96 @@ public class BloomFilterUtil {
 	public static BitMapBloomFilter createBitMap(int m) {
 		return new BitMapBloomFilter(m);
 	}
+
+	/**
+	 * 创建根据预计元素数和期望误判率自动确定大小的布隆过滤器，使用双重Hash方法生成位置
+	 *
+	 * @param expectedInsertions 预计加入的元素数
+	 * @param fpp                期望误判率，(0, 1)
+	 * @return DoubleHashBloomFilter
+	 */
+	public static DoubleHashBloomFilter createDoubleHash(long expectedInsertions, double fpp) {
+		return new DoubleHashBloomFilter(expectedInsertions, fpp);
+	}
+
+	/**
+	 * 创建线程安全的无锁布隆过滤器，使用双重Hash方法生成位置
+	 *
+	 * @param expectedInsertions 预计加入的元素数
+	 * @param fpp                期望误判率，(0, 1)
+	 * @return ConcurrentBloomFilter
+	 */
+	public static ConcurrentBloomFilter createConcurrent(long expectedInsertions, double fpp) {
+		return new ConcurrentBloomFilter(expectedInsertions, fpp);
+	}
+
+	/**
+	 * 创建支持移除的计数布隆过滤器
+	 *
+	 * @param expectedInsertions 预计加入的元素数
+	 * @param fpp                期望误判率，(0, 1)
+	 * @return CountingBloomFilter
+	 */
+	public static CountingBloomFilter createCounting(long expectedInsertions, double fpp) {
+		return new CountingBloomFilter(expectedInsertions, fpp);
+	}
+
+	/**
+	 * 创建无需预先确定容量的可扩展布隆过滤器
+	 *
+	 * @param initialCapacity 初始容量
+	 * @param fpp             总误判率上限，(0, 1)
+	 * @return ScalableBloomFilter
+	 */
+	public static ScalableBloomFilter createScalable(long initialCapacity, double fpp) {
+		return new ScalableBloomFilter(initialCapacity, fpp);
+	}
+
+	/**
+	 * 计算最优位数：m = -n * ln(p) / (ln2)^2
+	 *
+	 * @param expectedInsertions 预计加入的元素数
+	 * @param fpp                期望误判率，(0, 1)
+	 * @return 位数
+	 */
+	public static long optimalNumOfBits(long expectedInsertions, double fpp) {
+		Assert.isTrue(expectedInsertions > 0, "Expected insertions must be positive: {}", expectedInsertions);
+		Assert.isTrue(fpp > 0 && fpp < 1, "False positive probability must be in (0, 1): {}", fpp);
+		return Math.max(MIN_BITS, (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+	}
+
+	/**
+	 * 计算最优Hash函数个数：k = m / n * ln2
+	 *
+	 * @param expectedInsertions 预计加入的元素数
+	 * @param numBits            位数
+	 * @return Hash函数个数
+	 */
+	public static int optimalNumOfHashFunctions(long expectedInsertions, long numBits) {
+		return Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+	}
+
+	/**
+	 * 计算存放指定位数需要的字（int或long）个数
+	 *
+	 * @param numBits    位数
+	 * @param machineNum 每个字的位数，{@link BitMap#MACHINE32}或{@link BitMap#MACHINE64}
+	 * @return 字个数
+	 */
+	public static int numOfWords(long numBits, int machineNum) {
+		final long words = (numBits + machineNum - 1) / machineNum;
+		Assert.isTrue(words <= Integer.MAX_VALUE, "Too many bits: {}", numBits);
+		return (int) words;
+	}
+
+	/**
+	 * 将位数向上取整为字长的倍数
+	 *
+	 * @param numBits    位数
+	 * @param machineNum 每个字的位数，{@link BitMap#MACHINE32}或{@link BitMap#MACHINE64}
+	 * @return 取整后的位数
+	 */
+	public static long roundBits(long numBits, int machineNum) {
+		return (long) numOfWords(numBits, machineNum) * machineNum;
+	}
 }
@@ -0,0 +1,48 @@
+package org.miser.bloomfilter;
+
+import org.miser.bloomfilter.bitMap.BitMap;
+import org.miser.bloomfilter.bitMap.ConcurrentLongMap;
+
+/**
+ * 线程安全的无锁BloomFilter，位存储于{@link ConcurrentLongMap}，以CAS方式设置<br>
+ * 多线程并发add时不会丢失位，因此不存在漏判；contains不加锁，可与add并发执行。<br>
+ * 并发加入同一元素时{@link #add(String)}可能对多个线程都返回true，计数为近似值。
+ *
+ * @author Oliver
+ */
+public class ConcurrentBloomFilter extends DoubleHashBloomFilter {
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * 构造，使用{@link HashStrategies#MURMUR128_MITZ_64}
+	 *
+	 * @param expectedInsertions 预计加入的元素数
+	 * @param fpp                期望误判率，(0, 1)
+	 */
+	public ConcurrentBloomFilter(long expectedInsertions, double fpp) {
+		this(expectedInsertions, fpp, HashStrategies.MURMUR128_MITZ_64);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param expectedInsertions 预计加入的元素数
+	 * @param fpp                期望误判率，(0, 1)
+	 * @param strategy           Hash策略
+	 */
+	public ConcurrentBloomFilter(long expectedInsertions, double fpp, HashStrategy strategy) {
+		this(BloomFilterUtil.optimalNumOfBits(expectedInsertions, fpp), expectedInsertions, strategy);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param bitSize            位数，会向上取整为64的倍数
+	 * @param expectedInsertions 预计加入的元素数
+	 * @param strategy           Hash策略
+	 */
+	private ConcurrentBloomFilter(long bitSize, long expectedInsertions, HashStrategy strategy) {
+		super(new ConcurrentLongMap(BloomFilterUtil.numOfWords(bitSize, BitMap.MACHINE64)), BloomFilterUtil.roundBits(bitSize, BitMap.MACHINE64),
+				BloomFilterUtil.optimalNumOfHashFunctions(expectedInsertions, bitSize), strategy);
+	}
+}
@@ -0,0 +1,63 @@
+package org.miser.bloomfilter;
+
+import org.miser.bloomfilter.bitMap.CountingLongMap;
+
+/**
+ * 支持移除的计数BloomFilter，每个位置使用4位计数器，存储于{@link CountingLongMap}<br>
+ * 内存占用为同等参数的{@link DoubleHashBloomFilter}的4倍。<br>
+ * 只应移除确实加入过的元素，移除未加入的元素（误判）会导致其它元素漏判。非线程安全。
+ *
+ * @author Oliver
+ */
+public class CountingBloomFilter extends DoubleHashBloomFilter {
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * 构造，使用{@link HashStrategies#MURMUR128_MITZ_64}
+	 *
+	 * @param expectedInsertions 预计加入的元素数
+	 * @param fpp                期望误判率，(0, 1)
+	 */
+	public CountingBloomFilter(long expectedInsertions, double fpp) {
+		this(expectedInsertions, fpp, HashStrategies.MURMUR128_MITZ_64);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param expectedInsertions 预计加入的元素数
+	 * @param fpp                期望误判率，(0, 1)
+	 * @param strategy           Hash策略
+	 */
+	public CountingBloomFilter(long expectedInsertions, double fpp, HashStrategy strategy) {
+		this(BloomFilterUtil.optimalNumOfBits(expectedInsertions, fpp), expectedInsertions, strategy);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param counterSize        计数器个数，会向上取整为16的倍数
+	 * @param expectedInsertions 预计加入的元素数
+	 * @param strategy           Hash策略
+	 */
+	private CountingBloomFilter(long counterSize, long expectedInsertions, HashStrategy strategy) {
+		super(new CountingLongMap(BloomFilterUtil.numOfWords(counterSize, CountingLongMap.COUNTERS_PER_WORD)),
+				BloomFilterUtil.roundBits(counterSize, CountingLongMap.COUNTERS_PER_WORD),
+				BloomFilterUtil.optimalNumOfHashFunctions(expectedInsertions, counterSize), strategy);
+	}
+
+	/**
+	 * 移除元素，元素不存在时不做任何操作
+	 *
+	 * @param str 字符串
+	 * @return 是否移除，false表示元素一定不存在
+	 */
+	public boolean remove(String str) {
+		if (false == contains(str)) {
+			return false;
+		}
+		getStrategy().remove(str, getNumHashFunctions(), getBitMap(), getBitSize());
+		decrementCount();
+		return true;
+	}
+}
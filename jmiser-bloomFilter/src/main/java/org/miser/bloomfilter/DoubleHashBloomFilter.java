@@ -0,0 +1,157 @@
+package org.miser.bloomfilter;
+
+import org.miser.bloomfilter.bitMap.BitMap;
+import org.miser.bloomfilter.bitMap.LongMap;
+import org.miser.core.lang.Assert;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * BloomFilter实现方式3，根据预计元素数和期望误判率计算BitMap大小及Hash函数个数。<br>
+ * 所有位置由一次128位Hash按双重Hash方法（Kirsch–Mitzenmacher）生成，存储在单个BitMap中（默认为一个long[]），
+ * 每次add/contains只遍历一次字符串，且不产生对象分配。
+ *
+ * @author Oliver
+ */
+public class DoubleHashBloomFilter implements BloomFilter {
+	private static final long serialVersionUID = 1L;
+
+	private final BitMap bitMap;
+	private final long bitSize;
+	private final int numHashFunctions;
+	private final HashStrategy strategy;
+	/**
+	 * 成功加入的元素数（近似值，误判的元素不计入）
+	 */
+	private final LongAdder count = new LongAdder();
+
+	/**
+	 * 构造，使用{@link HashStrategies#MURMUR128_MITZ_64}
+	 *
+	 * @param expectedInsertions 预计加入的元素数
+	 * @param fpp                期望误判率，(0, 1)
+	 */
+	public DoubleHashBloomFilter(long expectedInsertions, double fpp) {
+		this(expectedInsertions, fpp, HashStrategies.MURMUR128_MITZ_64);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param expectedInsertions 预计加入的元素数
+	 * @param fpp                期望误判率，(0, 1)
+	 * @param strategy           Hash策略
+	 */
+	public DoubleHashBloomFilter(long expectedInsertions, double fpp, HashStrategy strategy) {
+		this(BloomFilterUtil.optimalNumOfBits(expectedInsertions, fpp), expectedInsertions, strategy);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param bitSize            位数，会向上取整为64的倍数
+	 * @param expectedInsertions 预计加入的元素数
+	 * @param strategy           Hash策略
+	 */
+	private DoubleHashBloomFilter(long bitSize, long expectedInsertions, HashStrategy strategy) {
+		this(new LongMap(BloomFilterUtil.numOfWords(bitSize, BitMap.MACHINE64)), BloomFilterUtil.roundBits(bitSize, BitMap.MACHINE64),
+				BloomFilterUtil.optimalNumOfHashFunctions(expectedInsertions, bitSize), strategy);
+	}
+
+	/**
+	 * 使用指定的BitMap构造，可用于并发或持久化的BitMap
+	 *
+	 * @param bitMap           BitMap，容量不小于bitSize
+	 * @param bitSize          使用的位数
+	 * @param numHashFunctions Hash函数个数
+	 * @param strategy         Hash策略
+	 */
+	public DoubleHashBloomFilter(BitMap bitMap, long bitSize, int numHashFunctions, HashStrategy strategy) {
+		Assert.isTrue(bitSize > 0, "Bit size must be positive: {}", bitSize);
+		Assert.isTrue(numHashFunctions > 0, "Number of hash functions must be positive: {}", numHashFunctions);
+		this.bitMap = Assert.notNull(bitMap);
+		this.bitSize = bitSize;
+		this.numHashFunctions = numHashFunctions;
+		this.strategy = Assert.notNull(strategy);
+	}
+
+	@Override
+	public boolean add(String str) {
+		if (strategy.put(str, numHashFunctions, bitMap, bitSize)) {
+			count.increment();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * 是否可能包含此字符串，此处存在误判
+	 *
+	 * @param str 字符串
+	 * @return 是否存在
+	 */
+	@Override
+	public boolean contains(String str) {
+		return strategy.mightContain(str, numHashFunctions, bitMap, bitSize);
+	}
+
+	/**
+	 * @return 使用的BitMap
+	 */
+	public BitMap getBitMap() {
+		return bitMap;
+	}
+
+	/**
+	 * @return 使用的位数
+	 */
+	public long getBitSize() {
+		return bitSize;
+	}
+
+	/**
+	 * @return Hash函数个数
+	 */
+	public int getNumHashFunctions() {
+		return numHashFunctions;
+	}
+
+	/**
+	 * @return Hash策略
+	 */
+	public HashStrategy getStrategy() {
+		return strategy;
+	}
+
+	/**
+	 * @return 已加入的元素数（近似值）
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * 已加入的元素数减1，用于支持移除的实现
+	 */
+	void decrementCount() {
+		this.count.decrement();
+	}
+
+	/**
+	 * 重置已加入的元素数，用于从持久化数据恢复
+	 *
+	 * @param count 元素数
+	 */
+	void resetCount(long count) {
+		this.count.reset();
+		this.count.add(count);
+	}
+
+	/**
+	 * @return 按当前元素数估算的误判率
+	 */
+	public double getFalsePositiveProbability() {
+		// (1 - e^(-k * n / m)) ^ k
+		return Math.pow((1 - Math.exp(-numHashFunctions * (double) getCount() / bitSize)), numHashFunctions);
+	}
+}
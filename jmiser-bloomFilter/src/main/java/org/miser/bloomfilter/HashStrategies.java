@@ -0,0 +1,161 @@
+package org.miser.bloomfilter;
+
+import org.miser.bloomfilter.bitMap.BitMap;
+
+/**
+ * 内置的布隆过滤器Hash策略<br>
+ * 持久化时以枚举名保存策略，因此已有枚举不可改名或修改算法，新算法应新增枚举项。
+ *
+ * @author Oliver
+ */
+public enum HashStrategies implements HashStrategy {
+
+	/**
+	 * 对字符串的UTF-16编码单元做一次Murmur3 x64 128位Hash，拆分为两个64位值h1、h2，
+	 * 按Kirsch–Mitzenmacher双重Hash方法取第i个位置为 (h1 + i * h2) mod m。<br>
+	 * 直接按char计算，无需编码为byte[]，全程无对象分配。
+	 */
+	MURMUR128_MITZ_64 {
+		@Override
+		boolean apply(String str, int numHashFunctions, BitMap bitMap, long bitSize, int operation) {
+			final int length = str.length();
+			long h1 = 0;
+			long h2 = 0;
+
+			// body，每8个char（16字节）为一块
+			final int blockEnd = length & ~7;
+			long k1;
+			long k2;
+			for (int i = 0; i < blockEnd; i += 8) {
+				k1 = chars(str, i, 4);
+				k2 = chars(str, i + 4, 4);
+				h1 ^= mixK1(k1);
+				h1 = Long.rotateLeft(h1, 27);
+				h1 += h2;
+				h1 = h1 * 5 + 0x52dce729;
+
+				h2 ^= mixK2(k2);
+				h2 = Long.rotateLeft(h2, 31);
+				h2 += h1;
+				h2 = h2 * 5 + 0x38495ab5;
+			}
+
+			// tail
+			final int remain = length - blockEnd;
+			if (remain > 4) {
+				h2 ^= mixK2(chars(str, blockEnd + 4, remain - 4));
+			}
+			if (remain > 0) {
+				h1 ^= mixK1(chars(str, blockEnd, Math.min(remain, 4)));
+			}
+
+			// finalization，长度按字节计算
+			h1 ^= (long) length << 1;
+			h2 ^= (long) length << 1;
+			h1 += h2;
+			h2 += h1;
+			h1 = fmix64(h1);
+			h2 = fmix64(h2);
+			h1 += h2;
+			h2 += h1;
+
+			boolean result = (OPERATION_PUT != operation);
+			long combinedHash = h1;
+			long index;
+			for (int i = 0; i < numHashFunctions; i++) {
+				index = (combinedHash & Long.MAX_VALUE) % bitSize;
+				switch (operation) {
+					case OPERATION_PUT:
+						if (false == bitMap.contains(index)) {
+							result = true;
+						}
+						bitMap.add(index);
+						break;
+					case OPERATION_CONTAINS:
+						if (false == bitMap.contains(index)) {
+							return false;
+						}
+						break;
+					default:
+						bitMap.remove(index);
+						break;
+				}
+				combinedHash += h2;
+			}
+			return result;
+		}
+	};
+
+	private static final int OPERATION_PUT = 0;
+	private static final int OPERATION_CONTAINS = 1;
+	private static final int OPERATION_REMOVE = 2;
+
+	private static final long C1 = 0x87c37b91114253d5L;
+	private static final long C2 = 0x4cf5ad432745937fL;
+
+	@Override
+	public boolean put(String str, int numHashFunctions, BitMap bitMap, long bitSize) {
+		return apply(str, numHashFunctions, bitMap, bitSize, OPERATION_PUT);
+	}
+
+	@Override
+	public boolean mightContain(String str, int numHashFunctions, BitMap bitMap, long bitSize) {
+		return apply(str, numHashFunctions, bitMap, bitSize, OPERATION_CONTAINS);
+	}
+
+	@Override
+	public void remove(String str, int numHashFunctions, BitMap bitMap, long bitSize) {
+		apply(str, numHashFunctions, bitMap, bitSize, OPERATION_REMOVE);
+	}
+
+	/**
+	 * 计算Hash并对所有位置执行指定操作
+	 *
+	 * @param str              元素
+	 * @param numHashFunctions 位置个数
+	 * @param bitMap           BitMap
+	 * @param bitSize          BitMap的有效位数
+	 * @param operation        操作：加入、检查或移除
+	 * @return 加入时表示是否有位置新设置，检查时表示是否全部已设置
+	 */
+	abstract boolean apply(String str, int numHashFunctions, BitMap bitMap, long bitSize, int operation);
+
+	/**
+	 * 按小端序将连续的count个char（每个2字节）拼为long
+	 *
+	 * @param str   字符串
+	 * @param from  起始位置
+	 * @param count char个数，不超过4
+	 * @return long值
+	 */
+	private static long chars(String str, int from, int count) {
+		long result = 0;
+		for (int i = 0; i < count; i++) {
+			result |= (long) str.charAt(from + i) << (i << 4);
+		}
+		return result;
+	}
+
+	private static long mixK1(long k1) {
+		k1 *= C1;
+		k1 = Long.rotateLeft(k1, 31);
+		k1 *= C2;
+		return k1;
+	}
+
+	private static long mixK2(long k2) {
+		k2 *= C2;
+		k2 = Long.rotateLeft(k2, 33);
+		k2 *= C1;
+		return k2;
+	}
+
+	private static long fmix64(long k) {
+		k ^= k >>> 33;
+		k *= 0xff51afd7ed558ccdL;
+		k ^= k >>> 33;
+		k *= 0xc4ceb9fe1a85ec53L;
+		k ^= k >>> 33;
+		return k;
+	}
+}
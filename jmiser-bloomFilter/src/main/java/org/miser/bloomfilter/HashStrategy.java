@@ -0,0 +1,48 @@
+package org.miser.bloomfilter;
+
+import org.miser.bloomfilter.bitMap.BitMap;
+
+import java.io.Serializable;
+
+/**
+ * 布隆过滤器的Hash策略，负责将元素映射为BitMap中的若干位置<br>
+ * 实现应保证在add/contains路径上不产生对象分配，且同一元素在不同进程中映射结果一致（持久化后可重新加载）。
+ *
+ * @author Oliver
+ * @see HashStrategies
+ */
+public interface HashStrategy extends Serializable {
+
+	/**
+	 * 将元素映射到的所有位置加入BitMap
+	 *
+	 * @param str              元素
+	 * @param numHashFunctions 位置个数，即Hash函数个数
+	 * @param bitMap           BitMap
+	 * @param bitSize          BitMap的有效位数
+	 * @return 是否有位置由未设置变为已设置，即元素之前可能不存在
+	 */
+	boolean put(String str, int numHashFunctions, BitMap bitMap, long bitSize);
+
+	/**
+	 * 元素映射到的所有位置是否均已设置
+	 *
+	 * @param str              元素
+	 * @param numHashFunctions 位置个数，即Hash函数个数
+	 * @param bitMap           BitMap
+	 * @param bitSize          BitMap的有效位数
+	 * @return 是否可能包含，存在误判
+	 */
+	boolean mightContain(String str, int numHashFunctions, BitMap bitMap, long bitSize);
+
+	/**
+	 * 从BitMap中移除元素映射到的所有位置<br>
+	 * 仅适用于计数类型的BitMap，普通BitMap移除会影响共享相同位置的其它元素
+	 *
+	 * @param str              元素
+	 * @param numHashFunctions 位置个数，即Hash函数个数
+	 * @param bitMap           BitMap
+	 * @param bitSize          BitMap的有效位数
+	 */
+	void remove(String str, int numHashFunctions, BitMap bitMap, long bitSize);
+}
@@ -0,0 +1,263 @@
+package org.miser.bloomfilter;
+
+import org.miser.bloomfilter.bitMap.BitMap;
+import org.miser.bloomfilter.bitMap.MappedLongMap;
+import org.miser.core.io.IORuntimeException;
+import org.miser.core.lang.Assert;
+import org.miser.core.util.ClassLoaderUtil;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 基于内存映射文件的BloomFilter，位数据位于堆外，可持久化并在重启后直接映射打开，也可由多个进程只读共享<br>
+ * 文件格式（小端序）：
+ *
+ * <pre>
+ * int   magic            0x4A4D4246
+ * int   version          1
+ * long  bitSize          位数
+ * int   numHashFunctions Hash函数个数
+ * int   dataOffset       位数据起始位置，8字节对齐
+ * long  count            已加入的元素数
+ * short strategyLength   Hash策略名长度
+ * byte[] strategy        Hash策略名（UTF-8），格式为：枚举类名#枚举名
+ * long[] bits            位数据
+ * </pre>
+ *
+ * 元素数在{@link #flush()}或{@link #close()}时写入文件头。写操作非线程安全。
+ *
+ * @author Oliver
+ */
+public class MappedBloomFilter extends DoubleHashBloomFilter implements Closeable {
+	private static final long serialVersionUID = 1L;
+
+	private static final int MAGIC = 0x4A4D4246;
+	private static final int VERSION = 1;
+	/**
+	 * 文件头中策略名之前的固定长度
+	 */
+	private static final int FIXED_HEADER_SIZE = 34;
+	private static final int COUNT_POSITION = 24;
+
+	private final File file;
+	private final boolean readOnly;
+	private final transient MappedByteBuffer header;
+
+	/**
+	 * 构造
+	 *
+	 * @param file             文件
+	 * @param header           文件头映射
+	 * @param bitMap           位数据映射
+	 * @param bitSize          位数
+	 * @param numHashFunctions Hash函数个数
+	 * @param strategy         Hash策略
+	 * @param readOnly         是否只读
+	 */
+	private MappedBloomFilter(File file, MappedByteBuffer header, MappedLongMap bitMap, long bitSize, int numHashFunctions,
+							  HashStrategy strategy, boolean readOnly) {
+		super(bitMap, bitSize, numHashFunctions, strategy);
+		this.file = file;
+		this.header = header;
+		this.readOnly = readOnly;
+	}
+
+	/**
+	 * 创建新的布隆过滤器文件，使用{@link HashStrategies#MURMUR128_MITZ_64}，已存在的文件将被覆盖
+	 *
+	 * @param file               文件
+	 * @param expectedInsertions 预计加入的元素数
+	 * @param fpp                期望误判率，(0, 1)
+	 * @return MappedBloomFilter
+	 * @throws IORuntimeException IO异常
+	 */
+	public static MappedBloomFilter create(File file, long expectedInsertions, double fpp) throws IORuntimeException {
+		return create(file, expectedInsertions, fpp, HashStrategies.MURMUR128_MITZ_64);
+	}
+
+	/**
+	 * 创建新的布隆过滤器文件，已存在的文件将被覆盖
+	 *
+	 * @param file               文件
+	 * @param expectedInsertions 预计加入的元素数
+	 * @param fpp                期望误判率，(0, 1)
+	 * @param strategy           Hash策略，必须为枚举以便重新加载
+	 * @return MappedBloomFilter
+	 * @throws IORuntimeException IO异常
+	 */
+	public static MappedBloomFilter create(File file, long expectedInsertions, double fpp, HashStrategy strategy) throws IORuntimeException {
+		Assert.notNull(file, "File must not be null");
+		final long bits = BloomFilterUtil.optimalNumOfBits(expectedInsertions, fpp);
+		final int numHashFunctions = BloomFilterUtil.optimalNumOfHashFunctions(expectedInsertions, bits);
+		final long bitSize = BloomFilterUtil.roundBits(bits, BitMap.MACHINE64);
+		final byte[] strategyName = strategyName(strategy).getBytes(StandardCharsets.UTF_8);
+		final int dataOffset = (FIXED_HEADER_SIZE + strategyName.length + 7) & ~7;
+
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			final MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, dataOffset);
+			header.order(ByteOrder.LITTLE_ENDIAN);
+			header.putInt(MAGIC).putInt(VERSION).putLong(bitSize).putInt(numHashFunctions).putInt(dataOffset).putLong(0)
+					.putShort((short) strategyName.length).put(strategyName);
+			final MappedLongMap bitMap = new MappedLongMap(channel, FileChannel.MapMode.READ_WRITE, dataOffset, bitSize / BitMap.MACHINE64);
+			header.force();
+			return new MappedBloomFilter(file, header, bitMap, bitSize, numHashFunctions, strategy, false);
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		}
+	}
+
+	/**
+	 * 以读写方式打开已有的布隆过滤器文件
+	 *
+	 * @param file 文件
+	 * @return MappedBloomFilter
+	 * @throws IORuntimeException IO异常或文件格式不正确
+	 */
+	public static MappedBloomFilter open(File file) throws IORuntimeException {
+		return open(file, false);
+	}
+
+	/**
+	 * 以只读方式打开已有的布隆过滤器文件，可在多个进程间共享
+	 *
+	 * @param file 文件
+	 * @return MappedBloomFilter
+	 * @throws IORuntimeException IO异常或文件格式不正确
+	 */
+	public static MappedBloomFilter openReadOnly(File file) throws IORuntimeException {
+		return open(file, true);
+	}
+
+	/**
+	 * 打开已有的布隆过滤器文件
+	 *
+	 * @param file     文件
+	 * @param readOnly 是否只读
+	 * @return MappedBloomFilter
+	 * @throws IORuntimeException IO异常或文件格式不正确
+	 */
+	private static MappedBloomFilter open(File file, boolean readOnly) throws IORuntimeException {
+		Assert.notNull(file, "File must not be null");
+		final FileChannel.MapMode mode = readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE;
+		final StandardOpenOption[] options = readOnly ? new StandardOpenOption[]{StandardOpenOption.READ}
+				: new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE};
+		try (FileChannel channel = FileChannel.open(file.toPath(), options)) {
+			final long fileSize = channel.size();
+			if (fileSize < FIXED_HEADER_SIZE) {
+				throw new IORuntimeException("Bloom filter file is too short: {}", fileSize);
+			}
+			final MappedByteBuffer fixed = channel.map(FileChannel.MapMode.READ_ONLY, 0, FIXED_HEADER_SIZE);
+			fixed.order(ByteOrder.LITTLE_ENDIAN);
+			final int magic = fixed.getInt();
+			if (MAGIC != magic) {
+				throw new IORuntimeException("Invalid bloom filter magic: {}", Integer.toHexString(magic));
+			}
+			final int version = fixed.getInt();
+			if (VERSION != version) {
+				throw new IORuntimeException("Unsupported bloom filter version: {}", version);
+			}
+			final long bitSize = fixed.getLong();
+			final int numHashFunctions = fixed.getInt();
+			final int dataOffset = fixed.getInt();
+			final long count = fixed.getLong();
+			final int strategyLength = fixed.getShort() & 0xFFFF;
+			if (bitSize <= 0 || bitSize % BitMap.MACHINE64 != 0 || numHashFunctions <= 0
+					|| dataOffset < FIXED_HEADER_SIZE + strategyLength || fileSize < dataOffset + bitSize / 8) {
+				throw new IORuntimeException("Corrupted bloom filter file: {}", file);
+			}
+
+			final MappedByteBuffer header = channel.map(mode, 0, dataOffset);
+			header.order(ByteOrder.LITTLE_ENDIAN);
+			final byte[] strategyName = new byte[strategyLength];
+			header.position(FIXED_HEADER_SIZE);
+			header.get(strategyName);
+			final HashStrategy strategy = strategy(new String(strategyName, StandardCharsets.UTF_8));
+
+			final MappedLongMap bitMap = new MappedLongMap(channel, mode, dataOffset, bitSize / BitMap.MACHINE64);
+			final MappedBloomFilter filter = new MappedBloomFilter(file, header, bitMap, bitSize, numHashFunctions, strategy, readOnly);
+			filter.resetCount(count);
+			return filter;
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		}
+	}
+
+	@Override
+	public boolean add(String str) {
+		Assert.state(false == readOnly, "Bloom filter is opened read only: {}", file);
+		return super.add(str);
+	}
+
+	/**
+	 * 将元素数写入文件头，并将所有修改写回文件
+	 */
+	public void flush() {
+		if (readOnly) {
+			return;
+		}
+		header.putLong(COUNT_POSITION, getCount());
+		((MappedLongMap) getBitMap()).force();
+		header.force();
+	}
+
+	/**
+	 * 写回修改。映射内存在对象被回收时释放
+	 */
+	@Override
+	public void close() {
+		flush();
+	}
+
+	/**
+	 * @return 文件
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * @return 是否只读
+	 */
+	public boolean isReadOnly() {
+		return readOnly;
+	}
+
+	/**
+	 * 获取Hash策略的持久化名称
+	 *
+	 * @param strategy Hash策略
+	 * @return 名称，格式为：枚举类名#枚举名
+	 */
+	private static String strategyName(HashStrategy strategy) {
+		Assert.isTrue(strategy instanceof Enum, "Hash strategy must be an enum to be persisted: {}", strategy);
+		final Enum<?> e = (Enum<?>) strategy;
+		return e.getDeclaringClass().getName() + '#' + e.name();
+	}
+
+	/**
+	 * 根据持久化名称获取Hash策略
+	 *
+	 * @param name 名称，格式为：枚举类名#枚举名
+	 * @return Hash策略
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static HashStrategy strategy(String name) {
+		final int index = name.indexOf('#');
+		if (index < 0) {
+			throw new IORuntimeException("Invalid hash strategy: {}", name);
+		}
+		final Class<?> clazz = ClassLoaderUtil.loadClass(name.substring(0, index));
+		if (false == clazz.isEnum() || false == HashStrategy.class.isAssignableFrom(clazz)) {
+			throw new IORuntimeException("Invalid hash strategy: {}", name);
+		}
+		return (HashStrategy) Enum.valueOf((Class) clazz, name.substring(index + 1));
+	}
+}
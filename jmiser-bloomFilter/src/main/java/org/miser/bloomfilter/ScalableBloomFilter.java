@@ -0,0 +1,141 @@
+package org.miser.bloomfilter;
+
+import org.miser.core.lang.Assert;
+
+import java.util.Arrays;
+
+/**
+ * 可扩展的BloomFilter，无需预先确定容量<br>
+ * 由多个{@link DoubleHashBloomFilter}组成，当前子过滤器达到容量后新建一个容量按growth倍增长、
+ * 误判率按tightening倍收紧的子过滤器。第i个子过滤器的误判率为 P0 * r^i，
+ * 总误判率不超过 P0 / (1 - r)，其中P0 = fpp * (1 - r)，因此总误判率始终不超过fpp。<br>
+ * add为同步方法，contains无锁，可与add并发执行。
+ *
+ * @author Oliver
+ */
+public class ScalableBloomFilter implements BloomFilter {
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * 默认容量增长倍数
+	 */
+	public static final int DEFAULT_GROWTH = 2;
+	/**
+	 * 默认误判率收紧倍数
+	 */
+	public static final double DEFAULT_TIGHTENING = 0.8;
+
+	private final double fpp;
+	private final int growth;
+	private final double tightening;
+	private final HashStrategy strategy;
+
+	private volatile DoubleHashBloomFilter[] filters;
+	private long capacity;
+	private double currentFpp;
+
+	/**
+	 * 构造，使用默认的增长和收紧倍数
+	 *
+	 * @param initialCapacity 第一个子过滤器的容量
+	 * @param fpp             总误判率上限，(0, 1)
+	 */
+	public ScalableBloomFilter(long initialCapacity, double fpp) {
+		this(initialCapacity, fpp, DEFAULT_GROWTH, DEFAULT_TIGHTENING, HashStrategies.MURMUR128_MITZ_64);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param initialCapacity 第一个子过滤器的容量
+	 * @param fpp             总误判率上限，(0, 1)
+	 * @param growth          容量增长倍数，不小于1
+	 * @param tightening      误判率收紧倍数，(0, 1)
+	 * @param strategy        Hash策略
+	 */
+	public ScalableBloomFilter(long initialCapacity, double fpp, int growth, double tightening, HashStrategy strategy) {
+		Assert.isTrue(initialCapacity > 0, "Initial capacity must be positive: {}", initialCapacity);
+		Assert.isTrue(fpp > 0 && fpp < 1, "False positive probability must be in (0, 1): {}", fpp);
+		Assert.isTrue(growth >= 1, "Growth must be at least 1: {}", growth);
+		Assert.isTrue(tightening > 0 && tightening < 1, "Tightening ratio must be in (0, 1): {}", tightening);
+		this.fpp = fpp;
+		this.growth = growth;
+		this.tightening = tightening;
+		this.strategy = Assert.notNull(strategy);
+
+		this.capacity = initialCapacity;
+		this.currentFpp = fpp * (1 - tightening);
+		this.filters = new DoubleHashBloomFilter[]{new DoubleHashBloomFilter(capacity, currentFpp, strategy)};
+	}
+
+	@Override
+	public synchronized boolean add(String str) {
+		if (contains(str)) {
+			return false;
+		}
+		DoubleHashBloomFilter current = filters[filters.length - 1];
+		if (current.getCount() >= capacity) {
+			capacity *= growth;
+			currentFpp *= tightening;
+			current = new DoubleHashBloomFilter(capacity, currentFpp, strategy);
+			final DoubleHashBloomFilter[] newFilters = Arrays.copyOf(filters, filters.length + 1);
+			newFilters[filters.length] = current;
+			filters = newFilters;
+		}
+		return current.add(str);
+	}
+
+	/**
+	 * 是否可能包含此字符串，此处存在误判
+	 *
+	 * @param str 字符串
+	 * @return 是否存在
+	 */
+	@Override
+	public boolean contains(String str) {
+		final DoubleHashBloomFilter[] filters = this.filters;
+		// 新加入的元素位于较新的子过滤器中，从后向前查找
+		for (int i = filters.length - 1; i >= 0; i--) {
+			if (filters[i].contains(str)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return 已加入的元素数（近似值）
+	 */
+	public long getCount() {
+		long count = 0;
+		for (DoubleHashBloomFilter filter : filters) {
+			count += filter.getCount();
+		}
+		return count;
+	}
+
+	/**
+	 * @return 子过滤器个数
+	 */
+	public int getFilterCount() {
+		return filters.length;
+	}
+
+	/**
+	 * @return 总误判率上限
+	 */
+	public double getFpp() {
+		return fpp;
+	}
+
+	/**
+	 * @return 按当前各子过滤器元素数估算的总误判率
+	 */
+	public double getFalsePositiveProbability() {
+		double notFalsePositive = 1;
+		for (DoubleHashBloomFilter filter : filters) {
+			notFalsePositive *= 1 - filter.getFalsePositiveProbability();
+		}
+		return 1 - notFalsePositive;
+	}
+}
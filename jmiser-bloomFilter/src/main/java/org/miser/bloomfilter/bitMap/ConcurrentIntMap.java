@@ -0,0 +1,74 @@
+package org.miser.bloomfilter.bitMap;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 线程安全的{@link IntMap}，基于{@link AtomicIntegerArray}以CAS方式设置和清除位<br>
+ * 多个线程同时修改同一个int中的不同位时不会丢失更新，读取不加锁。
+ *
+ * @author Oliver
+ */
+public class ConcurrentIntMap implements BitMap, Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private final AtomicIntegerArray ints;
+
+	/**
+	 * 构造
+	 *
+	 * @param size 容量，即int的个数
+	 */
+	public ConcurrentIntMap(int size) {
+		ints = new AtomicIntegerArray(size);
+	}
+
+	@Override
+	public void add(long i) {
+		set(i);
+	}
+
+	/**
+	 * 设置位
+	 *
+	 * @param i 值
+	 * @return 是否由本次调用将此位由0设置为1
+	 */
+	public boolean set(long i) {
+		final int r = (int) (i >>> 5);
+		final int mask = 1 << i;
+		int current;
+		do {
+			current = ints.get(r);
+			if ((current & mask) != 0) {
+				return false;
+			}
+		} while (false == ints.compareAndSet(r, current, current | mask));
+		return true;
+	}
+
+	@Override
+	public boolean contains(long i) {
+		return (ints.get((int) (i >>> 5)) & (1 << i)) != 0;
+	}
+
+	@Override
+	public void remove(long i) {
+		final int r = (int) (i >>> 5);
+		final int mask = 1 << i;
+		int current;
+		do {
+			current = ints.get(r);
+			if ((current & mask) == 0) {
+				return;
+			}
+		} while (false == ints.compareAndSet(r, current, current & ~mask));
+	}
+
+	/**
+	 * @return 容量，即int的个数
+	 */
+	public int length() {
+		return ints.length();
+	}
+}
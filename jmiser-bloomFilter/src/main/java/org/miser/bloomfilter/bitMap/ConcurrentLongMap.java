@@ -0,0 +1,74 @@
+package org.miser.bloomfilter.bitMap;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 线程安全的{@link LongMap}，基于{@link AtomicLongArray}以CAS方式设置和清除位<br>
+ * 多个线程同时修改同一个long中的不同位时不会丢失更新，读取不加锁。
+ *
+ * @author Oliver
+ */
+public class ConcurrentLongMap implements BitMap, Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private final AtomicLongArray longs;
+
+	/**
+	 * 构造
+	 *
+	 * @param size 容量，即long的个数
+	 */
+	public ConcurrentLongMap(int size) {
+		longs = new AtomicLongArray(size);
+	}
+
+	@Override
+	public void add(long i) {
+		set(i);
+	}
+
+	/**
+	 * 设置位
+	 *
+	 * @param i 值
+	 * @return 是否由本次调用将此位由0设置为1
+	 */
+	public boolean set(long i) {
+		final int r = (int) (i >>> 6);
+		final long mask = 1L << i;
+		long current;
+		do {
+			current = longs.get(r);
+			if ((current & mask) != 0) {
+				return false;
+			}
+		} while (false == longs.compareAndSet(r, current, current | mask));
+		return true;
+	}
+
+	@Override
+	public boolean contains(long i) {
+		return (longs.get((int) (i >>> 6)) & (1L << i)) != 0;
+	}
+
+	@Override
+	public void remove(long i) {
+		final int r = (int) (i >>> 6);
+		final long mask = 1L << i;
+		long current;
+		do {
+			current = longs.get(r);
+			if ((current & mask) == 0) {
+				return;
+			}
+		} while (false == longs.compareAndSet(r, current, current & ~mask));
+	}
+
+	/**
+	 * @return 容量，即long的个数
+	 */
+	public int length() {
+		return longs.length();
+	}
+}
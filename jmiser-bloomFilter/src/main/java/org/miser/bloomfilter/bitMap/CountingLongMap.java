@@ -0,0 +1,68 @@
+package org.miser.bloomfilter.bitMap;
+
+import java.io.Serializable;
+
+/**
+ * 计数BitMap，每个位置为一个4位计数器，每个long存放16个计数器<br>
+ * 加入时计数加1，移除时计数减1，计数大于0时视为包含，因此移除不会影响共享该位置的其它值。<br>
+ * 计数达到上限15后不再增减，避免溢出后被错误清零导致漏判。非线程安全。
+ *
+ * @author Oliver
+ */
+public class CountingLongMap implements BitMap, Serializable {
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * 每个long存放的计数器个数
+	 */
+	public static final int COUNTERS_PER_WORD = 16;
+	/**
+	 * 计数上限
+	 */
+	public static final int MAX_COUNT = 15;
+
+	private final long[] longs;
+
+	/**
+	 * 构造
+	 *
+	 * @param size 容量，即long的个数，可存放size * 16个计数器
+	 */
+	public CountingLongMap(int size) {
+		longs = new long[size];
+	}
+
+	@Override
+	public void add(long i) {
+		final int r = (int) (i >>> 4);
+		final int shift = (int) (i & 15) << 2;
+		if (((longs[r] >>> shift) & MAX_COUNT) < MAX_COUNT) {
+			longs[r] += 1L << shift;
+		}
+	}
+
+	@Override
+	public boolean contains(long i) {
+		return count(i) > 0;
+	}
+
+	@Override
+	public void remove(long i) {
+		final int r = (int) (i >>> 4);
+		final int shift = (int) (i & 15) << 2;
+		final long value = (longs[r] >>> shift) & MAX_COUNT;
+		if (value > 0 && value < MAX_COUNT) {
+			longs[r] -= 1L << shift;
+		}
+	}
+
+	/**
+	 * 获取指定位置的计数
+	 *
+	 * @param i 值
+	 * @return 计数，0~15
+	 */
+	public int count(long i) {
+		return (int) ((longs[(int) (i >>> 4)] >>> ((i & 15) << 2)) & MAX_COUNT);
+	}
+}
@@ -0,0 +1,105 @@
+package org.miser.bloomfilter.bitMap;
+
+import org.miser.core.io.IORuntimeException;
+import org.miser.core.lang.Assert;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * 基于内存映射文件的BitMap，数据位于堆外，由操作系统按需加载和回写<br>
+ * 文件按小端序存放long，每段最多映射1GB，因此支持超过2GB的BitMap。<br>
+ * 写操作非线程安全；只读映射时修改会抛出{@link java.nio.ReadOnlyBufferException}。
+ *
+ * @author Oliver
+ */
+public class MappedLongMap implements BitMap {
+
+	/**
+	 * 每段映射的long个数，2^27个即1GB
+	 */
+	private static final int SEGMENT_SHIFT = 27;
+	private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+	private final MappedByteBuffer[] segments;
+	private final long size;
+
+	/**
+	 * 构造，映射文件中从position开始的size个long
+	 *
+	 * @param channel  文件通道，映射建立后可关闭
+	 * @param mode     映射模式，{@link FileChannel.MapMode#READ_ONLY}或{@link FileChannel.MapMode#READ_WRITE}
+	 * @param position 起始位置（字节）
+	 * @param size     容量，即long的个数
+	 * @throws IORuntimeException IO异常
+	 */
+	public MappedLongMap(FileChannel channel, FileChannel.MapMode mode, long position, long size) throws IORuntimeException {
+		Assert.isTrue(size > 0, "Size must be positive: {}", size);
+		this.size = size;
+		final int count = (int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+		this.segments = new MappedByteBuffer[count];
+		try {
+			long offset = position;
+			long remain = size;
+			for (int i = 0; i < count; i++) {
+				final long words = Math.min(remain, 1L << SEGMENT_SHIFT);
+				segments[i] = channel.map(mode, offset, words << 3);
+				segments[i].order(ByteOrder.LITTLE_ENDIAN);
+				offset += words << 3;
+				remain -= words;
+			}
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		}
+	}
+
+	@Override
+	public void add(long i) {
+		final long word = i >>> 6;
+		final MappedByteBuffer segment = segments[(int) (word >>> SEGMENT_SHIFT)];
+		final int index = (int) (word & SEGMENT_MASK) << 3;
+		final long current = segment.getLong(index);
+		final long mask = 1L << i;
+		if ((current & mask) == 0) {
+			segment.putLong(index, current | mask);
+		}
+	}
+
+	@Override
+	public boolean contains(long i) {
+		final long word = i >>> 6;
+		return (segments[(int) (word >>> SEGMENT_SHIFT)].getLong((int) (word & SEGMENT_MASK) << 3) & (1L << i)) != 0;
+	}
+
+	@Override
+	public void remove(long i) {
+		final long word = i >>> 6;
+		final MappedByteBuffer segment = segments[(int) (word >>> SEGMENT_SHIFT)];
+		final int index = (int) (word & SEGMENT_MASK) << 3;
+		final long current = segment.getLong(index);
+		final long mask = 1L << i;
+		if ((current & mask) != 0) {
+			segment.putLong(index, current & ~mask);
+		}
+	}
+
+	/**
+	 * 将修改写回文件
+	 */
+	public void force() {
+		for (MappedByteBuffer segment : segments) {
+			if (false == segment.isReadOnly()) {
+				segment.force();
+			}
+		}
+	}
+
+	/**
+	 * @return 容量，即long的个数
+	 */
+	public long length() {
+		return size;
+	}
+}
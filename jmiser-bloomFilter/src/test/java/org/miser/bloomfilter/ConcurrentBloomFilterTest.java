@@ -0,0 +1,108 @@
+package org.miser.bloomfilter;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.miser.bloomfilter.bitMap.BitMap;
+import org.miser.bloomfilter.bitMap.ConcurrentIntMap;
+import org.miser.bloomfilter.bitMap.ConcurrentLongMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * 并发布隆过滤器单元测试
+ *
+ * @author Oliver
+ */
+public class ConcurrentBloomFilterTest {
+
+	private static final int THREADS = 8;
+
+	/**
+	 * 多个线程交错设置同一批字中的相邻位，不丢失任何位
+	 */
+	@Test
+	public void bitMapStressTest() throws InterruptedException {
+		final int bits = 64 * 64;
+		final ConcurrentLongMap longMap = new ConcurrentLongMap(bits / BitMap.MACHINE64);
+		final ConcurrentIntMap intMap = new ConcurrentIntMap(bits / BitMap.MACHINE32);
+		for (int round = 0; round < 20; round++) {
+			runConcurrently(thread -> {
+				for (int i = thread; i < bits; i += THREADS) {
+					longMap.add(i);
+					intMap.add(i);
+				}
+			});
+			for (int i = 0; i < bits; i++) {
+				Assert.assertTrue(longMap.contains(i));
+				Assert.assertTrue(intMap.contains(i));
+			}
+			runConcurrently(thread -> {
+				for (int i = thread; i < bits; i += THREADS) {
+					longMap.remove(i);
+					intMap.remove(i);
+				}
+			});
+			for (int i = 0; i < bits; i++) {
+				Assert.assertFalse(longMap.contains(i));
+				Assert.assertFalse(intMap.contains(i));
+			}
+		}
+	}
+
+	/**
+	 * 多线程并发加入后不存在漏判
+	 */
+	@Test
+	public void noFalseNegativeTest() throws InterruptedException {
+		final int perThread = 50000;
+		final ConcurrentBloomFilter filter = BloomFilterUtil.createConcurrent(THREADS * perThread, 0.01);
+		runConcurrently(thread -> {
+			for (int i = 0; i < perThread; i++) {
+				filter.add(thread + "-" + i);
+			}
+		});
+
+		int falseNegatives = 0;
+		for (int thread = 0; thread < THREADS; thread++) {
+			for (int i = 0; i < perThread; i++) {
+				if (false == filter.contains(thread + "-" + i)) {
+					falseNegatives++;
+				}
+			}
+		}
+		Assert.assertEquals(0, falseNegatives);
+	}
+
+	// ----------------------------------------------------------------------------------------------------------
+
+	private interface Task {
+		void run(int thread);
+	}
+
+	/**
+	 * 多个线程同时开始执行任务，全部结束后返回
+	 */
+	private static void runConcurrently(Task task) throws InterruptedException {
+		final CountDownLatch start = new CountDownLatch(1);
+		final List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < THREADS; i++) {
+			final int index = i;
+			Thread thread = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				task.run(index);
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package org.miser.bloomfilter;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.miser.bloomfilter.bitMap.CountingLongMap;
+
+/**
+ * 计数布隆过滤器单元测试
+ *
+ * @author Oliver
+ */
+public class CountingBloomFilterTest {
+
+	@Test
+	public void counterTest() {
+		CountingLongMap map = new CountingLongMap(2);
+		map.add(17);
+		map.add(17);
+		map.add(18);
+		Assert.assertEquals(2, map.count(17));
+		Assert.assertEquals(1, map.count(18));
+		Assert.assertEquals(0, map.count(16));
+
+		map.remove(17);
+		Assert.assertTrue(map.contains(17));
+		map.remove(17);
+		Assert.assertFalse(map.contains(17));
+		// 相邻计数器不受影响
+		Assert.assertEquals(1, map.count(18));
+
+		// 达到上限后不再增减
+		for (int i = 0; i < 20; i++) {
+			map.add(31);
+		}
+		Assert.assertEquals(CountingLongMap.MAX_COUNT, map.count(31));
+		map.remove(31);
+		Assert.assertEquals(CountingLongMap.MAX_COUNT, map.count(31));
+		Assert.assertEquals(0, map.count(30));
+	}
+
+	@Test
+	public void removeTest() {
+		final int n = 10000;
+		CountingBloomFilter filter = BloomFilterUtil.createCounting(n, 0.01);
+		for (int i = 0; i < n; i++) {
+			filter.add("key" + i);
+		}
+		// 移除一半后另一半仍然存在
+		for (int i = 0; i < n; i += 2) {
+			Assert.assertTrue(filter.remove("key" + i));
+		}
+		for (int i = 1; i < n; i += 2) {
+			Assert.assertTrue(filter.contains("key" + i));
+		}
+
+		int stillContained = 0;
+		for (int i = 0; i < n; i += 2) {
+			if (filter.contains("key" + i)) {
+				stillContained++;
+			}
+		}
+		Assert.assertTrue("Still contained: " + stillContained, stillContained < n / 2 * 0.02);
+	}
+}
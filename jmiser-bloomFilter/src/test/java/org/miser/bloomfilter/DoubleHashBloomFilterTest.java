@@ -0,0 +1,62 @@
+package org.miser.bloomfilter;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 双重Hash布隆过滤器单元测试
+ *
+ * @author Oliver
+ */
+public class DoubleHashBloomFilterTest {
+
+	@Test
+	public void filterTest() {
+		DoubleHashBloomFilter filter = BloomFilterUtil.createDoubleHash(100, 0.01);
+		Assert.assertTrue(filter.add("123"));
+		Assert.assertTrue(filter.add("abc"));
+		Assert.assertTrue(filter.add("中文字符串"));
+		// 重复加入不改变任何位
+		Assert.assertFalse(filter.add("abc"));
+
+		Assert.assertTrue(filter.contains("123"));
+		Assert.assertTrue(filter.contains("abc"));
+		Assert.assertTrue(filter.contains("中文字符串"));
+		Assert.assertEquals(3, filter.getCount());
+	}
+
+	@Test
+	public void sizeTest() {
+		// n = 1000000, p = 0.01 时约为9585059位、7个Hash函数
+		Assert.assertEquals(9585059, BloomFilterUtil.optimalNumOfBits(1000000, 0.01));
+		Assert.assertEquals(7, BloomFilterUtil.optimalNumOfHashFunctions(1000000, 9585059));
+
+		DoubleHashBloomFilter filter = new DoubleHashBloomFilter(1000000, 0.01);
+		Assert.assertEquals(0, filter.getBitSize() % 64);
+		Assert.assertTrue(filter.getBitSize() >= 9585059);
+		Assert.assertEquals(7, filter.getNumHashFunctions());
+	}
+
+	@Test
+	public void falsePositiveTest() {
+		final int n = 100000;
+		final double fpp = 0.01;
+		DoubleHashBloomFilter filter = new DoubleHashBloomFilter(n, fpp);
+		for (int i = 0; i < n; i++) {
+			filter.add("key" + i);
+		}
+		// 不存在漏判
+		for (int i = 0; i < n; i++) {
+			Assert.assertTrue(filter.contains("key" + i));
+		}
+
+		int falsePositives = 0;
+		for (int i = n; i < n * 2; i++) {
+			if (filter.contains("key" + i)) {
+				falsePositives++;
+			}
+		}
+		Assert.assertTrue("False positives: " + falsePositives, falsePositives < n * fpp * 1.5);
+		Assert.assertEquals(fpp, filter.getFalsePositiveProbability(), 0.002);
+	}
+}
@@ -0,0 +1,69 @@
+package org.miser.bloomfilter;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.miser.core.io.IORuntimeException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * 内存映射布隆过滤器单元测试
+ *
+ * @author Oliver
+ */
+public class MappedBloomFilterTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void createAndOpenTest() throws IOException {
+		final File file = folder.newFile("filter.bf");
+		final long bitSize;
+		final int numHashFunctions;
+		final long count;
+		try (MappedBloomFilter filter = MappedBloomFilter.create(file, 10000, 0.01)) {
+			for (int i = 0; i < 10000; i++) {
+				filter.add("key" + i);
+			}
+			bitSize = filter.getBitSize();
+			numHashFunctions = filter.getNumHashFunctions();
+			count = filter.getCount();
+		}
+
+		try (MappedBloomFilter filter = MappedBloomFilter.open(file)) {
+			Assert.assertEquals(bitSize, filter.getBitSize());
+			Assert.assertEquals(numHashFunctions, filter.getNumHashFunctions());
+			Assert.assertSame(HashStrategies.MURMUR128_MITZ_64, filter.getStrategy());
+			Assert.assertEquals(count, filter.getCount());
+			for (int i = 0; i < 10000; i++) {
+				Assert.assertTrue(filter.contains("key" + i));
+			}
+			Assert.assertTrue(filter.add("another"));
+		}
+
+		try (MappedBloomFilter filter = MappedBloomFilter.openReadOnly(file)) {
+			Assert.assertTrue(filter.isReadOnly());
+			Assert.assertTrue(filter.contains("another"));
+			Assert.assertEquals(count + 1, filter.getCount());
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void readOnlyTest() throws IOException {
+		final File file = folder.newFile("readOnly.bf");
+		MappedBloomFilter.create(file, 100, 0.01).close();
+		MappedBloomFilter.openReadOnly(file).add("abc");
+	}
+
+	@Test(expected = IORuntimeException.class)
+	public void invalidFileTest() throws IOException {
+		final File file = folder.newFile("invalid.bf");
+		Files.write(file.toPath(), new byte[64]);
+		MappedBloomFilter.open(file);
+	}
+}
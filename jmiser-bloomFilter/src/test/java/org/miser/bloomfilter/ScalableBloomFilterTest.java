@@ -0,0 +1,35 @@
+package org.miser.bloomfilter;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 可扩展布隆过滤器单元测试
+ *
+ * @author Oliver
+ */
+public class ScalableBloomFilterTest {
+
+	@Test
+	public void growTest() {
+		final int n = 100000;
+		final double fpp = 0.01;
+		ScalableBloomFilter filter = BloomFilterUtil.createScalable(1000, fpp);
+		for (int i = 0; i < n; i++) {
+			filter.add("key" + i);
+		}
+		Assert.assertTrue(filter.getFilterCount() > 1);
+		for (int i = 0; i < n; i++) {
+			Assert.assertTrue(filter.contains("key" + i));
+		}
+		Assert.assertTrue(filter.getFalsePositiveProbability() <= fpp);
+
+		int falsePositives = 0;
+		for (int i = n; i < n * 2; i++) {
+			if (filter.contains("key" + i)) {
+				falsePositives++;
+			}
+		}
+		Assert.assertTrue("False positives: " + falsePositives, falsePositives < n * fpp * 1.5);
+	}
+}
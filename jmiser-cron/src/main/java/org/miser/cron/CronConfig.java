@@ -1,5 +1,8 @@
 package org.miser.cron;
 
+import org.miser.core.lang.Assert;
+import org.miser.core.thread.ExecutorBuilder;
+
 import java.util.TimeZone;
 
 /**
@@ -18,6 +21,26 @@ public class CronConfig {
 	 * 是否支持秒匹配
 	 */
 	protected boolean matchSecond;
+	/**
+	 * 是否使用带索引的任务表，见{@link IndexedTaskTable}
+	 */
+	protected boolean indexed;
+	/**
+	 * 每个任务同时运行的最大实例数，小于1表示不限制
+	 */
+	protected int maxConcurrentPerTask;
+	/**
+	 * 错过触发策略
+	 */
+	protected MisfirePolicy misfirePolicy = MisfirePolicy.SKIP;
+	/**
+	 * 执行任务的最大线程数，小于1表示不限制（无等待队列，每个触发立即获得线程执行）
+	 */
+	protected int maxPoolSize;
+	/**
+	 * 执行任务的等待队列容量，仅在限制最大线程数时有效
+	 */
+	protected int queueCapacity = ExecutorBuilder.DEFAULT_QUEUE_CAPACITY;
 
 	public CronConfig(){
 	}
@@ -61,4 +84,99 @@ public class CronConfig {
 		this.matchSecond = isMatchSecond;
 		return this;
 	}
+
+	/**
+	 * 是否使用带索引的任务表
+	 *
+	 * @return <code>true</code>使用，<code>false</code>不使用
+	 */
+	public boolean isIndexed() {
+		return this.indexed;
+	}
+
+	/**
+	 * 设置是否使用带索引的任务表，默认不使用<br>
+	 * 使用时预先计算每个任务的下次执行时间，计时器每次只处理到期的任务，适用于任务数量很大的场景
+	 *
+	 * @param indexed <code>true</code>使用，<code>false</code>不使用
+	 * @return this
+	 */
+	public CronConfig setIndexed(boolean indexed) {
+		this.indexed = indexed;
+		return this;
+	}
+
+	/**
+	 * 获得每个任务同时运行的最大实例数
+	 *
+	 * @return 最大实例数，小于1表示不限制
+	 */
+	public int getMaxConcurrentPerTask() {
+		return this.maxConcurrentPerTask;
+	}
+
+	/**
+	 * 设置每个任务同时运行的最大实例数，默认不限制<br>
+	 * 任务执行时间超过触发间隔时，新的触发按{@link #getMisfirePolicy()}处理，避免同一任务堆积多个重叠的实例
+	 *
+	 * @param maxConcurrentPerTask 最大实例数，小于1表示不限制
+	 * @return this
+	 */
+	public CronConfig setMaxConcurrentPerTask(int maxConcurrentPerTask) {
+		this.maxConcurrentPerTask = maxConcurrentPerTask;
+		return this;
+	}
+
+	/**
+	 * 获得错过触发策略，默认{@link MisfirePolicy#SKIP}
+	 *
+	 * @return 错过触发策略
+	 */
+	public MisfirePolicy getMisfirePolicy() {
+		return this.misfirePolicy;
+	}
+
+	/**
+	 * 设置错过触发策略
+	 *
+	 * @param misfirePolicy 错过触发策略
+	 * @return this
+	 */
+	public CronConfig setMisfirePolicy(MisfirePolicy misfirePolicy) {
+		this.misfirePolicy = Assert.notNull(misfirePolicy);
+		return this;
+	}
+
+	/**
+	 * 获得执行任务的最大线程数
+	 *
+	 * @return 最大线程数，小于1表示不限制
+	 */
+	public int getMaxPoolSize() {
+		return this.maxPoolSize;
+	}
+
+	/**
+	 * 获得执行任务的等待队列容量
+	 *
+	 * @return 等待队列容量
+	 */
+	public int getQueueCapacity() {
+		return this.queueCapacity;
+	}
+
+	/**
+	 * 设置执行任务的线程池大小和等待队列容量，默认线程数不限制<br>
+	 * 线程全部繁忙时触发的任务进入等待队列，队列已满时按{@link #getMisfirePolicy()}处理
+	 *
+	 * @param maxPoolSize 最大线程数，小于1表示不限制
+	 * @param queueCapacity 等待队列容量，仅在限制最大线程数时有效
+	 * @return this
+	 */
+	public CronConfig setExecutorPool(int maxPoolSize, int queueCapacity) {
+		Assert.isTrue(maxPoolSize < 1 || queueCapacity > 0, "Queue capacity must be positive: {}", queueCapacity);
+		this.maxPoolSize = maxPoolSize;
+		this.queueCapacity = queueCapacity;
+		return this;
+	}
 }
@@ -76,7 +76,9 @@ public class CronTimer extends Thread implements Serializable {
 	 * @param millis 当前时间
 	 */
 	private void spawnLauncher(final long millis){
-		this.scheduler.taskLauncherManager.spawnLauncher(millis);
+		if (this.scheduler.taskTable.hasTaskToExecute(this.scheduler, millis)) {
+			this.scheduler.taskLauncherManager.spawnLauncher(millis);
+		}
 	}
 
 	/**
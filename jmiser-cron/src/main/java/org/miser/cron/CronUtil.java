@@ -61,6 +61,16 @@ public class CronUtil {
 		scheduler.setMatchSecond(isMatchSecond);
 	}
 
+	/**
+	 * 设置是否使用带索引的任务表，适用于任务数量很大的场景，需在启动前调用
+	 *
+	 * @param indexed {@code true}使用，{@code false}不使用
+	 * @see IndexedTaskTable
+	 */
+	public static void setIndexed(boolean indexed) {
+		scheduler.setIndexed(indexed);
+	}
+
 	/**
 	 * 加入定时任务
 	 *
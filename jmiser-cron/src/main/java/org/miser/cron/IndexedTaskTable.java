@@ -0,0 +1,275 @@
+package org.miser.cron;
+
+import org.miser.core.date.DateUnit;
+import org.miser.cron.pattern.CronPattern;
+import org.miser.cron.task.CronTask;
+import org.miser.cron.task.Task;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TimeZone;
+
+/**
+ * 带索引的定时任务表<br>
+ * 加入任务时根据{@link CronPattern}预先计算下次执行时间，并按执行时间放入优先队列。
+ * 计时器每次触发时只取出到期的任务，执行后重新计算下次执行时间，无需对所有任务逐个匹配表达式，
+ * 适用于任务数量很大（例如每个租户一个任务）的场景。<br>
+ * 时区、是否匹配秒等配置变更或系统时间被向前调整后，所有任务重新计算执行时间。
+ *
+ * @author Oliver
+ */
+public class IndexedTaskTable extends TaskTable {
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * 已移除但仍在队列中的任务超过此数量且超过队列一半时，清理队列
+	 */
+	private static final int COMPACT_THRESHOLD = 64;
+
+	private final CronConfig config;
+	/** ID与索引项对应表 */
+	private final Map<String, Entry> entries;
+	/** 按下次执行时间排序的队列，已移除的项延迟清理 */
+	private final PriorityQueue<Entry> queue;
+	/** 队列中已移除的项数 */
+	private int removedCount;
+
+	/** 建立索引时使用的时区 */
+	private TimeZone indexedTimeZone;
+	/** 建立索引时是否匹配秒 */
+	private boolean indexedMatchSecond;
+	/** 上次执行的时间 */
+	private long lastMillis;
+	/** 队列中最早的执行时间，无任务时为{@link Long#MAX_VALUE} */
+	private volatile long nextFireTime = Long.MAX_VALUE;
+
+	/**
+	 * 构造
+	 *
+	 * @param config 定时任务配置，用于获取时区和是否匹配秒
+	 */
+	public IndexedTaskTable(CronConfig config) {
+		this(config, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param config          定时任务配置，用于获取时区和是否匹配秒
+	 * @param initialCapacity 容量，即预估的最大任务数
+	 */
+	public IndexedTaskTable(CronConfig config, int initialCapacity) {
+		super(initialCapacity);
+		this.config = config;
+		this.entries = new HashMap<>(initialCapacity);
+		this.queue = new PriorityQueue<>(initialCapacity);
+		this.indexedTimeZone = config.getTimeZone();
+		this.indexedMatchSecond = config.isMatchSecond();
+		this.lastMillis = System.currentTimeMillis();
+	}
+
+	@Override
+	public IndexedTaskTable add(String id, CronPattern pattern, Task task) {
+		super.add(id, pattern, task);
+		synchronized (queue) {
+			final long now = System.currentTimeMillis();
+			checkIndex(now);
+			final Entry entry = new Entry(id, pattern, task);
+			entries.put(id, entry);
+			schedule(entry, now);
+			updateNextFireTime();
+		}
+		return this;
+	}
+
+	@Override
+	public void remove(String id) {
+		super.remove(id);
+		synchronized (queue) {
+			final Entry entry = entries.remove(id);
+			if (null != entry) {
+				cancel(entry);
+				updateNextFireTime();
+			}
+		}
+	}
+
+	@Override
+	public boolean updatePattern(String id, CronPattern pattern) {
+		if (false == super.updatePattern(id, pattern)) {
+			return false;
+		}
+		synchronized (queue) {
+			final Entry old = entries.get(id);
+			if (null != old) {
+				final long now = System.currentTimeMillis();
+				checkIndex(now);
+				cancel(old);
+				final Entry entry = new Entry(id, pattern, old.task);
+				entries.put(id, entry);
+				schedule(entry, now);
+				updateNextFireTime();
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 获取最早的下次执行时间
+	 *
+	 * @return 时间毫秒数，无待执行任务时返回{@link Long#MAX_VALUE}
+	 */
+	public long getNextFireTime() {
+		return this.nextFireTime;
+	}
+
+	@Override
+	public boolean hasTaskToExecute(Scheduler scheduler, long millis) {
+		if (isIndexChanged(millis)) {
+			synchronized (queue) {
+				checkIndex(millis);
+			}
+		}
+		return this.nextFireTime <= millis;
+	}
+
+	/**
+	 * 执行所有到期的Task，并重新计算其下次执行时间
+	 *
+	 * @param scheduler {@link Scheduler}
+	 * @param millis    时间毫秒
+	 */
+	@Override
+	protected void executeTaskIfMatchInternal(Scheduler scheduler, long millis) {
+		final List<Entry> dueEntries = new ArrayList<>();
+		synchronized (queue) {
+			checkIndex(millis);
+			Entry entry;
+			while (null != (entry = queue.peek()) && entry.nextTime <= millis) {
+				queue.poll();
+				if (entry.removed) {
+					removedCount--;
+					continue;
+				}
+				dueEntries.add(entry);
+			}
+			for (Entry dueEntry : dueEntries) {
+				schedule(dueEntry, millis);
+			}
+			lastMillis = Math.max(lastMillis, millis);
+			updateNextFireTime();
+		}
+
+		for (Entry entry : dueEntries) {
+			scheduler.taskExecutorManager.spawnExecutor(new CronTask(entry.id, entry.pattern, entry.task), millis);
+		}
+	}
+
+	// -------------------------------------------------------------------------------------- Private method start
+
+	/**
+	 * 配置或系统时间是否变化，需要重建索引
+	 *
+	 * @param millis 当前时间
+	 * @return 是否需要重建索引
+	 */
+	private boolean isIndexChanged(long millis) {
+		return false == Objects.equals(indexedTimeZone, config.getTimeZone())
+				|| indexedMatchSecond != config.isMatchSecond()
+				// 系统时间被向前调整超过一个单位
+				|| millis + DateUnit.MINUTE.getMillis() < lastMillis;
+	}
+
+	/**
+	 * 检查配置和系统时间，变化时重建索引，需在锁内调用
+	 *
+	 * @param millis 当前时间
+	 */
+	private void checkIndex(long millis) {
+		if (false == isIndexChanged(millis)) {
+			return;
+		}
+		this.indexedTimeZone = config.getTimeZone();
+		this.indexedMatchSecond = config.isMatchSecond();
+		this.lastMillis = millis;
+		queue.clear();
+		removedCount = 0;
+		for (Entry entry : entries.values()) {
+			schedule(entry, millis);
+		}
+		updateNextFireTime();
+	}
+
+	/**
+	 * 计算给定时间之后的下次执行时间并加入队列，无下次执行时间的任务不加入队列，需在锁内调用
+	 *
+	 * @param entry  索引项
+	 * @param millis 起始时间（不包括）
+	 */
+	private void schedule(Entry entry, long millis) {
+		entry.nextTime = entry.pattern.nextMatchAfter(indexedTimeZone, millis, indexedMatchSecond);
+		if (entry.nextTime > -1) {
+			queue.offer(entry);
+		}
+	}
+
+	/**
+	 * 标记索引项已移除，队列中的项延迟清理，需在锁内调用
+	 *
+	 * @param entry 索引项
+	 */
+	private void cancel(Entry entry) {
+		entry.removed = true;
+		if (entry.nextTime > -1) {
+			removedCount++;
+			if (removedCount > COMPACT_THRESHOLD && removedCount > queue.size() / 2) {
+				queue.removeIf(e -> e.removed);
+				removedCount = 0;
+			}
+		}
+	}
+
+	/**
+	 * 更新最早的下次执行时间，需在锁内调用
+	 */
+	private void updateNextFireTime() {
+		Entry head;
+		while (null != (head = queue.peek()) && head.removed) {
+			queue.poll();
+			removedCount--;
+		}
+		this.nextFireTime = (null == head) ? Long.MAX_VALUE : head.nextTime;
+	}
+	// -------------------------------------------------------------------------------------- Private method end
+
+	/**
+	 * 索引项
+	 */
+	private static class Entry implements Comparable<Entry>, Serializable {
+		private static final long serialVersionUID = 1L;
+
+		private final String id;
+		private final CronPattern pattern;
+		private final Task task;
+		/** 下次执行时间，-1表示无 */
+		private long nextTime = -1;
+		/** 是否已移除 */
+		private boolean removed;
+
+		Entry(String id, CronPattern pattern, Task task) {
+			this.id = id;
+			this.pattern = pattern;
+			this.task = task;
+		}
+
+		@Override
+		public int compareTo(Entry o) {
+			return Long.compare(this.nextTime, o.nextTime);
+		}
+	}
+}
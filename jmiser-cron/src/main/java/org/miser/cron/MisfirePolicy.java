@@ -0,0 +1,26 @@
+package org.miser.cron;
+
+/**
+ * 错过触发策略<br>
+ * 当任务触发时无法立即执行（同一任务运行中的实例数达到{@link CronConfig#getMaxConcurrentPerTask()}，或执行队列已满），
+ * 此次触发视为错过，按此策略处理
+ *
+ * @author Oliver
+ */
+public enum MisfirePolicy {
+
+	/**
+	 * 跳过，直接丢弃错过的触发
+	 */
+	SKIP,
+	/**
+	 * 合并，每个任务最多保留一次待执行的触发，之后错过的触发合并到其中并以最近一次触发时间为准，
+	 * 在该任务有运行实例结束后执行
+	 */
+	COALESCE,
+	/**
+	 * 补执行一次，每个任务最多保留一次待执行的触发，保留最早错过的触发时间，之后错过的触发直接丢弃，
+	 * 在该任务有运行实例结束后执行
+	 */
+	FIRE_ONCE
+}
@@ -8,6 +8,7 @@ import org.miser.core.util.IdUtil;
 import org.miser.core.util.StringUtil;
 import org.miser.cron.listener.TaskListener;
 import org.miser.cron.listener.TaskListenerManager;
+import org.miser.cron.listener.TaskMetrics;
 import org.miser.cron.pattern.CronPattern;
 import org.miser.cron.task.InvokeTask;
 import org.miser.cron.task.RunnableTask;
@@ -20,6 +21,7 @@ import java.util.LinkedHashMap;
 import java.util.Map.Entry;
 import java.util.TimeZone;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -74,8 +76,10 @@ public class Scheduler implements Serializable {
 	protected TaskExecutorManager taskExecutorManager;
 	/** 监听管理器列表 */
 	protected TaskListenerManager listenerManager = new TaskListenerManager();
-	/** 线程池，用于执行TaskLauncher和TaskExecutor */
+	/** 线程池，用于执行TaskLauncher，未限制执行任务的线程数时也用于执行TaskExecutor */
 	protected ExecutorService threadExecutor;
+	/** 线程池，用于执行TaskExecutor，见{@link CronConfig#setExecutorPool(int, int)} */
+	protected ExecutorService taskThreadExecutor;
 
 	// --------------------------------------------------------- Getters and Setters start
 	/**
@@ -148,6 +152,100 @@ public class Scheduler implements Serializable {
 		return this;
 	}
 
+	/**
+	 * 是否使用带索引的任务表
+	 *
+	 * @return {@code true}使用，{@code false}不使用
+	 */
+	public boolean isIndexed() {
+		return this.config.isIndexed();
+	}
+
+	/**
+	 * 设置是否使用带索引的任务表，默认不使用，已加入的任务会转移到新的任务表中<br>
+	 * 使用时预先计算每个任务的下次执行时间，计时器每次只处理到期的任务，而非逐个匹配所有任务的表达式，适用于任务数量很大的场景
+	 *
+	 * @param indexed {@code true}使用，{@code false}不使用
+	 * @return this
+	 * @throws CronException 定时任务已经启动抛出此异常
+	 * @see IndexedTaskTable
+	 */
+	public Scheduler setIndexed(boolean indexed) throws CronException {
+		lock.lock();
+		try {
+			if (this.started) {
+				throw new CronException("Scheduler already started!");
+			}
+			if (this.config.isIndexed() != indexed) {
+				this.config.setIndexed(indexed);
+				final TaskTable oldTable = this.taskTable;
+				final TaskTable newTable = newTaskTable();
+				final int size = oldTable.size();
+				for (int i = 0; i < size; i++) {
+					newTable.add(oldTable.getIds().get(i), oldTable.getPattern(i), oldTable.getTask(i));
+				}
+				this.taskTable = newTable;
+			}
+		} finally {
+			lock.unlock();
+		}
+		return this;
+	}
+
+	/**
+	 * 设置每个任务同时运行的最大实例数，默认不限制<br>
+	 * 任务执行时间超过触发间隔时，新的触发按{@link #setMisfirePolicy(MisfirePolicy)}设置的策略处理
+	 *
+	 * @param maxConcurrentPerTask 最大实例数，小于1表示不限制
+	 * @return this
+	 */
+	public Scheduler setMaxConcurrentPerTask(int maxConcurrentPerTask) {
+		this.config.setMaxConcurrentPerTask(maxConcurrentPerTask);
+		return this;
+	}
+
+	/**
+	 * 设置错过触发策略，默认{@link MisfirePolicy#SKIP}
+	 *
+	 * @param misfirePolicy 错过触发策略
+	 * @return this
+	 */
+	public Scheduler setMisfirePolicy(MisfirePolicy misfirePolicy) {
+		this.config.setMisfirePolicy(misfirePolicy);
+		return this;
+	}
+
+	/**
+	 * 设置执行任务的线程池大小和等待队列容量，默认线程数不限制<br>
+	 * 线程全部繁忙时触发的任务进入等待队列，队列已满时按错过触发策略处理
+	 *
+	 * @param maxPoolSize 最大线程数，小于1表示不限制
+	 * @param queueCapacity 等待队列容量，仅在限制最大线程数时有效
+	 * @return this
+	 * @throws CronException 定时任务已经启动抛出此异常
+	 */
+	public Scheduler setExecutorPool(int maxPoolSize, int queueCapacity) throws CronException {
+		lock.lock();
+		try {
+			if (this.started) {
+				throw new CronException("Scheduler already started!");
+			}
+			this.config.setExecutorPool(maxPoolSize, queueCapacity);
+		} finally {
+			lock.unlock();
+		}
+		return this;
+	}
+
+	/**
+	 * 获取任务执行统计，包括运行时间、触发延迟、队列深度等
+	 *
+	 * @return {@link TaskMetrics}
+	 */
+	public TaskMetrics getMetrics() {
+		return this.listenerManager.getMetrics();
+	}
+
 	/**
 	 * 增加监听器
 	 *
@@ -345,11 +443,20 @@ public class Scheduler implements Serializable {
 	 * 
 	 */
 	public Scheduler clear() {
-		this.taskTable = new TaskTable();
+		this.taskTable = newTaskTable();
 		return this;
 	}
 	// -------------------------------------------------------------------- shcedule end
 
+	/**
+	 * 根据配置创建新的任务表
+	 *
+	 * @return {@link TaskTable}
+	 */
+	private TaskTable newTaskTable() {
+		return this.config.isIndexed() ? new IndexedTaskTable(this.config) : new TaskTable();
+	}
+
 	/**
 	 * @return 是否已经启动
 	 */
@@ -384,6 +491,18 @@ public class Scheduler implements Serializable {
 			this.threadExecutor = ExecutorBuilder.create().useSynchronousQueue().setThreadFactory(//
 					ThreadFactoryBuilder.create().setNamePrefix("jmiser-cron-").setDaemon(this.daemon).build()//
 			).build();
+			if (this.config.getMaxPoolSize() > 0) {
+				// 有界线程池，线程全部繁忙时进入等待队列，队列满时拒绝并按错过触发策略处理
+				this.taskThreadExecutor = ExecutorBuilder.create()//
+						.setCorePoolSize(this.config.getMaxPoolSize())//
+						.setMaxPoolSize(this.config.getMaxPoolSize())//
+						.useArrayBlockingQueue(this.config.getQueueCapacity())//
+						.setHandler(new ThreadPoolExecutor.AbortPolicy())//
+						.setThreadFactory(ThreadFactoryBuilder.create().setNamePrefix("jmiser-cron-task-").setDaemon(this.daemon).build())//
+						.build();
+			} else {
+				this.taskThreadExecutor = this.threadExecutor;
+			}
 			this.taskLauncherManager = new TaskLauncherManager(this);
 			this.taskExecutorManager = new TaskExecutorManager(this);
 
@@ -429,6 +548,10 @@ public class Scheduler implements Serializable {
 			this.timer = null;
 
 			//停止线程池
+			if (this.taskThreadExecutor != this.threadExecutor) {
+				this.taskThreadExecutor.shutdown();
+			}
+			this.taskThreadExecutor = null;
 			this.threadExecutor.shutdown();
 			this.threadExecutor = null;
 
@@ -14,6 +14,12 @@ public class TaskExecutor implements Runnable {
 
 	private final Scheduler scheduler;
 	private final CronTask task;
+	/** 触发时间 */
+	private final long scheduledMillis;
+	/** 开始执行时间，未开始为0 */
+	private volatile long startMillis;
+	/** 合并到此次执行的错过触发次数，见{@link MisfirePolicy#COALESCE} */
+	private volatile int coalescedCount;
 
 	/**
 	 * 获得原始任务对象
@@ -35,18 +41,67 @@ public class TaskExecutor implements Runnable {
 	}
 
 	/**
-	 * 构造
+	 * 获得触发时间
+	 *
+	 * @return 触发时间毫秒数
+	 */
+	public long getScheduledMillis() {
+		return this.scheduledMillis;
+	}
+
+	/**
+	 * 获得开始执行时间
+	 *
+	 * @return 开始执行时间毫秒数，未开始为0
+	 */
+	public long getStartMillis() {
+		return this.startMillis;
+	}
+
+	/**
+	 * 获得合并到此次执行的错过触发次数
+	 *
+	 * @return 合并的触发次数
+	 */
+	public int getCoalescedCount() {
+		return this.coalescedCount;
+	}
+
+	/**
+	 * 构造，触发时间为当前时间
 	 *
 	 * @param scheduler 调度器
 	 * @param task 被执行的任务
 	 */
 	public TaskExecutor(Scheduler scheduler, CronTask task) {
+		this(scheduler, task, System.currentTimeMillis());
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param scheduler 调度器
+	 * @param task 被执行的任务
+	 * @param scheduledMillis 触发时间
+	 */
+	public TaskExecutor(Scheduler scheduler, CronTask task, long scheduledMillis) {
 		this.scheduler = scheduler;
 		this.task = task;
+		this.scheduledMillis = scheduledMillis;
+	}
+
+	/**
+	 * 将被替代的执行器合并到此执行器
+	 *
+	 * @param replaced 被替代的执行器
+	 */
+	void coalesce(TaskExecutor replaced) {
+		this.coalescedCount += replaced.coalescedCount + 1;
 	}
 
 	@Override
 	public void run() {
+		this.startMillis = System.currentTimeMillis();
 		try {
 			scheduler.listenerManager.notifyTaskStart(this);
 			task.execute();
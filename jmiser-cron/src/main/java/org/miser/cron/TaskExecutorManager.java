@@ -7,69 +7,220 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 作业执行管理器<br>
  * 负责管理作业的启动、停止等
  *
  * <p>
- * 此类用于管理正在运行的作业情况，作业启动后加入任务列表，任务结束移除
+ * 此类用于管理正在运行的作业情况，作业启动后加入任务列表，任务结束移除<br>
+ * 同一任务运行中的实例数达到{@link CronConfig#getMaxConcurrentPerTask()}或线程池队列已满时，
+ * 此次触发按{@link CronConfig#getMisfirePolicy()}处理。执行器登记及每个任务的状态均使用无锁结构维护
  * </p>
  *
  * @author Oliver
- * 
+ *
  */
 public class TaskExecutorManager implements Serializable {
 	private static final long serialVersionUID = 1L;
 
 	protected Scheduler scheduler;
 	/**
-	 * 执行器列表
+	 * 执行器集合
+	 */
+	private final Set<TaskExecutor> executors = ConcurrentHashMap.newKeySet();
+	/**
+	 * 任务ID与运行状态对应表
 	 */
-	private final List<TaskExecutor> executors = new ArrayList<>();
+	private final Map<String, TaskState> states = new ConcurrentHashMap<>();
 
 	public TaskExecutorManager(Scheduler scheduler) {
 		this.scheduler = scheduler;
 	}
 
 	/**
-	 * 获取所有正在执行的任务调度执行器
+	 * 获取所有正在执行的任务调度执行器，返回当前执行器的快照
 	 *
 	 * @return 任务执行器列表
-	 * 
+	 *
 	 */
 	public List<TaskExecutor> getExecutors() {
-		return Collections.unmodifiableList(this.executors);
+		return Collections.unmodifiableList(new ArrayList<>(this.executors));
+	}
+
+	/**
+	 * 获取指定任务正在执行（包括等待线程）的实例数
+	 *
+	 * @param id 任务ID
+	 * @return 实例数
+	 */
+	public int getRunningCount(String id) {
+		final TaskState state = states.get(id);
+		return null == state ? 0 : state.running.get();
 	}
 
 	/**
-	 * 启动 执行器TaskExecutor，即启动作业
+	 * 启动 执行器TaskExecutor，即启动作业，触发时间为当前时间
 	 *
 	 * @param task {@link Task}
 	 * @return {@link TaskExecutor}
 	 */
 	public TaskExecutor spawnExecutor(CronTask task) {
-		final TaskExecutor executor = new TaskExecutor(this.scheduler, task);
-		synchronized (this.executors) {
-			this.executors.add(executor);
+		return spawnExecutor(task, System.currentTimeMillis());
+	}
+
+	/**
+	 * 启动 执行器TaskExecutor，即启动作业<br>
+	 * 如果此任务运行中的实例数已达上限，或线程池队列已满，则按错过触发策略处理，此时返回的执行器不会被执行或延后执行
+	 *
+	 * @param task {@link Task}
+	 * @param scheduledMillis 触发时间
+	 * @return {@link TaskExecutor}
+	 */
+	public TaskExecutor spawnExecutor(CronTask task, long scheduledMillis) {
+		final TaskExecutor executor = new TaskExecutor(this.scheduler, task, scheduledMillis);
+		final TaskState state = states.computeIfAbsent(task.getId(), (id) -> new TaskState());
+		if (state.tryAcquire(this.scheduler.config.getMaxConcurrentPerTask())) {
+			// 待执行的触发合并到本次执行
+			final TaskExecutor pending = state.pending.getAndSet(null);
+			if (null != pending) {
+				executor.coalesce(pending);
+				this.scheduler.listenerManager.notifyTaskMisfired(pending);
+			}
+			submit(state, executor);
+		} else {
+			misfire(state, executor);
+			// 等待期间运行中的实例可能已结束
+			drainPending(state);
 		}
-		// 子线程是否为deamon线程取决于父线程，因此此处无需显示调用
-		// executor.setDaemon(this.scheduler.daemon);
-//		executor.start();
-		this.scheduler.threadExecutor.execute(executor);
 		return executor;
 	}
 
 	/**
-	 * 执行器执行完毕调用此方法，将执行器从执行器列表移除，此方法由{@link TaskExecutor}对象调用，用于通知管理器自身已完成执行
+	 * 执行器执行完毕调用此方法，将执行器从执行器列表移除，此方法由{@link TaskExecutor}对象调用，用于通知管理器自身已完成执行<br>
+	 * 如果此任务有待执行的触发，则随即执行
 	 *
 	 * @param executor 执行器 {@link TaskExecutor}
 	 * @return this
 	 */
 	public TaskExecutorManager notifyExecutorCompleted(TaskExecutor executor) {
-		synchronized (executors) {
-			executors.remove(executor);
+		executors.remove(executor);
+		final TaskState state = states.get(executor.getCronTask().getId());
+		if (null != state) {
+			state.running.decrementAndGet();
+			drainPending(state);
 		}
 		return this;
 	}
+
+	// -------------------------------------------------------------------------------------- Private method start
+	/**
+	 * 提交执行器到线程池，调用前需已占用运行名额
+	 *
+	 * @param state 任务状态
+	 * @param executor 执行器
+	 */
+	private void submit(TaskState state, TaskExecutor executor) {
+		executors.add(executor);
+		this.scheduler.listenerManager.notifyTaskQueued(executor);
+		try {
+			final ExecutorService threadExecutor = this.scheduler.taskThreadExecutor;
+			if (null == threadExecutor) {
+				throw new RejectedExecutionException("Scheduler is stopped!");
+			}
+			threadExecutor.execute(executor);
+		} catch (RejectedExecutionException e) {
+			// 队列已满或调度器已停止，等待下次任务结束或触发时再执行
+			executors.remove(executor);
+			state.running.decrementAndGet();
+			this.scheduler.listenerManager.notifyTaskRejected(executor);
+			misfire(state, executor);
+		}
+	}
+
+	/**
+	 * 按错过触发策略处理未能执行的触发
+	 *
+	 * @param state 任务状态
+	 * @param executor 未能执行的执行器
+	 */
+	private void misfire(TaskState state, TaskExecutor executor) {
+		switch (this.scheduler.config.getMisfirePolicy()) {
+			case COALESCE:
+				final TaskExecutor replaced = state.pending.getAndSet(executor);
+				if (null != replaced) {
+					executor.coalesce(replaced);
+					this.scheduler.listenerManager.notifyTaskMisfired(replaced);
+				}
+				break;
+			case FIRE_ONCE:
+				if (false == state.pending.compareAndSet(null, executor)) {
+					this.scheduler.listenerManager.notifyTaskMisfired(executor);
+				}
+				break;
+			default:
+				this.scheduler.listenerManager.notifyTaskMisfired(executor);
+				break;
+		}
+	}
+
+	/**
+	 * 如果有空闲的运行名额，执行待执行的触发
+	 *
+	 * @param state 任务状态
+	 */
+	private void drainPending(TaskState state) {
+		if (null == state.pending.get() || false == state.tryAcquire(this.scheduler.config.getMaxConcurrentPerTask())) {
+			return;
+		}
+		final TaskExecutor pending = state.pending.getAndSet(null);
+		if (null == pending) {
+			state.running.decrementAndGet();
+			return;
+		}
+		submit(state, pending);
+	}
+	// -------------------------------------------------------------------------------------- Private method end
+
+	/**
+	 * 单个任务的运行状态
+	 *
+	 * @author Oliver
+	 */
+	private static class TaskState implements Serializable {
+		private static final long serialVersionUID = 1L;
+
+		/** 运行中（包括等待线程）的实例数 */
+		private final AtomicInteger running = new AtomicInteger();
+		/** 错过后等待执行的触发 */
+		private final AtomicReference<TaskExecutor> pending = new AtomicReference<>();
+
+		/**
+		 * 尝试占用一个运行名额
+		 *
+		 * @param maxConcurrent 最大实例数，小于1表示不限制
+		 * @return 是否占用成功
+		 */
+		boolean tryAcquire(int maxConcurrent) {
+			if (maxConcurrent < 1) {
+				running.incrementAndGet();
+				return true;
+			}
+			int current;
+			do {
+				current = running.get();
+				if (current >= maxConcurrent) {
+					return false;
+				}
+			} while (false == running.compareAndSet(current, current + 1));
+			return true;
+		}
+	}
 }
@@ -1,6 +1,7 @@
 package org.miser.cron;
 
 import org.miser.cron.pattern.CronPattern;
+import org.miser.cron.pattern.TimeFields;
 import org.miser.cron.task.CronTask;
 import org.miser.cron.task.Task;
 
@@ -252,6 +253,17 @@ public class TaskTable implements Serializable {
 		return null;
 	}
 
+	/**
+	 * 给定时间是否可能有需要执行的Task，为{@code false}时计时器跳过此时间点，不启动{@link TaskLauncher}
+	 *
+	 * @param scheduler {@link Scheduler}
+	 * @param millis 时间毫秒
+	 * @return 是否可能有需要执行的Task
+	 */
+	public boolean hasTaskToExecute(Scheduler scheduler, long millis) {
+		return false == isEmpty();
+	}
+
 	/**
 	 * 如果时间匹配则执行相应的Task，带读锁
 	 *
@@ -269,16 +281,22 @@ public class TaskTable implements Serializable {
 	}
 
 	/**
-	 * 如果时间匹配则执行相应的Task，无锁
+	 * 如果时间匹配则执行相应的Task，无锁<br>
+	 * 时间只按时区拆分一次为{@link TimeFields}，所有表达式共享此快照匹配
 	 *
 	 * @param scheduler {@link Scheduler}
 	 * @param millis 时间毫秒
 	 * 
 	 */
 	protected void executeTaskIfMatchInternal(Scheduler scheduler, long millis) {
+		if (size < 1) {
+			return;
+		}
+		final TimeFields fields = new TimeFields(scheduler.config.timezone, millis);
+		final boolean isMatchSecond = scheduler.config.matchSecond;
 		for (int i = 0; i < size; i++) {
-			if (patterns.get(i).match(scheduler.config.timezone, millis, scheduler.config.matchSecond)) {
-				scheduler.taskExecutorManager.spawnExecutor(new CronTask(ids.get(i), patterns.get(i), tasks.get(i)));
+			if (patterns.get(i).match(fields, isMatchSecond)) {
+				scheduler.taskExecutorManager.spawnExecutor(new CronTask(ids.get(i), patterns.get(i), tasks.get(i)), millis);
 			}
 		}
 	}
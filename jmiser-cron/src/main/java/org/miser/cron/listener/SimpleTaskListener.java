@@ -22,4 +22,8 @@ public class SimpleTaskListener implements TaskListener{
 	public void onFailed(TaskExecutor executor, Throwable exception) {
 	}
 
+	@Override
+	public void onMisfired(TaskExecutor executor) {
+	}
+
 }
@@ -29,4 +29,12 @@ public interface TaskListener {
 	 * @param exception 异常
 	 */
 	void onFailed(TaskExecutor executor, Throwable exception);
+
+	/**
+	 * 任务错过触发（被跳过或合并到待执行的触发中）时触发，见{@link org.miser.cron.MisfirePolicy}
+	 *
+	 * @param executor 未执行的{@link TaskExecutor}
+	 */
+	default void onMisfired(TaskExecutor executor) {
+	}
 }
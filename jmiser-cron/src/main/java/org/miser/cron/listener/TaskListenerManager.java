@@ -4,18 +4,20 @@ import org.miser.cron.TaskExecutor;
 import org.miser.log.StaticLog;
 
 import java.io.Serializable;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * 监听调度器，统一管理监听
+ * 监听调度器，统一管理监听，同时记录任务执行统计{@link TaskMetrics}<br>
+ * 监听列表为写时复制，通知监听时无锁
  * @author Oliver
  *
  */
 public class TaskListenerManager implements Serializable {
 	private static final long serialVersionUID = 1L;
 
-	private final List<TaskListener> listeners = new ArrayList<>();
+	private final List<TaskListener> listeners = new CopyOnWriteArrayList<>();
+	private final TaskMetrics metrics = new TaskMetrics();
 
 	/**
 	 * 增加监听器
@@ -23,7 +25,7 @@ public class TaskListenerManager implements Serializable {
 	 * @return this
 	 */
 	public TaskListenerManager addListener(TaskListener listener){
-		synchronized (listeners) {
+		if (null != listener) {
 			this.listeners.add(listener);
 		}
 		return this;
@@ -35,25 +37,42 @@ public class TaskListenerManager implements Serializable {
 	 * @return this
 	 */
 	public TaskListenerManager removeListener(TaskListener listener){
-		synchronized (listeners) {
-			this.listeners.remove(listener);
-		}
+		this.listeners.remove(listener);
 		return this;
 	}
 
+	/**
+	 * 获取任务执行统计
+	 * @return {@link TaskMetrics}
+	 */
+	public TaskMetrics getMetrics() {
+		return this.metrics;
+	}
+
+	/**
+	 * 通知任务已提交到线程池等待执行
+	 * @param executor {@link TaskExecutor}
+	 */
+	public void notifyTaskQueued(TaskExecutor executor) {
+		metrics.recordQueued();
+	}
+
+	/**
+	 * 通知任务提交到线程池被拒绝
+	 * @param executor {@link TaskExecutor}
+	 */
+	public void notifyTaskRejected(TaskExecutor executor) {
+		metrics.recordDequeued();
+	}
+
 	/**
 	 * 通知所有监听任务启动器启动
 	 * @param executor {@link TaskExecutor}
 	 */
 	public void notifyTaskStart(TaskExecutor executor) {
-		synchronized (listeners) {
-			TaskListener listener;
-			for (TaskListener taskListener : listeners) {
-				listener = taskListener;
-				if (null != listener) {
-					listener.onStart(executor);
-				}
-			}
+		metrics.recordStart(executor.getStartMillis() - executor.getScheduledMillis());
+		for (TaskListener listener : listeners) {
+			listener.onStart(executor);
 		}
 	}
 
@@ -62,10 +81,9 @@ public class TaskListenerManager implements Serializable {
 	 * @param executor {@link TaskExecutor}
 	 */
 	public void notifyTaskSucceeded(TaskExecutor executor) {
-		synchronized (listeners) {
-			for (TaskListener listener : listeners) {
-				listener.onSucceeded(executor);
-			}
+		metrics.recordFinish(System.currentTimeMillis() - executor.getStartMillis(), true);
+		for (TaskListener listener : listeners) {
+			listener.onSucceeded(executor);
 		}
 	}
 
@@ -76,15 +94,24 @@ public class TaskListenerManager implements Serializable {
 	 * @param exception 失败原因
 	 */
 	public void notifyTaskFailed(TaskExecutor executor, Throwable exception) {
-		synchronized (listeners) {
-			int size = listeners.size();
-			if(size > 0){
-				for (TaskListener listenerl : listeners) {
-					listenerl.onFailed(executor, exception);
-				}
-			}else{
-				StaticLog.error(exception, exception.getMessage());
-			}
+		metrics.recordFinish(System.currentTimeMillis() - executor.getStartMillis(), false);
+		if (listeners.isEmpty()) {
+			StaticLog.error(exception, exception.getMessage());
+			return;
+		}
+		for (TaskListener listener : listeners) {
+			listener.onFailed(executor, exception);
+		}
+	}
+
+	/**
+	 * 通知所有监听任务错过触发
+	 * @param executor 未执行的{@link TaskExecutor}
+	 */
+	public void notifyTaskMisfired(TaskExecutor executor) {
+		metrics.recordMisfire();
+		for (TaskListener listener : listeners) {
+			listener.onMisfired(executor);
 		}
 	}
 }
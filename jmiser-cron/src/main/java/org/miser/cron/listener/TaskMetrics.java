@@ -0,0 +1,238 @@
+package org.miser.cron.listener;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 定时任务执行统计<br>
+ * 由{@link TaskListenerManager}在任务排队、开始、结束和错过触发时记录，包括：
+ * <ul>
+ *     <li>运行时间分布</li>
+ *     <li>触发时间到实际开始执行的延迟分布</li>
+ *     <li>等待执行的队列深度</li>
+ *     <li>开始、成功、失败及错过触发的次数</li>
+ * </ul>
+ * 所有统计均无锁记录，可在任务执行线程中直接调用
+ *
+ * @author Oliver
+ */
+public class TaskMetrics implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private final Histogram runTime = new Histogram();
+	private final Histogram lag = new Histogram();
+	private final AtomicInteger queueDepth = new AtomicInteger();
+	private final LongAccumulator maxQueueDepth = new LongAccumulator(Math::max, 0);
+	private final LongAdder started = new LongAdder();
+	private final LongAdder succeeded = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private final LongAdder misfired = new LongAdder();
+
+	/**
+	 * @return 运行时间（毫秒）分布
+	 */
+	public Histogram getRunTime() {
+		return runTime;
+	}
+
+	/**
+	 * @return 触发时间到实际开始执行的延迟（毫秒）分布
+	 */
+	public Histogram getLag() {
+		return lag;
+	}
+
+	/**
+	 * @return 当前已提交但未开始执行的任务数
+	 */
+	public int getQueueDepth() {
+		return queueDepth.get();
+	}
+
+	/**
+	 * @return 队列深度的历史最大值
+	 */
+	public long getMaxQueueDepth() {
+		return maxQueueDepth.get();
+	}
+
+	/**
+	 * @return 开始执行的次数
+	 */
+	public long getStartedCount() {
+		return started.sum();
+	}
+
+	/**
+	 * @return 成功结束的次数
+	 */
+	public long getSucceededCount() {
+		return succeeded.sum();
+	}
+
+	/**
+	 * @return 失败的次数
+	 */
+	public long getFailedCount() {
+		return failed.sum();
+	}
+
+	/**
+	 * @return 错过触发（被跳过或合并）的次数
+	 */
+	public long getMisfiredCount() {
+		return misfired.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "TaskMetrics{started=" + getStartedCount() + ", succeeded=" + getSucceededCount() + ", failed=" + getFailedCount()
+				+ ", misfired=" + getMisfiredCount() + ", queueDepth=" + getQueueDepth() + ", maxQueueDepth=" + getMaxQueueDepth()
+				+ ", runTime=" + runTime + ", lag=" + lag + '}';
+	}
+
+	// -------------------------------------------------------------------------------------- record start
+	/**
+	 * 记录任务进入队列
+	 */
+	void recordQueued() {
+		maxQueueDepth.accumulate(queueDepth.incrementAndGet());
+	}
+
+	/**
+	 * 记录任务离开队列但未执行（被拒绝）
+	 */
+	void recordDequeued() {
+		queueDepth.decrementAndGet();
+	}
+
+	/**
+	 * 记录任务开始执行
+	 *
+	 * @param lagMillis 触发时间到开始执行的延迟
+	 */
+	void recordStart(long lagMillis) {
+		queueDepth.decrementAndGet();
+		started.increment();
+		lag.record(lagMillis);
+	}
+
+	/**
+	 * 记录任务执行结束
+	 *
+	 * @param runMillis 运行时间
+	 * @param success 是否成功
+	 */
+	void recordFinish(long runMillis, boolean success) {
+		runTime.record(runMillis);
+		if (success) {
+			succeeded.increment();
+		} else {
+			failed.increment();
+		}
+	}
+
+	/**
+	 * 记录错过触发
+	 */
+	void recordMisfire() {
+		misfired.increment();
+	}
+	// -------------------------------------------------------------------------------------- record end
+
+	/**
+	 * 无锁直方图，按2的幂分桶，第i个桶记录[2^(i-1), 2^i)范围内的值，0单独一个桶
+	 *
+	 * @author Oliver
+	 */
+	public static class Histogram implements Serializable {
+		private static final long serialVersionUID = 1L;
+
+		private static final int BUCKET_SIZE = 64;
+
+		private final LongAdder[] buckets = new LongAdder[BUCKET_SIZE];
+		private final LongAdder count = new LongAdder();
+		private final LongAdder sum = new LongAdder();
+		private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+		Histogram() {
+			for (int i = 0; i < BUCKET_SIZE; i++) {
+				buckets[i] = new LongAdder();
+			}
+		}
+
+		/**
+		 * 记录一个值，负数按0记录
+		 *
+		 * @param value 值
+		 */
+		void record(long value) {
+			if (value < 0) {
+				value = 0;
+			}
+			buckets[Math.min(BUCKET_SIZE - 1, 64 - Long.numberOfLeadingZeros(value))].increment();
+			count.increment();
+			sum.add(value);
+			max.accumulate(value);
+		}
+
+		/**
+		 * @return 记录的值个数
+		 */
+		public long getCount() {
+			return count.sum();
+		}
+
+		/**
+		 * @return 记录的值总和
+		 */
+		public long getSum() {
+			return sum.sum();
+		}
+
+		/**
+		 * @return 最大值
+		 */
+		public long getMax() {
+			return max.get();
+		}
+
+		/**
+		 * @return 平均值，无记录返回0
+		 */
+		public double getMean() {
+			final long count = getCount();
+			return count > 0 ? (double) getSum() / count : 0;
+		}
+
+		/**
+		 * 获取近似的百分位数，结果为所在桶的上界，且不超过最大值
+		 *
+		 * @param percentile 百分位，(0, 1]，例如0.99
+		 * @return 近似的百分位数，无记录返回0
+		 */
+		public long getPercentile(double percentile) {
+			final long count = getCount();
+			if (count < 1) {
+				return 0;
+			}
+			final long rank = (long) Math.ceil(percentile * count);
+			long seen = 0;
+			for (int i = 0; i < BUCKET_SIZE; i++) {
+				seen += buckets[i].sum();
+				if (seen >= rank) {
+					return Math.min(getMax(), i == 0 ? 0 : (1L << i) - 1);
+				}
+			}
+			return getMax();
+		}
+
+		@Override
+		public String toString() {
+			return "{count=" + getCount() + ", mean=" + getMean() + ", p50=" + getPercentile(0.5) + ", p99=" + getPercentile(0.99)
+					+ ", max=" + getMax() + '}';
+		}
+	}
+}
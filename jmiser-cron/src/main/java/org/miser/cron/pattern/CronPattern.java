@@ -16,8 +16,13 @@ import org.miser.cron.pattern.parser.SecondValueParser;
 import org.miser.cron.pattern.parser.ValueParser;
 import org.miser.cron.pattern.parser.YearValueParser;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.GregorianCalendar;
 import java.util.List;
 import java.util.TimeZone;
@@ -28,7 +33,7 @@ import java.util.TimeZone;
  * <ol>
  * <li><strong>分</strong>：范围：0~59</li>
  * <li><strong>时</strong>：范围：0~23</li>
- * <li><strong>日</strong>：范围：1~31，<strong>"L"</strong>表示月的最后一天</li>
+ * <li><strong>日</strong>：范围：1~31，<strong>"L"</strong>表示月的最后一天，<strong>"15W"</strong>表示离15日最近的工作日，<strong>"LW"</strong>表示月的最后一个工作日</li>
  * <li><strong>月</strong>：范围：1~12，同时支持不区分大小写的别名："jan","feb", "mar", "apr", "may","jun", "jul", "aug", "sep","oct", "nov", "dec"</li>
  * <li><strong>周</strong>：范围：0 (Sunday)~6(Saturday)，7也可以表示周日，同时支持不区分大小写的别名："sun","mon", "tue", "wed", "thu","fri", "sat"，<strong>"L"</strong>表示周六</li>
  * </ol>
@@ -88,6 +93,8 @@ public class CronPattern {
 	private static final ValueParser MONTH_VALUE_PARSER = new MonthValueParser();
 	private static final ValueParser DAY_OF_WEEK_VALUE_PARSER = new DayOfWeekValueParser();
 	private static final ValueParser YEAR_VALUE_PARSER = new YearValueParser();
+	/** 表达式支持的最大年份 */
+	private static final int MAX_YEAR = YEAR_VALUE_PARSER.getMax();
 
 	private final String pattern;
 
@@ -152,20 +159,32 @@ public class CronPattern {
 	 * @return 如果匹配返回 <code>true</code>, 否则返回 <code>false</code>
 	 */
 	public boolean match(GregorianCalendar calendar, boolean isMatchSecond) {
-		final int second = calendar.get(Calendar.SECOND);
-		final int minute = calendar.get(Calendar.MINUTE);
-		final int hour = calendar.get(Calendar.HOUR_OF_DAY);
-		final int dayOfMonth = calendar.get(Calendar.DAY_OF_MONTH);
-		final int month = calendar.get(Calendar.MONTH) + 1;// 月份从1开始
-		final int dayOfWeek = calendar.get(Calendar.DAY_OF_WEEK) - 1; // 星期从0开始，0和7都表示周日
-		final int year = calendar.get(Calendar.YEAR);
+		return match(new TimeFields(calendar), isMatchSecond);
+	}
+
+	/**
+	 * 给定时间字段快照是否匹配定时任务表达式<br>
+	 * 同一时刻匹配多个表达式时，应只创建一次{@link TimeFields}，匹配过程无对象分配
+	 *
+	 * @param fields 时间字段快照
+	 * @param isMatchSecond 是否匹配秒
+	 * @return 如果匹配返回 <code>true</code>, 否则返回 <code>false</code>
+	 */
+	public boolean match(TimeFields fields, boolean isMatchSecond) {
+		final int second = fields.getSecond();
+		final int minute = fields.getMinute();
+		final int hour = fields.getHour();
+		final int dayOfMonth = fields.getDayOfMonth();
+		final int month = fields.getMonth();
+		final int dayOfWeek = fields.getDayOfWeek();
+		final int year = fields.getYear();
 
 		boolean eval;
 		for (int i = 0; i < matcherSize; i++) {
 			eval = ((false == isMatchSecond) || secondMatchers.get(i).match(second)) // 匹配秒（非秒匹配模式下始终返回true）
 					&& minuteMatchers.get(i).match(minute)// 匹配分
 					&& hourMatchers.get(i).match(hour)// 匹配时
-					&& isMatchDayOfMonth(dayOfMonthMatchers.get(i), dayOfMonth, month, calendar.isLeapYear(year))// 匹配日
+					&& isMatchDayOfMonth(dayOfMonthMatchers.get(i), dayOfMonth, month, fields.isLeapYear(), dayOfWeek)// 匹配日
 					&& monthMatchers.get(i).match(month) // 匹配月
 					&& dayOfWeekMatchers.get(i).match(dayOfWeek)// 匹配周
 					&& isMatch(yearMatchers, i, year);// 匹配年
@@ -177,12 +196,187 @@ public class CronPattern {
 	}
 	// --------------------------------------------------------------------------------------- match end
 
+	// --------------------------------------------------------------------------------------- next start
+	/**
+	 * 获取给定时间之后（不包括）第一个匹配表达式的时间，使用默认时区<br>
+	 * 秒匹配模式下结果精确到秒，否则精确到分（秒和毫秒为0）
+	 *
+	 * @param millis 起始时间毫秒数
+	 * @param isMatchSecond 是否匹配秒
+	 * @return 匹配的时间毫秒数，无匹配时间（例如指定的年已经过去）返回-1
+	 */
+	public long nextMatchAfter(long millis, boolean isMatchSecond) {
+		return nextMatchAfter(TimeZone.getDefault(), millis, isMatchSecond);
+	}
+
+	/**
+	 * 获取给定时间之后（不包括）第一个匹配表达式的时间<br>
+	 * 秒匹配模式下结果精确到秒，否则精确到分（秒和毫秒为0）<br>
+	 * 结果与从起始时间开始逐秒（分）调用{@link #match(TimeZone, long, boolean)}得到的第一个时间一致：
+	 * <ul>
+	 * <li>夏令时开始时跳过的本地时间不存在，不会被匹配</li>
+	 * <li>夏令时结束时重复的本地时间在两次出现时均会被匹配</li>
+	 * </ul>
+	 *
+	 * @param timezone 时区 {@link TimeZone}
+	 * @param millis 起始时间毫秒数
+	 * @param isMatchSecond 是否匹配秒
+	 * @return 匹配的时间毫秒数，无匹配时间（例如指定的年已经过去）返回-1
+	 */
+	public long nextMatchAfter(TimeZone timezone, long millis, boolean isMatchSecond) {
+		final ZoneRules rules = timezone.toZoneId().getRules();
+		final long unit = isMatchSecond ? 1000L : 60_000L;
+		final long start = (Math.floorDiv(millis, unit) + 1) * unit;
+		long result = -1;
+		long next;
+		for (int i = 0; i < matcherSize; i++) {
+			next = nextMatch(i, rules, start, isMatchSecond);
+			if (next > -1 && (result < 0 || next < result)) {
+				result = next;
+			}
+		}
+		return result;
+	}
+	// --------------------------------------------------------------------------------------- next end
+
 	@Override
 	public String toString() {
 		return this.pattern;
 	}
 
 	// -------------------------------------------------------------------------------------- Private method start
+	/**
+	 * 从给定时间开始（包括）查找第i个表达式第一个匹配的时间<br>
+	 * 先按本地时间逐字段计算下一个匹配的本地时间，再换算为时间戳：
+	 * 本地时间落在夏令时跳过的时间段时从跳变后重新查找；起始时间与结果之间存在时钟回拨时，从回拨时刻重新查找重复的时间段
+	 *
+	 * @param i 表达式位置
+	 * @param rules 时区规则
+	 * @param millis 起始时间毫秒数，已对齐到整秒（分）
+	 * @param isMatchSecond 是否匹配秒
+	 * @return 匹配的时间毫秒数，无匹配返回-1
+	 */
+	private long nextMatch(int i, ZoneRules rules, long millis, boolean isMatchSecond) {
+		Instant instant = Instant.ofEpochMilli(millis);
+		// 无年字段时，2月29日与星期的组合最多28年重复一次
+		final int maxYear = Math.max(MAX_YEAR, LocalDateTime.ofInstant(instant, rules.getOffset(instant)).getYear() + 28);
+		LocalDateTime local;
+		ZoneOffsetTransition transition;
+		long candidate;
+		while (true) {
+			local = nextLocalMatch(i, LocalDateTime.ofInstant(instant, rules.getOffset(instant)), maxYear, isMatchSecond);
+			if (null == local) {
+				return -1;
+			}
+			candidate = -1;
+			for (ZoneOffset offset : rules.getValidOffsets(local)) {
+				final long value = local.toInstant(offset).toEpochMilli();
+				if (value >= instant.toEpochMilli() && (candidate < 0 || value < candidate)) {
+					candidate = value;
+				}
+			}
+
+			if (candidate < 0) {
+				// 本地时间不存在（夏令时跳过），从跳变后重新查找
+				transition = rules.getTransition(local);
+				candidate = (null != transition && transition.getInstant().isAfter(instant))
+						? transition.getInstant().toEpochMilli() : instant.toEpochMilli() + (isMatchSecond ? 1000L : 60_000L);
+				local = null;
+			}
+
+			transition = rules.nextTransition(instant);
+			if (null != transition && transition.isOverlap() && transition.getInstant().toEpochMilli() <= candidate) {
+				// 时钟回拨，回拨后重复的本地时间可能更早匹配
+				instant = transition.getInstant();
+			} else if (null == local) {
+				instant = Instant.ofEpochMilli(candidate);
+			} else {
+				return candidate;
+			}
+		}
+	}
+
+	/**
+	 * 从给定本地时间开始（包括）查找第i个表达式第一个匹配的本地时间<br>
+	 * 某个字段不匹配时直接跳到该字段的下一个匹配值，并将更小的字段置为最小值，日按天推进
+	 *
+	 * @param i 表达式位置
+	 * @param time 起始本地时间
+	 * @param maxYear 查找的最大年份
+	 * @param isMatchSecond 是否匹配秒
+	 * @return 匹配的本地时间，无匹配返回{@code null}
+	 */
+	private LocalDateTime nextLocalMatch(int i, LocalDateTime time, int maxYear, boolean isMatchSecond) {
+		int current;
+		int value;
+		LocalDate date;
+		while (true) {
+			// 年
+			current = time.getYear();
+			if (current > maxYear) {
+				return null;
+			}
+			value = (yearMatchers.size() <= i) ? current : yearMatchers.get(i).nextMatch(current, maxYear);
+			if (value < 0) {
+				return null;
+			}
+			if (value != current) {
+				time = LocalDateTime.of(value, 1, 1, 0, 0);
+				continue;
+			}
+			// 月
+			current = time.getMonthValue();
+			value = monthMatchers.get(i).nextMatch(current, 12);
+			if (value != current) {
+				time = (value < 0) ? LocalDateTime.of(time.getYear() + 1, 1, 1, 0, 0) : LocalDateTime.of(time.getYear(), value, 1, 0, 0);
+				continue;
+			}
+			// 日和周
+			date = time.toLocalDate();
+			if (false == isMatchDay(i, date)) {
+				time = date.plusDays(1).atStartOfDay();
+				continue;
+			}
+			// 时
+			current = time.getHour();
+			value = hourMatchers.get(i).nextMatch(current, 23);
+			if (value != current) {
+				time = (value < 0) ? date.plusDays(1).atStartOfDay() : date.atTime(value, 0);
+				continue;
+			}
+			// 分
+			current = time.getMinute();
+			value = minuteMatchers.get(i).nextMatch(current, 59);
+			if (value != current) {
+				time = (value < 0) ? date.atTime(time.getHour(), 0).plusHours(1) : date.atTime(time.getHour(), value);
+				continue;
+			}
+			// 秒
+			if (isMatchSecond) {
+				current = time.getSecond();
+				value = secondMatchers.get(i).nextMatch(current, 59);
+				if (value != current) {
+					time = (value < 0) ? time.withSecond(0).plusMinutes(1) : time.withSecond(value);
+					continue;
+				}
+			}
+			return time;
+		}
+	}
+
+	/**
+	 * 指定日期是否匹配第i个表达式的日和周
+	 *
+	 * @param i 表达式位置
+	 * @param date 日期
+	 * @return 是否匹配
+	 */
+	private boolean isMatchDay(int i, LocalDate date) {
+		final int dayOfWeek = date.getDayOfWeek().getValue() % 7;// 星期从0开始，0表示周日
+		return isMatchDayOfMonth(dayOfMonthMatchers.get(i), date.getDayOfMonth(), date.getMonthValue(), date.isLeapYear(), dayOfWeek)
+				&& dayOfWeekMatchers.get(i).match(dayOfWeek);
+	}
+
 	/**
 	 * 是否匹配日（指定月份的第几天）
 	 * 
@@ -190,11 +384,12 @@ public class CronPattern {
 	 * @param dayOfMonth 日
 	 * @param month 月
 	 * @param isLeapYear 是否闰年
+	 * @param dayOfWeek 星期，0表示周日
 	 * @return 是否匹配
 	 */
-	private static boolean isMatchDayOfMonth(ValueMatcher matcher, int dayOfMonth, int month, boolean isLeapYear) {
+	private static boolean isMatchDayOfMonth(ValueMatcher matcher, int dayOfMonth, int month, boolean isLeapYear, int dayOfWeek) {
 		return ((matcher instanceof DayOfMonthValueMatcher) //
-				? ((DayOfMonthValueMatcher) matcher).match(dayOfMonth, month, isLeapYear) //
+				? ((DayOfMonthValueMatcher) matcher).match(dayOfMonth, month, isLeapYear, dayOfWeek) //
 				: matcher.match(dayOfMonth));
 	}
 
@@ -1,7 +1,5 @@
 package org.miser.cron.pattern;
 
-import org.miser.core.collection.CollUtil;
-import org.miser.core.date.DateUnit;
 import org.miser.core.date.DateUtil;
 import org.miser.core.lang.Assert;
 
@@ -18,20 +16,17 @@ import java.util.List;
 public class CronPatternUtil {
 
 	/**
-	 * 列举指定日期之后（到开始日期对应年年底）内第一个匹配表达式的日期
+	 * 获取指定日期之后（包括指定日期）第一个匹配表达式的日期，不限于开始日期对应的年份
 	 * 
 	 * @param pattern 表达式
 	 * @param start 起始时间
 	 * @param isMatchSecond 是否匹配秒
-	 * @return 日期
-	 * 
+	 * @return 日期，无匹配返回{@code null}
+	 * @see CronPattern#nextMatchAfter(long, boolean)
 	 */
 	public static Date nextDateAfter(CronPattern pattern, Date start, boolean isMatchSecond) {
-		List<Date> matchedDates = matchedDates(pattern, start.getTime(), DateUtil.endOfYear(start).getTime(), 1, isMatchSecond);
-		if (CollUtil.isNotEmpty(matchedDates)) {
-			return matchedDates.get(0);
-		}
-		return null;
+		final long next = pattern.nextMatchAfter(start.getTime() - 1, isMatchSecond);
+		return next < 0 ? null : DateUtil.date(next);
 	}
 
 	/**
@@ -89,14 +84,14 @@ public class CronPatternUtil {
 		Assert.isTrue(start < end, "Start date is later than end !");
 
 		final List<Date> result = new ArrayList<>(count);
-		long step = isMatchSecond ? DateUnit.SECOND.getMillis() : DateUnit.MINUTE.getMillis();
-		for (long i = start; i < end; i += step) {
-			if (pattern.match(i, isMatchSecond)) {
-				result.add(DateUtil.date(i));
-				if (result.size() >= count) {
-					break;
-				}
+		// 按字段直接计算下一个匹配时间，无需逐秒（分）匹配
+		long next = start - 1;
+		while (result.size() < count) {
+			next = pattern.nextMatchAfter(next, isMatchSecond);
+			if (next < 0 || next >= end) {
+				break;
 			}
+			result.add(DateUtil.date(next));
 		}
 		return result;
 	}
@@ -0,0 +1,129 @@
+package org.miser.cron.pattern;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+/**
+ * 时间字段快照<br>
+ * 将某一时刻按时区拆分为表达式匹配所需的秒、分、时、日、月、周、年，
+ * 同一时刻匹配多个表达式时只需拆分一次，匹配过程中不再创建{@link GregorianCalendar}
+ *
+ * @author Oliver
+ * @see CronPattern#match(TimeFields, boolean)
+ */
+public class TimeFields {
+
+	private final long millis;
+	private final int second;
+	private final int minute;
+	private final int hour;
+	private final int dayOfMonth;
+	private final int month;
+	private final int dayOfWeek;
+	private final int year;
+	private final boolean leapYear;
+
+	/**
+	 * 构造
+	 *
+	 * @param timezone 时区 {@link TimeZone}
+	 * @param millis 时间毫秒数
+	 */
+	public TimeFields(TimeZone timezone, long millis) {
+		this(toCalendar(timezone, millis));
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param calendar 时间
+	 */
+	public TimeFields(GregorianCalendar calendar) {
+		this.millis = calendar.getTimeInMillis();
+		this.second = calendar.get(Calendar.SECOND);
+		this.minute = calendar.get(Calendar.MINUTE);
+		this.hour = calendar.get(Calendar.HOUR_OF_DAY);
+		this.dayOfMonth = calendar.get(Calendar.DAY_OF_MONTH);
+		this.month = calendar.get(Calendar.MONTH) + 1;// 月份从1开始
+		this.dayOfWeek = calendar.get(Calendar.DAY_OF_WEEK) - 1; // 星期从0开始，0表示周日
+		this.year = calendar.get(Calendar.YEAR);
+		this.leapYear = calendar.isLeapYear(this.year);
+	}
+
+	/**
+	 * @return 时间毫秒数
+	 */
+	public long getMillis() {
+		return millis;
+	}
+
+	/**
+	 * @return 秒，0~59
+	 */
+	public int getSecond() {
+		return second;
+	}
+
+	/**
+	 * @return 分，0~59
+	 */
+	public int getMinute() {
+		return minute;
+	}
+
+	/**
+	 * @return 时，0~23
+	 */
+	public int getHour() {
+		return hour;
+	}
+
+	/**
+	 * @return 日，1~31
+	 */
+	public int getDayOfMonth() {
+		return dayOfMonth;
+	}
+
+	/**
+	 * @return 月，1~12
+	 */
+	public int getMonth() {
+		return month;
+	}
+
+	/**
+	 * @return 星期，0表示周日
+	 */
+	public int getDayOfWeek() {
+		return dayOfWeek;
+	}
+
+	/**
+	 * @return 年
+	 */
+	public int getYear() {
+		return year;
+	}
+
+	/**
+	 * @return 是否闰年
+	 */
+	public boolean isLeapYear() {
+		return leapYear;
+	}
+
+	/**
+	 * 创建指定时区和时间的{@link GregorianCalendar}
+	 *
+	 * @param timezone 时区
+	 * @param millis 时间毫秒数
+	 * @return {@link GregorianCalendar}
+	 */
+	private static GregorianCalendar toCalendar(TimeZone timezone, long millis) {
+		final GregorianCalendar calendar = new GregorianCalendar(timezone);
+		calendar.setTimeInMillis(millis);
+		return calendar;
+	}
+}
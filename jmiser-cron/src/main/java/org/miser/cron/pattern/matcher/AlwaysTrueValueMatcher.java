@@ -13,7 +13,17 @@ public class AlwaysTrueValueMatcher implements ValueMatcher{
 	public boolean match(Integer t) {
 		return true;
 	}
-	
+
+	@Override
+	public boolean match(int value) {
+		return true;
+	}
+
+	@Override
+	public int nextMatch(int value, int max) {
+		return value <= max ? value : -1;
+	}
+
 	@Override
 	public String toString() {
 		return StringUtil.format("[Matcher]: always true.");
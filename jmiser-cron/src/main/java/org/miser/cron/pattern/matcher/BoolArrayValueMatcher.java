@@ -13,12 +13,22 @@ import java.util.List;
 public class BoolArrayValueMatcher implements ValueMatcher{
 	
 	private final boolean[] bValues;
+	/** 每个值对应的大于等于此值的最小匹配值，无则为-1 */
+	private final int[] nextValues;
 	
 	public BoolArrayValueMatcher(List<Integer> intValueList) {
 		bValues = new boolean[Collections.max(intValueList) + 1];
 		for (Integer value : intValueList) {
 			bValues[value] = true;
 		}
+		nextValues = new int[bValues.length];
+		int next = -1;
+		for (int i = bValues.length - 1; i >= 0; i--) {
+			if (bValues[i]) {
+				next = i;
+			}
+			nextValues[i] = next;
+		}
 	}
 
 	@Override
@@ -29,6 +39,23 @@ public class BoolArrayValueMatcher implements ValueMatcher{
 		return bValues[value];
 	}
 	
+	@Override
+	public boolean match(int value) {
+		return value >= 0 && value < bValues.length && bValues[value];
+	}
+
+	@Override
+	public int nextMatch(int value, int max) {
+		if (value < 0) {
+			value = 0;
+		}
+		if (value >= nextValues.length) {
+			return -1;
+		}
+		final int next = nextValues[value];
+		return next <= max ? next : -1;
+	}
+
 	@Override
 	public String toString() {
 		return StringUtil.format("Matcher:{}", new Object[]{this.bValues});
@@ -1,12 +1,15 @@
 package org.miser.cron.pattern.matcher;
 
 import org.miser.core.date.Month;
+import org.miser.cron.pattern.parser.DayOfMonthValueParser;
 
 import java.util.List;
 
 /**
  * 每月第几天匹配<br>
- * 考虑每月的天数不同，且存在闰年情况，日匹配单独使用
+ * 考虑每月的天数不同，且存在闰年情况，日匹配单独使用<br>
+ * 支持"L"（最后一天）、"nW"（离n日最近的工作日）和"LW"（最后一个工作日），
+ * 其中工作日不跨月，例如1日为周六时"1W"匹配3日（周一）
  *
  * @author Oliver
  */
@@ -14,6 +17,9 @@ public class DayOfMonthValueMatcher extends BoolArrayValueMatcher {
 
 	private static final int[] LAST_DAYS = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
 
+	/** 是否包含工作日（W）规则 */
+	private final boolean hasWeekday;
+
 	/**
 	 * 构造
 	 *
@@ -21,10 +27,18 @@ public class DayOfMonthValueMatcher extends BoolArrayValueMatcher {
 	 */
 	public DayOfMonthValueMatcher(List<Integer> intValueList) {
 		super(intValueList);
+		boolean hasWeekday = false;
+		for (Integer value : intValueList) {
+			if (value > DayOfMonthValueParser.LAST_DAY) {
+				hasWeekday = true;
+				break;
+			}
+		}
+		this.hasWeekday = hasWeekday;
 	}
 
 	/**
-	 * 给定的日期是否匹配当前匹配器
+	 * 给定的日期是否匹配当前匹配器，不处理工作日（W）规则
 	 *
 	 * @param value      被检查的值，此处为日
 	 * @param month      实际的月份，从1开始
@@ -34,7 +48,37 @@ public class DayOfMonthValueMatcher extends BoolArrayValueMatcher {
 	public boolean match(int value, int month, boolean isLeapYear) {
 		return (super.match(value) // 在约定日范围内的某一天
 				//匹配器中用户定义了最后一天（32表示最后一天）
-				|| (value > 27 && match(32) && isLastDayOfMonth(value, month, isLeapYear)));
+				|| (value > 27 && match(DayOfMonthValueParser.LAST_DAY) && isLastDayOfMonth(value, month, isLeapYear)));
+	}
+
+	/**
+	 * 给定的日期是否匹配当前匹配器
+	 *
+	 * @param value      被检查的值，此处为日
+	 * @param month      实际的月份，从1开始
+	 * @param isLeapYear 是否闰年
+	 * @param dayOfWeek  这一天是星期几，0表示周日
+	 * @return 是否匹配
+	 */
+	public boolean match(int value, int month, boolean isLeapYear, int dayOfWeek) {
+		if (match(value, month, isLeapYear)) {
+			return true;
+		}
+		// 工作日规则只匹配周一至周五
+		if (false == hasWeekday || 0 == dayOfWeek || 6 == dayOfWeek) {
+			return false;
+		}
+		final int lastDay = Month.getLastDay(month - 1, isLeapYear);
+		// 最近的工作日与指定日最多相差2天
+		for (int day = Math.max(1, value - 2); day <= Math.min(lastDay, value + 2); day++) {
+			if (match(day + DayOfMonthValueParser.WEEKDAY_OFFSET)
+					&& value == nearestWeekday(day, Math.floorMod(dayOfWeek + day - value, 7), lastDay)) {
+				return true;
+			}
+		}
+		// 最后一个工作日
+		return match(DayOfMonthValueParser.LAST_DAY + DayOfMonthValueParser.WEEKDAY_OFFSET)
+				&& value == nearestWeekday(lastDay, Math.floorMod(dayOfWeek + lastDay - value, 7), lastDay);
 	}
 
 	/**
@@ -52,4 +96,24 @@ public class DayOfMonthValueMatcher extends BoolArrayValueMatcher {
 	private static boolean isLastDayOfMonth(int value, int month, boolean isLeapYear) {
 		return value == Month.getLastDay(month - 1, isLeapYear);
 	}
+
+	/**
+	 * 计算离指定日最近的工作日，不跨月
+	 *
+	 * @param day       指定日
+	 * @param dayOfWeek 指定日是星期几，0表示周日
+	 * @param lastDay   本月最后一天
+	 * @return 最近的工作日
+	 */
+	private static int nearestWeekday(int day, int dayOfWeek, int lastDay) {
+		if (6 == dayOfWeek) {
+			// 周六取前一天，1日则取下周一
+			return day == 1 ? 3 : day - 1;
+		}
+		if (0 == dayOfWeek) {
+			// 周日取后一天，最后一天则取上周五
+			return day == lastDay ? day - 2 : day + 1;
+		}
+		return day;
+	}
 }
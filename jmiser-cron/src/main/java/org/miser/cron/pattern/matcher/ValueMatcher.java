@@ -10,4 +10,29 @@ import org.miser.core.lang.Matcher;
  */
 public interface ValueMatcher extends Matcher<Integer>{
 
+	/**
+	 * 给定值是否匹配，实现类应覆盖此方法以避免装箱
+	 *
+	 * @param value 值
+	 * @return 是否匹配
+	 */
+	default boolean match(int value) {
+		return match(Integer.valueOf(value));
+	}
+
+	/**
+	 * 获取[value, max]范围内最小的匹配值，用于直接计算下一个匹配时间
+	 *
+	 * @param value 起始值（包括）
+	 * @param max 最大值（包括）
+	 * @return 最小的匹配值，无匹配返回-1
+	 */
+	default int nextMatch(int value, int max) {
+		for (int i = value; i <= max; i++) {
+			if (match(i)) {
+				return i;
+			}
+		}
+		return -1;
+	}
 }
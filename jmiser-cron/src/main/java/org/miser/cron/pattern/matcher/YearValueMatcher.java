@@ -4,20 +4,44 @@ import java.util.List;
 
 /**
  * 年匹配<br>
- * 考虑年数字太大，不适合boolean数组，单独使用列表遍历匹配
+ * 考虑年数字太大，不适合boolean数组，单独使用数组遍历匹配
  * @author Oliver
  *
  */
 public class YearValueMatcher implements ValueMatcher{
 	
-	private final List<Integer> valueList;
+	private final int[] values;
 	
 	public YearValueMatcher(List<Integer> intValueList) {
-		this.valueList = intValueList;
+		this.values = new int[intValueList.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = intValueList.get(i);
+		}
 	}
 
 	@Override
 	public boolean match(Integer t) {
-		return valueList.contains(t);
+		return null != t && match(t.intValue());
+	}
+
+	@Override
+	public boolean match(int value) {
+		for (int year : values) {
+			if (year == value) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public int nextMatch(int value, int max) {
+		int result = -1;
+		for (int year : values) {
+			if (year >= value && year <= max && (result < 0 || year < result)) {
+				result = year;
+			}
+		}
+		return result;
 	}
 }
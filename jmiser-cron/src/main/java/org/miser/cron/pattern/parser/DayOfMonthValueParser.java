@@ -4,13 +4,19 @@ import org.miser.cron.CronException;
 
 /**
  * 每月的几号值处理<br>
- * 每月最多31天，32和“L”都表示最后一天
+ * 每月最多31天，32和“L”都表示最后一天<br>
+ * “nW”表示离n日最近的工作日，解析为n + {@link #WEEKDAY_OFFSET}；“LW”表示最后一个工作日
  * 
  * @author Oliver
  *
  */
 public class DayOfMonthValueParser extends SimpleValueParser {
 
+	/** 最后一天 */
+	public static final int LAST_DAY = 32;
+	/** 工作日（W）值的偏移量 */
+	public static final int WEEKDAY_OFFSET = 32;
+
 	public DayOfMonthValueParser() {
 		super(1, 31);
 	}
@@ -18,7 +24,11 @@ public class DayOfMonthValueParser extends SimpleValueParser {
 	@Override
 	public int parse(String value) throws CronException {
 		if ("L".equalsIgnoreCase(value) || "32".equals(value)) {// 每月最后一天
-			return 32;
+			return LAST_DAY;
+		} else if ("LW".equalsIgnoreCase(value)) {// 每月最后一个工作日
+			return LAST_DAY + WEEKDAY_OFFSET;
+		} else if (value.length() > 1 && Character.toUpperCase(value.charAt(value.length() - 1)) == 'W') {// 离指定日最近的工作日
+			return super.parse(value.substring(0, value.length() - 1)) + WEEKDAY_OFFSET;
 		} else {
 			return super.parse(value);
 		}
@@ -1,13 +1,30 @@
 package org.miser.cron.timingwheel;
 
+import org.miser.core.lang.Assert;
 import org.miser.core.thread.ThreadUtil;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
- * 系统计时器
+ * 系统计时器，基于多层时间轮的延迟任务调度器<br>
+ * 加入和取消任务的时间复杂度为O(1)，适合大量（百万级）待执行的超时类任务，例如请求超时、会话过期等。<br>
+ * 到期的任务提交到工作线程池执行，计时器线程本身只负责推进时间。
+ *
+ * <pre>
+ * SystemTimer timer = new SystemTimer().start();
+ * TimerTask handle = timer.schedule(() -&gt; Console.log("timeout"), 3000);
+ * handle.cancel();
+ * timer.stop();
+ * </pre>
  *
  * @author Oliver
  */
@@ -22,6 +39,16 @@ public class SystemTimer {
 	 */
 	private final DelayQueue<TimerTaskList> delayQueue = new DelayQueue<>();
 
+	/**
+	 * 加入任务使用读锁，推进时间使用写锁，保证时间轮状态一致
+	 */
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/**
+	 * 执行到期任务的线程池，{@code null}表示使用全局线程池
+	 */
+	private final Executor workerExecutor;
+
 	/**
 	 * 执行队列取元素超时时长，单位毫秒，默认100
 	 */
@@ -33,10 +60,36 @@ public class SystemTimer {
 	private ExecutorService bossThreadPool;
 
 	/**
-	 * 构造
+	 * 是否运行中
+	 */
+	private volatile boolean running;
+
+	/** 已加入的任务数 */
+	private final LongAdder addedCount = new LongAdder();
+	/** 已执行的任务数 */
+	private final LongAdder executedCount = new LongAdder();
+	/** 已取消的任务数 */
+	private final LongAdder cancelledCount = new LongAdder();
+
+	/**
+	 * 构造，时间槽范围1毫秒，每层20个时间槽，到期任务在全局线程池中执行
 	 */
 	public SystemTimer() {
-		timeWheel = new TimingWheel(1, 20, delayQueue::offer);
+		this(1, 20, null);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param tickMs         最底层时间轮一个时间槽的范围，单位毫秒
+	 * @param wheelSize      每层时间轮的时间槽个数
+	 * @param workerExecutor 执行到期任务的线程池，{@code null}表示使用全局线程池，计时器停止时不会关闭此线程池
+	 */
+	public SystemTimer(long tickMs, int wheelSize, Executor workerExecutor) {
+		Assert.isTrue(tickMs > 0, "Tick must be positive: {}", tickMs);
+		Assert.isTrue(wheelSize > 0, "Wheel size must be positive: {}", wheelSize);
+		this.timeWheel = new TimingWheel(tickMs, wheelSize, delayQueue::offer);
+		this.workerExecutor = workerExecutor;
 	}
 
 	/**
@@ -55,9 +108,10 @@ public class SystemTimer {
 	 * @return this
 	 */
 	public SystemTimer start() {
+		running = true;
 		bossThreadPool = ThreadUtil.newSingleExecutor();
 		bossThreadPool.submit(() -> {
-			while (true) {
+			while (running) {
 				if(false == advanceClock()){
 					break;
 				}
@@ -67,21 +121,129 @@ public class SystemTimer {
 	}
 
 	/**
-	 * 强制结束
+	 * 强制结束，未到期的任务不再执行
 	 */
 	public void stop(){
-		this.bossThreadPool.shutdown();
+		this.running = false;
+		this.bossThreadPool.shutdownNow();
+	}
+
+	/**
+	 * 加入延迟任务
+	 *
+	 * @param task    任务
+	 * @param delayMs 延迟毫秒数（以当前时间为准）
+	 * @return 任务句柄，可用于取消任务
+	 */
+	public TimerTask schedule(Runnable task, long delayMs) {
+		return addTask(new TimerTask(task, delayMs));
+	}
+
+	/**
+	 * 添加任务，已取消或已执行的任务不会加入
+	 *
+	 * @param timerTask 任务
+	 * @return 任务本身，可用于取消任务
+	 */
+	public TimerTask addTask(TimerTask timerTask) {
+		final Lock readLock = lock.readLock();
+		readLock.lock();
+		try {
+			addTaskInternal(timerTask);
+		} finally {
+			readLock.unlock();
+		}
+		return timerTask;
+	}
+
+	/**
+	 * 批量添加任务，只加锁一次
+	 *
+	 * @param timerTasks 任务列表
+	 * @return 任务列表
+	 */
+	public List<TimerTask> addTasks(Collection<? extends TimerTask> timerTasks) {
+		final List<TimerTask> result = new ArrayList<>(timerTasks.size());
+		final Lock readLock = lock.readLock();
+		readLock.lock();
+		try {
+			for (TimerTask timerTask : timerTasks) {
+				addTaskInternal(timerTask);
+				result.add(timerTask);
+			}
+		} finally {
+			readLock.unlock();
+		}
+		return result;
+	}
+
+	/**
+	 * @return 等待执行（未执行且未取消）的任务数
+	 */
+	public long getPendingCount() {
+		return addedCount.sum() - executedCount.sum() - cancelledCount.sum();
+	}
+
+	/**
+	 * @return 已到期并提交执行的任务数
+	 */
+	public long getExecutedCount() {
+		return executedCount.sum();
+	}
+
+	/**
+	 * @return 已取消的任务数
+	 */
+	public long getCancelledCount() {
+		return cancelledCount.sum();
+	}
+
+	/**
+	 * 任务取消时由{@link TimerTask#cancel()}调用
+	 */
+	void onCancelled() {
+		cancelledCount.increment();
 	}
 
 	/**
-	 * 添加任务
+	 * 添加任务，需持有锁
 	 *
 	 * @param timerTask 任务
 	 */
-	public void addTask(TimerTask timerTask) {
+	private void addTaskInternal(TimerTask timerTask) {
+		if (null == timerTask.timer) {
+			if (false == timerTask.isPending()) {
+				// 加入前已取消或已执行的任务不再加入，也不计入统计
+				return;
+			}
+			timerTask.timer = this;
+			addedCount.increment();
+			if (timerTask.isCancelled()) {
+				// 设置计时器前被并发取消，取消时未能计入统计
+				timerTask.countCancelled();
+				return;
+			}
+		}
+		reinsert(timerTask);
+	}
+
+	/**
+	 * 将任务放入时间轮，到期的任务直接执行，需持有锁
+	 *
+	 * @param timerTask 任务
+	 */
+	private void reinsert(TimerTask timerTask) {
+		if (timerTask.isCancelled()) {
+			return;
+		}
 		//添加失败任务直接执行
-		if (false == timeWheel.addTask(timerTask)) {
-			ThreadUtil.execAsync(timerTask.getTask());
+		if (false == timeWheel.addTask(timerTask) && timerTask.markExecuted()) {
+			executedCount.increment();
+			if (null == workerExecutor) {
+				ThreadUtil.execute(timerTask.getTask());
+			} else {
+				workerExecutor.execute(timerTask.getTask());
+			}
 		}
 	}
 
@@ -94,10 +256,19 @@ public class SystemTimer {
 		try {
 			TimerTaskList timerTaskList = poll();
 			if (null != timerTaskList) {
-				//推进时间
-				timeWheel.advanceClock(timerTaskList.getExpire());
-				//执行过期任务（包含降级操作）
-				timerTaskList.flush(this::addTask);
+				final Lock writeLock = lock.writeLock();
+				writeLock.lock();
+				try {
+					while (null != timerTaskList) {
+						//推进时间
+						timeWheel.advanceClock(timerTaskList.getExpire());
+						//执行过期任务（包含降级操作）
+						timerTaskList.flush(this::reinsert);
+						timerTaskList = delayQueue.poll();
+					}
+				} finally {
+					writeLock.unlock();
+				}
 			}
 		} catch (InterruptedException ignore) {
 			return false;
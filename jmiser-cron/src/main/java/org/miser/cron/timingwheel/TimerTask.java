@@ -1,12 +1,26 @@
 package org.miser.cron.timingwheel;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
 /**
- * 延迟任务
+ * 延迟任务，同时作为任务加入{@link SystemTimer}后的句柄，可用于取消任务
  *
  * @author Oliver
  */
 public class TimerTask {
 
+	/** 状态：等待执行 */
+	private static final int STATE_PENDING = 0;
+	/** 状态：已执行 */
+	private static final int STATE_EXECUTED = 1;
+	/** 状态：已取消 */
+	private static final int STATE_CANCELLED = 2;
+
+	private static final AtomicIntegerFieldUpdater<TimerTask> STATE_UPDATER =
+			AtomicIntegerFieldUpdater.newUpdater(TimerTask.class, "state");
+	private static final AtomicIntegerFieldUpdater<TimerTask> CANCEL_COUNTED_UPDATER =
+			AtomicIntegerFieldUpdater.newUpdater(TimerTask.class, "cancelCounted");
+
 	/**
 	 * 延迟时间
 	 */
@@ -20,7 +34,7 @@ public class TimerTask {
 	/**
 	 * 时间槽
 	 */
-	protected TimerTaskList timerTaskList;
+	protected volatile TimerTaskList timerTaskList;
 
 	/**
 	 * 下一个节点
@@ -32,6 +46,21 @@ public class TimerTask {
 	 */
 	protected TimerTask prev;
 
+	/**
+	 * 所属的计时器，用于统计
+	 */
+	protected volatile SystemTimer timer;
+
+	/**
+	 * 任务状态
+	 */
+	private volatile int state = STATE_PENDING;
+
+	/**
+	 * 取消是否已计入所属计时器的统计，1表示已计入
+	 */
+	private volatile int cancelCounted;
+
 	/**
 	 * 任务描述
 	 */
@@ -65,6 +94,65 @@ public class TimerTask {
 		return delayMs;
 	}
 
+	/**
+	 * 取消任务，已执行或已取消的任务无法取消
+	 *
+	 * @return 是否由本次调用取消
+	 */
+	public boolean cancel() {
+		if (false == STATE_UPDATER.compareAndSet(this, STATE_PENDING, STATE_CANCELLED)) {
+			return false;
+		}
+		// 任务可能正在被移动到其它时间槽，循环直到从所在槽中移除
+		TimerTaskList list = this.timerTaskList;
+		while (null != list) {
+			list.removeTask(this);
+			list = this.timerTaskList;
+		}
+		countCancelled();
+		return true;
+	}
+
+	/**
+	 * @return 是否已取消
+	 */
+	public boolean isCancelled() {
+		return STATE_CANCELLED == state;
+	}
+
+	/**
+	 * @return 是否已到期并提交执行
+	 */
+	public boolean isExecuted() {
+		return STATE_EXECUTED == state;
+	}
+
+	/**
+	 * @return 是否等待执行，即未执行且未取消
+	 */
+	boolean isPending() {
+		return STATE_PENDING == state;
+	}
+
+	/**
+	 * 将取消计入所属计时器的统计，取消与加入计时器并发时两方都会调用，只计一次
+	 */
+	void countCancelled() {
+		final SystemTimer timer = this.timer;
+		if (null != timer && CANCEL_COUNTED_UPDATER.compareAndSet(this, 0, 1)) {
+			timer.onCancelled();
+		}
+	}
+
+	/**
+	 * 标记为已执行
+	 *
+	 * @return 是否标记成功，已取消或已执行的任务返回false
+	 */
+	boolean markExecuted() {
+		return STATE_UPDATER.compareAndSet(this, STATE_PENDING, STATE_EXECUTED);
+	}
+
 	@Override
 	public String toString() {
 		return desc;
@@ -1,13 +1,14 @@
 package org.miser.cron.timingwheel;
 
-import org.miser.log.StaticLog;
-
 import java.util.function.Consumer;
 
 /**
  * 多层时间轮，常用于延时任务。<br>
  * 时间轮是一种环形数据结构，由多个槽组成，每个槽中存放任务集合。<br>
- * 一个单独的线程推进时间一槽一槽的移动，并执行槽中的任务。
+ * 一个单独的线程推进时间一槽一槽的移动，并执行槽中的任务。<br>
+ * 超出当前时间轮跨度的任务放入上层时间轮（跨度为本层的wheelSize倍），到期前逐层降级。
+ * {@link #addTask(TimerTask)}可以并发调用：时间槽在构造时全部创建，槽内的任务列表自身线程安全，上层时间轮的创建加锁；
+ * {@link #advanceClock(long)}与添加任务不能同时进行，由{@link SystemTimer}的读写锁保证（添加任务持读锁，推进时间持写锁）。
  *
  * @author Oliver
  */
@@ -73,6 +74,10 @@ public class TimingWheel {
 		this.wheelSize = wheelSize;
 		this.interval = tickMs * wheelSize;
 		this.timerTaskLists = new TimerTaskList[wheelSize];
+		// 预先创建全部时间槽，并发添加任务时无需延迟创建
+		for (int i = 0; i < wheelSize; i++) {
+			this.timerTaskLists[i] = new TimerTaskList();
+		}
 		//currentTime为tickMs的整数倍 这里做取整操作
 		this.currentTime = currentTime - (currentTime % tickMs);
 		this.consumer = consumer;
@@ -93,13 +98,8 @@ public class TimingWheel {
 			//当前时间轮可以容纳该任务 加入时间槽
 			long virtualId = expiration / tickMs;
 			int index = (int) (virtualId % wheelSize);
-			StaticLog.debug("tickMs: {} ------index: {} ------expiration: {}", tickMs, index, expiration);
 
-			TimerTaskList timerTaskList = timerTaskLists[index];
-			if (null == timerTaskList) {
-				timerTaskList = new TimerTaskList();
-				timerTaskLists[index] = timerTaskList;
-			}
+			final TimerTaskList timerTaskList = timerTaskLists[index];
 			timerTaskList.addTask(timerTask);
 			if (timerTaskList.setExpiration(virtualId * tickMs)) {
 				//添加到delayQueue中
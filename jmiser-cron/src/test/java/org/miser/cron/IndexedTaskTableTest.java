@@ -0,0 +1,66 @@
+package org.miser.cron;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.miser.core.thread.ThreadUtil;
+import org.miser.cron.pattern.CronPattern;
+
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 带索引的任务表单元测试
+ *
+ * @author Oliver
+ */
+public class IndexedTaskTableTest {
+
+	@Test
+	public void indexTest() {
+		final CronConfig config = new CronConfig().setMatchSecond(true).setTimeZone(TimeZone.getTimeZone("GMT+08:00"));
+		final IndexedTaskTable table = new IndexedTaskTable(config);
+		Assert.assertEquals(Long.MAX_VALUE, table.getNextFireTime());
+
+		final long now = System.currentTimeMillis();
+		table.add("a", new CronPattern("*/5 * * * * *"), () -> {});
+		final long next = table.getNextFireTime();
+		Assert.assertTrue(next > now);
+		Assert.assertTrue(next <= System.currentTimeMillis() + 5000);
+		Assert.assertEquals(0, next % 5000);
+		Assert.assertFalse(table.hasTaskToExecute(null, next - 1));
+		Assert.assertTrue(table.hasTaskToExecute(null, next));
+
+		// 无下次执行时间的任务不进入队列
+		table.add("b", new CronPattern("0 0 0 1 1 ? 1999"), () -> {});
+		Assert.assertEquals(next, table.getNextFireTime());
+
+		table.updatePattern("b", new CronPattern("* * * * * *"));
+		Assert.assertTrue(table.getNextFireTime() <= next);
+		Assert.assertTrue(table.getNextFireTime() <= System.currentTimeMillis() + 1000);
+
+		table.remove("b");
+		Assert.assertEquals(next, table.getNextFireTime());
+		table.remove("a");
+		Assert.assertEquals(Long.MAX_VALUE, table.getNextFireTime());
+		Assert.assertTrue(table.isEmpty());
+	}
+
+	@Test
+	public void schedulerTest() {
+		final AtomicInteger count = new AtomicInteger();
+		final Scheduler scheduler = new Scheduler();
+		scheduler.setMatchSecond(true);
+		scheduler.schedule("* * * * * *", (Runnable) count::incrementAndGet);
+		scheduler.setIndexed(true);
+		Assert.assertTrue(scheduler.getTaskTable() instanceof IndexedTaskTable);
+		Assert.assertEquals(1, scheduler.size());
+
+		scheduler.start(true);
+		try {
+			ThreadUtil.sleep(2500);
+		} finally {
+			scheduler.stop();
+		}
+		Assert.assertTrue(count.get() >= 1);
+	}
+}
@@ -0,0 +1,131 @@
+package org.miser.cron;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.miser.core.thread.ThreadUtil;
+import org.miser.cron.listener.SimpleTaskListener;
+import org.miser.cron.listener.TaskMetrics;
+import org.miser.cron.pattern.CronPattern;
+import org.miser.cron.task.CronTask;
+import org.miser.cron.task.RunnableTask;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 作业执行管理器单元测试
+ *
+ * @author Oliver
+ */
+public class TaskExecutorManagerTest {
+
+	@Test
+	public void skipTest() throws InterruptedException {
+		final List<TaskExecutor> started = runOverlapping(MisfirePolicy.SKIP);
+		Assert.assertEquals(1, started.size());
+		Assert.assertEquals(1000, started.get(0).getScheduledMillis());
+	}
+
+	@Test
+	public void coalesceTest() throws InterruptedException {
+		final List<TaskExecutor> started = runOverlapping(MisfirePolicy.COALESCE);
+		Assert.assertEquals(2, started.size());
+		// 以最近一次触发为准
+		Assert.assertEquals(3000, started.get(1).getScheduledMillis());
+		Assert.assertEquals(1, started.get(1).getCoalescedCount());
+	}
+
+	@Test
+	public void fireOnceTest() throws InterruptedException {
+		final List<TaskExecutor> started = runOverlapping(MisfirePolicy.FIRE_ONCE);
+		Assert.assertEquals(2, started.size());
+		// 保留最早错过的触发
+		Assert.assertEquals(2000, started.get(1).getScheduledMillis());
+	}
+
+	@Test
+	public void boundedQueueTest() throws InterruptedException {
+		final CountDownLatch release = new CountDownLatch(1);
+		final List<TaskExecutor> misfired = new CopyOnWriteArrayList<>();
+		final Scheduler scheduler = new Scheduler().setExecutorPool(1, 1);
+		scheduler.addListener(new SimpleTaskListener() {
+			@Override
+			public void onMisfired(TaskExecutor executor) {
+				misfired.add(executor);
+			}
+		});
+		scheduler.start(true);
+		try {
+			for (int i = 0; i < 3; i++) {
+				scheduler.taskExecutorManager.spawnExecutor(newTask("task" + i, release), System.currentTimeMillis());
+			}
+			// 1个执行，1个排队，1个被拒绝
+			Assert.assertEquals(1, misfired.size());
+			Assert.assertEquals("task2", misfired.get(0).getCronTask().getId());
+			Assert.assertTrue(scheduler.getMetrics().getMaxQueueDepth() >= 1);
+
+			release.countDown();
+			final TaskMetrics metrics = scheduler.getMetrics();
+			for (int i = 0; i < 50 && metrics.getSucceededCount() < 2; i++) {
+				ThreadUtil.sleep(20);
+			}
+			Assert.assertEquals(2, metrics.getSucceededCount());
+			Assert.assertEquals(1, metrics.getMisfiredCount());
+			Assert.assertEquals(0, metrics.getQueueDepth());
+			Assert.assertEquals(2, metrics.getLag().getCount());
+			Assert.assertEquals(2, metrics.getRunTime().getCount());
+		} finally {
+			scheduler.stop();
+		}
+	}
+
+	/**
+	 * 同一任务在第一次执行未结束时连续触发两次，返回按开始顺序排列的执行器
+	 *
+	 * @param policy 错过触发策略
+	 * @return 开始执行的执行器
+	 */
+	private static List<TaskExecutor> runOverlapping(MisfirePolicy policy) throws InterruptedException {
+		final CountDownLatch release = new CountDownLatch(1);
+		final List<TaskExecutor> started = new CopyOnWriteArrayList<>();
+		final Scheduler scheduler = new Scheduler().setMaxConcurrentPerTask(1).setMisfirePolicy(policy);
+		scheduler.addListener(new SimpleTaskListener() {
+			@Override
+			public void onStart(TaskExecutor executor) {
+				started.add(executor);
+			}
+		});
+		scheduler.start(true);
+		try {
+			final CronTask task = newTask("slow", release);
+			final TaskExecutorManager manager = scheduler.taskExecutorManager;
+			manager.spawnExecutor(task, 1000);
+			manager.spawnExecutor(task, 2000);
+			manager.spawnExecutor(task, 3000);
+			Assert.assertEquals(1, manager.getRunningCount("slow"));
+
+			release.countDown();
+			for (int i = 0; i < 50 && (manager.getRunningCount("slow") > 0 || false == manager.getExecutors().isEmpty()); i++) {
+				ThreadUtil.sleep(20);
+			}
+			Assert.assertTrue(release.await(1, TimeUnit.SECONDS));
+			Assert.assertEquals(0, manager.getRunningCount("slow"));
+			Assert.assertEquals(3 - started.size(), scheduler.getMetrics().getMisfiredCount());
+		} finally {
+			scheduler.stop();
+		}
+		return started;
+	}
+
+	private static CronTask newTask(String id, CountDownLatch release) {
+		return new CronTask(id, new CronPattern("* * * * * *"), new RunnableTask(() -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}));
+	}
+}
@@ -0,0 +1,58 @@
+package org.miser.cron.demo;
+
+import org.miser.core.lang.Console;
+import org.miser.cron.pattern.CronPattern;
+import org.miser.cron.pattern.TimeFields;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+/**
+ * 大量表达式下每次计时逐个按时间匹配与共享{@link TimeFields}匹配的耗时对比
+ */
+public class PatternMatchBenchmarkMainTest {
+
+	private static final int[] PATTERN_COUNTS = {10_000, 100_000};
+	private static final int TICKS = 200;
+	private static final int ROUNDS = 5;
+
+	public static void main(String[] args) {
+		final TimeZone timeZone = TimeZone.getDefault();
+		final Random random = new Random(20211018L);
+		for (int count : PATTERN_COUNTS) {
+			final List<CronPattern> patterns = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				patterns.add(new CronPattern(random.nextInt(60) + " */" + (1 + random.nextInt(10)) + " * * * ?"));
+			}
+			for (int round = 0; round < ROUNDS; round++) {
+				final long base = System.currentTimeMillis() / 1000 * 1000;
+				int matched = 0;
+				long start = System.nanoTime();
+				for (int tick = 0; tick < TICKS; tick++) {
+					for (CronPattern pattern : patterns) {
+						if (pattern.match(timeZone, base + tick * 1000L, true)) {
+							matched++;
+						}
+					}
+				}
+				final long direct = System.nanoTime() - start;
+
+				start = System.nanoTime();
+				for (int tick = 0; tick < TICKS; tick++) {
+					final TimeFields fields = new TimeFields(timeZone, base + tick * 1000L);
+					for (CronPattern pattern : patterns) {
+						if (pattern.match(fields, true)) {
+							matched--;
+						}
+					}
+				}
+				final long shared = System.nanoTime() - start;
+
+				Console.log("{} patterns round {}: match(timezone, millis) {}us/tick, match(TimeFields) {}us/tick, diff {}", count, round,
+						direct / TICKS / 1000, shared / TICKS / 1000, matched);
+			}
+		}
+	}
+}
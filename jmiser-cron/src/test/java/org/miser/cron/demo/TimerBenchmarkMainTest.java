@@ -0,0 +1,58 @@
+package org.miser.cron.demo;
+
+import org.miser.core.lang.Console;
+import org.miser.cron.timingwheel.SystemTimer;
+import org.miser.cron.timingwheel.TimerTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 时间轮与{@link ScheduledThreadPoolExecutor}在大量待执行超时任务下的加入和取消耗时对比
+ */
+public class TimerBenchmarkMainTest {
+
+	private static final int PENDING = 1_000_000;
+	private static final int ROUNDS = 5;
+
+	public static void main(String[] args) {
+		final Runnable noop = () -> {
+		};
+		for (int round = 0; round < ROUNDS; round++) {
+			final SystemTimer timer = new SystemTimer().start();
+			final List<TimerTask> handles = new ArrayList<>(PENDING);
+			long start = System.nanoTime();
+			for (int i = 0; i < PENDING; i++) {
+				handles.add(timer.schedule(noop, 30_000 + i % 30_000));
+			}
+			final long timerAdd = System.nanoTime() - start;
+			start = System.nanoTime();
+			for (TimerTask handle : handles) {
+				handle.cancel();
+			}
+			final long timerCancel = System.nanoTime() - start;
+			timer.stop();
+
+			final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+			executor.setRemoveOnCancelPolicy(true);
+			final List<ScheduledFuture<?>> futures = new ArrayList<>(PENDING);
+			start = System.nanoTime();
+			for (int i = 0; i < PENDING; i++) {
+				futures.add(executor.schedule(noop, 30_000 + i % 30_000, TimeUnit.MILLISECONDS));
+			}
+			final long executorAdd = System.nanoTime() - start;
+			start = System.nanoTime();
+			for (ScheduledFuture<?> future : futures) {
+				future.cancel(false);
+			}
+			final long executorCancel = System.nanoTime() - start;
+			executor.shutdownNow();
+
+			Console.log("round {}: SystemTimer add {}ms cancel {}ms, ScheduledThreadPoolExecutor add {}ms cancel {}ms", round,
+					timerAdd / 1_000_000, timerCancel / 1_000_000, executorAdd / 1_000_000, executorCancel / 1_000_000);
+		}
+	}
+}
@@ -1,10 +1,15 @@
 package org.miser.cron.pattern;
 
+import org.miser.core.date.DatePattern;
 import org.miser.core.date.DateUtil;
 import org.miser.cron.CronException;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.TimeZone;
+
 /**
  * 定时任务单元测试类
  * 
@@ -141,12 +146,141 @@ public class CronPatternTest {
 		assertMatch(pattern, "2017-12-02 23:59:59");
 	}
 
+	@Test
+	public void weekdayTest() {
+		// 离15日最近的工作日，2021-05-15为周六
+		CronPattern pattern = new CronPattern("0 0 9 15W * ?");
+		assertMatch(pattern, "2021-05-14 09:00:00");
+		assertNotMatch(pattern, "2021-05-15 09:00:00");
+		assertMatch(pattern, "2021-06-15 09:00:00");
+
+		// 2021-05-01为周六，不跨月，取3日（周一）
+		pattern = new CronPattern("0 0 9 1W * ?");
+		assertMatch(pattern, "2021-05-03 09:00:00");
+		assertNotMatch(pattern, "2021-04-30 09:00:00");
+
+		// 最后一个工作日，2021-10-31为周日
+		pattern = new CronPattern("0 0 9 LW * ?");
+		assertMatch(pattern, "2021-10-29 09:00:00");
+		assertNotMatch(pattern, "2021-10-31 09:00:00");
+		assertMatch(pattern, "2021-08-31 09:00:00");
+	}
+
+	/**
+	 * 使用时间字段快照匹配与直接匹配结果一致
+	 */
+	@Test
+	public void matchTimeFieldsTest() {
+		final String[] patterns = {"*/20 */7 * * * *", "0 15 10 ? * mon-fri", "0 0 9 LW * ?", "* * * L 2 ?", "0 0 0 1 1 ? 2021-2023"};
+		final TimeZone timeZone = TimeZone.getTimeZone("America/New_York");
+		for (String patternStr : patterns) {
+			final CronPattern pattern = new CronPattern(patternStr);
+			for (long millis = 1609459200000L; millis < 1672531200000L; millis += 7_919_000L) {
+				final TimeFields fields = new TimeFields(timeZone, millis);
+				for (boolean isMatchSecond : new boolean[]{true, false}) {
+					Assert.assertEquals(patternStr, pattern.match(timeZone, millis, isMatchSecond), pattern.match(fields, isMatchSecond));
+				}
+			}
+		}
+	}
+
 	@Test(expected = CronException.class)
 	public void rangeYearTest() {
 		// year的范围是1970~2099年，超出报错
 		CronPattern pattern = new CronPattern("0/1 * * * 1/1 ? 2020-2120");
 	}
 
+	@Test
+	public void nextMatchAfterTest() {
+		final TimeZone timeZone = TimeZone.getTimeZone("GMT+08:00");
+		CronPattern pattern = new CronPattern("0 0 12 * * ?");
+		long next = pattern.nextMatchAfter(timeZone, time("2021-10-18 12:00:00"), true);
+		Assert.assertEquals(time("2021-10-19 12:00:00"), next);
+
+		// 闰年2月29日
+		pattern = new CronPattern("0 0 0 29 2 ?");
+		next = pattern.nextMatchAfter(timeZone, time("2021-10-18 12:00:00"), true);
+		Assert.assertEquals(time("2024-02-29 00:00:00"), next);
+
+		// 每年一次的任务直接跳到下一年
+		pattern = new CronPattern("0 0 0 1 1 ?");
+		next = pattern.nextMatchAfter(timeZone, time("2021-01-01 00:00:00"), true);
+		Assert.assertEquals(time("2022-01-01 00:00:00"), next);
+
+		// 离15日最近的工作日
+		pattern = new CronPattern("0 0 9 15W * ?");
+		next = pattern.nextMatchAfter(timeZone, time("2021-05-01 00:00:00"), true);
+		Assert.assertEquals(time("2021-05-14 09:00:00"), next);
+
+		// 已过去的年份无匹配
+		pattern = new CronPattern("0 0 0 1 1 ? 2020");
+		Assert.assertEquals(-1, pattern.nextMatchAfter(timeZone, time("2021-10-18 12:00:00"), true));
+	}
+
+	/**
+	 * 按GMT+08:00时区解析时间，与匹配使用的时区一致，不依赖运行环境的默认时区
+	 */
+	private static long time(String dateStr) {
+		final SimpleDateFormat format = new SimpleDateFormat(DatePattern.NORM_DATETIME_PATTERN);
+		format.setTimeZone(TimeZone.getTimeZone("GMT+08:00"));
+		try {
+			return format.parse(dateStr).getTime();
+		} catch (ParseException e) {
+			throw new IllegalArgumentException(e);
+		}
+	}
+
+	/**
+	 * 夏令时开始时跳过的时间不匹配，结束时重复的时间两次均匹配
+	 */
+	@Test
+	public void nextMatchAfterDstTest() {
+		final TimeZone timeZone = TimeZone.getTimeZone("America/New_York");
+		// 2021-03-14 02:00跳到03:00，02:30不存在
+		CronPattern pattern = new CronPattern("0 30 2 * * ?");
+		long next = pattern.nextMatchAfter(timeZone, 1615698000000L, true);// 2021-03-14 00:00 EST
+		Assert.assertEquals(1615789800000L, next);// 2021-03-15 02:30 EDT
+
+		// 2021-11-07 02:00回拨到01:00，01:30出现两次
+		pattern = new CronPattern("0 30 1 * * ?");
+		next = pattern.nextMatchAfter(timeZone, 1636257600000L, true);// 2021-11-07 00:00 EDT
+		Assert.assertEquals(1636263000000L, next);// 01:30 EDT
+		next = pattern.nextMatchAfter(timeZone, next, true);
+		Assert.assertEquals(1636266600000L, next);// 01:30 EST
+		next = pattern.nextMatchAfter(timeZone, next, true);
+		Assert.assertEquals(1636353000000L, next);// 2021-11-08 01:30 EST
+	}
+
+	/**
+	 * 与逐秒匹配的结果一致，包括夏令时切换
+	 */
+	@Test
+	public void nextMatchAfterSameAsMatchTest() {
+		final String[] patterns = {"0 30 * * * *", "0 0 1,2 * * *", "*/20 */7 * * * *", "0 0 0 L * ?",
+				"0 15 10 ? * mon-fri", "30 * 3 * * *", "0 0 0 1 1 ?|0 0 12 * * sun",
+				"0 0 9 1W * ?", "0 0 9 LW * ?", "0 30 2 * * ?"};
+		final TimeZone timeZone = TimeZone.getTimeZone("America/New_York");
+		final long[] starts = {1615690000000L, 1619755200000L, 1635652800000L, 1636260000000L, 1640995000000L};
+		for (String patternStr : patterns) {
+			final CronPattern pattern = new CronPattern(patternStr);
+			for (long start : starts) {
+				for (boolean isMatchSecond : new boolean[]{true, false}) {
+					long expected = -1;
+					final long step = isMatchSecond ? 1000 : 60000;
+					for (long millis = (start / step + 1) * step; millis < start + 3 * 86400_000L; millis += step) {
+						if (pattern.match(timeZone, millis, isMatchSecond)) {
+							expected = millis;
+							break;
+						}
+					}
+					if (expected > -1) {
+						Assert.assertEquals(patternStr, expected, pattern.nextMatchAfter(timeZone, start, isMatchSecond));
+					}
+				}
+			}
+		}
+	}
+
 	/**
 	 * 表达式是否匹配日期
 	 * 
@@ -158,4 +292,15 @@ public class CronPatternTest {
 		Assert.assertTrue(pattern.match(DateUtil.parse(date).getTime(), false));
 		Assert.assertTrue(pattern.match(DateUtil.parse(date).getTime(), true));
 	}
+
+	/**
+	 * 表达式是否不匹配日期
+	 *
+	 * @param pattern 表达式
+	 * @param date 日期，标准日期时间字符串
+	 */
+	private void assertNotMatch(CronPattern pattern, String date) {
+		Assert.assertFalse(pattern.match(DateUtil.parse(date).getTime(), false));
+		Assert.assertFalse(pattern.match(DateUtil.parse(date).getTime(), true));
+	}
 }
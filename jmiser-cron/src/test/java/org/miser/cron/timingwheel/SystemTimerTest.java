@@ -0,0 +1,102 @@
+package org.miser.cron.timingwheel;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.miser.core.thread.ThreadUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 时间轮计时器单元测试
+ *
+ * @author Oliver
+ */
+public class SystemTimerTest {
+
+	@Test
+	public void scheduleAndCancelTest() throws InterruptedException {
+		final SystemTimer timer = new SystemTimer().start();
+		try {
+			final CountDownLatch latch = new CountDownLatch(2);
+			final AtomicInteger cancelledRun = new AtomicInteger();
+			timer.schedule(latch::countDown, 50);
+			final TimerTask cancelled = timer.schedule(cancelledRun::incrementAndGet, 100);
+			// 超出底层时间轮跨度，进入上层时间轮
+			timer.schedule(latch::countDown, 300);
+
+			Assert.assertTrue(cancelled.cancel());
+			Assert.assertFalse(cancelled.cancel());
+			Assert.assertTrue(cancelled.isCancelled());
+
+			Assert.assertTrue(latch.await(3, TimeUnit.SECONDS));
+			ThreadUtil.sleep(100);
+			Assert.assertEquals(0, cancelledRun.get());
+			Assert.assertEquals(2, timer.getExecutedCount());
+			Assert.assertEquals(1, timer.getCancelledCount());
+			Assert.assertEquals(0, timer.getPendingCount());
+		} finally {
+			timer.stop();
+		}
+	}
+
+	@Test
+	public void cancelBeforeAddTest() throws InterruptedException {
+		final SystemTimer timer = new SystemTimer().start();
+		try {
+			final TimerTask cancelled = new TimerTask(() -> {
+			}, 100);
+			Assert.assertTrue(cancelled.cancel());
+			timer.addTask(cancelled);
+			Assert.assertEquals(0, timer.getPendingCount());
+			Assert.assertEquals(0, timer.getCancelledCount());
+
+			// 加入与取消并发，每个任务的取消只计一次
+			final List<TimerTask> tasks = new ArrayList<>();
+			for (int i = 0; i < 10000; i++) {
+				tasks.add(new TimerTask(() -> {
+				}, 60000));
+			}
+			final Thread canceller = new Thread(() -> tasks.forEach(TimerTask::cancel));
+			canceller.start();
+			tasks.forEach(timer::addTask);
+			canceller.join();
+			Assert.assertEquals(0, timer.getPendingCount());
+			Assert.assertEquals(0, timer.getExecutedCount());
+		} finally {
+			timer.stop();
+		}
+	}
+
+	@Test
+	public void batchTest() throws InterruptedException {
+		final int count = 10000;
+		final ExecutorService worker = ThreadUtil.newExecutor(2);
+		final SystemTimer timer = new SystemTimer(1, 20, worker).start();
+		try {
+			final CountDownLatch latch = new CountDownLatch(count / 2);
+			final List<TimerTask> tasks = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				tasks.add(new TimerTask(latch::countDown, 100 + i % 500));
+			}
+			final List<TimerTask> handles = timer.addTasks(tasks);
+			Assert.assertEquals(count, timer.getPendingCount());
+			// 取消一半
+			for (int i = 0; i < count; i += 2) {
+				Assert.assertTrue(handles.get(i).cancel());
+			}
+
+			Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+			Assert.assertEquals(count / 2, timer.getCancelledCount());
+			Assert.assertEquals(count / 2, timer.getExecutedCount());
+			Assert.assertEquals(0, timer.getPendingCount());
+		} finally {
+			timer.stop();
+			worker.shutdown();
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package org.miser.crypto;
+
+import org.miser.core.lang.Assert;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 加解密对象池，用于在多线程下复用{@link javax.crypto.Cipher}、{@link javax.crypto.Mac}、{@link java.security.MessageDigest}等非线程安全的对象<br>
+ * 借出时优先取空闲对象，无空闲对象时新建，因此借出不会阻塞；归还时空闲对象数超过上限则直接丢弃。<br>
+ * 借出的对象在归还前由借用线程独占，池本身无锁。
+ *
+ * @param <T> 池中对象类型
+ * @author Oliver
+ */
+public class CryptoPool<T> {
+
+	private final Supplier<T> factory;
+	private final int maxIdle;
+	private final Queue<T> idle = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger idleCount = new AtomicInteger();
+
+	/**
+	 * 构造
+	 *
+	 * @param factory 对象创建函数，创建的对象应已初始化
+	 * @param maxIdle 最大空闲对象数，通常为并发线程数
+	 */
+	public CryptoPool(Supplier<T> factory, int maxIdle) {
+		Assert.isTrue(maxIdle > 0, "Max idle must be positive: {}", maxIdle);
+		this.factory = Assert.notNull(factory);
+		this.maxIdle = maxIdle;
+	}
+
+	/**
+	 * 借出对象，无空闲对象时新建
+	 *
+	 * @return 对象
+	 */
+	public T borrow() {
+		final T obj = idle.poll();
+		if (null != obj) {
+			idleCount.decrementAndGet();
+			return obj;
+		}
+		return factory.get();
+	}
+
+	/**
+	 * 归还对象，空闲对象数已达上限时丢弃<br>
+	 * 调用方应保证归还的对象处于可复用的状态（已重置或下次使用前会重新初始化）
+	 *
+	 * @param obj 对象，{@code null}忽略
+	 */
+	public void release(T obj) {
+		if (null == obj) {
+			return;
+		}
+		if (idleCount.incrementAndGet() <= maxIdle) {
+			idle.offer(obj);
+		} else {
+			idleCount.decrementAndGet();
+		}
+	}
+
+	/**
+	 * @return 当前空闲对象数
+	 */
+	public int getIdleCount() {
+		return idleCount.get();
+	}
+
+	/**
+	 * @return 最大空闲对象数
+	 */
+	public int getMaxIdle() {
+		return maxIdle;
+	}
+}
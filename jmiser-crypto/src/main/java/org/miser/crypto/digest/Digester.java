@@ -17,11 +17,12 @@ import org.miser.core.util.CharsetUtil;
 import org.miser.core.util.HexUtil;
 import org.miser.core.util.StringUtil;
 import org.miser.crypto.CryptoException;
+import org.miser.crypto.CryptoPool;
 import org.miser.crypto.SecureUtil;
 
 /**
  * 摘要算法<br>
- * 注意：此对象实例化后为非线程安全！
+ * 注意：此对象实例化后为非线程安全！需要多线程共用时请通过{@link #setPoolSize(int)}开启并发模式
  * 
  * @author Oliver
  *
@@ -30,6 +31,10 @@ public class Digester implements Serializable {
 	private static final long serialVersionUID = 1L;
 
 	private MessageDigest digest;
+	private String algorithm;
+	private Provider provider;
+	/** {@link MessageDigest}对象池，不为{@code null}时为并发模式，见{@link #setPoolSize(int)} */
+	private CryptoPool<MessageDigest> digestPool;
 	/** 盐值 */
 	protected byte[] salt;
 	/** 加盐位置，即将盐值字符串放置在数据的index数，默认0 */
@@ -90,18 +95,30 @@ public class Digester implements Serializable {
 	 * @throws CryptoException Cause by IOException
 	 */
 	public Digester init(String algorithm, Provider provider) {
-		if (null == provider) {
-			this.digest = SecureUtil.createMessageDigest(algorithm);
-		} else {
-			try {
-				this.digest = MessageDigest.getInstance(algorithm, provider);
-			} catch (NoSuchAlgorithmException e) {
-				throw new CryptoException(e);
-			}
+		this.algorithm = algorithm;
+		this.provider = provider;
+		this.digest = createDigest(algorithm, provider);
+		if (null != this.digestPool) {
+			setPoolSize(this.digestPool.getMaxIdle());
 		}
 		return this;
 	}
 
+	/**
+	 * 设置并发模式下{@link MessageDigest}池的大小<br>
+	 * 默认（池大小小于1）所有操作共用一个{@link MessageDigest}，非线程安全；
+	 * 设置池大小后每次摘要从池中借用独立的{@link MessageDigest}，可在多线程下共用此对象，池大小通常设为并发线程数
+	 *
+	 * @param poolSize 池中保留的最大空闲{@link MessageDigest}数，小于1表示关闭并发模式
+	 * @return this
+	 */
+	public Digester setPoolSize(int poolSize) {
+		final String algorithm = this.algorithm;
+		final Provider provider = this.provider;
+		this.digestPool = (poolSize < 1) ? null : new CryptoPool<>(() -> createDigest(algorithm, provider), poolSize);
+		return this;
+	}
+
 	/**
 	 * 设置加盐内容
 	 * 
@@ -264,25 +281,31 @@ public class Digester implements Serializable {
 	 * @return 摘要bytes
 	 */
 	public byte[] digest(byte[] data) {
-		byte[] result;
-		if (this.saltPosition <= 0) {
-			// 加盐在开头，自动忽略空盐值
-			result = doDigest(this.salt, data);
-		} else if (this.saltPosition >= data.length) {
-			// 加盐在末尾，自动忽略空盐值
-			result = doDigest(data, this.salt);
-		} else if (ArrayUtil.isNotEmpty(this.salt)) {
-			// 加盐在中间
-			this.digest.update(data, 0, this.saltPosition);
-			this.digest.update(this.salt);
-			this.digest.update(data, this.saltPosition, data.length - this.saltPosition);
-			result = this.digest.digest();
-		} else {
-			// 无加盐
-			result = doDigest(data);
-		}
+		final CryptoPool<MessageDigest> pool = this.digestPool;
+		final MessageDigest digest = acquireDigest(pool);
+		try {
+			byte[] result;
+			if (this.saltPosition <= 0) {
+				// 加盐在开头，自动忽略空盐值
+				result = doDigest(digest, this.salt, data);
+			} else if (this.saltPosition >= data.length) {
+				// 加盐在末尾，自动忽略空盐值
+				result = doDigest(digest, data, this.salt);
+			} else if (ArrayUtil.isNotEmpty(this.salt)) {
+				// 加盐在中间
+				digest.update(data, 0, this.saltPosition);
+				digest.update(this.salt);
+				digest.update(data, this.saltPosition, data.length - this.saltPosition);
+				result = digest.digest();
+			} else {
+				// 无加盐
+				result = doDigest(digest, data);
+			}
 
-		return resetAndRepeatDigest(result);
+			return resetAndRepeatDigest(digest, result);
+		} finally {
+			releaseDigest(pool, digest);
+		}
 	}
 
 	/**
@@ -329,18 +352,21 @@ public class Digester implements Serializable {
 			bufferLength = IOUtil.DEFAULT_BUFFER_SIZE;
 		}
 
-		byte[] result;
+		final CryptoPool<MessageDigest> pool = this.digestPool;
+		final MessageDigest digest = acquireDigest(pool);
 		try {
+			byte[] result;
 			if (ArrayUtil.isEmpty(this.salt)) {
-				result = digestWithoutSalt(data, bufferLength);
+				result = digestWithoutSalt(digest, data, bufferLength);
 			} else {
-				result = digestWithSalt(data, bufferLength);
+				result = digestWithSalt(digest, data, bufferLength);
 			}
+			return resetAndRepeatDigest(digest, result);
 		} catch (IOException e) {
 			throw new IORuntimeException(e);
+		} finally {
+			releaseDigest(pool, digest);
 		}
-
-		return resetAndRepeatDigest(result);
 	}
 
 	/**
@@ -379,32 +405,34 @@ public class Digester implements Serializable {
 	/**
 	 * 生成摘要
 	 * 
+	 * @param digest       {@link MessageDigest}
 	 * @param data         {@link InputStream} 数据流
 	 * @param bufferLength 缓存长度，不足1使用 {@link IOUtil#DEFAULT_BUFFER_SIZE} 做为默认值
 	 * @return 摘要bytes
 	 * @throws IOException 从流中读取数据引发的IO异常
 	 */
-	private byte[] digestWithoutSalt(InputStream data, int bufferLength) throws IOException {
+	private byte[] digestWithoutSalt(MessageDigest digest, InputStream data, int bufferLength) throws IOException {
 		final byte[] buffer = new byte[bufferLength];
 		int read;
 		while ((read = data.read(buffer, 0, bufferLength)) > -1) {
-			this.digest.update(buffer, 0, read);
+			digest.update(buffer, 0, read);
 		}
-		return this.digest.digest();
+		return digest.digest();
 	}
 
 	/**
 	 * 生成摘要
 	 * 
+	 * @param digest       {@link MessageDigest}
 	 * @param data         {@link InputStream} 数据流
 	 * @param bufferLength 缓存长度，不足1使用 {@link IOUtil#DEFAULT_BUFFER_SIZE} 做为默认值
 	 * @return 摘要bytes
 	 * @throws IOException 从流中读取数据引发的IO异常
 	 */
-	private byte[] digestWithSalt(InputStream data, int bufferLength) throws IOException {
+	private byte[] digestWithSalt(MessageDigest digest, InputStream data, int bufferLength) throws IOException {
 		if (this.saltPosition <= 0) {
 			// 加盐在开头
-			this.digest.update(this.salt);
+			digest.update(this.salt);
 		}
 
 		final byte[] buffer = new byte[bufferLength];
@@ -417,53 +445,98 @@ public class Digester implements Serializable {
 					digest.update(buffer, 0, total - this.saltPosition);
 				}
 				// 加盐在中间
-				this.digest.update(this.salt);
-				this.digest.update(buffer, total - this.saltPosition, read);
+				digest.update(this.salt);
+				digest.update(buffer, total - this.saltPosition, read);
 			} else {
-				this.digest.update(buffer, 0, read);
+				digest.update(buffer, 0, read);
 			}
 		}
 
 		if (total < this.saltPosition) {
 			// 加盐在末尾
-			this.digest.update(this.salt);
+			digest.update(this.salt);
 		}
 
-		return this.digest.digest();
+		return digest.digest();
 	}
 
 	/**
 	 * 生成摘要
 	 * 
+	 * @param digest {@link MessageDigest}
 	 * @param datas 数据bytes
 	 * @return 摘要bytes
 	 * 
 	 */
-	private byte[] doDigest(byte[]... datas) {
+	private static byte[] doDigest(MessageDigest digest, byte[]... datas) {
 		for (byte[] data : datas) {
 			if (null != data) {
-				this.digest.update(data);
+				digest.update(data);
 			}
 		}
-		return this.digest.digest();
+		return digest.digest();
 	}
 
 	/**
 	 * 重复计算摘要，取决于{@link #digestCount} 值<br>
 	 * 每次计算摘要前都会重置{@link #digest}
 	 * 
+	 * @param digest {@link MessageDigest}
 	 * @param digestData 第一次摘要过的数据
 	 * @return 摘要
 	 */
-	private byte[] resetAndRepeatDigest(byte[] digestData) {
+	private byte[] resetAndRepeatDigest(MessageDigest digest, byte[] digestData) {
 		final int digestCount = Math.max(1, this.digestCount);
-		reset();
+		digest.reset();
 		for (int i = 0; i < digestCount - 1; i++) {
-			digestData = doDigest(digestData);
-			reset();
+			digestData = doDigest(digest, digestData);
+			digest.reset();
 		}
 		return digestData;
 	}
+
+	/**
+	 * 获取用于本次摘要的{@link MessageDigest}，并发模式下从池中借用，否则使用共享的{@link MessageDigest}<br>
+	 * 使用完毕必须以同一个池调用{@link #releaseDigest(CryptoPool, MessageDigest)}
+	 *
+	 * @param pool 摘要开始时的{@link MessageDigest}池，{@code null}表示非并发模式
+	 * @return {@link MessageDigest}
+	 */
+	private MessageDigest acquireDigest(CryptoPool<MessageDigest> pool) {
+		return (null == pool) ? this.digest : pool.borrow();
+	}
+
+	/**
+	 * 归还{@link #acquireDigest(CryptoPool)}获取的{@link MessageDigest}，归还前重置<br>
+	 * 归还到借出时的池，期间池被更换（如算法改变）时，对象随旧池丢弃，不会混入新池
+	 *
+	 * @param pool   借出时的{@link MessageDigest}池，{@code null}表示非并发模式
+	 * @param digest {@link MessageDigest}
+	 */
+	private void releaseDigest(CryptoPool<MessageDigest> pool, MessageDigest digest) {
+		if (null != pool) {
+			digest.reset();
+			pool.release(digest);
+		}
+	}
+
+	/**
+	 * 创建{@link MessageDigest}
+	 *
+	 * @param algorithm 算法
+	 * @param provider  算法提供者，null表示JDK默认
+	 * @return {@link MessageDigest}
+	 */
+	static MessageDigest createDigest(String algorithm, Provider provider) {
+		if (null == provider) {
+			return SecureUtil.createMessageDigest(algorithm);
+		}
+		try {
+			return MessageDigest.getInstance(algorithm, provider);
+		} catch (NoSuchAlgorithmException e) {
+			throw new CryptoException(e);
+		}
+	}
 	// --------------------------------------------------------------------------------
 	// Private method end
 }
@@ -19,6 +19,7 @@ import org.miser.core.util.StringUtil;
 import org.miser.crypto.CryptoException;
 import org.miser.crypto.digest.mac.MacEngine;
 import org.miser.crypto.digest.mac.MacEngineFactory;
+import org.miser.crypto.digest.mac.PooledMacEngine;
 
 /**
  * HMAC摘要算法<br>
@@ -89,6 +90,30 @@ public class HMac implements Serializable {
 		this(MacEngineFactory.createEngine(algorithm, key));
 	}
 
+	/**
+	 * 构造，并发模式<br>
+	 * 内部使用{@link PooledMacEngine}，每次摘要借用独立的{@link MacEngine}，可在多线程下共用此对象
+	 *
+	 * @param algorithm 算法
+	 * @param key       密钥
+	 * @param poolSize  池中保留的最大空闲引擎数，通常为并发线程数
+	 */
+	public HMac(HmacAlgorithm algorithm, byte[] key, int poolSize) {
+		this(algorithm.getValue(), (null == key) ? null : new SecretKeySpec(key, algorithm.getValue()), poolSize);
+	}
+
+	/**
+	 * 构造，并发模式<br>
+	 * 内部使用{@link PooledMacEngine}，每次摘要借用独立的{@link MacEngine}，可在多线程下共用此对象
+	 *
+	 * @param algorithm 算法
+	 * @param key       密钥，{@code null}表示随机生成
+	 * @param poolSize  池中保留的最大空闲引擎数，通常为并发线程数
+	 */
+	public HMac(String algorithm, Key key, int poolSize) {
+		this(new PooledMacEngine(algorithm, key, poolSize));
+	}
+
 	/**
 	 * 构造
 	 *
@@ -0,0 +1,110 @@
+package org.miser.crypto.digest;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.miser.core.util.HexUtil;
+
+/**
+ * 树形摘要（Merkle树）结果<br>
+ * 包括根摘要及每个分块的叶子摘要，叶子摘要可保存下来用于之后按块增量校验，格式见{@link TreeDigester}
+ *
+ * @author Oliver
+ * @see TreeDigester
+ */
+public class TreeDigest implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private final String algorithm;
+	private final int chunkSize;
+	private final long length;
+	private final byte[] root;
+	private final byte[][] leaves;
+
+	/**
+	 * 构造
+	 *
+	 * @param algorithm 摘要算法
+	 * @param chunkSize 分块大小
+	 * @param length    数据总长度
+	 * @param root      根摘要
+	 * @param leaves    按顺序排列的叶子摘要
+	 */
+	public TreeDigest(String algorithm, int chunkSize, long length, byte[] root, byte[][] leaves) {
+		this.algorithm = algorithm;
+		this.chunkSize = chunkSize;
+		this.length = length;
+		this.root = root;
+		this.leaves = leaves;
+	}
+
+	/**
+	 * @return 摘要算法
+	 */
+	public String getAlgorithm() {
+		return algorithm;
+	}
+
+	/**
+	 * @return 分块大小
+	 */
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * @return 数据总长度
+	 */
+	public long getLength() {
+		return length;
+	}
+
+	/**
+	 * @return 根摘要
+	 */
+	public byte[] getRoot() {
+		return root.clone();
+	}
+
+	/**
+	 * @return 根摘要的16进制字符串
+	 */
+	public String getRootHex() {
+		return HexUtil.encodeHexStr(root);
+	}
+
+	/**
+	 * @return 分块数，空数据为1
+	 */
+	public int getLeafCount() {
+		return leaves.length;
+	}
+
+	/**
+	 * 获取指定分块的叶子摘要
+	 *
+	 * @param index 分块序号，从0开始
+	 * @return 叶子摘要
+	 */
+	public byte[] getLeaf(int index) {
+		return leaves[index].clone();
+	}
+
+	/**
+	 * @return 所有叶子摘要的16进制字符串，按分块顺序排列
+	 */
+	public List<String> getLeafHexes() {
+		final List<String> result = new ArrayList<>(leaves.length);
+		for (byte[] leaf : leaves) {
+			result.add(HexUtil.encodeHexStr(leaf));
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return "TreeDigest{algorithm=" + algorithm + ", chunkSize=" + chunkSize + ", length=" + length + ", leafCount=" + leaves.length
+				+ ", root=" + getRootHex() + '}';
+	}
+}
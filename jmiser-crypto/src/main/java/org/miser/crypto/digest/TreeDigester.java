@@ -0,0 +1,317 @@
+package org.miser.crypto.digest;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.Provider;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.miser.core.io.IORuntimeException;
+import org.miser.core.io.IOUtil;
+import org.miser.core.lang.Assert;
+import org.miser.crypto.CryptoPool;
+
+/**
+ * 并行分块树形摘要（Merkle树）<br>
+ * 将文件按固定大小分块，通过内存映射读取，在{@link ForkJoinPool}中并行计算每块的摘要，再两两合并为根摘要，适用于大文件的完整性校验。
+ *
+ * <p>
+ * 摘要格式（与RFC 6962的Merkle Tree Hash一致，H为摘要算法）：
+ * </p>
+ * <ul>
+ *     <li>数据按{@code chunkSize}切分为n块，最后一块可不足{@code chunkSize}，空数据视为1个空块</li>
+ *     <li>叶子摘要：{@code H(0x00 || chunk)}</li>
+ *     <li>节点摘要：{@code H(0x01 || left || right)}</li>
+ *     <li>自底向上每层按顺序两两合并，节点数为奇数时最后一个节点直接提升到上一层，直到只剩根节点</li>
+ * </ul>
+ * <p>
+ * 根摘要与算法和分块大小相关，校验时须使用相同的参数。
+ * </p>
+ *
+ * <p>
+ * 结果{@link TreeDigest}中保留了每块的叶子摘要，之后可通过{@link #verify(File, TreeDigest)}找出变化的分块，
+ * 或通过{@link #verifyChunk(File, TreeDigest, int)}只校验单个分块。
+ * </p>
+ *
+ * 此对象线程安全。
+ *
+ * @author Oliver
+ */
+public class TreeDigester {
+
+	/** 默认分块大小：1MB */
+	public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+	private static final byte LEAF_PREFIX = 0x00;
+	private static final byte NODE_PREFIX = 0x01;
+
+	private final String algorithm;
+	private final int chunkSize;
+	private final CryptoPool<MessageDigest> digestPool;
+	private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+	/**
+	 * 构造，使用默认分块大小
+	 *
+	 * @param algorithm 算法枚举
+	 */
+	public TreeDigester(DigestAlgorithm algorithm) {
+		this(algorithm.getValue(), DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param algorithm 算法
+	 * @param chunkSize 分块大小，必须大于0
+	 */
+	public TreeDigester(String algorithm, int chunkSize) {
+		this(algorithm, null, chunkSize);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param algorithm 算法
+	 * @param provider  算法提供者，null表示JDK默认，可以引入Bouncy Castle等来提供更多算法支持
+	 * @param chunkSize 分块大小，必须大于0
+	 */
+	public TreeDigester(String algorithm, Provider provider, int chunkSize) {
+		Assert.isTrue(chunkSize > 0, "Chunk size must be positive: {}", chunkSize);
+		this.algorithm = algorithm;
+		this.chunkSize = chunkSize;
+		this.digestPool = new CryptoPool<>(() -> Digester.createDigest(algorithm, provider), Runtime.getRuntime().availableProcessors());
+		// 提前校验算法是否可用
+		this.digestPool.release(this.digestPool.borrow());
+	}
+
+	/**
+	 * 设置计算叶子摘要的线程池，默认{@link ForkJoinPool#commonPool()}
+	 *
+	 * @param pool {@link ForkJoinPool}
+	 * @return this
+	 */
+	public TreeDigester setPool(ForkJoinPool pool) {
+		this.pool = Assert.notNull(pool);
+		return this;
+	}
+
+	/**
+	 * @return 分块大小
+	 */
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * 计算文件的树形摘要
+	 *
+	 * @param file 文件
+	 * @return {@link TreeDigest}
+	 * @throws IORuntimeException IO异常
+	 */
+	public TreeDigest digest(File file) throws IORuntimeException {
+		FileChannel channel = null;
+		try {
+			channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+			final long length = channel.size();
+			final byte[][] leaves = new byte[chunkCount(length)][];
+			pool.invoke(new LeafTask(channel, length, leaves, 0, leaves.length));
+			return new TreeDigest(this.algorithm, this.chunkSize, length, root(leaves), leaves);
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		} finally {
+			IOUtil.close(channel);
+		}
+	}
+
+	/**
+	 * 计算文件的树形摘要，并转为16进制字符串
+	 *
+	 * @param file 文件
+	 * @return 根摘要的16进制字符串
+	 */
+	public String digestHex(File file) {
+		return digest(file).getRootHex();
+	}
+
+	/**
+	 * 计算树形摘要的根摘要
+	 *
+	 * @param leaves 按顺序排列的叶子摘要，至少1个
+	 * @return 根摘要
+	 */
+	public byte[] root(byte[][] leaves) {
+		Assert.isTrue(leaves.length > 0, "Leaves must not be empty!");
+		final MessageDigest digest = digestPool.borrow();
+		try {
+			byte[][] level = leaves;
+			while (level.length > 1) {
+				final byte[][] parent = new byte[(level.length + 1) / 2][];
+				for (int i = 0; i < parent.length; i++) {
+					final int left = i * 2;
+					if (left + 1 < level.length) {
+						digest.update(NODE_PREFIX);
+						digest.update(level[left]);
+						digest.update(level[left + 1]);
+						parent[i] = digest.digest();
+					} else {
+						// 奇数个节点，最后一个直接提升
+						parent[i] = level[left];
+					}
+				}
+				level = parent;
+			}
+			return level[0];
+		} finally {
+			digestPool.release(digest);
+		}
+	}
+
+	/**
+	 * 重新计算文件的叶子摘要，找出与之前结果不一致的分块<br>
+	 * 文件长度变化时，超出原分块数或新分块数的部分均视为不一致
+	 *
+	 * @param file     文件
+	 * @param expected 之前计算的结果，分块大小和算法须与本对象一致
+	 * @return 不一致的分块序号，从小到大排列，全部一致返回空列表
+	 * @throws IORuntimeException IO异常
+	 */
+	public List<Integer> verify(File file, TreeDigest expected) throws IORuntimeException {
+		checkCompatible(expected);
+		final TreeDigest actual = digest(file);
+		final int count = Math.max(actual.getLeafCount(), expected.getLeafCount());
+		final List<Integer> result = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			if (i >= actual.getLeafCount() || i >= expected.getLeafCount()
+					|| false == MessageDigest.isEqual(actual.getLeaf(i), expected.getLeaf(i))) {
+				result.add(i);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 只读取并校验文件的单个分块
+	 *
+	 * @param file     文件
+	 * @param expected 之前计算的结果，分块大小和算法须与本对象一致
+	 * @param index    分块序号，从0开始
+	 * @return 分块是否一致，分块不存在返回false
+	 * @throws IORuntimeException IO异常
+	 */
+	public boolean verifyChunk(File file, TreeDigest expected, int index) throws IORuntimeException {
+		checkCompatible(expected);
+		if (index < 0 || index >= expected.getLeafCount()) {
+			return false;
+		}
+		FileChannel channel = null;
+		try {
+			channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+			final long length = channel.size();
+			if (index >= chunkCount(length)) {
+				return false;
+			}
+			return MessageDigest.isEqual(expected.getLeaf(index), leaf(channel, length, index));
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		} finally {
+			IOUtil.close(channel);
+		}
+	}
+
+	// --------------------------------------------------------------------------------
+	// Private method start
+	/**
+	 * 计算分块数，空数据为1块
+	 *
+	 * @param length 数据长度
+	 * @return 分块数
+	 */
+	private int chunkCount(long length) {
+		final long count = Math.max(1, (length + chunkSize - 1) / chunkSize);
+		Assert.isTrue(count <= Integer.MAX_VALUE, "Too many chunks: {}, please use a larger chunk size.", count);
+		return (int) count;
+	}
+
+	/**
+	 * 通过内存映射读取分块并计算叶子摘要
+	 *
+	 * @param channel 文件通道
+	 * @param length  文件长度
+	 * @param index   分块序号
+	 * @return 叶子摘要
+	 * @throws IOException IO异常
+	 */
+	private byte[] leaf(FileChannel channel, long length, int index) throws IOException {
+		final long position = (long) index * chunkSize;
+		final long size = Math.min(chunkSize, length - position);
+		final MessageDigest digest = digestPool.borrow();
+		try {
+			digest.update(LEAF_PREFIX);
+			if (size > 0) {
+				final ByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+				digest.update(chunk);
+			}
+			return digest.digest();
+		} finally {
+			digestPool.release(digest);
+		}
+	}
+
+	/**
+	 * 检查之前的结果与本对象参数是否一致
+	 *
+	 * @param expected 之前计算的结果
+	 */
+	private void checkCompatible(TreeDigest expected) {
+		Assert.isTrue(this.chunkSize == expected.getChunkSize(), "Chunk size mismatch: {} != {}", this.chunkSize, expected.getChunkSize());
+		Assert.isTrue(this.algorithm.equalsIgnoreCase(expected.getAlgorithm()), "Algorithm mismatch: {} != {}", this.algorithm,
+				expected.getAlgorithm());
+	}
+	// --------------------------------------------------------------------------------
+	// Private method end
+
+	/**
+	 * 计算一段分块叶子摘要的任务，多于一块时二分后并行计算
+	 *
+	 * @author Oliver
+	 */
+	private class LeafTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final FileChannel channel;
+		private final long length;
+		private final byte[][] leaves;
+		private final int from;
+		private final int to;
+
+		LeafTask(FileChannel channel, long length, byte[][] leaves, int from, int to) {
+			this.channel = channel;
+			this.length = length;
+			this.leaves = leaves;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= 1) {
+				try {
+					leaves[from] = leaf(channel, length, from);
+				} catch (IOException e) {
+					throw new IORuntimeException(e);
+				}
+				return;
+			}
+			final int mid = (from + to) >>> 1;
+			invokeAll(new LeafTask(channel, length, leaves, from, mid), new LeafTask(channel, length, leaves, mid, to));
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package org.miser.crypto.digest.mac;
+
+import java.io.InputStream;
+import java.security.Key;
+
+import org.miser.crypto.CryptoPool;
+import org.miser.crypto.SecureUtil;
+
+/**
+ * 池化的MAC算法实现引擎，线程安全<br>
+ * 内部维护一组使用相同算法和密钥初始化的{@link MacEngine}，每次摘要借用独立的引擎，多线程下无锁并行执行。<br>
+ * 分步调用{@link #update(byte[], int, int)}时，引擎在首次update时借出并绑定到当前线程，{@link #doFinal()}或{@link #reset()}后归还。
+ *
+ * @author Oliver
+ */
+public class PooledMacEngine implements MacEngine {
+
+	private final CryptoPool<MacEngine> pool;
+	/** 分步摘要时当前线程借用的引擎 */
+	private final ThreadLocal<MacEngine> current = new ThreadLocal<>();
+	private final String algorithm;
+	private final int macLength;
+
+	/**
+	 * 构造
+	 *
+	 * @param algorithm 算法
+	 * @param key       密钥，{@code null}表示随机生成，所有引擎共用此密钥
+	 * @param poolSize  池中保留的最大空闲引擎数，通常为并发线程数
+	 */
+	public PooledMacEngine(String algorithm, Key key, int poolSize) {
+		final Key engineKey = (null == key) ? SecureUtil.generateKey(algorithm) : key;
+		this.pool = new CryptoPool<>(() -> MacEngineFactory.createEngine(algorithm, engineKey), poolSize);
+
+		final MacEngine engine = pool.borrow();
+		this.algorithm = engine.getAlgorithm();
+		this.macLength = engine.getMacLength();
+		pool.release(engine);
+	}
+
+	@Override
+	public void update(byte[] in, int inOff, int len) {
+		MacEngine engine = current.get();
+		if (null == engine) {
+			engine = pool.borrow();
+			current.set(engine);
+		}
+		engine.update(in, inOff, len);
+	}
+
+	@Override
+	public byte[] doFinal() {
+		final MacEngine engine = current.get();
+		if (null == engine) {
+			// 无数据的摘要
+			final MacEngine idle = pool.borrow();
+			try {
+				return idle.doFinal();
+			} finally {
+				pool.release(idle);
+			}
+		}
+		try {
+			return engine.doFinal();
+		} finally {
+			releaseCurrent(engine);
+		}
+	}
+
+	@Override
+	public void reset() {
+		final MacEngine engine = current.get();
+		if (null != engine) {
+			engine.reset();
+			releaseCurrent(engine);
+		}
+	}
+
+	@Override
+	public byte[] digest(InputStream data, int bufferLength) {
+		final MacEngine engine = pool.borrow();
+		try {
+			return engine.digest(data, bufferLength);
+		} finally {
+			pool.release(engine);
+		}
+	}
+
+	@Override
+	public int getMacLength() {
+		return this.macLength;
+	}
+
+	@Override
+	public String getAlgorithm() {
+		return this.algorithm;
+	}
+
+	/**
+	 * 归还当前线程借用的引擎
+	 *
+	 * @param engine 引擎
+	 */
+	private void releaseCurrent(MacEngine engine) {
+		current.remove();
+		pool.release(engine);
+	}
+}
@@ -4,6 +4,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
@@ -28,6 +31,7 @@ import org.miser.core.util.HexUtil;
 import org.miser.core.util.RandomUtil;
 import org.miser.core.util.StringUtil;
 import org.miser.crypto.CryptoException;
+import org.miser.crypto.CryptoPool;
 import org.miser.crypto.KeyUtil;
 import org.miser.crypto.Padding;
 import org.miser.crypto.SecureUtil;
@@ -43,6 +47,11 @@ import org.miser.crypto.SecureUtil;
 public class SymmetricCrypto implements Serializable {
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * 空数据，用于结束分块加解密
+	 */
+	private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocate(0);
+
 	/**
 	 * SecretKey 负责保存对称密钥
 	 */
@@ -59,6 +68,14 @@ public class SymmetricCrypto implements Serializable {
 	 * 是否0填充
 	 */
 	private boolean isZeroPadding;
+	/**
+	 * 算法，ZeroPadding已替换为NoPadding
+	 */
+	private String algorithm;
+	/**
+	 * {@link Cipher}对象池，不为{@code null}时为并发模式，见{@link #setPoolSize(int)}
+	 */
+	private CryptoPool<Cipher> cipherPool;
 	private final Lock lock = new ReentrantLock();
 
 	// ------------------------------------------------------------------
@@ -164,7 +181,25 @@ public class SymmetricCrypto implements Serializable {
 			this.isZeroPadding = true;
 		}
 
+		this.algorithm = algorithm;
 		this.cipher = SecureUtil.createCipher(algorithm);
+		if (null != this.cipherPool) {
+			setPoolSize(this.cipherPool.getMaxIdle());
+		}
+		return this;
+	}
+
+	/**
+	 * 设置并发模式下{@link Cipher}池的大小<br>
+	 * 默认（池大小小于1）所有加解密操作共用一个{@link Cipher}并加锁串行执行；
+	 * 设置池大小后每次操作从池中借用独立的{@link Cipher}，多线程下无锁并行执行，池大小通常设为并发线程数
+	 *
+	 * @param poolSize 池中保留的最大空闲{@link Cipher}数，小于1表示关闭并发模式
+	 * @return 自身
+	 */
+	public SymmetricCrypto setPoolSize(int poolSize) {
+		final String algorithm = this.algorithm;
+		this.cipherPool = (poolSize < 1) ? null : new CryptoPool<>(() -> SecureUtil.createCipher(algorithm), poolSize);
 		return this;
 	}
 
@@ -212,14 +247,15 @@ public class SymmetricCrypto implements Serializable {
 	 * 
 	 */
 	public byte[] update(byte[] data) {
-		lock.lock();
+		final CryptoPool<Cipher> pool = this.cipherPool;
+		final Cipher cipher = acquireCipher(pool);
 		try {
-			final Cipher cipher = initCipher(Cipher.ENCRYPT_MODE);
+			initCipher(cipher, Cipher.ENCRYPT_MODE);
 			return cipher.update(paddingDataWithZero(data, cipher.getBlockSize()));
 		} catch (Exception e) {
 			throw new CryptoException(e);
 		} finally {
-			lock.unlock();
+			releaseCipher(pool, cipher);
 		}
 	}
 
@@ -244,14 +280,15 @@ public class SymmetricCrypto implements Serializable {
 	 * @return 加密后的bytes
 	 */
 	public byte[] encrypt(byte[] data) {
-		lock.lock();
+		final CryptoPool<Cipher> pool = this.cipherPool;
+		final Cipher cipher = acquireCipher(pool);
 		try {
-			final Cipher cipher = initCipher(Cipher.ENCRYPT_MODE);
+			initCipher(cipher, Cipher.ENCRYPT_MODE);
 			return cipher.doFinal(paddingDataWithZero(data, cipher.getBlockSize()));
 		} catch (Exception e) {
 			throw new CryptoException(e);
 		} finally {
-			lock.unlock();
+			releaseCipher(pool, cipher);
 		}
 	}
 
@@ -265,10 +302,11 @@ public class SymmetricCrypto implements Serializable {
 	 * 
 	 */
 	public void encrypt(InputStream data, OutputStream out, boolean isClose) throws IORuntimeException {
-		lock.lock();
+		final CryptoPool<Cipher> pool = this.cipherPool;
+		final Cipher cipher = acquireCipher(pool);
 		CipherOutputStream cipherOutputStream = null;
 		try {
-			final Cipher cipher = initCipher(Cipher.ENCRYPT_MODE);
+			initCipher(cipher, Cipher.ENCRYPT_MODE);
 			cipherOutputStream = new CipherOutputStream(out, cipher);
 			long length = IOUtil.copy(data, cipherOutputStream);
 			if (this.isZeroPadding) {
@@ -288,11 +326,98 @@ public class SymmetricCrypto implements Serializable {
 		} catch (Exception e) {
 			throw new CryptoException(e);
 		} finally {
-			lock.unlock();
+			// 关闭CipherOutputStream时执行doFinal写出最后一块，须在归还Cipher之前
 			if (isClose) {
 				IOUtil.close(data);
 				IOUtil.close(cipherOutputStream);
 			}
+			releaseCipher(pool, cipher);
+		}
+	}
+
+	/**
+	 * 加密{@link ByteBuffer}，从输入的position读取到limit，加密结果写入输出的position处<br>
+	 * 支持堆内和直接内存的{@link ByteBuffer}，数据不经过额外的数组拷贝，输出剩余空间需不小于{@link Cipher#getOutputSize(int)}
+	 *
+	 * @param data 被加密的数据，读取后position移至limit
+	 * @param out  加密后的数据，写入后position后移
+	 * @return 写入的字节数
+	 */
+	public int encrypt(ByteBuffer data, ByteBuffer out) {
+		final CryptoPool<Cipher> pool = this.cipherPool;
+		final Cipher cipher = acquireCipher(pool);
+		try {
+			initCipher(cipher, Cipher.ENCRYPT_MODE);
+			final int length = data.remaining();
+			int written = cipher.update(data, out);
+			written += cipher.doFinal(zeroPaddingBuffer(length, cipher.getBlockSize()), out);
+			return written;
+		} catch (Exception e) {
+			throw new CryptoException(e);
+		} finally {
+			releaseCipher(pool, cipher);
+		}
+	}
+
+	/**
+	 * 加密，针对大数据量，使用默认缓存大小分块读取和加密，内存占用与数据大小无关
+	 *
+	 * @param data    被加密的数据通道
+	 * @param out     输出通道，可以是文件或网络位置
+	 * @param isClose 是否关闭通道
+	 * @return 写出的字节数
+	 * @throws IORuntimeException IO异常
+	 */
+	public long encrypt(ReadableByteChannel data, WritableByteChannel out, boolean isClose) throws IORuntimeException {
+		return encrypt(data, out, IOUtil.DEFAULT_BUFFER_SIZE, isClose);
+	}
+
+	/**
+	 * 加密，针对大数据量，分块读取和加密，内存占用与数据大小无关<br>
+	 * 读写使用直接内存的{@link ByteBuffer}，在文件、Socket等通道间传输时避免堆内拷贝
+	 *
+	 * @param data       被加密的数据通道
+	 * @param out        输出通道，可以是文件或网络位置
+	 * @param bufferSize 每块大小，会按块大小向上取整
+	 * @param isClose    是否关闭通道
+	 * @return 写出的字节数
+	 * @throws IORuntimeException IO异常
+	 */
+	public long encrypt(ReadableByteChannel data, WritableByteChannel out, int bufferSize, boolean isClose) throws IORuntimeException {
+		final CryptoPool<Cipher> pool = this.cipherPool;
+		final Cipher cipher = acquireCipher(pool);
+		try {
+			initCipher(cipher, Cipher.ENCRYPT_MODE);
+			final int blockSize = cipher.getBlockSize();
+			final ByteBuffer inBuffer = ByteBuffer.allocateDirect(alignToBlock(bufferSize, blockSize));
+			ByteBuffer outBuffer = ByteBuffer.allocateDirect(cipher.getOutputSize(inBuffer.capacity()));
+
+			long length = 0;
+			long written = 0;
+			for (int readSize; (readSize = data.read(inBuffer)) != IOUtil.EOF;) {
+				length += readSize;
+				inBuffer.flip();
+				outBuffer = ensureOutputSize(outBuffer, cipher.getOutputSize(inBuffer.remaining()));
+				cipher.update(inBuffer, outBuffer);
+				written += writeFully(outBuffer, out);
+				inBuffer.clear();
+			}
+
+			final ByteBuffer padding = zeroPaddingBuffer(length, blockSize);
+			outBuffer = ensureOutputSize(outBuffer, cipher.getOutputSize(padding.remaining()));
+			cipher.doFinal(padding, outBuffer);
+			written += writeFully(outBuffer, out);
+			return written;
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		} catch (Exception e) {
+			throw new CryptoException(e);
+		} finally {
+			releaseCipher(pool, cipher);
+			if (isClose) {
+				IOUtil.close(data);
+				IOUtil.close(out);
+			}
 		}
 	}
 
@@ -460,15 +585,16 @@ public class SymmetricCrypto implements Serializable {
 		final int blockSize;
 		final byte[] decryptData;
 
-		lock.lock();
+		final CryptoPool<Cipher> pool = this.cipherPool;
+		final Cipher cipher = acquireCipher(pool);
 		try {
-			final Cipher cipher = initCipher(Cipher.DECRYPT_MODE);
+			initCipher(cipher, Cipher.DECRYPT_MODE);
 			blockSize = cipher.getBlockSize();
 			decryptData = cipher.doFinal(bytes);
 		} catch (Exception e) {
 			throw new CryptoException(e);
 		} finally {
-			lock.unlock();
+			releaseCipher(pool, cipher);
 		}
 
 		return removePadding(decryptData, blockSize);
@@ -484,10 +610,11 @@ public class SymmetricCrypto implements Serializable {
 	 * 
 	 */
 	public void decrypt(InputStream data, OutputStream out, boolean isClose) throws IORuntimeException {
-		lock.lock();
+		final CryptoPool<Cipher> pool = this.cipherPool;
+		final Cipher cipher = acquireCipher(pool);
 		CipherInputStream cipherInputStream = null;
 		try {
-			final Cipher cipher = initCipher(Cipher.DECRYPT_MODE);
+			initCipher(cipher, Cipher.DECRYPT_MODE);
 			cipherInputStream = new CipherInputStream(data, cipher);
 			if (this.isZeroPadding) {
 				final int blockSize = cipher.getBlockSize();
@@ -504,11 +631,121 @@ public class SymmetricCrypto implements Serializable {
 		} catch (Exception e) {
 			throw new CryptoException(e);
 		} finally {
-			lock.unlock();
+			// 关闭CipherInputStream时可能仍会调用Cipher，须在归还Cipher之前
 			if (isClose) {
 				IOUtil.close(data);
 				IOUtil.close(cipherInputStream);
 			}
+			releaseCipher(pool, cipher);
+		}
+	}
+
+	/**
+	 * 解密{@link ByteBuffer}，从输入的position读取到limit，解密结果写入输出的position处<br>
+	 * 支持堆内和直接内存的{@link ByteBuffer}，数据不经过额外的数组拷贝，输出剩余空间需不小于{@link Cipher#getOutputSize(int)}
+	 *
+	 * @param data 被解密的数据，读取后position移至limit
+	 * @param out  解密后的数据，写入后position后移
+	 * @return 写入的字节数
+	 */
+	public int decrypt(ByteBuffer data, ByteBuffer out) {
+		final CryptoPool<Cipher> pool = this.cipherPool;
+		final Cipher cipher = acquireCipher(pool);
+		try {
+			initCipher(cipher, Cipher.DECRYPT_MODE);
+			final int start = out.position();
+			cipher.doFinal(data, out);
+			if (this.isZeroPadding && cipher.getBlockSize() > 0) {
+				// 去掉末尾所有的补位0
+				int end = out.position();
+				while (end > start && 0 == out.get(end - 1)) {
+					end--;
+				}
+				out.position(end);
+			}
+			return out.position() - start;
+		} catch (Exception e) {
+			throw new CryptoException(e);
+		} finally {
+			releaseCipher(pool, cipher);
+		}
+	}
+
+	/**
+	 * 解密，针对大数据量，使用默认缓存大小分块读取和解密，内存占用与数据大小无关
+	 *
+	 * @param data    被解密的数据通道
+	 * @param out     输出通道，可以是文件或网络位置
+	 * @param isClose 是否关闭通道
+	 * @return 写出的字节数
+	 * @throws IORuntimeException IO异常
+	 */
+	public long decrypt(ReadableByteChannel data, WritableByteChannel out, boolean isClose) throws IORuntimeException {
+		return decrypt(data, out, IOUtil.DEFAULT_BUFFER_SIZE, isClose);
+	}
+
+	/**
+	 * 解密，针对大数据量，分块读取和解密，内存占用与数据大小无关<br>
+	 * 读写使用直接内存的{@link ByteBuffer}，在文件、Socket等通道间传输时避免堆内拷贝。<br>
+	 * 注意：GCM等认证加密模式在校验完成前不输出明文，此类模式下解密结果会在内部缓存至结束
+	 *
+	 * @param data       被解密的数据通道
+	 * @param out        输出通道，可以是文件或网络位置
+	 * @param bufferSize 每块大小，会按块大小向上取整
+	 * @param isClose    是否关闭通道
+	 * @return 写出的字节数
+	 * @throws IORuntimeException IO异常
+	 */
+	public long decrypt(ReadableByteChannel data, WritableByteChannel out, int bufferSize, boolean isClose) throws IORuntimeException {
+		final CryptoPool<Cipher> pool = this.cipherPool;
+		final Cipher cipher = acquireCipher(pool);
+		try {
+			initCipher(cipher, Cipher.DECRYPT_MODE);
+			final boolean stripZero = this.isZeroPadding && cipher.getBlockSize() > 0;
+			final ByteBuffer inBuffer = ByteBuffer.allocateDirect(alignToBlock(bufferSize, cipher.getBlockSize()));
+			ByteBuffer outBuffer = ByteBuffer.allocateDirect(cipher.getOutputSize(inBuffer.capacity()));
+
+			// 0填充模式下，末尾连续的0可能是补位，暂不写出，直到后续出现非0数据
+			long pendingZero = 0;
+			long written = 0;
+			while (data.read(inBuffer) != IOUtil.EOF) {
+				inBuffer.flip();
+				outBuffer = ensureOutputSize(outBuffer, cipher.getOutputSize(inBuffer.remaining()));
+				cipher.update(inBuffer, outBuffer);
+				if (stripZero) {
+					final long zero = trailingZero(outBuffer);
+					if (outBuffer.position() > zero) {
+						written += writeZero(pendingZero, out);
+						pendingZero = 0;
+					}
+					pendingZero += zero;
+					outBuffer.position((int) (outBuffer.position() - zero));
+				}
+				written += writeFully(outBuffer, out);
+				inBuffer.clear();
+			}
+
+			outBuffer = ensureOutputSize(outBuffer, cipher.getOutputSize(0));
+			cipher.doFinal(EMPTY_BUFFER.duplicate(), outBuffer);
+			if (stripZero) {
+				final long zero = trailingZero(outBuffer);
+				if (outBuffer.position() > zero) {
+					written += writeZero(pendingZero, out);
+				}
+				outBuffer.position((int) (outBuffer.position() - zero));
+			}
+			written += writeFully(outBuffer, out);
+			return written;
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		} catch (Exception e) {
+			throw new CryptoException(e);
+		} finally {
+			releaseCipher(pool, cipher);
+			if (isClose) {
+				IOUtil.close(data);
+				IOUtil.close(out);
+			}
 		}
 	}
 
@@ -620,22 +857,50 @@ public class SymmetricCrypto implements Serializable {
 	// ---------------------------------------------------------------------------------
 	// Private method start
 
+	/**
+	 * 获取用于本次操作的{@link Cipher}，并发模式下从池中借用，否则加锁后使用共享的{@link Cipher}<br>
+	 * 使用完毕必须以同一个池调用{@link #releaseCipher(CryptoPool, Cipher)}
+	 *
+	 * @param pool 操作开始时的{@link Cipher}池，{@code null}表示非并发模式
+	 * @return {@link Cipher}
+	 */
+	private Cipher acquireCipher(CryptoPool<Cipher> pool) {
+		if (null != pool) {
+			return pool.borrow();
+		}
+		lock.lock();
+		return this.cipher;
+	}
+
+	/**
+	 * 归还{@link #acquireCipher(CryptoPool)}获取的{@link Cipher}<br>
+	 * 归还到借出时的池，期间池被更换（如算法改变）时，对象随旧池丢弃，不会混入新池
+	 *
+	 * @param pool   借出时的{@link Cipher}池，{@code null}表示非并发模式
+	 * @param cipher {@link Cipher}
+	 */
+	private void releaseCipher(CryptoPool<Cipher> pool, Cipher cipher) {
+		if (null == pool) {
+			lock.unlock();
+		} else {
+			pool.release(cipher);
+		}
+	}
+
 	/**
 	 * 初始化{@link Cipher}为加密或者解密模式
 	 *
+	 * @param cipher {@link Cipher}
 	 * @param mode 模式，见{@link Cipher#ENCRYPT_MODE} 或 {@link Cipher#DECRYPT_MODE}
-	 * @return {@link Cipher}
 	 * @throws InvalidKeyException                无效key
 	 * @throws InvalidAlgorithmParameterException 无效算法
 	 */
-	private Cipher initCipher(int mode) throws InvalidKeyException, InvalidAlgorithmParameterException {
-		final Cipher cipher = this.cipher;
+	private void initCipher(Cipher cipher, int mode) throws InvalidKeyException, InvalidAlgorithmParameterException {
 		if (null == this.params) {
 			cipher.init(mode, secretKey);
 		} else {
 			cipher.init(mode, secretKey, params);
 		}
-		return cipher;
 	}
 
 	/**
@@ -692,6 +957,107 @@ public class SymmetricCrypto implements Serializable {
 		return data;
 	}
 
+	/**
+	 * 0填充模式下，生成使数据长度为块大小整数倍的补位数据
+	 *
+	 * @param length    数据长度
+	 * @param blockSize 块大小
+	 * @return 补位数据，非0填充模式或长度刚好时为空
+	 */
+	private ByteBuffer zeroPaddingBuffer(long length, int blockSize) {
+		if (this.isZeroPadding && blockSize > 0) {
+			final int remainLength = (int) (length % blockSize);
+			if (remainLength > 0) {
+				return ByteBuffer.allocate(blockSize - remainLength);
+			}
+		}
+		return EMPTY_BUFFER.duplicate();
+	}
+
+	/**
+	 * 缓存大小按块大小向上取整
+	 *
+	 * @param bufferSize 缓存大小
+	 * @param blockSize  块大小
+	 * @return 取整后的缓存大小
+	 */
+	private static int alignToBlock(int bufferSize, int blockSize) {
+		Assert.isTrue(bufferSize > 0, "Buffer size must be positive: {}", bufferSize);
+		if (blockSize > 0) {
+			return (bufferSize + blockSize - 1) / blockSize * blockSize;
+		}
+		return bufferSize;
+	}
+
+	/**
+	 * 确保输出缓存的剩余空间不小于指定大小，空间不足时创建新缓存并复制已写入数据
+	 *
+	 * @param buffer 输出缓存，处于写入状态
+	 * @param size   需要的剩余空间
+	 * @return 输出缓存
+	 */
+	private static ByteBuffer ensureOutputSize(ByteBuffer buffer, int size) {
+		if (buffer.remaining() >= size) {
+			return buffer;
+		}
+		final ByteBuffer newBuffer = ByteBuffer.allocateDirect(buffer.position() + size);
+		buffer.flip();
+		newBuffer.put(buffer);
+		return newBuffer;
+	}
+
+	/**
+	 * 将输出缓存中已写入的数据全部写出到通道，写出后清空缓存
+	 *
+	 * @param buffer 输出缓存，处于写入状态
+	 * @param out    输出通道
+	 * @return 写出的字节数
+	 * @throws IOException IO异常
+	 */
+	private static int writeFully(ByteBuffer buffer, WritableByteChannel out) throws IOException {
+		buffer.flip();
+		final int length = buffer.remaining();
+		while (buffer.hasRemaining()) {
+			out.write(buffer);
+		}
+		buffer.clear();
+		return length;
+	}
+
+	/**
+	 * 向通道写出指定个数的0
+	 *
+	 * @param count 个数
+	 * @param out   输出通道
+	 * @return 写出的字节数
+	 * @throws IOException IO异常
+	 */
+	private static long writeZero(long count, WritableByteChannel out) throws IOException {
+		final ByteBuffer zero = ByteBuffer.allocate((int) Math.min(count, IOUtil.DEFAULT_BUFFER_SIZE));
+		long remain = count;
+		while (remain > 0) {
+			zero.clear().limit((int) Math.min(remain, zero.capacity()));
+			while (zero.hasRemaining()) {
+				remain -= out.write(zero);
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * 统计输出缓存已写入数据末尾连续0的个数
+	 *
+	 * @param buffer 输出缓存，处于写入状态
+	 * @return 末尾连续0的个数
+	 */
+	private static int trailingZero(ByteBuffer buffer) {
+		int i = buffer.position();
+		while (i > 0 && 0 == buffer.get(i - 1)) {
+			i--;
+		}
+		return buffer.position() - i;
+	}
+
 	/**
 	 * 拷贝解密后的流
 	 * 
@@ -0,0 +1,76 @@
+package org.miser.crypto.test.demo;
+
+import org.miser.core.lang.Console;
+import org.miser.crypto.Mode;
+import org.miser.crypto.Padding;
+import org.miser.crypto.digest.HMac;
+import org.miser.crypto.digest.HmacAlgorithm;
+import org.miser.crypto.symmetric.AES;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 多线程下共用一个加锁对象与池化对象的AES加密、HMAC摘要吞吐量对比
+ */
+public class ConcurrentCryptoBenchmarkMainTest {
+
+	private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+	private static final int OPERATIONS = 200_000;
+	private static final byte[] DATA = new byte[1024];
+
+	public static void main(String[] args) throws Exception {
+		final byte[] key = "1234567890123456".getBytes();
+		final AES lockedAes = new AES(Mode.CBC, Padding.PKCS5Padding, key, key);
+		final AES pooledAes = new AES(Mode.CBC, Padding.PKCS5Padding, key, key);
+		pooledAes.setPoolSize(64);
+		final HMac lockedMac = new HMac(HmacAlgorithm.HmacSHA256, key);
+		final HMac pooledMac = new HMac(HmacAlgorithm.HmacSHA256, key, 64);
+
+		for (int threads : THREAD_COUNTS) {
+			final long aesLocked = run(threads, () -> lockedAes.encrypt(DATA));
+			final long aesPooled = run(threads, () -> pooledAes.encrypt(DATA));
+			// 非池化的HMac非线程安全，多线程下加锁共用
+			final long macLocked = run(threads, () -> {
+				synchronized (lockedMac) {
+					lockedMac.digest(DATA);
+				}
+			});
+			final long macPooled = run(threads, () -> pooledMac.digest(DATA));
+			Console.log("{} threads: AES locked {} ops/s, pooled {} ops/s; HMAC locked {} ops/s, pooled {} ops/s", threads,
+					aesLocked, aesPooled, macLocked, macPooled);
+		}
+	}
+
+	/**
+	 * 多线程执行固定次数的操作
+	 *
+	 * @param threads 线程数
+	 * @param operation 操作
+	 * @return 每秒操作数
+	 */
+	private static long run(int threads, Runnable operation) throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			final int perThread = OPERATIONS / threads;
+			final List<Future<?>> futures = new ArrayList<>(threads);
+			final long start = System.nanoTime();
+			for (int i = 0; i < threads; i++) {
+				futures.add(executor.submit(() -> {
+					for (int j = 0; j < perThread; j++) {
+						operation.run();
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+			return perThread * threads * 1_000_000_000L / (System.nanoTime() - start);
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -2,11 +2,27 @@ package org.miser.crypto.test.digest;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.miser.core.io.FileUtil;
 import org.miser.core.io.IOUtil;
 import org.miser.core.util.CharsetUtil;
+import org.miser.core.util.RandomUtil;
 import org.miser.crypto.digest.DigestAlgorithm;
 import org.miser.crypto.digest.DigestUtil;
 import org.miser.crypto.digest.Digester;
+import org.miser.crypto.digest.TreeDigest;
+import org.miser.crypto.digest.TreeDigester;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * 摘要算法单元测试
@@ -74,4 +90,117 @@ public class DigestTest {
 		String hex = DigestUtil.sha256Hex(testStr);
 		Assert.assertEquals(64, hex.length());
 	}
+
+	@Test
+	public void poolConcurrentTest() throws Exception {
+		final Digester md5 = new Digester(DigestAlgorithm.MD5).setPoolSize(4);
+		md5.setSalt("salt".getBytes()).setDigestCount(2);
+		final String expected = new Digester(DigestAlgorithm.MD5).setSalt("salt".getBytes()).setDigestCount(2).digestHex("test中文");
+
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			final List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				futures.add(executor.submit(() -> {
+					for (int j = 0; j < 200; j++) {
+						Assert.assertEquals(expected, md5.digestHex("test中文"));
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void reconfigureWhileDigestingTest() {
+		final byte[] data = "test中文".getBytes(CharsetUtil.CHARSET_UTF_8);
+		final Digester digester = new Digester(DigestAlgorithm.MD5).setPoolSize(1);
+		// 读取数据时切换算法，借出的MD5摘要对象不能归还到新的SHA-256池中
+		final InputStream in = new ByteArrayInputStream(data) {
+			private boolean switched;
+
+			@Override
+			public synchronized int read(byte[] b, int off, int len) {
+				if (false == switched) {
+					switched = true;
+					digester.init(DigestAlgorithm.SHA256.getValue(), null);
+				}
+				return super.read(b, off, len);
+			}
+		};
+		Assert.assertEquals(DigestUtil.md5Hex(data), digester.digestHex(in));
+		Assert.assertEquals(DigestUtil.sha256Hex(data), digester.digestHex(data));
+		Assert.assertEquals(DigestUtil.sha256Hex(data), digester.digestHex(data));
+	}
+
+	@Test
+	public void treeDigestTest() throws IOException {
+		final File file = File.createTempFile("treeDigest", ".bin");
+		try {
+			final byte[] data = RandomUtil.randomBytes(9500);
+			FileUtil.writeBytes(data, file);
+
+			final TreeDigester digester = new TreeDigester(DigestAlgorithm.SHA256.getValue(), 1000);
+			final TreeDigest result = digester.digest(file);
+			Assert.assertEquals(10, result.getLeafCount());
+			Assert.assertEquals(9500, result.getLength());
+
+			// 按格式逐层计算
+			byte[][] level = new byte[10][];
+			for (int i = 0; i < 10; i++) {
+				final byte[] leaf = new byte[Math.min(1000, 9500 - i * 1000) + 1];
+				System.arraycopy(data, i * 1000, leaf, 1, leaf.length - 1);
+				level[i] = DigestUtil.sha256(leaf);
+				Assert.assertArrayEquals(level[i], result.getLeaf(i));
+			}
+			while (level.length > 1) {
+				final byte[][] parent = new byte[(level.length + 1) / 2][];
+				for (int i = 0; i < parent.length; i++) {
+					parent[i] = (i * 2 + 1 < level.length)
+							? node(level[i * 2], level[i * 2 + 1]) : level[i * 2];
+				}
+				level = parent;
+			}
+			Assert.assertArrayEquals(level[0], result.getRoot());
+			Assert.assertTrue(digester.verify(file, result).isEmpty());
+
+			// 修改第4块
+			data[3500] ^= 1;
+			FileUtil.writeBytes(data, file);
+			Assert.assertEquals(Collections.singletonList(3), digester.verify(file, result));
+			Assert.assertFalse(digester.verifyChunk(file, result, 3));
+			Assert.assertTrue(digester.verifyChunk(file, result, 4));
+			Assert.assertNotEquals(result.getRootHex(), digester.digestHex(file));
+
+			// 截断后末尾分块均不一致
+			FileUtil.writeBytes(Arrays.copyOf(data, 7200), file);
+			Assert.assertEquals(Arrays.asList(3, 7, 8, 9), digester.verify(file, result));
+		} finally {
+			FileUtil.del(file);
+		}
+	}
+
+	@Test
+	public void treeDigestEmptyTest() throws IOException {
+		final File file = File.createTempFile("treeDigest", ".bin");
+		try {
+			final TreeDigest result = new TreeDigester(DigestAlgorithm.SHA256).digest(file);
+			Assert.assertEquals(1, result.getLeafCount());
+			Assert.assertArrayEquals(DigestUtil.sha256(new byte[]{0}), result.getRoot());
+		} finally {
+			FileUtil.del(file);
+		}
+	}
+
+	private static byte[] node(byte[] left, byte[] right) {
+		final byte[] data = new byte[1 + left.length + right.length];
+		data[0] = 1;
+		System.arraycopy(left, 0, data, 1, left.length);
+		System.arraycopy(right, 0, data, 1 + left.length, right.length);
+		return DigestUtil.sha256(data);
+	}
 }
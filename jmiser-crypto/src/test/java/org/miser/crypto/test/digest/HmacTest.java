@@ -8,6 +8,12 @@ import org.miser.crypto.SecureUtil;
 import org.miser.crypto.digest.HMac;
 import org.miser.crypto.digest.HmacAlgorithm;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 /**
  * Hmac单元测试
  * 
@@ -55,4 +61,29 @@ public class HmacTest {
 		String macHex2 = mac.digestHex(IOUtil.toStream(testStr, CharsetUtil.CHARSET_UTF_8));
 		Assert.assertEquals("1dd68d2f119d5640f0d416e99d3f42408b88d511", macHex2);
 	}
+
+	@Test
+	public void pooledHmacTest() throws Exception {
+		final String testStr = "test中文";
+		final HMac mac = new HMac(HmacAlgorithm.HmacMD5, "password".getBytes(), 4);
+
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			final List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				futures.add(executor.submit(() -> {
+					for (int j = 0; j < 200; j++) {
+						Assert.assertEquals("b977f4b13f93f549e06140971bded384", mac.digestHex(testStr));
+						Assert.assertEquals("b977f4b13f93f549e06140971bded384",
+								mac.digestHex(IOUtil.toStream(testStr, CharsetUtil.CHARSET_UTF_8)));
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
 }
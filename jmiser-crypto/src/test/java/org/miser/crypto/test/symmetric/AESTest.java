@@ -11,7 +11,15 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import javax.crypto.SecretKey;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.ArrayList;
+import java.util.List;
 
 public class AESTest {
 
@@ -112,4 +120,35 @@ public class AESTest {
 		final String decryptStr = aes.decryptStr(result1);
 		Assert.assertEquals(content, decryptStr);
 	}
+
+	@Test
+	public void poolConcurrentTest() throws Exception {
+		final AES aes = new AES(Mode.CBC, Padding.PKCS5Padding,
+				"1234567890123456".getBytes(), "1234567890123456".getBytes());
+		aes.setPoolSize(4);
+
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			final List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				futures.add(executor.submit(() -> {
+					for (int j = 0; j < 200; j++) {
+						final String content = "test中文" + j;
+						Assert.assertEquals(content, aes.decryptStr(aes.encryptHex(content)));
+						// 流式加密的最后一块在关闭流时写出，期间Cipher不能被其它线程借用
+						final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+						final ByteArrayOutputStream out = new ByteArrayOutputStream();
+						aes.encrypt(new ByteArrayInputStream(bytes), out, true);
+						Assert.assertArrayEquals(aes.encrypt(bytes), out.toByteArray());
+					}
+					Assert.assertEquals("d637735ae9e21ba50cb686b74fab8d2c", aes.encryptHex("123456"));
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
 }
@@ -1,7 +1,11 @@
 package org.miser.crypto.test.symmetric;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -262,4 +266,71 @@ public class SymmetricTest {
 		String decrypt = Vigenere.decrypt(encrypt, key);
 		Assert.assertEquals(content, decrypt);
 	}
+
+	@Test
+	public void aesByteBufferTest() {
+		final byte[] data = RandomUtil.randomBytes(1000);
+		final AES aes = new AES(Mode.CBC, Padding.PKCS5Padding, "0123456789ABHAEQ".getBytes(), "DYgjCEIMVrj2W9xN".getBytes());
+
+		final ByteBuffer in = ByteBuffer.allocateDirect(data.length);
+		in.put(data).flip();
+		final ByteBuffer encrypted = ByteBuffer.allocateDirect(1024);
+		final int encryptLength = aes.encrypt(in, encrypted);
+		Assert.assertEquals(1008, encryptLength);
+		Assert.assertFalse(in.hasRemaining());
+
+		encrypted.flip();
+		final byte[] encryptBytes = new byte[encryptLength];
+		encrypted.duplicate().get(encryptBytes);
+		Assert.assertArrayEquals(aes.encrypt(data), encryptBytes);
+
+		final ByteBuffer decrypted = ByteBuffer.allocate(1024);
+		Assert.assertEquals(data.length, aes.decrypt(encrypted, decrypted));
+		decrypted.flip();
+		final byte[] decryptBytes = new byte[decrypted.remaining()];
+		decrypted.get(decryptBytes);
+		Assert.assertArrayEquals(data, decryptBytes);
+	}
+
+	@Test
+	public void aesChannelTest() {
+		final AES aes = new AES(Mode.CBC, Padding.PKCS5Padding, "0123456789ABHAEQ".getBytes(), "DYgjCEIMVrj2W9xN".getBytes());
+		for (int length : new int[]{0, 15, 16, 100, 100_001}) {
+			final byte[] data = RandomUtil.randomBytes(length);
+			final byte[] encrypted = encryptByChannel(aes, data, 100);
+			Assert.assertArrayEquals(aes.encrypt(data), encrypted);
+			Assert.assertArrayEquals(data, decryptByChannel(aes, encrypted, 100));
+		}
+	}
+
+	@Test
+	public void aesZeroPaddingChannelTest() {
+		final AES aes = new AES(Mode.CBC, Padding.ZeroPadding, "0123456789ABHAEQ".getBytes(), "DYgjCEIMVrj2W9xN".getBytes());
+		// 跨越分块的连续0不能被当作补位去掉
+		final byte[] data = new byte[1000];
+		data[0] = 1;
+		data[999] = 2;
+		for (int length : new int[]{1, 17, 1000}) {
+			final byte[] part = Arrays.copyOf(data, length);
+			part[length - 1] = 3;
+			final byte[] encrypted = encryptByChannel(aes, part, 64);
+			Assert.assertArrayEquals(aes.encrypt(part), encrypted);
+			Assert.assertArrayEquals(part, decryptByChannel(aes, encrypted, 64));
+			Assert.assertArrayEquals(aes.decrypt(encrypted), decryptByChannel(aes, encrypted, 64));
+		}
+	}
+
+	private static byte[] encryptByChannel(SymmetricCrypto crypto, byte[] data, int bufferSize) {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final long written = crypto.encrypt(Channels.newChannel(new ByteArrayInputStream(data)), Channels.newChannel(out), bufferSize, true);
+		Assert.assertEquals(out.size(), written);
+		return out.toByteArray();
+	}
+
+	private static byte[] decryptByChannel(SymmetricCrypto crypto, byte[] data, int bufferSize) {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final long written = crypto.decrypt(Channels.newChannel(new ByteArrayInputStream(data)), Channels.newChannel(out), bufferSize, true);
+		Assert.assertEquals(out.size(), written);
+		return out.toByteArray();
+	}
 }
@@ -0,0 +1,799 @@
+package org.miser.dfa;
+
+import org.miser.core.collection.CollUtil;
+import org.miser.core.io.FastStringWriter;
+import org.miser.core.io.IORuntimeException;
+import org.miser.core.io.IOUtil;
+import org.miser.core.io.NioUtil;
+import org.miser.core.lang.Filter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aho-Corasick自动机，由{@link WordTree}或{@link CompactWordTree}编译而来，用于在一次线性扫描中找出文本中的所有关键词。<br>
+ * 节点结构直接使用{@link CompactWordTree}，在其之上以原始类型数组保存失败指针、输出链接等信息。<br>
+ * 匹配结果与{@link WordTree#matchAllWords(String, int, boolean, boolean)}一致，同样支持密集匹配、贪婪匹配、匹配个数限制以及停顿词过滤。<br>
+ * 自动机编译完成后不可变，可在多线程中共享，之后对WordTree的修改不会反映到已编译的自动机中。<br>
+ * {@link SensitiveDictionary}增量修改时生成分层的自动机：在基础自动机之上屏蔽已删除的单词，并叠加一个只包含新增单词的小自动机，
+ * 两者在同一次扫描中同时推进，匹配结果与整体重新编译一致。
+ *
+ * @author Oliver
+ */
+public class AhoCorasickMatcher {
+
+	/**
+	 * 根节点编号
+	 */
+	private static final int ROOT = CompactWordTree.ROOT;
+
+	/**
+	 * 无删除单词时的删除节点表
+	 */
+	private static final int[] EMPTY = new int[0];
+
+	/**
+	 * 底层的紧凑单词树，提供节点及子节点关系
+	 */
+	private final CompactWordTree trie;
+	/**
+	 * 失败指针
+	 */
+	private final int[] fail;
+	/**
+	 * 节点深度，即从根节点到此节点的有效字符数
+	 */
+	private final int[] depth;
+	/**
+	 * 沿失败指针可到达的最近的单词结尾节点，无则为-1
+	 */
+	private final int[] outputLink;
+	/**
+	 * 单词结尾节点对应的单词（过滤停顿词后），非结尾节点为null
+	 */
+	private final String[] words;
+	/**
+	 * 最长单词的长度，分层时为各层中的最大值
+	 */
+	private final int maxDepth;
+	/**
+	 * 已删除的单词结尾节点，有序，这些节点不再输出
+	 */
+	private final int[] removed;
+	/**
+	 * 叠加的新增单词自动机，无新增单词时为null
+	 */
+	private final AhoCorasickMatcher delta;
+	/**
+	 * 分层时合并后的紧凑单词树，首次获取时生成
+	 */
+	private volatile CompactWordTree merged;
+	/**
+	 * 字符过滤规则，当accept为false时，此字符不参与匹配
+	 */
+	private final Filter<Character> charFilter;
+
+	/**
+	 * 构造，编译给定的单词树，使用单词树的字符过滤规则
+	 *
+	 * @param wordTree 单词树
+	 */
+	public AhoCorasickMatcher(WordTree wordTree) {
+		this(wordTree.freeze(), wordTree.getCharFilter());
+	}
+
+	/**
+	 * 构造，编译给定的紧凑单词树
+	 *
+	 * @param trie       紧凑单词树
+	 * @param charFilter 字符过滤规则，当accept为false时，此字符不参与匹配
+	 */
+	public AhoCorasickMatcher(CompactWordTree trie, Filter<Character> charFilter) {
+		this.trie = trie;
+		this.charFilter = charFilter;
+
+		final char[] nodeChar = trie.nodeChar;
+		final int[] firstChild = trie.firstChild;
+		final int count = nodeChar.length;
+		this.fail = new int[count];
+		this.depth = new int[count];
+		this.outputLink = new int[count];
+		this.words = new String[count];
+
+		// 广度优先编号下父节点编号总小于子节点，按编号顺序即可逐层计算
+		final int[] parent = new int[count];
+		int maxDepth = 0;
+		fail[ROOT] = ROOT;
+		outputLink[ROOT] = -1;
+		for (int node = 0; node < count; node++) {
+			if (ROOT != node) {
+				final int p = parent[node];
+				final int f = (ROOT == p) ? ROOT : next(fail[p], nodeChar[node]);
+				fail[node] = f;
+				outputLink[node] = (null != words[f]) ? f : outputLink[f];
+			}
+			for (int child = firstChild[node]; child < firstChild[node + 1]; child++) {
+				parent[child] = node;
+				depth[child] = depth[node] + 1;
+				if (trie.isEnd(child)) {
+					words[child] = buildWord(child, parent);
+					maxDepth = Math.max(maxDepth, depth[child]);
+				}
+			}
+		}
+		this.maxDepth = maxDepth;
+		this.removed = EMPTY;
+		this.delta = null;
+	}
+
+	/**
+	 * 构造分层的自动机，共享基础自动机的全部数据
+	 *
+	 * @param base    基础自动机，不能为分层的自动机
+	 * @param removed 基础自动机中已删除的单词结尾节点，需有序
+	 * @param delta   新增单词的自动机，不能为分层的自动机，无新增单词为null
+	 */
+	AhoCorasickMatcher(AhoCorasickMatcher base, int[] removed, AhoCorasickMatcher delta) {
+		this.trie = base.trie;
+		this.charFilter = base.charFilter;
+		this.fail = base.fail;
+		this.depth = base.depth;
+		this.outputLink = base.outputLink;
+		this.words = base.words;
+		this.maxDepth = (null == delta) ? base.maxDepth : Math.max(base.maxDepth, delta.maxDepth);
+		this.removed = removed;
+		this.delta = delta;
+	}
+
+	/**
+	 * 获取底层的紧凑单词树，可用于保存到文件<br>
+	 * 分层的自动机在首次调用时合并各层单词生成新的紧凑单词树
+	 *
+	 * @return 紧凑单词树
+	 */
+	public CompactWordTree getTrie() {
+		if (0 == removed.length && null == delta) {
+			return this.trie;
+		}
+		CompactWordTree merged = this.merged;
+		if (null == merged) {
+			final WordTree wordTree = new WordTree().setCharFilter(charFilter);
+			for (int node = 0; node < words.length; node++) {
+				if (null != words[node] && false == isRemoved(node)) {
+					wordTree.addWord(words[node]);
+				}
+			}
+			if (null != delta) {
+				for (String word : delta.words) {
+					if (null != word) {
+						wordTree.addWord(word);
+					}
+				}
+			}
+			merged = wordTree.freeze();
+			this.merged = merged;
+		}
+		return merged;
+	}
+
+	/**
+	 * 指定文本是否包含自动机中的词
+	 *
+	 * @param text 被检查的文本
+	 * @return 是否包含
+	 */
+	public boolean isMatch(String text) {
+		if (null == text) {
+			return false;
+		}
+		final Filter<Character> charFilter = this.charFilter;
+		final AhoCorasickMatcher delta = this.delta;
+		final int length = text.length();
+		int state = ROOT;
+		int deltaState = ROOT;
+		char currentChar;
+		for (int i = 0; i < length; i++) {
+			currentChar = text.charAt(i);
+			if (charFilter.accept(currentChar)) {
+				state = next(state, currentChar);
+				if (hasOutput(state)) {
+					return true;
+				}
+				if (null != delta) {
+					deltaState = delta.next(deltaState, currentChar);
+					if (delta.hasOutput(deltaState)) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 获得第一个匹配的关键字
+	 *
+	 * @param text 被检查的文本
+	 * @return 匹配到的关键字
+	 */
+	public String match(String text) {
+		final FoundWord foundWord = matchWord(text);
+		return null != foundWord ? foundWord.toString() : null;
+	}
+
+	/**
+	 * 获得第一个匹配的关键字
+	 *
+	 * @param text 被检查的文本
+	 * @return 匹配到的关键字
+	 */
+	public FoundWord matchWord(String text) {
+		if (null == text) {
+			return null;
+		}
+		final List<FoundWord> matchAll = matchAllWords(text, 1);
+		return CollUtil.get(matchAll, 0);
+	}
+
+	/**
+	 * 找出所有匹配的关键字
+	 *
+	 * @param text 被检查的文本
+	 * @return 匹配的词列表
+	 */
+	public List<String> matchAll(String text) {
+		return matchAll(text, -1);
+	}
+
+	/**
+	 * 找出所有匹配的关键字
+	 *
+	 * @param text 被检查的文本
+	 * @return 匹配的词列表
+	 */
+	public List<FoundWord> matchAllWords(String text) {
+		return matchAllWords(text, -1);
+	}
+
+	/**
+	 * 找出所有匹配的关键字
+	 *
+	 * @param text  被检查的文本
+	 * @param limit 限制匹配个数
+	 * @return 匹配的词列表
+	 */
+	public List<String> matchAll(String text, int limit) {
+		return matchAll(text, limit, false, false);
+	}
+
+	/**
+	 * 找出所有匹配的关键字
+	 *
+	 * @param text  被检查的文本
+	 * @param limit 限制匹配个数
+	 * @return 匹配的词列表
+	 */
+	public List<FoundWord> matchAllWords(String text, int limit) {
+		return matchAllWords(text, limit, false, false);
+	}
+
+	/**
+	 * 找出所有匹配的关键字<br>
+	 * 密集匹配原则：假如关键词有 ab,b，文本是abab，将匹配 [ab,b,ab]<br>
+	 * 贪婪匹配（最长匹配）原则：假如关键字a,ab，最长匹配将匹配[a, ab]
+	 *
+	 * @param text           被检查的文本
+	 * @param limit          限制匹配个数
+	 * @param isDensityMatch 是否使用密集匹配原则
+	 * @param isGreedMatch   是否使用贪婪匹配（最长匹配）原则
+	 * @return 匹配的词列表
+	 */
+	public List<String> matchAll(String text, int limit, boolean isDensityMatch, boolean isGreedMatch) {
+		final List<FoundWord> matchAllWords = matchAllWords(text, limit, isDensityMatch, isGreedMatch);
+		return CollUtil.map(matchAllWords, FoundWord::toString, true);
+	}
+
+	/**
+	 * 找出所有匹配的关键字<br>
+	 * 密集匹配原则：假如关键词有 ab,b，文本是abab，将匹配 [ab,b,ab]<br>
+	 * 贪婪匹配（最长匹配）原则：假如关键字a,ab，最长匹配将匹配[a, ab]
+	 *
+	 * @param text           被检查的文本
+	 * @param limit          限制匹配个数
+	 * @param isDensityMatch 是否使用密集匹配原则
+	 * @param isGreedMatch   是否使用贪婪匹配（最长匹配）原则
+	 * @return 匹配的词列表
+	 */
+	public List<FoundWord> matchAllWords(String text, int limit, boolean isDensityMatch, boolean isGreedMatch) {
+		if (null == text) {
+			return null;
+		}
+
+		final ListCollector collector = new ListCollector(text, limit, isDensityMatch, isGreedMatch);
+		if (0 == maxDepth) {
+			return collector.foundWords;
+		}
+		final Filter<Character> charFilter = this.charFilter;
+		final AhoCorasickMatcher delta = this.delta;
+		// 环形缓冲，记录最近maxDepth个有效字符在原文中的位置
+		final int[] positions = new int[maxDepth];
+		final int length = text.length();
+		int state = ROOT;
+		int deltaState = ROOT;
+		// 当前有效字符（非停顿词）的序号
+		int index = -1;
+		int bound;
+		char currentChar;
+		for (int i = 0; i < length; i++) {
+			currentChar = text.charAt(i);
+			if (false == charFilter.accept(currentChar)) {
+				// 停顿词不改变状态，位于关键词中间时作为关键词的一部分被返回
+				continue;
+			}
+			index++;
+			positions[index % maxDepth] = i;
+			state = next(state, currentChar);
+			collect(collector, state, index, i, positions, false);
+			bound = index - depth[state] + 1;
+			if (null != delta) {
+				deltaState = delta.next(deltaState, currentChar);
+				delta.collect(collector, deltaState, index, i, positions, true);
+				bound = Math.min(bound, index - delta.depth[deltaState] + 1);
+			}
+			// 之后找到的词起始序号不会小于当前状态对应的起始序号，之前的候选词可以确定
+			if (collector.flush(bound)) {
+				return collector.foundWords;
+			}
+		}
+		collector.flush(Integer.MAX_VALUE);
+		return collector.foundWords;
+	}
+
+	/**
+	 * 处理过滤文本中的敏感词<br>
+	 * 过滤时不使用密集匹配，贪婪匹配时同一位置开始的词取最长的一个替换
+	 *
+	 * @param text               文本
+	 * @param isGreedMatch       贪婪匹配（最长匹配）原则：假如关键字a,ab，最长匹配将匹配[a, ab]
+	 * @param sensitiveProcessor 敏感词处理器，null表示默认按匹配内容的字符数替换成*
+	 * @return 敏感词过滤处理后的文本
+	 */
+	public String filter(String text, boolean isGreedMatch, SensitiveProcessor sensitiveProcessor) {
+		if (null == text || text.isEmpty()) {
+			return text;
+		}
+		final FastStringWriter writer = new FastStringWriter(text.length());
+		filter(new StringReader(text), writer, isGreedMatch, sensitiveProcessor);
+		return writer.toString();
+	}
+
+	/**
+	 * 流式处理过滤文本中的敏感词，从Reader中分块读取，过滤后写出到Writer<br>
+	 * 仅缓存可能属于未完成匹配的内容，跨块的敏感词同样会被替换，内存占用与文本长度无关。<br>
+	 * 过滤时不使用密集匹配，贪婪匹配时同一位置开始的词取最长的一个替换。
+	 * 传给处理器的{@link FoundWord}中的位置为词在整个流中的位置，超出int范围时通过{@link FoundWord#getStartOffset()}获取。<br>
+	 * 此方法不会关闭Reader和Writer
+	 *
+	 * @param reader             输入
+	 * @param writer             输出
+	 * @param isGreedMatch       贪婪匹配（最长匹配）原则：假如关键字a,ab，最长匹配将匹配[a, ab]
+	 * @param sensitiveProcessor 敏感词处理器，null表示默认按匹配内容的字符数替换成*
+	 * @throws IORuntimeException IO异常
+	 */
+	public void filter(Reader reader, Writer writer, boolean isGreedMatch, SensitiveProcessor sensitiveProcessor) throws IORuntimeException {
+		if (0 == maxDepth) {
+			IOUtil.copy(reader, writer);
+			return;
+		}
+		final SensitiveProcessor processor = null == sensitiveProcessor ? new SensitiveProcessor() {
+		} : sensitiveProcessor;
+		final FilterCollector collector = new FilterCollector(writer, isGreedMatch, processor);
+		final Filter<Character> charFilter = this.charFilter;
+		final AhoCorasickMatcher delta = this.delta;
+		// 环形缓冲，记录最近maxDepth个有效字符在缓冲区中的位置
+		final int[] positions = new int[maxDepth];
+		int state = ROOT;
+		int deltaState = ROOT;
+		// 当前有效字符（非停顿词）的序号
+		int index = -1;
+		int bound;
+		char currentChar;
+		try {
+			int read;
+			while (true) {
+				collector.ensureCapacity(positions);
+				read = reader.read(collector.buffer, collector.length, collector.buffer.length - collector.length);
+				if (read < 0) {
+					break;
+				}
+				final int from = collector.length;
+				collector.length += read;
+				for (int i = from; i < collector.length; i++) {
+					currentChar = collector.buffer[i];
+					if (false == charFilter.accept(currentChar)) {
+						continue;
+					}
+					index++;
+					positions[index % maxDepth] = i;
+					state = next(state, currentChar);
+					collect(collector, state, index, i, positions, false);
+					bound = index - depth[state] + 1;
+					if (null != delta) {
+						deltaState = delta.next(deltaState, currentChar);
+						delta.collect(collector, deltaState, index, i, positions, true);
+						bound = Math.min(bound, index - delta.depth[deltaState] + 1);
+					}
+					collector.flush(bound);
+					collector.commit();
+					// 当前状态对应的起始位置之前的内容不会再参与匹配，各层都在根节点时为当前字符之后
+					collector.safe = (bound > index) ? i + 1 : positions[bound % maxDepth];
+				}
+			}
+			collector.flush(Integer.MAX_VALUE);
+			collector.commit();
+			collector.writeRaw(collector.length);
+			writer.flush();
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		}
+	}
+
+	//--------------------------------------------------------------------------------------- Private method start
+
+	/**
+	 * 状态转移，当前状态无对应子节点时沿失败指针回退
+	 *
+	 * @param state 当前状态
+	 * @param c     输入字符
+	 * @return 新状态
+	 */
+	private int next(int state, char c) {
+		int child;
+		while (true) {
+			child = trie.child(state, c);
+			if (child > 0) {
+				return child;
+			}
+			if (ROOT == state) {
+				return ROOT;
+			}
+			state = fail[state];
+		}
+	}
+
+	/**
+	 * 将以当前字符结尾的单词加入收集器，已删除的单词跳过
+	 *
+	 * @param collector 收集器
+	 * @param state     当前状态
+	 * @param index     当前有效字符的序号
+	 * @param end       当前字符的位置
+	 * @param positions 有效字符位置环形缓冲
+	 * @param isDelta   是否为叠加的新增单词自动机，是则节点编号取反后加入，以区分基础自动机的节点
+	 */
+	private void collect(Collector collector, int state, int index, int end, int[] positions, boolean isDelta) {
+		final int size = positions.length;
+		for (int node = (null != words[state]) ? state : outputLink[state]; node > 0; node = outputLink[node]) {
+			if (false == isRemoved(node)) {
+				final int start = index - depth[node] + 1;
+				collector.add(positions[start % size], end, start, isDelta ? ~node : node);
+			}
+		}
+	}
+
+	/**
+	 * 状态是否输出未删除的单词
+	 *
+	 * @param state 状态
+	 * @return 是否输出单词
+	 */
+	private boolean hasOutput(int state) {
+		if (0 == removed.length) {
+			return null != words[state] || outputLink[state] > 0;
+		}
+		for (int node = (null != words[state]) ? state : outputLink[state]; node > 0; node = outputLink[node]) {
+			if (false == isRemoved(node)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 单词结尾节点是否已删除
+	 *
+	 * @param node 节点
+	 * @return 是否已删除
+	 */
+	private boolean isRemoved(int node) {
+		return removed.length > 0 && Arrays.binarySearch(removed, node) >= 0;
+	}
+
+	/**
+	 * 获取收集器中节点对应的单词，取反的节点编号表示叠加的新增单词自动机中的节点
+	 *
+	 * @param node 节点
+	 * @return 单词
+	 */
+	private String word(int node) {
+		return node >= 0 ? words[node] : delta.words[~node];
+	}
+
+	/**
+	 * 根据父节点链生成节点对应的单词
+	 *
+	 * @param node   节点
+	 * @param parent 父节点表
+	 * @return 单词
+	 */
+	private String buildWord(int node, int[] parent) {
+		final char[] chars = new char[depth[node]];
+		for (int i = chars.length - 1; i >= 0; i--) {
+			chars[i] = trie.nodeChar[node];
+			node = parent[node];
+		}
+		return new String(chars);
+	}
+
+	//--------------------------------------------------------------------------------------- Private method end
+
+	/**
+	 * 候选词收集器<br>
+	 * 自动机按结尾位置找到候选词，而WordTree的匹配规则按起始位置选择，因此候选词按（起始位置，结束位置）排序暂存，
+	 * 起始位置确定后再按密集匹配、贪婪匹配规则挑选。
+	 */
+	private abstract static class Collector {
+		private final boolean isDensityMatch;
+		private final boolean isGreedMatch;
+
+		/**
+		 * 暂存的候选词，每4个元素一组：起始位置、结束位置、有效字符起始序号、节点
+		 */
+		private int[] pending = new int[16];
+		private int head;
+		private int tail;
+		/**
+		 * 非密集匹配时，下一个词允许的最小起始位置
+		 */
+		private int nextStart;
+		/**
+		 * 上一个选中词的起始位置
+		 */
+		private int lastStart = -1;
+
+		Collector(boolean isDensityMatch, boolean isGreedMatch) {
+			this.isDensityMatch = isDensityMatch;
+			this.isGreedMatch = isGreedMatch;
+		}
+
+		/**
+		 * 处理选中的词
+		 *
+		 * @param start 起始位置
+		 * @param end   结束位置
+		 * @param node  节点
+		 * @return 是否结束匹配
+		 */
+		abstract boolean accept(int start, int end, int node);
+
+		/**
+		 * 加入候选词，保持按有效字符起始序号排序（同起始的按结束位置排序）
+		 *
+		 * @param start      起始位置
+		 * @param end        结束位置
+		 * @param startIndex 有效字符起始序号
+		 * @param node       节点
+		 */
+		void add(int start, int end, int startIndex, int node) {
+			if (tail + 4 > pending.length) {
+				if (head > 0) {
+					System.arraycopy(pending, head, pending, 0, tail - head);
+					tail -= head;
+					head = 0;
+				}
+				if (tail + 4 > pending.length) {
+					pending = Arrays.copyOf(pending, pending.length << 1);
+				}
+			}
+			int i = tail;
+			while (i > head && pending[i - 2] > startIndex) {
+				System.arraycopy(pending, i - 4, pending, i, 4);
+				i -= 4;
+			}
+			pending[i] = start;
+			pending[i + 1] = end;
+			pending[i + 2] = startIndex;
+			pending[i + 3] = node;
+			tail += 4;
+		}
+
+		/**
+		 * 确定起始序号小于bound的候选词
+		 *
+		 * @param bound 之后的候选词起始序号下限
+		 * @return 是否结束匹配
+		 */
+		boolean flush(int bound) {
+			int start;
+			int end;
+			while (head < tail && pending[head + 2] < bound) {
+				start = pending[head];
+				end = pending[head + 1];
+				final int node = pending[head + 3];
+				head += 4;
+				if (start == lastStart ? isGreedMatch : (isDensityMatch || start >= nextStart)) {
+					if (accept(start, end, node)) {
+						return true;
+					}
+					lastStart = start;
+					if (false == isDensityMatch) {
+						//如果非密度匹配，跳过匹配到的词
+						nextStart = end + 1;
+					}
+				}
+			}
+			if (head == tail) {
+				head = 0;
+				tail = 0;
+			}
+			return false;
+		}
+
+		/**
+		 * 所有位置整体前移，用于流式处理时丢弃已写出的内容
+		 *
+		 * @param offset 前移的字符数
+		 */
+		void rebase(int offset) {
+			for (int i = head; i < tail; i += 4) {
+				pending[i] -= offset;
+				pending[i + 1] -= offset;
+			}
+			nextStart -= offset;
+			lastStart -= offset;
+		}
+	}
+
+	/**
+	 * 将选中的词收集为列表
+	 */
+	private class ListCollector extends Collector {
+		private final String text;
+		private final int limit;
+		private final List<FoundWord> foundWords = new ArrayList<>();
+
+		ListCollector(String text, int limit, boolean isDensityMatch, boolean isGreedMatch) {
+			super(isDensityMatch, isGreedMatch);
+			this.text = text;
+			this.limit = limit;
+		}
+
+		@Override
+		boolean accept(int start, int end, int node) {
+			foundWords.add(new FoundWord(word(node), text.substring(start, end + 1), start, end));
+			//超过匹配限制个数，直接返回
+			return limit > 0 && foundWords.size() >= limit;
+		}
+	}
+
+	/**
+	 * 流式过滤，缓存尚未写出的内容，选中的词替换后写出
+	 */
+	private class FilterCollector extends Collector {
+		private final Writer writer;
+		private final SensitiveProcessor processor;
+
+		/**
+		 * 尚未写出的内容
+		 */
+		private char[] buffer = new char[NioUtil.DEFAULT_BUFFER_SIZE];
+		private int length;
+		/**
+		 * 缓冲区中已写出的位置
+		 */
+		private int written;
+		/**
+		 * 缓冲区中此位置之前的内容不会再参与匹配，可以原样写出
+		 */
+		private int safe;
+		/**
+		 * 缓冲区起始位置在整个流中的位置
+		 */
+		private long base;
+
+		/**
+		 * 已选中但未写出的词，贪婪匹配时同一起始位置的更长的词会替换它
+		 */
+		private boolean held;
+		private int heldStart;
+		private int heldEnd;
+		private int heldNode;
+
+		FilterCollector(Writer writer, boolean isGreedMatch, SensitiveProcessor processor) {
+			super(false, isGreedMatch);
+			this.writer = writer;
+			this.processor = processor;
+		}
+
+		@Override
+		boolean accept(int start, int end, int node) {
+			if (held && start == heldStart) {
+				heldEnd = end;
+				heldNode = node;
+				return false;
+			}
+			try {
+				commit();
+			} catch (IOException e) {
+				throw new IORuntimeException(e);
+			}
+			held = true;
+			heldStart = start;
+			heldEnd = end;
+			heldNode = node;
+			return false;
+		}
+
+		/**
+		 * 写出已选中的词
+		 *
+		 * @throws IOException IO异常
+		 */
+		void commit() throws IOException {
+			if (held) {
+				held = false;
+				writeRaw(heldStart);
+				final FoundWord foundWord = new FoundWord(word(heldNode), new String(buffer, heldStart, heldEnd - heldStart + 1),
+						base + heldStart, base + heldEnd);
+				writer.write(processor.process(foundWord));
+				written = heldEnd + 1;
+			}
+		}
+
+		/**
+		 * 原样写出内容直到指定位置
+		 *
+		 * @param to 结束位置（不包含）
+		 * @throws IOException IO异常
+		 */
+		void writeRaw(int to) throws IOException {
+			if (to > written) {
+				writer.write(buffer, written, to - written);
+				written = to;
+			}
+		}
+
+		/**
+		 * 缓冲区满时写出并丢弃不再需要的内容，空间仍不足则扩容
+		 *
+		 * @param positions 有效字符位置环形缓冲，随缓冲区一起前移
+		 * @throws IOException IO异常
+		 */
+		void ensureCapacity(int[] positions) throws IOException {
+			if (length < buffer.length) {
+				return;
+			}
+			writeRaw(safe);
+			final int offset = written;
+			if (offset > 0) {
+				System.arraycopy(buffer, offset, buffer, 0, length - offset);
+				length -= offset;
+				written = 0;
+				safe -= offset;
+				base += offset;
+				rebase(offset);
+				for (int i = 0; i < positions.length; i++) {
+					positions[i] -= offset;
+				}
+			}
+			if (buffer.length - length < (buffer.length >> 1)) {
+				buffer = Arrays.copyOf(buffer, buffer.length << 1);
+			}
+		}
+	}
+}
@@ -0,0 +1,405 @@
+package org.miser.dfa;
+
+import org.miser.core.io.IORuntimeException;
+import org.miser.core.lang.Filter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 紧凑单词树，由{@link WordTree}冻结而来的不可变字典树。<br>
+ * 节点按广度优先顺序编号，同一节点的子节点编号连续且按字符排序，全部数据保存在原始类型数组中：
+ * <ul>
+ *     <li>nodeChar：进入节点的字符</li>
+ *     <li>firstChild：节点i的子节点为[firstChild[i], firstChild[i + 1])，查找时二分</li>
+ *     <li>ends：单词结尾标记位图</li>
+ * </ul>
+ * 每个节点仅占用约6个字节，远小于{@link WordTree}中每个节点一个HashMap的开销。<br>
+ * 紧凑单词树可以保存为文件，启动时以只读方式内存映射文件，直接从映射的页按块解码到数组，无需逐词重新建树，也不经过中间的堆内缓冲。文件格式（大端序）：
+ * <pre>
+ * int    魔数 0x4A4D5754（"JMWT"）
+ * int    版本号
+ * int    节点数n
+ * int    单词数
+ * int[]  firstChild，n + 1个
+ * long[] ends，(n + 63) / 64个
+ * char[] nodeChar，n个
+ * </pre>
+ *
+ * @author Oliver
+ */
+public class CompactWordTree {
+
+	/**
+	 * 文件魔数："JMWT"
+	 */
+	private static final int MAGIC = 0x4A4D5754;
+	/**
+	 * 文件格式版本
+	 */
+	private static final int VERSION = 1;
+	/**
+	 * 文件头长度：魔数、版本号、节点数、单词数
+	 */
+	private static final int HEADER_SIZE = 16;
+	/**
+	 * 根节点编号
+	 */
+	static final int ROOT = 0;
+
+	/**
+	 * 进入节点的字符，下标为节点编号
+	 */
+	final char[] nodeChar;
+	/**
+	 * 节点的第一个子节点编号，长度为节点数 + 1
+	 */
+	final int[] firstChild;
+	/**
+	 * 单词结尾标记位图
+	 */
+	final long[] ends;
+	/**
+	 * 单词数
+	 */
+	private final int wordCount;
+
+	/**
+	 * 构造，冻结给定的单词树
+	 *
+	 * @param wordTree 单词树
+	 */
+	public CompactWordTree(WordTree wordTree) {
+		final int count = countNodes(wordTree);
+		this.nodeChar = new char[count];
+		this.firstChild = new int[count + 1];
+		this.ends = new long[(count + 63) >>> 6];
+
+		// 广度优先编号，保证同一节点的子节点编号连续
+		final WordTree[] trees = new WordTree[count];
+		trees[ROOT] = wordTree;
+		int tail = 1;
+		int wordCount = 0;
+		for (int node = 0; node < count; node++) {
+			firstChild[node] = tail;
+			final WordTree tree = trees[node];
+			for (char key : sortedKeys(tree)) {
+				trees[tail] = tree.get(key);
+				nodeChar[tail] = key;
+				if (tree.isEnd(key)) {
+					ends[tail >>> 6] |= 1L << tail;
+					wordCount++;
+				}
+				tail++;
+			}
+			// 释放引用，便于大字典冻结时回收
+			trees[node] = null;
+		}
+		firstChild[count] = tail;
+		this.wordCount = wordCount;
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param nodeChar   进入节点的字符
+	 * @param firstChild 节点的第一个子节点编号
+	 * @param ends       单词结尾标记位图
+	 * @param wordCount  单词数
+	 */
+	private CompactWordTree(char[] nodeChar, int[] firstChild, long[] ends, int wordCount) {
+		this.nodeChar = nodeChar;
+		this.firstChild = firstChild;
+		this.ends = ends;
+		this.wordCount = wordCount;
+	}
+
+	/**
+	 * 从文件加载紧凑单词树，文件以只读方式内存映射，数据从映射的页直接解码到数组，峰值内存只有数组本身<br>
+	 * 映射的页由操作系统按需换入，不占用堆内存，加载完成后不再引用映射，映射随GC释放
+	 *
+	 * @param file 由{@link #write(File)}写出的文件
+	 * @return 紧凑单词树
+	 * @throws IORuntimeException IO异常或文件格式不正确
+	 */
+	public static CompactWordTree load(File file) throws IORuntimeException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			final long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IORuntimeException("Word tree file is too large: {}", size);
+			}
+			return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		}
+	}
+
+	/**
+	 * 从缓冲区读取紧凑单词树，读取从缓冲区当前位置开始
+	 *
+	 * @param buffer 缓冲区，数据将复制到堆内数组
+	 * @return 紧凑单词树
+	 * @throws IORuntimeException 格式不正确
+	 */
+	public static CompactWordTree read(ByteBuffer buffer) throws IORuntimeException {
+		if (buffer.remaining() < HEADER_SIZE) {
+			throw new IORuntimeException("Word tree data is too short: {}", buffer.remaining());
+		}
+		final int magic = buffer.getInt();
+		if (MAGIC != magic) {
+			throw new IORuntimeException("Invalid word tree magic: {}", Integer.toHexString(magic));
+		}
+		final int version = buffer.getInt();
+		if (VERSION != version) {
+			throw new IORuntimeException("Unsupported word tree version: {}", version);
+		}
+		final int count = buffer.getInt();
+		final int wordCount = buffer.getInt();
+		if (count < 1 || buffer.remaining() != dataSize(count)) {
+			throw new IORuntimeException("Corrupted word tree data, node count: {}", count);
+		}
+
+		final int[] firstChild = new int[count + 1];
+		final long[] ends = new long[(count + 63) >>> 6];
+		final char[] nodeChar = new char[count];
+		buffer.asIntBuffer().get(firstChild);
+		buffer.position(buffer.position() + (firstChild.length << 2));
+		buffer.asLongBuffer().get(ends);
+		buffer.position(buffer.position() + (ends.length << 3));
+		buffer.asCharBuffer().get(nodeChar);
+		buffer.position(buffer.position() + (nodeChar.length << 1));
+		return new CompactWordTree(nodeChar, firstChild, ends, wordCount);
+	}
+
+	/**
+	 * 通过内存映射将紧凑单词树写出到文件，已存在的文件将被覆盖
+	 *
+	 * @param file 文件
+	 * @throws IORuntimeException IO异常
+	 */
+	public void write(File file) throws IORuntimeException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, byteSize());
+			write(buffer);
+			buffer.force();
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		}
+	}
+
+	/**
+	 * 将紧凑单词树写出到缓冲区，写出从缓冲区当前位置开始，需要{@link #byteSize()}个字节
+	 *
+	 * @param buffer 缓冲区
+	 */
+	public void write(ByteBuffer buffer) {
+		buffer.putInt(MAGIC).putInt(VERSION).putInt(nodeChar.length).putInt(wordCount);
+		buffer.asIntBuffer().put(firstChild);
+		buffer.position(buffer.position() + (firstChild.length << 2));
+		buffer.asLongBuffer().put(ends);
+		buffer.position(buffer.position() + (ends.length << 3));
+		buffer.asCharBuffer().put(nodeChar);
+		buffer.position(buffer.position() + (nodeChar.length << 1));
+	}
+
+	/**
+	 * 序列化后的字节数
+	 *
+	 * @return 字节数
+	 */
+	public long byteSize() {
+		return HEADER_SIZE + dataSize(nodeChar.length);
+	}
+
+	/**
+	 * 单词数
+	 *
+	 * @return 单词数
+	 */
+	public int size() {
+		return wordCount;
+	}
+
+	/**
+	 * 是否不包含任何单词
+	 *
+	 * @return 是否为空
+	 */
+	public boolean isEmpty() {
+		return 0 == wordCount;
+	}
+
+	/**
+	 * 节点数（包括根节点）
+	 *
+	 * @return 节点数
+	 */
+	public int nodeCount() {
+		return nodeChar.length;
+	}
+
+	/**
+	 * 是否包含指定单词，单词需为停顿词过滤后的形式
+	 *
+	 * @param word 单词
+	 * @return 是否包含
+	 */
+	public boolean contains(String word) {
+		return wordNode(word) > 0;
+	}
+
+	/**
+	 * 获取所有单词（停顿词过滤后的形式），按字典序排列
+	 *
+	 * @return 单词列表
+	 */
+	public List<String> words() {
+		final List<String> words = new ArrayList<>(wordCount);
+		collectWords(ROOT, new StringBuilder(), words);
+		return words;
+	}
+
+	/**
+	 * 编译为Aho-Corasick自动机，使用默认的停顿词过滤规则
+	 *
+	 * @return {@link AhoCorasickMatcher}
+	 */
+	public AhoCorasickMatcher compile() {
+		return compile(StopChar::isNotStopChar);
+	}
+
+	/**
+	 * 编译为Aho-Corasick自动机
+	 *
+	 * @param charFilter 字符过滤规则，当accept为false时，此字符不参与匹配
+	 * @return {@link AhoCorasickMatcher}
+	 */
+	public AhoCorasickMatcher compile(Filter<Character> charFilter) {
+		return new AhoCorasickMatcher(this, charFilter);
+	}
+
+	//--------------------------------------------------------------------------------------- Package method start
+
+	/**
+	 * 查找子节点
+	 *
+	 * @param node 节点
+	 * @param c    字符
+	 * @return 子节点编号，不存在返回-1
+	 */
+	int child(int node, char c) {
+		final int from = firstChild[node];
+		final int to = firstChild[node + 1];
+		if (from == to) {
+			return -1;
+		}
+		final int index = Arrays.binarySearch(nodeChar, from, to, c);
+		return index < 0 ? -1 : index;
+	}
+
+	/**
+	 * 查找单词的结尾节点，单词需为停顿词过滤后的形式
+	 *
+	 * @param word 单词
+	 * @return 结尾节点编号，不包含此单词返回-1
+	 */
+	int wordNode(String word) {
+		if (null == word || word.isEmpty()) {
+			return -1;
+		}
+		int node = ROOT;
+		final int length = word.length();
+		for (int i = 0; i < length; i++) {
+			node = child(node, word.charAt(i));
+			if (node < 0) {
+				return -1;
+			}
+		}
+		return isEnd(node) ? node : -1;
+	}
+
+	/**
+	 * 节点是否为单词结尾
+	 *
+	 * @param node 节点
+	 * @return 是否为单词结尾
+	 */
+	boolean isEnd(int node) {
+		return 0 != (ends[node >>> 6] & (1L << node));
+	}
+	//--------------------------------------------------------------------------------------- Package method end
+
+	/**
+	 * 深度优先收集节点下的所有单词
+	 *
+	 * @param node   节点
+	 * @param prefix 节点对应的前缀
+	 * @param words  收集单词的列表
+	 */
+	private void collectWords(int node, StringBuilder prefix, List<String> words) {
+		for (int child = firstChild[node]; child < firstChild[node + 1]; child++) {
+			prefix.append(nodeChar[child]);
+			if (isEnd(child)) {
+				words.add(prefix.toString());
+			}
+			collectWords(child, prefix, words);
+			prefix.setLength(prefix.length() - 1);
+		}
+	}
+
+	/**
+	 * 文件头之后的数据字节数
+	 *
+	 * @param count 节点数
+	 * @return 字节数
+	 */
+	private static long dataSize(int count) {
+		return ((count + 1L) << 2) + (((count + 63L) >>> 6) << 3) + ((long) count << 1);
+	}
+
+	/**
+	 * 统计单词树节点数（包括根节点）
+	 *
+	 * @param wordTree 单词树
+	 * @return 节点数
+	 */
+	private static int countNodes(WordTree wordTree) {
+		int count = 0;
+		final Deque<WordTree> stack = new ArrayDeque<>();
+		stack.push(wordTree);
+		while (false == stack.isEmpty()) {
+			final WordTree tree = stack.pop();
+			count++;
+			for (WordTree child : tree.values()) {
+				stack.push(child);
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * 获取排序后的子节点字符
+	 *
+	 * @param tree 单词树节点
+	 * @return 排序后的字符
+	 */
+	private static char[] sortedKeys(WordTree tree) {
+		final char[] keys = new char[tree.size()];
+		int i = 0;
+		for (Character key : tree.keySet()) {
+			keys[i++] = key;
+		}
+		Arrays.sort(keys);
+		return keys;
+	}
+}
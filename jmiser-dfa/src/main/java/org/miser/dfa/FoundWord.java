@@ -18,6 +18,14 @@ public class FoundWord extends DefaultSegment<Integer> {
 	 * 单词匹配到的内容，即文中的单词
 	 */
 	private final String foundWord;
+	/**
+	 * 起始位置（包含），可超出int范围
+	 */
+	private final long startOffset;
+	/**
+	 * 结束位置（包含），可超出int范围
+	 */
+	private final long endOffset;
 
 	/**
 	 * 构造
@@ -28,9 +36,23 @@ public class FoundWord extends DefaultSegment<Integer> {
 	 * @param endIndex 结束位置（包含）
 	 */
 	public FoundWord(String word, String foundWord, int startIndex, int endIndex) {
-		super(startIndex, endIndex);
+		this(word, foundWord, (long) startIndex, (long) endIndex);
+	}
+
+	/**
+	 * 构造，用于流中的位置，位置超出int范围时{@link #getStartIndex()}和{@link #getEndIndex()}返回-1
+	 *
+	 * @param word 生效的单词，即单词树中的词
+	 * @param foundWord 单词匹配到的内容，即文中的单词
+	 * @param startOffset 起始位置（包含）
+	 * @param endOffset 结束位置（包含）
+	 */
+	public FoundWord(String word, String foundWord, long startOffset, long endOffset) {
+		super(toIndex(startOffset), toIndex(endOffset));
 		this.word = word;
 		this.foundWord = foundWord;
+		this.startOffset = startOffset;
+		this.endOffset = endOffset;
 	}
 
 	/**
@@ -50,6 +72,24 @@ public class FoundWord extends DefaultSegment<Integer> {
 		return foundWord;
 	}
 
+	/**
+	 * 获取起始位置（包含），超过2G字符的流中位置超出int范围时使用此方法
+	 *
+	 * @return 起始位置
+	 */
+	public long getStartOffset() {
+		return startOffset;
+	}
+
+	/**
+	 * 获取结束位置（包含），超过2G字符的流中位置超出int范围时使用此方法
+	 *
+	 * @return 结束位置
+	 */
+	public long getEndOffset() {
+		return endOffset;
+	}
+
 	/**
 	 * 默认的，只输出匹配到的关键字
 	 * @return 匹配到的关键字
@@ -58,4 +98,14 @@ public class FoundWord extends DefaultSegment<Integer> {
 	public String toString() {
 		return this.foundWord;
 	}
+
+	/**
+	 * 转换为int位置，超出int范围返回-1
+	 *
+	 * @param offset 位置
+	 * @return int位置
+	 */
+	private static int toIndex(long offset) {
+		return offset > Integer.MAX_VALUE ? -1 : (int) offset;
+	}
 }
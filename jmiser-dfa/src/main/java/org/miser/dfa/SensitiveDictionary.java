@@ -0,0 +1,368 @@
+package org.miser.dfa;
+
+import org.miser.core.collection.CollUtil;
+import org.miser.core.lang.Filter;
+import org.miser.core.util.StringUtil;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 可热替换的敏感词字典<br>
+ * 字典内容以不可变的版本快照（紧凑单词树及其编译的自动机）保存，读取方无锁访问当前快照；
+ * 任何修改都在旁路构建新的快照，构建完成后一次性发布，正在进行的匹配始终看到完整的旧字典或新字典，不会看到清空或部分加载的状态。<br>
+ * 增删单词采用写时复制（Copy-On-Write），修改之间串行执行，每次修改版本号加一。
+ * 增删只作用于变化的部分：基础自动机保持不变，删除的单词记录为被屏蔽的节点，新增的单词单独编译为一个小自动机叠加在基础自动机之上，
+ * 每次增删的代价与累计变化的单词数成正比而与字典大小无关；累计变化超过字典大小的平方根量级时才合并重建一次基础自动机。
+ *
+ * @author Oliver
+ */
+public class SensitiveDictionary {
+
+	/**
+	 * 触发合并重建的最小累计变化单词数
+	 */
+	private static final int MIN_COMPACT_THRESHOLD = 64;
+	/**
+	 * 无删除单词时的删除节点表
+	 */
+	private static final int[] EMPTY = new int[0];
+
+	/**
+	 * 当前快照
+	 */
+	private volatile Snapshot snapshot;
+
+	// 以下字段仅在持有锁时访问
+	/**
+	 * 基础自动机，最近一次整体构建的结果
+	 */
+	private AhoCorasickMatcher base;
+	/**
+	 * 基础自动机之后新增的单词（过滤后的形式），不包含基础自动机中的单词
+	 */
+	private final Set<String> added = new LinkedHashSet<>();
+	/**
+	 * 基础自动机中已删除的单词结尾节点，有序
+	 */
+	private int[] removed = EMPTY;
+
+	/**
+	 * 构造，使用默认的停顿词过滤规则
+	 */
+	public SensitiveDictionary() {
+		this(StopChar::isNotStopChar);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param charFilter 字符过滤规则，当accept为false时，此字符不参与匹配
+	 */
+	public SensitiveDictionary(Filter<Character> charFilter) {
+		this.base = new WordTree().setCharFilter(charFilter).freeze().compile(charFilter);
+		this.snapshot = new Snapshot(0, charFilter, this.base, 0);
+	}
+
+	/**
+	 * 获取当前版本号，每次发布新的快照版本号加一
+	 *
+	 * @return 版本号
+	 */
+	public long getVersion() {
+		return this.snapshot.version;
+	}
+
+	/**
+	 * 获取当前快照的自动机<br>
+	 * 需要多次查找且要求结果一致时，应先获取自动机再在其上查找
+	 *
+	 * @return {@link AhoCorasickMatcher}
+	 */
+	public AhoCorasickMatcher getMatcher() {
+		return this.snapshot.matcher;
+	}
+
+	/**
+	 * 获取当前的字符过滤规则
+	 *
+	 * @return 过滤函数
+	 */
+	public Filter<Character> getCharFilter() {
+		return this.snapshot.charFilter;
+	}
+
+	/**
+	 * 单词数
+	 *
+	 * @return 单词数
+	 */
+	public int size() {
+		return this.snapshot.size;
+	}
+
+	/**
+	 * 是否不包含任何单词
+	 *
+	 * @return 是否为空
+	 */
+	public boolean isEmpty() {
+		return 0 == this.snapshot.size;
+	}
+
+	/**
+	 * 设置字符过滤规则，已有单词保持不变，之后增加的单词使用新规则
+	 *
+	 * @param charFilter 过滤函数
+	 * @return this
+	 */
+	public synchronized SensitiveDictionary setCharFilter(Filter<Character> charFilter) {
+		rebuild(charFilter, this.snapshot.matcher.getTrie());
+		return this;
+	}
+
+	/**
+	 * 使用新的单词集合整体替换字典
+	 *
+	 * @param words 单词集合
+	 * @return this
+	 */
+	public synchronized SensitiveDictionary reload(Collection<String> words) {
+		final Filter<Character> charFilter = this.snapshot.charFilter;
+		rebuild(charFilter, new WordTree().setCharFilter(charFilter).addWords(words).freeze());
+		return this;
+	}
+
+	/**
+	 * 使用已冻结的紧凑单词树整体替换字典
+	 *
+	 * @param trie 紧凑单词树
+	 * @return this
+	 */
+	public synchronized SensitiveDictionary reload(CompactWordTree trie) {
+		rebuild(this.snapshot.charFilter, trie);
+		return this;
+	}
+
+	/**
+	 * 增加一组单词，单词按当前字符过滤规则过滤后加入，已存在的单词忽略
+	 *
+	 * @param words 单词集合
+	 * @return this
+	 */
+	public synchronized SensitiveDictionary addWords(Collection<String> words) {
+		if (CollUtil.isEmpty(words)) {
+			return this;
+		}
+		final Filter<Character> charFilter = this.snapshot.charFilter;
+		final CompactWordTree trie = this.base.getTrie();
+		boolean modified = false;
+		for (String word : words) {
+			final String filtered = filter(word, charFilter);
+			if (StringUtil.isEmpty(filtered)) {
+				continue;
+			}
+			final int node = trie.wordNode(filtered);
+			if (node > 0) {
+				// 基础自动机中的单词，之前删除过的恢复即可
+				final int index = Arrays.binarySearch(this.removed, node);
+				if (index >= 0) {
+					this.removed = remove(this.removed, index);
+					modified = true;
+				}
+			} else {
+				modified |= this.added.add(filtered);
+			}
+		}
+		if (modified) {
+			publish(charFilter);
+		}
+		return this;
+	}
+
+	/**
+	 * 增加一组单词
+	 *
+	 * @param words 单词数组
+	 * @return this
+	 */
+	public SensitiveDictionary addWords(String... words) {
+		return addWords(CollUtil.newArrayList(words));
+	}
+
+	/**
+	 * 删除一组单词，单词按当前字符过滤规则过滤后比较
+	 *
+	 * @param words 单词集合
+	 * @return this
+	 */
+	public synchronized SensitiveDictionary removeWords(Collection<String> words) {
+		if (CollUtil.isEmpty(words)) {
+			return this;
+		}
+		final Filter<Character> charFilter = this.snapshot.charFilter;
+		final CompactWordTree trie = this.base.getTrie();
+		boolean modified = false;
+		for (String word : words) {
+			final String filtered = filter(word, charFilter);
+			if (StringUtil.isEmpty(filtered)) {
+				continue;
+			}
+			if (this.added.remove(filtered)) {
+				modified = true;
+				continue;
+			}
+			final int node = trie.wordNode(filtered);
+			if (node > 0) {
+				final int index = Arrays.binarySearch(this.removed, node);
+				if (index < 0) {
+					this.removed = insert(this.removed, -index - 1, node);
+					modified = true;
+				}
+			}
+		}
+		if (modified) {
+			publish(charFilter);
+		}
+		return this;
+	}
+
+	/**
+	 * 删除一组单词，单词按当前字符过滤规则过滤后比较
+	 *
+	 * @param words 单词数组
+	 * @return this
+	 */
+	public SensitiveDictionary removeWords(String... words) {
+		return removeWords(CollUtil.newArrayList(words));
+	}
+
+	/**
+	 * 清空字典
+	 *
+	 * @return this
+	 */
+	public synchronized SensitiveDictionary clear() {
+		final Filter<Character> charFilter = this.snapshot.charFilter;
+		rebuild(charFilter, new WordTree().setCharFilter(charFilter).freeze());
+		return this;
+	}
+
+	//--------------------------------------------------------------------------------------- Private method start
+
+	/**
+	 * 以新的基础自动机整体替换字典并发布，调用方需持有锁
+	 *
+	 * @param charFilter 字符过滤规则
+	 * @param trie       紧凑单词树
+	 */
+	private void rebuild(Filter<Character> charFilter, CompactWordTree trie) {
+		this.base = trie.compile(charFilter);
+		this.added.clear();
+		this.removed = EMPTY;
+		this.snapshot = new Snapshot(this.snapshot.version + 1, charFilter, this.base, trie.size());
+	}
+
+	/**
+	 * 在基础自动机之上叠加增删的单词并发布，累计变化过多时合并重建，调用方需持有锁<br>
+	 * 每次只重新编译新增单词的小自动机，基础自动机的数据直接共享
+	 *
+	 * @param charFilter 字符过滤规则
+	 */
+	private void publish(Filter<Character> charFilter) {
+		final CompactWordTree trie = this.base.getTrie();
+		final AhoCorasickMatcher delta = this.added.isEmpty() ? null
+				: new WordTree().setCharFilter(charFilter).addWords(this.added).freeze().compile(charFilter);
+		final AhoCorasickMatcher matcher = (0 == this.removed.length && null == delta) ? this.base
+				: new AhoCorasickMatcher(this.base, this.removed, delta);
+		if (this.added.size() + this.removed.length > compactThreshold(trie.size())) {
+			rebuild(charFilter, matcher.getTrie());
+			return;
+		}
+		this.snapshot = new Snapshot(this.snapshot.version + 1, charFilter, matcher,
+				trie.size() - this.removed.length + this.added.size());
+	}
+
+	/**
+	 * 合并重建的累计变化单词数阈值，取字典大小的平方根量级，使逐个增删单词的均摊代价也只与其平方根成正比
+	 *
+	 * @param size 基础自动机的单词数
+	 * @return 阈值
+	 */
+	private static int compactThreshold(int size) {
+		return Math.max(MIN_COMPACT_THRESHOLD, (int) Math.sqrt(size) << 1);
+	}
+
+	/**
+	 * 删除有序数组中的元素
+	 *
+	 * @param array 数组
+	 * @param index 删除的位置
+	 * @return 新数组
+	 */
+	private static int[] remove(int[] array, int index) {
+		final int[] result = new int[array.length - 1];
+		System.arraycopy(array, 0, result, 0, index);
+		System.arraycopy(array, index + 1, result, index, result.length - index);
+		return result;
+	}
+
+	/**
+	 * 在有序数组中插入元素
+	 *
+	 * @param array 数组
+	 * @param index 插入的位置
+	 * @param value 值
+	 * @return 新数组
+	 */
+	private static int[] insert(int[] array, int index, int value) {
+		final int[] result = new int[array.length + 1];
+		System.arraycopy(array, 0, result, 0, index);
+		result[index] = value;
+		System.arraycopy(array, index, result, index + 1, array.length - index);
+		return result;
+	}
+
+	/**
+	 * 按过滤规则去除单词中不参与匹配的字符
+	 *
+	 * @param word       单词
+	 * @param charFilter 字符过滤规则
+	 * @return 过滤后的单词
+	 */
+	private static String filter(String word, Filter<Character> charFilter) {
+		if (null == word) {
+			return null;
+		}
+		final int length = word.length();
+		final StringBuilder sb = new StringBuilder(length);
+		char c;
+		for (int i = 0; i < length; i++) {
+			c = word.charAt(i);
+			if (charFilter.accept(c)) {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+	//--------------------------------------------------------------------------------------- Private method end
+
+	/**
+	 * 不可变的字典快照
+	 */
+	private static final class Snapshot {
+		private final long version;
+		private final Filter<Character> charFilter;
+		private final AhoCorasickMatcher matcher;
+		private final int size;
+
+		Snapshot(long version, Filter<Character> charFilter, AhoCorasickMatcher matcher, int size) {
+			this.version = version;
+			this.charFilter = charFilter;
+			this.matcher = matcher;
+			this.size = size;
+		}
+	}
+}
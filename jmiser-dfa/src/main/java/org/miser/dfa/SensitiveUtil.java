@@ -1,15 +1,26 @@
 package org.miser.dfa;
 
-import org.miser.core.collection.CollUtil;
+import org.miser.core.bean.BeanUtil;
+import org.miser.core.bean.PropertyDesc;
+import org.miser.core.io.IORuntimeException;
+import org.miser.core.lang.Editor;
 import org.miser.core.lang.Filter;
 import org.miser.core.thread.ThreadUtil;
+import org.miser.core.util.ClassUtil;
 import org.miser.core.util.StringUtil;
 import org.miser.json.JSONUtil;
 
+import java.io.File;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 敏感词工具类
@@ -19,13 +30,16 @@ import java.util.Map;
 public final class SensitiveUtil {
 
 	public static final char DEFAULT_SEPARATOR = StringUtil.C_COMMA;
-	private static final WordTree sensitiveTree = new WordTree();
+	/**
+	 * 全局敏感词字典，重新加载或增删单词时在旁路构建新版本后原子发布，查找过程无锁
+	 */
+	private static final SensitiveDictionary sensitiveDictionary = new SensitiveDictionary();
 
 	/**
 	 * @return 是否已经被初始化
 	 */
 	public static boolean isInited() {
-		return false == sensitiveTree.isEmpty();
+		return false == sensitiveDictionary.isEmpty();
 	}
 
 	/**
@@ -51,11 +65,29 @@ public final class SensitiveUtil {
 	 * @param sensitiveWords 敏感词列表
 	 */
 	public static void init(Collection<String> sensitiveWords) {
-		sensitiveTree.clear();
-		sensitiveTree.addWords(sensitiveWords);
+		sensitiveDictionary.reload(sensitiveWords);
 //		log.debug("Sensitive init finished, sensitives: {}", sensitiveWords);
 	}
 
+	/**
+	 * 使用已冻结的紧凑单词树初始化，无需逐词建树
+	 *
+	 * @param sensitiveTrie 紧凑单词树，可通过{@link WordTree#freeze()}生成
+	 */
+	public static void init(CompactWordTree sensitiveTrie) {
+		sensitiveDictionary.reload(sensitiveTrie);
+	}
+
+	/**
+	 * 加载{@link CompactWordTree#write(File)}保存的敏感词文件并初始化
+	 *
+	 * @param sensitiveFile 敏感词文件
+	 * @throws IORuntimeException IO异常或文件格式不正确
+	 */
+	public static void init(File sensitiveFile) throws IORuntimeException {
+		init(CompactWordTree.load(sensitiveFile));
+	}
+
 	/**
 	 * 初始化敏感词树
 	 *
@@ -79,6 +111,33 @@ public final class SensitiveUtil {
 		init(sensitiveWords, DEFAULT_SEPARATOR, isAsync);
 	}
 
+	/**
+	 * 增加敏感词，新字典构建完成后原子替换，不影响正在进行的查找
+	 *
+	 * @param sensitiveWords 敏感词列表
+	 */
+	public static void addWords(Collection<String> sensitiveWords) {
+		sensitiveDictionary.addWords(sensitiveWords);
+	}
+
+	/**
+	 * 删除敏感词，新字典构建完成后原子替换，不影响正在进行的查找
+	 *
+	 * @param sensitiveWords 敏感词列表
+	 */
+	public static void removeWords(Collection<String> sensitiveWords) {
+		sensitiveDictionary.removeWords(sensitiveWords);
+	}
+
+	/**
+	 * 获取全局敏感词字典，可用于获取版本号或在同一版本上执行多次查找
+	 *
+	 * @return {@link SensitiveDictionary}
+	 */
+	public static SensitiveDictionary getDictionary() {
+		return sensitiveDictionary;
+	}
+
 	/**
 	 * 设置字符过滤规则，通过定义字符串过滤规则，过滤不需要的字符<br>
 	 * 当accept为false时，此字符不参与匹配
@@ -88,7 +147,7 @@ public final class SensitiveUtil {
 	 */
 	public static void setCharFilter(Filter<Character> charFilter) {
 		if (charFilter != null) {
-			sensitiveTree.setCharFilter(charFilter);
+			sensitiveDictionary.setCharFilter(charFilter);
 		}
 	}
 
@@ -99,7 +158,7 @@ public final class SensitiveUtil {
 	 * @return 是否包含
 	 */
 	public static boolean containsSensitive(String text) {
-		return sensitiveTree.isMatch(text);
+		return sensitiveDictionary.getMatcher().isMatch(text);
 	}
 
 	/**
@@ -109,7 +168,7 @@ public final class SensitiveUtil {
 	 * @return 是否包含
 	 */
 	public static boolean containsSensitive(Object obj) {
-		return sensitiveTree.isMatch(JSONUtil.toJsonStr(obj));
+		return sensitiveDictionary.getMatcher().isMatch(JSONUtil.toJsonStr(obj));
 	}
 
 	/**
@@ -120,7 +179,7 @@ public final class SensitiveUtil {
 	 * 
 	 */
 	public static FoundWord getFoundFirstSensitive(String text) {
-		return sensitiveTree.matchWord(text);
+		return sensitiveDictionary.getMatcher().matchWord(text);
 	}
 
 	/**
@@ -130,7 +189,7 @@ public final class SensitiveUtil {
 	 * @return 敏感词
 	 */
 	public static FoundWord getFoundFirstSensitive(Object obj) {
-		return sensitiveTree.matchWord(JSONUtil.toJsonStr(obj));
+		return sensitiveDictionary.getMatcher().matchWord(JSONUtil.toJsonStr(obj));
 	}
 
 	/**
@@ -141,7 +200,7 @@ public final class SensitiveUtil {
 	 * 
 	 */
 	public static List<FoundWord> getFoundAllSensitive(String text) {
-		return sensitiveTree.matchAllWords(text);
+		return sensitiveDictionary.getMatcher().matchAllWords(text);
 	}
 
 	/**
@@ -155,7 +214,7 @@ public final class SensitiveUtil {
 	 * @return 敏感词
 	 */
 	public static List<FoundWord> getFoundAllSensitive(String text, boolean isDensityMatch, boolean isGreedMatch) {
-		return sensitiveTree.matchAllWords(text, -1, isDensityMatch, isGreedMatch);
+		return sensitiveDictionary.getMatcher().matchAllWords(text, -1, isDensityMatch, isGreedMatch);
 	}
 
 	/**
@@ -166,7 +225,7 @@ public final class SensitiveUtil {
 	 * 
 	 */
 	public static List<FoundWord> getFoundAllSensitive(Object bean) {
-		return sensitiveTree.matchAllWords(JSONUtil.toJsonStr(bean));
+		return sensitiveDictionary.getMatcher().matchAllWords(JSONUtil.toJsonStr(bean));
 	}
 
 	/**
@@ -212,27 +271,153 @@ public final class SensitiveUtil {
 		if (StringUtil.isEmpty(text)) {
 			return text;
 		}
-
 		//敏感词过滤场景下，不需要密集匹配
-		List<FoundWord> foundWordList = getFoundAllSensitive(text, false, isGreedMatch);
-		if (CollUtil.isEmpty(foundWordList)) {
-			return text;
+		return sensitiveDictionary.getMatcher().filter(text, isGreedMatch, sensitiveProcessor);
+	}
+
+	/**
+	 * 流式处理过滤文本中的敏感词，默认替换成*<br>
+	 * 从Reader中分块读取，过滤后写出到Writer，跨块的敏感词同样会被替换，适用于大文本。此方法不会关闭Reader和Writer
+	 *
+	 * @param reader             输入
+	 * @param writer             输出
+	 * @param isGreedMatch       贪婪匹配（最长匹配）原则：假如关键字a,ab，最长匹配将匹配[a, ab]
+	 * @param sensitiveProcessor 敏感词处理器，默认按匹配内容的字符数替换成*
+	 * @throws IORuntimeException IO异常
+	 */
+	public static void sensitiveFilter(Reader reader, Writer writer, boolean isGreedMatch, SensitiveProcessor sensitiveProcessor) throws IORuntimeException {
+		sensitiveDictionary.getMatcher().filter(reader, writer, isGreedMatch, sensitiveProcessor);
+	}
+
+	/**
+	 * 按字段过滤Bean中的敏感词，直接修改传入的对象<br>
+	 * 与{@link #sensitiveFilter(Object, boolean, SensitiveProcessor)}不同，此方法不经过JSON转换，
+	 * 而是遍历可读写的String类型属性逐个过滤，嵌套的Bean、Map的值、集合（List、Set等）及数组中的String元素同样会被处理。<br>
+	 * 不可修改的集合或Map（如{@link Collections#unmodifiableList(List)}）无法原地替换，其中的String元素保持原样，非String元素仍会递归处理
+	 *
+	 * @param bean               Bean对象
+	 * @param isGreedMatch       贪婪匹配（最长匹配）原则：假如关键字a,ab，最长匹配将匹配[a, ab]
+	 * @param sensitiveProcessor 敏感词处理器，默认按匹配内容的字符数替换成*
+	 * @param <T>                bean的class类型
+	 * @return 传入的bean对象
+	 */
+	public static <T> T sensitiveFilterFields(T bean, boolean isGreedMatch, SensitiveProcessor sensitiveProcessor) {
+		if (null != bean) {
+			final AhoCorasickMatcher matcher = sensitiveDictionary.getMatcher();
+			filterFields(bean, value -> matcher.filter(value, isGreedMatch, sensitiveProcessor),
+					Collections.newSetFromMap(new IdentityHashMap<>()));
+		}
+		return bean;
+	}
+
+	/**
+	 * 递归过滤对象中的String值
+	 *
+	 * @param obj     对象
+	 * @param filter  String过滤函数
+	 * @param visited 已处理的对象，避免循环引用
+	 */
+	@SuppressWarnings("unchecked")
+	private static void filterFields(Object obj, Editor<String> filter, Set<Object> visited) {
+		if (null == obj || ClassUtil.isSimpleValueType(obj.getClass()) || false == visited.add(obj)) {
+			return;
 		}
-		sensitiveProcessor = sensitiveProcessor == null ? new SensitiveProcessor() {
-		} : sensitiveProcessor;
-		Map<Integer, FoundWord> foundWordMap = new HashMap<>(foundWordList.size());
-		foundWordList.forEach(foundWord -> foundWordMap.put(foundWord.getStartIndex(), foundWord));
-		int length = text.length();
-		StringBuilder textStringBuilder = new StringBuilder();
-		for (int i = 0; i < length; i++) {
-			FoundWord fw = foundWordMap.get(i);
-			if (fw != null) {
-				textStringBuilder.append(sensitiveProcessor.process(fw));
-				i = fw.getEndIndex();
-			} else {
-				textStringBuilder.append(text.charAt(i));
+		if (obj instanceof List) {
+			final ListIterator<Object> iterator = ((List<Object>) obj).listIterator();
+			boolean writable = true;
+			Object value;
+			while (iterator.hasNext()) {
+				value = iterator.next();
+				if (value instanceof String) {
+					if (writable) {
+						final String filtered = filter.edit((String) value);
+						if (false == filtered.equals(value)) {
+							writable = replace(() -> iterator.set(filtered));
+						}
+					}
+				} else {
+					filterFields(value, filter, visited);
+				}
+			}
+		} else if (obj instanceof Collection) {
+			// Set等无法按位置替换的集合，先加入过滤后的值再删除原值
+			final Collection<Object> collection = (Collection<Object>) obj;
+			final Set<Object> originals = new LinkedHashSet<>();
+			final Set<Object> replacements = new LinkedHashSet<>();
+			for (Object value : collection) {
+				if (value instanceof String) {
+					final String filtered = filter.edit((String) value);
+					if (false == filtered.equals(value)) {
+						originals.add(value);
+						replacements.add(filtered);
+					}
+				} else {
+					filterFields(value, filter, visited);
+				}
+			}
+			if (false == originals.isEmpty()) {
+				originals.removeAll(replacements);
+				if (replace(() -> collection.addAll(replacements))) {
+					collection.removeAll(originals);
+				}
+			}
+		} else if (obj instanceof Iterable) {
+			for (Object value : (Iterable<?>) obj) {
+				filterFields(value, filter, visited);
+			}
+		} else if (obj instanceof Map) {
+			boolean writable = true;
+			for (Map.Entry<Object, Object> entry : ((Map<Object, Object>) obj).entrySet()) {
+				if (entry.getValue() instanceof String) {
+					if (writable) {
+						final String filtered = filter.edit((String) entry.getValue());
+						if (false == filtered.equals(entry.getValue())) {
+							writable = replace(() -> entry.setValue(filtered));
+						}
+					}
+				} else {
+					filterFields(entry.getValue(), filter, visited);
+				}
 			}
+		} else if (obj instanceof Object[]) {
+			final Object[] array = (Object[]) obj;
+			for (int i = 0; i < array.length; i++) {
+				if (array[i] instanceof String) {
+					array[i] = filter.edit((String) array[i]);
+				} else {
+					filterFields(array[i], filter, visited);
+				}
+			}
+		} else if (BeanUtil.isReadableBean(obj.getClass())) {
+			Object value;
+			for (PropertyDesc prop : BeanUtil.getBeanDesc(obj.getClass()).getProps()) {
+				if (false == prop.isReadable(false)) {
+					continue;
+				}
+				value = prop.getValue(obj);
+				if (value instanceof String) {
+					if (prop.isWritable(false)) {
+						prop.setValue(obj, filter.edit((String) value));
+					}
+				} else {
+					filterFields(value, filter, visited);
+				}
+			}
+		}
+	}
+
+	/**
+	 * 原地替换集合中的元素，集合不可修改时忽略
+	 *
+	 * @param replacement 替换操作
+	 * @return 是否替换成功，{@code false}表示集合不可修改
+	 */
+	private static boolean replace(Runnable replacement) {
+		try {
+			replacement.run();
+			return true;
+		} catch (UnsupportedOperationException e) {
+			return false;
 		}
-		return textStringBuilder.toString();
 	}
 }
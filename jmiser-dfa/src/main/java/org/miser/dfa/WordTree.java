@@ -62,6 +62,35 @@ public class WordTree extends HashMap<Character, WordTree> {
 		return this;
 	}
 
+	/**
+	 * 获取字符过滤规则
+	 *
+	 * @return 过滤函数
+	 */
+	Filter<Character> getCharFilter() {
+		return this.charFilter;
+	}
+
+	/**
+	 * 将当前单词树冻结为不可变的{@link CompactWordTree}，节点数据保存在原始类型数组中，可保存到文件并整体加载<br>
+	 * 冻结结果为当前单词的快照，之后对单词树的修改需重新冻结
+	 *
+	 * @return {@link CompactWordTree}
+	 */
+	public CompactWordTree freeze() {
+		return new CompactWordTree(this);
+	}
+
+	/**
+	 * 将当前单词树编译为Aho-Corasick自动机，用于在一次线性扫描中完成匹配<br>
+	 * 编译结果为当前单词的快照，之后对单词树的修改需重新编译
+	 *
+	 * @return {@link AhoCorasickMatcher}
+	 */
+	public AhoCorasickMatcher compile() {
+		return new AhoCorasickMatcher(this);
+	}
+
 	//------------------------------------------------------------------------------- add word
 
 	/**
@@ -253,9 +282,12 @@ public class WordTree extends HashMap<Character, WordTree> {
 		final FastStringBuilder wordBuffer = StringUtil.fastBuilder();
 		final FastStringBuilder keyBuffer = StringUtil.fastBuilder();
 		char currentChar;
+		//当前匹配的起始位置，跳过匹配到的词时i会变化，因此单独记录
+		int start;
 		for (int i = 0; i < length; i++) {
 			wordBuffer.reset();
 			keyBuffer.reset();
+			start = i;
 			for (int j = i; j < length; j++) {
 				currentChar = text.charAt(j);
 //				Console.log("i: {}, j: {}, currentChar: {}", i, j, currentChar);
@@ -266,6 +298,7 @@ public class WordTree extends HashMap<Character, WordTree> {
 					} else {
 						//停顿词做为关键词的第一个字符时需要跳过
 						i++;
+						start = i;
 					}
 					continue;
 				} else if (false == current.containsKey(currentChar)) {
@@ -276,7 +309,7 @@ public class WordTree extends HashMap<Character, WordTree> {
 				keyBuffer.append(currentChar);
 				if (current.isEnd(currentChar)) {
 					//到达单词末尾，关键词成立，从此词的下一个位置开始查找
-					foundWords.add(new FoundWord(keyBuffer.toString(), wordBuffer.toString(), i, j));
+					foundWords.add(new FoundWord(keyBuffer.toString(), wordBuffer.toString(), start, j));
 					if (limit > 0 && foundWords.size() >= limit) {
 						//超过匹配限制个数，直接返回
 						return foundWords;
@@ -307,7 +340,7 @@ public class WordTree extends HashMap<Character, WordTree> {
 	 * @param c 检查的字符
 	 * @return 是否末尾
 	 */
-	private boolean isEnd(Character c) {
+	boolean isEnd(Character c) {
 		return this.endCharacterSet.contains(c);
 	}
 
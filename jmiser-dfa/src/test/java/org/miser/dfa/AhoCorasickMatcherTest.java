@@ -0,0 +1,165 @@
+package org.miser.dfa;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.miser.core.collection.CollUtil;
+import org.miser.core.util.StringUtil;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Aho-Corasick自动机单元测试
+ *
+ * @author Oliver
+ */
+public class AhoCorasickMatcherTest {
+
+	// 构建被查询的文本，包含停顿词
+	String text = "我有一颗$大土^豆，刚出锅的";
+
+	@Test
+	public void matchAllTest() {
+		AhoCorasickMatcher matcher = buildWordTree().compile();
+		Assert.assertEquals(CollUtil.newArrayList("大", "土^豆", "刚出锅"), matcher.matchAll(text, -1, false, false));
+		Assert.assertEquals(CollUtil.newArrayList("大", "土^豆", "刚出锅", "出锅"), matcher.matchAll(text, -1, true, false));
+		Assert.assertEquals(CollUtil.newArrayList("大", "大土^豆", "刚出锅"), matcher.matchAll(text, -1, false, true));
+		Assert.assertEquals(CollUtil.newArrayList("大", "大土^豆", "土^豆", "刚出锅", "出锅"), matcher.matchAll(text, -1, true, true));
+	}
+
+	@Test
+	public void matchWordTest() {
+		AhoCorasickMatcher matcher = buildWordTree().compile();
+		FoundWord foundWord = matcher.matchWord(text);
+		Assert.assertEquals("大", foundWord.getWord());
+		Assert.assertEquals(5, foundWord.getStartIndex().intValue());
+
+		Assert.assertTrue(matcher.isMatch(text));
+		Assert.assertFalse(matcher.isMatch("我有一颗红薯"));
+		Assert.assertNull(matcher.match("我有一颗红薯"));
+	}
+
+	/**
+	 * 起始位置靠前的长词晚于起始位置靠后的短词被找到时，结果仍按起始位置排序
+	 */
+	@Test
+	public void orderTest() {
+		WordTree tree = new WordTree();
+		tree.addWords("abcd", "bc");
+		AhoCorasickMatcher matcher = tree.compile();
+		Assert.assertEquals(CollUtil.newArrayList("abcd"), matcher.matchAll("abcd"));
+		Assert.assertEquals(CollUtil.newArrayList("abcd", "bc"), matcher.matchAll("abcd", -1, true, false));
+		Assert.assertEquals(CollUtil.newArrayList("abcd"), matcher.matchAll("abcd", 1, true, false));
+	}
+
+	@Test
+	public void stopWordTest() {
+		WordTree tree = new WordTree();
+		tree.addWord("tio");
+
+		List<FoundWord> all = tree.compile().matchAllWords("AAAAAAAt-ioBBBBBBB");
+		Assert.assertEquals(1, all.size());
+		Assert.assertEquals("tio", all.get(0).getWord());
+		Assert.assertEquals("t-io", all.get(0).getFoundWord());
+		Assert.assertEquals(7, all.get(0).getStartIndex().intValue());
+		Assert.assertEquals(10, all.get(0).getEndIndex().intValue());
+	}
+
+	/**
+	 * 随机文本下与{@link WordTree}的匹配结果一致
+	 */
+	@Test
+	public void sameAsWordTreeTest() {
+		final Random random = new Random(20211018L);
+		final String alphabet = "abc -";
+		for (int round = 0; round < 200; round++) {
+			WordTree tree = new WordTree();
+			for (int i = 0; i < 8; i++) {
+				tree.addWord(randomString(random, alphabet, 1 + random.nextInt(4)));
+			}
+			AhoCorasickMatcher matcher = tree.compile();
+			String text = randomString(random, alphabet, 30);
+			for (int limit : new int[]{-1, 1, 3}) {
+				for (boolean density : new boolean[]{false, true}) {
+					for (boolean greed : new boolean[]{false, true}) {
+						Assert.assertEquals(toString(tree.matchAllWords(text, limit, density, greed)),
+								toString(matcher.matchAllWords(text, limit, density, greed)));
+					}
+				}
+			}
+			Assert.assertEquals(tree.isMatch(text), matcher.isMatch(text));
+			for (boolean greed : new boolean[]{false, true}) {
+				Assert.assertEquals(filter(text, tree.matchAllWords(text, -1, false, greed)), matcher.filter(text, greed, null));
+			}
+		}
+	}
+
+	@Test
+	public void foundWordOffsetTest() {
+		// 超过2G字符的流中位置不回绕为负数
+		final FoundWord foundWord = new FoundWord("土豆", "土豆", Integer.MAX_VALUE + 1L, Integer.MAX_VALUE + 2L);
+		Assert.assertEquals(Integer.MAX_VALUE + 1L, foundWord.getStartOffset());
+		Assert.assertEquals(Integer.MAX_VALUE + 2L, foundWord.getEndOffset());
+		Assert.assertEquals(-1, foundWord.getStartIndex().intValue());
+		Assert.assertEquals(-1, foundWord.getEndIndex().intValue());
+
+		final FoundWord small = new FoundWord("土豆", "土豆", 1, 2);
+		Assert.assertEquals(1, small.getStartOffset());
+		Assert.assertEquals(2, small.getEndIndex().intValue());
+	}
+
+	// ----------------------------------------------------------------------------------------------------------
+
+	/**
+	 * 构建查找树
+	 *
+	 * @return 查找树
+	 */
+	private WordTree buildWordTree() {
+		WordTree tree = new WordTree();
+		tree.addWord("大");
+		tree.addWord("大土豆");
+		tree.addWord("土豆");
+		tree.addWord("刚出锅");
+		tree.addWord("出锅");
+		return tree;
+	}
+
+	private static String randomString(Random random, String alphabet, int length) {
+		StringBuilder sb = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * 按起始位置替换，同一起始位置取最后（最长）的词
+	 */
+	private static String filter(String text, List<FoundWord> foundWords) {
+		Map<Integer, FoundWord> foundWordMap = new HashMap<>();
+		foundWords.forEach(foundWord -> foundWordMap.put(foundWord.getStartIndex(), foundWord));
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < text.length(); i++) {
+			FoundWord fw = foundWordMap.get(i);
+			if (fw != null) {
+				sb.append(StringUtil.repeat('*', fw.getFoundWord().length()));
+				i = fw.getEndIndex();
+			} else {
+				sb.append(text.charAt(i));
+			}
+		}
+		return sb.toString();
+	}
+
+	private static String toString(List<FoundWord> foundWords) {
+		StringBuilder sb = new StringBuilder();
+		for (FoundWord foundWord : foundWords) {
+			sb.append(foundWord.getWord()).append('|').append(foundWord.getFoundWord()).append('|')
+					.append(foundWord.getStartIndex()).append('-').append(foundWord.getEndIndex()).append(';');
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,74 @@
+package org.miser.dfa;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.miser.core.collection.CollUtil;
+import org.miser.core.io.IORuntimeException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * 紧凑单词树单元测试
+ *
+ * @author Oliver
+ */
+public class CompactWordTreeTest {
+
+	@Test
+	public void freezeTest() {
+		CompactWordTree trie = buildWordTree().freeze();
+		Assert.assertEquals(5, trie.size());
+		// 根节点 + 大土豆 + 土豆 + 刚出锅 + 出锅
+		Assert.assertEquals(11, trie.nodeCount());
+		Assert.assertTrue(trie.contains("大"));
+		Assert.assertTrue(trie.contains("大土豆"));
+		Assert.assertFalse(trie.contains("大土"));
+		Assert.assertFalse(trie.contains("红薯"));
+		Assert.assertFalse(trie.contains(""));
+
+		Assert.assertTrue(new WordTree().freeze().isEmpty());
+	}
+
+	@Test
+	public void writeAndLoadTest() throws IOException {
+		CompactWordTree trie = buildWordTree().freeze();
+		File file = File.createTempFile("words", ".trie");
+		file.deleteOnExit();
+		trie.write(file);
+		Assert.assertEquals(trie.byteSize(), file.length());
+
+		CompactWordTree loaded = CompactWordTree.load(file);
+		Assert.assertEquals(trie.size(), loaded.size());
+		Assert.assertEquals(trie.nodeCount(), loaded.nodeCount());
+		Assert.assertTrue(loaded.contains("刚出锅"));
+
+		String text = "我有一颗$大土^豆，刚出锅的";
+		Assert.assertEquals(CollUtil.newArrayList("大", "大土^豆", "土^豆", "刚出锅", "出锅"),
+				loaded.compile().matchAll(text, -1, true, true));
+	}
+
+	@Test(expected = IORuntimeException.class)
+	public void readInvalidTest() {
+		ByteBuffer buffer = ByteBuffer.allocate(32);
+		buffer.putInt(0x12345678).flip();
+		buffer.limit(32);
+		CompactWordTree.read(buffer);
+	}
+
+	/**
+	 * 构建查找树
+	 *
+	 * @return 查找树
+	 */
+	private WordTree buildWordTree() {
+		WordTree tree = new WordTree();
+		tree.addWord("大");
+		tree.addWord("大土豆");
+		tree.addWord("土豆");
+		tree.addWord("刚出锅");
+		tree.addWord("出锅");
+		return tree;
+	}
+}
@@ -0,0 +1,143 @@
+package org.miser.dfa;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.miser.core.collection.CollUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 敏感词字典单元测试
+ *
+ * @author Oliver
+ */
+public class SensitiveDictionaryTest {
+
+	@Test
+	public void addAndRemoveTest() {
+		SensitiveDictionary dictionary = new SensitiveDictionary();
+		Assert.assertTrue(dictionary.isEmpty());
+		Assert.assertEquals(0, dictionary.getVersion());
+
+		dictionary.reload(CollUtil.newArrayList("大土豆", "刚出锅"));
+		Assert.assertEquals(1, dictionary.getVersion());
+		AhoCorasickMatcher before = dictionary.getMatcher();
+
+		dictionary.addWords("出锅", "土豆");
+		Assert.assertEquals(2, dictionary.getVersion());
+		Assert.assertEquals(4, dictionary.size());
+		Assert.assertEquals(CollUtil.newArrayList("大土豆", "土豆", "刚出锅", "出锅"),
+				dictionary.getMatcher().matchAll("大土豆刚出锅", -1, true, false));
+
+		// 停顿词按过滤规则处理
+		dictionary.removeWords("刚-出锅", "不存在");
+		Assert.assertEquals(3, dictionary.getVersion());
+		Assert.assertEquals(CollUtil.newArrayList("大土豆", "出锅"), dictionary.getMatcher().matchAll("大土豆刚出锅"));
+
+		// 未删除任何词时不发布新版本
+		dictionary.removeWords("不存在");
+		Assert.assertEquals(3, dictionary.getVersion());
+
+		// 旧快照不受影响
+		Assert.assertEquals(CollUtil.newArrayList("大土豆", "刚出锅"), before.matchAll("大土豆刚出锅"));
+	}
+
+	/**
+	 * 增量增删后的匹配结果与整体重新编译一致
+	 */
+	@Test
+	public void incrementalMatchTest() {
+		final SensitiveDictionary dictionary = new SensitiveDictionary();
+		dictionary.reload(CollUtil.newArrayList("大土豆", "土豆", "刚出锅", "出锅", "锅"));
+		dictionary.removeWords("土豆", "锅");
+		dictionary.addWords("豆刚", "大土", "刚出锅的", "出锅");
+		Assert.assertEquals(6, dictionary.size());
+
+		final AhoCorasickMatcher expected = new WordTree().addWords("大土豆", "刚出锅", "出锅", "豆刚", "大土", "刚出锅的").compile();
+		final AhoCorasickMatcher matcher = dictionary.getMatcher();
+		final String text = "我有一颗大土豆，刚出锅的，大-土豆刚 出锅";
+		for (boolean isDensityMatch : new boolean[]{false, true}) {
+			for (boolean isGreedMatch : new boolean[]{false, true}) {
+				Assert.assertEquals(expected.matchAll(text, -1, isDensityMatch, isGreedMatch),
+						matcher.matchAll(text, -1, isDensityMatch, isGreedMatch));
+			}
+			Assert.assertEquals(expected.filter(text, isDensityMatch, null), matcher.filter(text, isDensityMatch, null));
+		}
+		Assert.assertEquals(expected.getTrie().words(), matcher.getTrie().words());
+		Assert.assertFalse(matcher.isMatch("土豆锅"));
+		Assert.assertTrue(matcher.isMatch("豆刚"));
+
+		// 删除后重新加入基础字典中的单词
+		dictionary.addWords("土豆");
+		Assert.assertEquals(CollUtil.newArrayList("大土", "大土豆", "土豆"), dictionary.getMatcher().matchAll("大土豆", -1, true, true));
+	}
+
+	/**
+	 * 逐个增加单词只编译变化的部分，总代价远小于每次整体重建
+	 */
+	@Test
+	public void addOneByOneTest() {
+		final List<String> words = new ArrayList<>();
+		for (int i = 0; i < 100000; i++) {
+			words.add("word" + i);
+		}
+		final SensitiveDictionary dictionary = new SensitiveDictionary();
+		dictionary.reload(words);
+		long start = System.nanoTime();
+		dictionary.reload(words);
+		final long reloadTime = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int i = 0; i < 1000; i++) {
+			dictionary.addWords("added" + i);
+		}
+		final long addTime = System.nanoTime() - start;
+		// 每次整体重建时约为1000倍
+		Assert.assertTrue("reload: " + reloadTime + ", add: " + addTime, addTime < reloadTime * 100);
+		Assert.assertEquals(101000, dictionary.size());
+		Assert.assertTrue(dictionary.getMatcher().isMatch("added999"));
+		Assert.assertFalse(dictionary.getMatcher().isMatch("added"));
+	}
+
+	/**
+	 * 重新加载过程中并发查找不会看到空字典
+	 */
+	@Test
+	public void reloadWhileMatchingTest() throws InterruptedException {
+		final SensitiveDictionary dictionary = new SensitiveDictionary();
+		final List<String> words = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			words.add("word" + i);
+		}
+		words.add("土豆");
+		dictionary.reload(words);
+
+		final AtomicBoolean running = new AtomicBoolean(true);
+		final AtomicInteger misses = new AtomicInteger();
+		final List<Thread> readers = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			Thread reader = new Thread(() -> {
+				while (running.get()) {
+					if (false == dictionary.getMatcher().isMatch("我有一颗土豆")) {
+						misses.incrementAndGet();
+					}
+				}
+			});
+			reader.start();
+			readers.add(reader);
+		}
+		for (int i = 0; i < 20; i++) {
+			dictionary.reload(words);
+			dictionary.addWords("word" + (i + 5000));
+		}
+		running.set(false);
+		for (Thread reader : readers) {
+			reader.join();
+		}
+		Assert.assertEquals(0, misses.get());
+		Assert.assertEquals(41, dictionary.getVersion());
+	}
+}
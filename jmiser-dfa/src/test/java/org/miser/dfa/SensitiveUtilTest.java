@@ -1,10 +1,20 @@
 package org.miser.dfa;
 
 import org.junit.Assert;
+import org.miser.core.collection.CollUtil;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class SensitiveUtilTest {
 
@@ -24,9 +34,82 @@ public class SensitiveUtilTest {
 		Assert.assertEquals(bean.getStr(), "我有一颗$****，***的");
 	}
 
+	@Test
+	public void sensitiveFilterReaderTest() {
+		SensitiveUtil.init(CollUtil.newArrayList("大", "大土豆", "土豆", "刚出锅", "出锅"));
+		StringBuilder text = new StringBuilder();
+		StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < 2000; i++) {
+			text.append("我有一颗$大土^豆，刚出锅的");
+			expected.append("我有一颗$****，***的");
+		}
+
+		// 每次只读取一个字符，保证敏感词跨越读取边界，且文本超过缓冲区大小
+		Reader reader = new StringReader(text.toString()) {
+			@Override
+			public int read(char[] cbuf, int off, int len) throws IOException {
+				return super.read(cbuf, off, Math.min(len, 1));
+			}
+		};
+		StringWriter writer = new StringWriter();
+		SensitiveUtil.sensitiveFilter(reader, writer, true, null);
+		Assert.assertEquals(expected.toString(), writer.toString());
+
+		writer = new StringWriter();
+		SensitiveUtil.sensitiveFilter(new StringReader(text.toString()), writer, true, null);
+		Assert.assertEquals(expected.toString(), writer.toString());
+	}
+
+	@Test
+	public void sensitiveFilterFieldsTest() {
+		SensitiveUtil.init(CollUtil.newArrayList("大", "大土豆", "土豆", "刚出锅", "出锅"));
+		TestBean bean = new TestBean();
+		bean.setStr("我有一颗$大土^豆，刚出锅的");
+		bean.setNum(100);
+		bean.setTags(CollUtil.newArrayList("土豆", "红薯"));
+		TestBean child = new TestBean();
+		child.setStr("出锅");
+		bean.setChild(child);
+
+		Assert.assertSame(bean, SensitiveUtil.sensitiveFilterFields(bean, true, null));
+		Assert.assertEquals("我有一颗$****，***的", bean.getStr());
+		Assert.assertEquals(100, bean.getNum().intValue());
+		Assert.assertEquals(CollUtil.newArrayList("**", "红薯"), bean.getTags());
+		Assert.assertEquals("**", bean.getChild().getStr());
+	}
+
+	@Test
+	public void sensitiveFilterFieldsCollectionTest() {
+		SensitiveUtil.init(CollUtil.newArrayList("大", "大土豆", "土豆", "刚出锅", "出锅"));
+		TestBean bean = new TestBean();
+		bean.setNames(new LinkedHashSet<>(CollUtil.newArrayList("土豆", "红薯", "出锅")));
+		// 不可修改的List中String保持原样，不抛出异常
+		bean.setTags(Collections.unmodifiableList(CollUtil.newArrayList("土豆", "红薯")));
+
+		SensitiveUtil.sensitiveFilterFields(bean, true, null);
+		Assert.assertEquals(new HashSet<>(CollUtil.newArrayList("**", "红薯")), bean.getNames());
+		Assert.assertEquals(CollUtil.newArrayList("土豆", "红薯"), bean.getTags());
+
+		// 不可修改的List中的Bean仍会被处理
+		TestBean child = new TestBean();
+		child.setStr("出锅");
+		final List<Object> list = Collections.unmodifiableList(CollUtil.newArrayList("土豆", child));
+		SensitiveUtil.sensitiveFilterFields(list, true, null);
+		Assert.assertEquals("土豆", list.get(0));
+		Assert.assertEquals("**", child.getStr());
+
+		// 不可修改的Map同样跳过
+		final Map<String, String> map = Collections.singletonMap("key", "土豆");
+		SensitiveUtil.sensitiveFilterFields(map, true, null);
+		Assert.assertEquals("土豆", map.get("key"));
+	}
+
 	public static class TestBean {
 		private String str;
 		private Integer num;
+		private List<String> tags;
+		private Set<String> names;
+		private TestBean child;
 
 		public String getStr() {
 			return str;
@@ -43,6 +126,30 @@ public class SensitiveUtilTest {
 		public void setNum(Integer num) {
 			this.num = num;
 		}
+
+		public List<String> getTags() {
+			return tags;
+		}
+
+		public void setTags(List<String> tags) {
+			this.tags = tags;
+		}
+
+		public Set<String> getNames() {
+			return names;
+		}
+
+		public void setNames(Set<String> names) {
+			this.names = names;
+		}
+
+		public TestBean getChild() {
+			return child;
+		}
+
+		public void setChild(TestBean child) {
+			this.child = child;
+		}
 	}
 
 }
@@ -0,0 +1,608 @@
+package org.miser.http;
+
+import org.miser.core.io.IORuntimeException;
+import org.miser.core.io.IOUtil;
+import org.miser.core.lang.Assert;
+import org.miser.core.thread.ThreadUtil;
+import org.miser.core.util.StringUtil;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.StandardSocketOptions;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 非阻塞HTTP/1.1客户端<br>
+ * 所有连接由一个IO线程通过{@link Selector}读写，同一路由（主机和端口）的连接保持（Keep-Alive）并复用，
+ * 连接数达到上限后请求排队等待空闲连接，可选对GET等安全请求启用管线化（Pipelining）。<br>
+ * 响应体完整读取后在{@link HttpAsyncConfig#getExecutor()}中完成{@link CompletableFuture}，回调不占用IO线程。
+ *
+ * <p>
+ * HTTPS、使用代理或自定义{@link java.net.URLStreamHandler}的请求不支持非阻塞发送，
+ * 这类请求在{@link HttpAsyncConfig#getExecutor()}中使用{@link HttpRequest#execute()}同步执行。
+ *
+ * <pre>
+ * HttpAsyncClient client = new HttpAsyncClient(HttpAsyncConfig.create().setMaxConnectionsPerRoute(16));
+ * HttpRequest.get("http://localhost:8080/test").sendAsync(client).thenAccept(response -&gt; Console.log(response.body()));
+ * </pre>
+ *
+ * @author Oliver
+ */
+public class HttpAsyncClient implements Closeable {
+
+	/**
+	 * 检查超时和空闲连接的间隔，单位毫秒
+	 */
+	private static final long SWEEP_INTERVAL = 100;
+	/**
+	 * 读缓冲区大小
+	 */
+	private static final int READ_BUFFER_SIZE = 16 * 1024;
+
+	private static volatile HttpAsyncClient defaultClient;
+
+	private final HttpAsyncConfig config;
+	private final Selector selector;
+	private final Thread ioThread;
+	/**
+	 * 提交到IO线程执行的任务
+	 */
+	private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+	/**
+	 * 路由和连接池，只在IO线程中访问
+	 */
+	private final Map<String, HttpRoutePool> pools = new HashMap<>();
+	private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+	private long lastSweep;
+	private volatile boolean terminated;
+
+	private final AtomicLong requests = new AtomicLong();
+	private final AtomicLong completed = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+	private final AtomicLong connectionsCreated = new AtomicLong();
+	private final AtomicLong connectionsReused = new AtomicLong();
+	private final AtomicLong connectionsClosed = new AtomicLong();
+	private final AtomicLong pipelined = new AtomicLong();
+
+	/**
+	 * 获取默认的客户端，首次调用时创建，IO线程为守护线程，无需关闭
+	 *
+	 * @return HttpAsyncClient
+	 */
+	public static HttpAsyncClient getDefault() {
+		if (null == defaultClient) {
+			synchronized (HttpAsyncClient.class) {
+				if (null == defaultClient) {
+					defaultClient = new HttpAsyncClient();
+				}
+			}
+		}
+		return defaultClient;
+	}
+
+	/**
+	 * 构造，使用默认配置
+	 */
+	public HttpAsyncClient() {
+		this(HttpAsyncConfig.create());
+	}
+
+	/**
+	 * 构造，创建后即启动IO线程
+	 *
+	 * @param config {@link HttpAsyncConfig}
+	 * @throws IORuntimeException 打开{@link Selector}失败
+	 */
+	public HttpAsyncClient(HttpAsyncConfig config) throws IORuntimeException {
+		this.config = Assert.notNull(config, "HttpAsyncConfig must not be null");
+		try {
+			this.selector = Selector.open();
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		}
+		this.ioThread = ThreadUtil.newNamedThreadFactory("http-async-", true).newThread(this::run);
+		this.ioThread.start();
+	}
+
+	/**
+	 * 执行请求，按{@link HttpRequest#setMaxRedirectCount(int)}跟随重定向
+	 *
+	 * @param request {@link HttpRequest}
+	 * @return 响应的{@link CompletableFuture}
+	 */
+	public CompletableFuture<HttpResponse> execute(HttpRequest request) {
+		Assert.notNull(request, "HttpRequest must not be null");
+		if (false == request.isNonBlockingSupported()) {
+			// 同步执行时已处理重定向
+			this.requests.incrementAndGet();
+			return count(CompletableFuture.supplyAsync(request::execute, this.config.getExecutor()));
+		}
+		return execute(request, request.getMaxRedirectCount());
+	}
+
+	/**
+	 * 获取连接池统计信息快照
+	 *
+	 * @return {@link HttpPoolStats}
+	 */
+	public HttpPoolStats getStats() {
+		final CompletableFuture<Map<String, HttpPoolStats.RouteStats>> routes = new CompletableFuture<>();
+		final Runnable task = () -> {
+			final Map<String, HttpPoolStats.RouteStats> result = new LinkedHashMap<>();
+			if (false == this.terminated) {
+				for (HttpRoutePool pool : this.pools.values()) {
+					result.put(pool.route, pool.stats());
+				}
+			}
+			routes.complete(result);
+		};
+		if (Thread.currentThread() == this.ioThread) {
+			task.run();
+		} else {
+			submit(task);
+		}
+
+		try {
+			return new HttpPoolStats(this.requests.get(), this.completed.get(), this.failed.get(),
+					this.connectionsCreated.get(), this.connectionsReused.get(), this.connectionsClosed.get(),
+					this.pipelined.get(), routes.get());
+		} catch (InterruptedException | ExecutionException e) {
+			throw new HttpException(e);
+		}
+	}
+
+	/**
+	 * 关闭客户端，关闭所有连接，未完成的请求以{@link HttpException}失败
+	 */
+	@Override
+	public void close() {
+		this.terminated = true;
+		this.selector.wakeup();
+	}
+
+	// ---------------------------------------------------------------- Private method start
+
+	/**
+	 * 执行请求，收到重定向响应时修改请求的URL后重新执行
+	 */
+	private CompletableFuture<HttpResponse> execute(HttpRequest request, int redirects) {
+		return executeOnce(request).thenCompose(response -> {
+			final String location = response.header(Header.LOCATION);
+			if (redirects > 0 && HttpStatus.isRedirected(response.getStatus()) && StringUtil.isNotBlank(location)) {
+				try {
+					// 相对地址按当前地址补全
+					request.setUrl(new URL(new URL(request.getUrl()), location).toString());
+				} catch (MalformedURLException e) {
+					throw new HttpException(e);
+				}
+				if (false == request.isNonBlockingSupported()) {
+					// 重定向到https等地址时改为同步执行，同步执行只跟随剩余次数的重定向
+					request.setRedirectCount(request.getMaxRedirectCount() - redirects + 1);
+					this.requests.incrementAndGet();
+					return count(CompletableFuture.supplyAsync(request::execute, this.config.getExecutor()));
+				}
+				return execute(request, redirects - 1);
+			}
+			return CompletableFuture.completedFuture(response);
+		});
+	}
+
+	/**
+	 * 提交一次请求到IO线程
+	 */
+	private CompletableFuture<HttpResponse> executeOnce(HttpRequest request) {
+		this.requests.incrementAndGet();
+		final HttpAsyncExchange exchange;
+		try {
+			exchange = request.createAsyncExchange();
+		} catch (RuntimeException e) {
+			this.failed.incrementAndGet();
+			final CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+			future.completeExceptionally(e);
+			return future;
+		}
+		count(exchange.future);
+		exchange.resolve(this.config.getExecutor(), () -> submit(() -> dispatch(exchange)));
+		return exchange.future;
+	}
+
+	/**
+	 * 请求完成时计数
+	 */
+	private CompletableFuture<HttpResponse> count(CompletableFuture<HttpResponse> future) {
+		future.whenComplete((response, e) -> (null == e ? this.completed : this.failed).incrementAndGet());
+		return future;
+	}
+
+	/**
+	 * 提交任务到IO线程<br>
+	 * 客户端已关闭时在当前线程执行，此时任务中不可访问连接池
+	 */
+	private void submit(Runnable task) {
+		this.tasks.add(task);
+		this.selector.wakeup();
+		if (this.terminated) {
+			// IO线程可能已退出
+			runTasks();
+		}
+	}
+
+	private void runTasks() {
+		Runnable task;
+		while (null != (task = this.tasks.poll())) {
+			task.run();
+		}
+	}
+
+	/**
+	 * IO线程主循环
+	 */
+	private void run() {
+		try {
+			while (false == this.terminated) {
+				runTasks();
+				if (this.terminated) {
+					break;
+				}
+				if (this.pools.isEmpty()) {
+					this.selector.select();
+				} else {
+					this.selector.select(SWEEP_INTERVAL);
+				}
+				processSelectedKeys();
+
+				final long now = System.currentTimeMillis();
+				if (now - this.lastSweep >= SWEEP_INTERVAL) {
+					this.lastSweep = now;
+					sweep(now);
+				}
+			}
+		} catch (Throwable e) {
+			this.terminated = true;
+		} finally {
+			shutdown();
+		}
+	}
+
+	private void processSelectedKeys() {
+		final Iterator<SelectionKey> iterator = this.selector.selectedKeys().iterator();
+		while (iterator.hasNext()) {
+			final SelectionKey key = iterator.next();
+			iterator.remove();
+			final HttpAsyncConnection connection = (HttpAsyncConnection) key.attachment();
+			try {
+				if (key.isValid() && key.isConnectable()) {
+					onConnectable(connection);
+				}
+				if (key.isValid() && key.isWritable()) {
+					flush(connection);
+				}
+				if (key.isValid() && key.isReadable()) {
+					onReadable(connection);
+				}
+			} catch (IOException e) {
+				// 复用的连接可能已被服务端关闭，此时安全请求重新发送
+				closeConnection(connection, new HttpException(e), true);
+			} catch (RuntimeException e) {
+				closeConnection(connection, e, false);
+			}
+		}
+	}
+
+	/**
+	 * 将请求加入路由的等待队列，超出等待上限时请求失败
+	 */
+	private void dispatch(HttpAsyncExchange exchange) {
+		if (this.terminated) {
+			exchange.fail(this.config.getExecutor(), new HttpException("HttpAsyncClient closed"));
+			return;
+		}
+		final HttpRoutePool pool = this.pools.computeIfAbsent(exchange.route, HttpRoutePool::new);
+		pool.pending.add(exchange);
+		drain(pool);
+		if (pool.pending.size() > this.config.getMaxPendingPerRoute()) {
+			pool.pending.pollLast().fail(this.config.getExecutor(),
+					new HttpException("Too many pending requests for {}, max: {}", pool.route, this.config.getMaxPendingPerRoute()));
+		}
+	}
+
+	/**
+	 * 按顺序为等待中的请求分配连接：优先使用空闲连接，其次新建连接，最后管线化发送到已有连接
+	 */
+	private void drain(HttpRoutePool pool) {
+		while (false == pool.pending.isEmpty()) {
+			final HttpAsyncExchange exchange = pool.pending.peek();
+			if (exchange.future.isDone()) {
+				// 已被调用方取消
+				pool.pending.poll();
+				continue;
+			}
+
+			HttpAsyncConnection connection = pool.idle.poll();
+			if (null != connection) {
+				pool.pending.poll();
+				pool.active.add(connection);
+				this.connectionsReused.incrementAndGet();
+				send(connection, exchange);
+				continue;
+			}
+
+			if (pool.size() < this.config.getMaxConnectionsPerRoute()) {
+				pool.pending.poll();
+				connect(pool, exchange);
+				continue;
+			}
+
+			final int depth = this.config.getPipelineDepth();
+			if (exchange.safe && depth > 1) {
+				connection = null;
+				for (HttpAsyncConnection candidate : pool.active) {
+					if (candidate.canPipeline(depth) && (null == connection || candidate.inflight.size() < connection.inflight.size())) {
+						connection = candidate;
+					}
+				}
+				if (null != connection) {
+					pool.pending.poll();
+					this.connectionsReused.incrementAndGet();
+					this.pipelined.incrementAndGet();
+					send(connection, exchange);
+					continue;
+				}
+			}
+			break;
+		}
+	}
+
+	/**
+	 * 新建连接并发送请求
+	 */
+	private void connect(HttpRoutePool pool, HttpAsyncExchange exchange) {
+		final HttpAsyncConnection connection;
+		SocketChannel channel = null;
+		try {
+			channel = SocketChannel.open();
+			channel.configureBlocking(false);
+			channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+			connection = new HttpAsyncConnection(pool, channel, System.currentTimeMillis(), exchange.connectTimeout);
+			connection.connected = channel.connect(exchange.address);
+			connection.key = channel.register(this.selector, SelectionKey.OP_CONNECT, connection);
+		} catch (IOException | RuntimeException e) {
+			IOUtil.close(channel);
+			exchange.fail(this.config.getExecutor(), (e instanceof HttpException) ? e : new HttpException(e));
+			return;
+		}
+		this.connectionsCreated.incrementAndGet();
+		pool.active.add(connection);
+		send(connection, exchange);
+	}
+
+	/**
+	 * 在连接上发送请求，连接未建立时在建立后发送
+	 */
+	private void send(HttpAsyncConnection connection, HttpAsyncExchange exchange) {
+		connection.inflight.add(exchange);
+		connection.writes.add(exchange.newData());
+		if (connection.inflight.size() == 1) {
+			// 读取超时从发送时开始计算，不包括连接空闲的时间
+			connection.lastActive = System.currentTimeMillis();
+		}
+		try {
+			flush(connection);
+		} catch (IOException e) {
+			closeConnection(connection, new HttpException(e), true);
+		}
+	}
+
+	private void onConnectable(HttpAsyncConnection connection) throws IOException {
+		try {
+			connection.channel.finishConnect();
+		} catch (IOException e) {
+			// 连接失败不重试
+			closeConnection(connection, new HttpException(e), false);
+			return;
+		}
+		connection.connected = true;
+		connection.lastActive = System.currentTimeMillis();
+		flush(connection);
+	}
+
+	/**
+	 * 写出待发送的数据，直到全部写出或Socket缓冲区已满
+	 */
+	private void flush(HttpAsyncConnection connection) throws IOException {
+		if (false == connection.connected || connection.closed) {
+			return;
+		}
+		while (false == connection.writes.isEmpty()) {
+			final ByteBuffer buffer = connection.writes.peek();
+			connection.channel.write(buffer);
+			if (buffer.hasRemaining()) {
+				break;
+			}
+			connection.writes.poll();
+		}
+		connection.key.interestOps(connection.writes.isEmpty()
+				? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+	}
+
+	private void onReadable(HttpAsyncConnection connection) throws IOException {
+		final ByteBuffer buffer = this.readBuffer;
+		buffer.clear();
+		final int read = connection.channel.read(buffer);
+		if (read < 0) {
+			onEndOfStream(connection);
+			return;
+		}
+		connection.lastActive = System.currentTimeMillis();
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			final HttpAsyncExchange head = connection.inflight.peek();
+			if (null == head) {
+				closeConnection(connection, new HttpException("Unexpected data on idle connection"), false);
+				return;
+			}
+			if (false == connection.parser.parse(buffer, head.ignoreBody)) {
+				break;
+			}
+			if (false == onResponse(connection)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * 服务端关闭连接，响应体读取到连接关闭的响应此时完成
+	 */
+	private void onEndOfStream(HttpAsyncConnection connection) {
+		final HttpResponseParser parser = connection.parser;
+		if (parser.isStarted() && parser.finish()) {
+			final HttpAsyncExchange head = connection.inflight.poll();
+			head.complete(this.config.getExecutor(), parser.getStatus(), parser.getHeaders(), parser.getBody());
+			connection.served++;
+			parser.reset();
+		}
+		closeConnection(connection, new HttpException("Connection closed by server"), true);
+	}
+
+	/**
+	 * 完成当前响应对应的请求
+	 *
+	 * @return 连接是否仍可用
+	 */
+	private boolean onResponse(HttpAsyncConnection connection) {
+		final HttpResponseParser parser = connection.parser;
+		final HttpAsyncExchange head = connection.inflight.poll();
+		head.complete(this.config.getExecutor(), parser.getStatus(), parser.getHeaders(), parser.getBody());
+		connection.served++;
+		final boolean keepAlive = parser.isKeepAlive();
+		parser.reset();
+
+		if (false == keepAlive) {
+			closeConnection(connection, new HttpException("Connection closed by server"), true);
+			return false;
+		}
+		if (connection.inflight.isEmpty()) {
+			// 归还到空闲连接
+			connection.lastActive = System.currentTimeMillis();
+			connection.pool.active.remove(connection);
+			connection.pool.idle.push(connection);
+			drain(connection.pool);
+		}
+		return true;
+	}
+
+	/**
+	 * 关闭连接<br>
+	 * 管线化排在后面的请求没有收到任何响应，重新进入等待队列；
+	 * 当前请求只在复用的连接上未收到任何数据时（服务端已关闭空闲连接）重新发送一次，且只重发安全请求，其余情况失败。
+	 *
+	 * @param connection 连接
+	 * @param cause      失败原因
+	 * @param retry      是否可以重新发送当前请求
+	 */
+	private void closeConnection(HttpAsyncConnection connection, Throwable cause, boolean retry) {
+		if (connection.closed) {
+			return;
+		}
+		connection.closed = true;
+		IOUtil.close(connection.channel);
+		this.connectionsClosed.incrementAndGet();
+
+		final HttpRoutePool pool = connection.pool;
+		pool.idle.remove(connection);
+		pool.active.remove(connection);
+
+		final List<HttpAsyncExchange> requeue = new ArrayList<>(connection.inflight.size());
+		boolean head = true;
+		for (HttpAsyncExchange exchange : connection.inflight) {
+			final boolean canRetry = false == head || (retry && connection.served > 0 && false == connection.parser.isStarted());
+			if (canRetry && exchange.safe && false == exchange.retried && false == this.terminated) {
+				exchange.retried = true;
+				requeue.add(exchange);
+			} else {
+				exchange.fail(this.config.getExecutor(), cause);
+			}
+			head = false;
+		}
+		connection.inflight.clear();
+		connection.writes.clear();
+
+		for (int i = requeue.size() - 1; i >= 0; i--) {
+			pool.pending.addFirst(requeue.get(i));
+		}
+		if (false == this.terminated) {
+			drain(pool);
+		}
+	}
+
+	/**
+	 * 关闭超时的空闲连接，检查连接和读取超时
+	 */
+	private void sweep(long now) {
+		final Iterator<HttpRoutePool> iterator = this.pools.values().iterator();
+		while (iterator.hasNext()) {
+			final HttpRoutePool pool = iterator.next();
+			for (HttpAsyncConnection connection : new ArrayList<>(pool.idle)) {
+				if (now - connection.lastActive > this.config.getKeepAliveTimeout()) {
+					closeConnection(connection, new HttpException("Keep-alive timed out"), false);
+				}
+			}
+			for (HttpAsyncConnection connection : new ArrayList<>(pool.active)) {
+				if (false == connection.connected) {
+					if (connection.connectTimeout > 0 && now - connection.createTime > connection.connectTimeout) {
+						closeConnection(connection, new HttpException("Connect timed out: {}", pool.route), false);
+					}
+					continue;
+				}
+				final HttpAsyncExchange head = connection.inflight.peek();
+				if (null != head && head.readTimeout > 0 && now - connection.lastActive > head.readTimeout) {
+					closeConnection(connection, new HttpException("Read timed out: {}", head.url), false);
+				}
+			}
+			if (0 == pool.size() && pool.pending.isEmpty()) {
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * IO线程退出时关闭所有连接，未完成的请求失败
+	 */
+	private void shutdown() {
+		this.terminated = true;
+		final HttpException cause = new HttpException("HttpAsyncClient closed");
+		for (HttpRoutePool pool : this.pools.values()) {
+			for (HttpAsyncConnection connection : new ArrayList<>(pool.idle)) {
+				closeConnection(connection, cause, false);
+			}
+			for (HttpAsyncConnection connection : new ArrayList<>(pool.active)) {
+				closeConnection(connection, cause, false);
+			}
+			HttpAsyncExchange exchange;
+			while (null != (exchange = pool.pending.poll())) {
+				exchange.fail(this.config.getExecutor(), cause);
+			}
+		}
+		this.pools.clear();
+		// 关闭前提交的任务
+		runTasks();
+		IOUtil.close(this.selector);
+	}
+	// ---------------------------------------------------------------- Private method end
+}
@@ -0,0 +1,150 @@
+package org.miser.http;
+
+import org.miser.core.lang.Assert;
+import org.miser.core.thread.GlobalThreadPool;
+
+import java.util.concurrent.Executor;
+
+/**
+ * {@link HttpAsyncClient}配置
+ *
+ * @author Oliver
+ */
+public class HttpAsyncConfig {
+
+	/**
+	 * 每个路由（主机和端口）的最大连接数
+	 */
+	private int maxConnectionsPerRoute = 8;
+	/**
+	 * 每个路由等待连接的最大请求数，超出时请求直接失败
+	 */
+	private int maxPendingPerRoute = 10000;
+	/**
+	 * 每个连接上已发送未响应的最大请求数，大于1时启用管线化（Pipelining）
+	 */
+	private int pipelineDepth = 1;
+	/**
+	 * 空闲连接保持时长，单位毫秒
+	 */
+	private long keepAliveTimeout = 60_000;
+	/**
+	 * 执行回调和不支持非阻塞发送的请求的线程池
+	 */
+	private Executor executor = GlobalThreadPool.getExecutor();
+
+	/**
+	 * 创建默认配置
+	 *
+	 * @return HttpAsyncConfig
+	 */
+	public static HttpAsyncConfig create() {
+		return new HttpAsyncConfig();
+	}
+
+	/**
+	 * 获取每个路由的最大连接数
+	 *
+	 * @return 每个路由的最大连接数
+	 */
+	public int getMaxConnectionsPerRoute() {
+		return this.maxConnectionsPerRoute;
+	}
+
+	/**
+	 * 设置每个路由（主机和端口）的最大连接数，默认8，连接都在使用时请求进入队列等待
+	 *
+	 * @param maxConnectionsPerRoute 每个路由的最大连接数
+	 * @return this
+	 */
+	public HttpAsyncConfig setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+		Assert.isTrue(maxConnectionsPerRoute > 0, "Max connections per route must be positive: {}", maxConnectionsPerRoute);
+		this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+		return this;
+	}
+
+	/**
+	 * 获取每个路由等待连接的最大请求数
+	 *
+	 * @return 每个路由等待连接的最大请求数
+	 */
+	public int getMaxPendingPerRoute() {
+		return this.maxPendingPerRoute;
+	}
+
+	/**
+	 * 设置每个路由等待连接的最大请求数，默认10000，超出时请求以{@link HttpException}失败
+	 *
+	 * @param maxPendingPerRoute 每个路由等待连接的最大请求数
+	 * @return this
+	 */
+	public HttpAsyncConfig setMaxPendingPerRoute(int maxPendingPerRoute) {
+		Assert.isTrue(maxPendingPerRoute >= 0, "Max pending per route must not be negative: {}", maxPendingPerRoute);
+		this.maxPendingPerRoute = maxPendingPerRoute;
+		return this;
+	}
+
+	/**
+	 * 获取每个连接上已发送未响应的最大请求数
+	 *
+	 * @return 每个连接上已发送未响应的最大请求数
+	 */
+	public int getPipelineDepth() {
+		return this.pipelineDepth;
+	}
+
+	/**
+	 * 设置每个连接上已发送未响应的最大请求数，默认1<br>
+	 * 大于1时，连接数达到上限后GET、HEAD等安全请求直接发送到已有连接上排队，不等待前一个响应，响应按发送顺序返回。
+	 * 连接被服务器关闭时，尚未响应的请求重新进入队列。
+	 *
+	 * @param pipelineDepth 每个连接上已发送未响应的最大请求数
+	 * @return this
+	 */
+	public HttpAsyncConfig setPipelineDepth(int pipelineDepth) {
+		Assert.isTrue(pipelineDepth > 0, "Pipeline depth must be positive: {}", pipelineDepth);
+		this.pipelineDepth = pipelineDepth;
+		return this;
+	}
+
+	/**
+	 * 获取空闲连接保持时长，单位毫秒
+	 *
+	 * @return 空闲连接保持时长
+	 */
+	public long getKeepAliveTimeout() {
+		return this.keepAliveTimeout;
+	}
+
+	/**
+	 * 设置空闲连接保持时长，单位毫秒，默认60秒，超时的空闲连接被关闭
+	 *
+	 * @param keepAliveTimeout 空闲连接保持时长
+	 * @return this
+	 */
+	public HttpAsyncConfig setKeepAliveTimeout(long keepAliveTimeout) {
+		this.keepAliveTimeout = keepAliveTimeout;
+		return this;
+	}
+
+	/**
+	 * 获取执行回调的线程池
+	 *
+	 * @return {@link Executor}
+	 */
+	public Executor getExecutor() {
+		return this.executor;
+	}
+
+	/**
+	 * 设置执行回调的线程池，默认{@link GlobalThreadPool}<br>
+	 * 响应在此线程池中解压并完成{@link java.util.concurrent.CompletableFuture}，不支持非阻塞发送的请求（HTTPS、代理等）也在此线程池中同步执行
+	 *
+	 * @param executor {@link Executor}
+	 * @return this
+	 */
+	public HttpAsyncConfig setExecutor(Executor executor) {
+		this.executor = Assert.notNull(executor, "Executor must not be null");
+		return this;
+	}
+}
@@ -0,0 +1,72 @@
+package org.miser.http;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * {@link HttpAsyncClient}中的一个HTTP/1.1连接，只在IO线程中访问
+ *
+ * @author Oliver
+ */
+final class HttpAsyncConnection {
+
+	final HttpRoutePool pool;
+	final SocketChannel channel;
+	SelectionKey key;
+	/**
+	 * 已发送（或等待发送）未响应的请求，响应按顺序对应
+	 */
+	final Deque<HttpAsyncExchange> inflight = new ArrayDeque<>();
+	/**
+	 * 待写出的数据
+	 */
+	final Deque<ByteBuffer> writes = new ArrayDeque<>();
+	final HttpResponseParser parser = new HttpResponseParser();
+	/**
+	 * 是否已建立连接
+	 */
+	boolean connected;
+	final long createTime;
+	/**
+	 * 连接超时，小于等于0表示不超时
+	 */
+	final int connectTimeout;
+	/**
+	 * 最后一次读写的时间，空闲连接为进入空闲的时间
+	 */
+	long lastActive;
+	/**
+	 * 已完成的响应数
+	 */
+	int served;
+	boolean closed;
+
+	HttpAsyncConnection(HttpRoutePool pool, SocketChannel channel, long now, int connectTimeout) {
+		this.pool = pool;
+		this.channel = channel;
+		this.createTime = now;
+		this.connectTimeout = connectTimeout;
+		this.lastActive = now;
+	}
+
+	/**
+	 * 是否可以在此连接上继续管线化发送请求
+	 *
+	 * @param depth 管线深度
+	 * @return 是否可以发送
+	 */
+	boolean canPipeline(int depth) {
+		if (false == this.connected || this.closed || this.inflight.size() >= depth) {
+			return false;
+		}
+		for (HttpAsyncExchange exchange : this.inflight) {
+			if (false == exchange.safe) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
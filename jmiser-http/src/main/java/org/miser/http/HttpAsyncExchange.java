@@ -0,0 +1,196 @@
+package org.miser.http;
+
+import org.miser.core.io.FastByteArrayOutputStream;
+import org.miser.core.util.CharsetUtil;
+import org.miser.core.util.StringUtil;
+
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * {@link HttpAsyncClient}中的一次请求和响应<br>
+ * 请求在创建时序列化为字节，可在连接失效后重新发送。
+ *
+ * @author Oliver
+ */
+final class HttpAsyncExchange {
+
+	final URL url;
+	/**
+	 * 路由，即“主机:端口”，同一路由的请求共用连接池
+	 */
+	final String route;
+	private final int port;
+	/**
+	 * 解析后的地址，在线程池中解析完成后才加入连接池的等待队列
+	 */
+	InetSocketAddress address;
+	/**
+	 * 是否忽略响应体，仅用于HEAD请求，其它请求按响应头确定响应体长度
+	 */
+	final boolean ignoreBody;
+	/**
+	 * 是否为安全请求（GET、HEAD、OPTIONS、TRACE），安全请求可以管线化发送，在复用的连接失效时可以重新发送
+	 */
+	final boolean safe;
+	final int connectTimeout;
+	final int readTimeout;
+	final Charset charset;
+	/**
+	 * 序列化后的请求头和请求体
+	 */
+	private final ByteBuffer data;
+	final CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+	/**
+	 * 是否已因连接失效重新发送过
+	 */
+	boolean retried;
+
+	/**
+	 * 构造
+	 *
+	 * @param url            URL，只支持http
+	 * @param method         请求方法
+	 * @param headers        请求头
+	 * @param body           请求体，无请求体为{@code null}
+	 * @param connectTimeout 连接超时，小于等于0表示不超时
+	 * @param readTimeout    读取超时，即等待服务端数据的最长时间，小于等于0表示不超时
+	 * @param charset        编码，响应中无编码时使用
+	 * @param ignoreBody     是否忽略响应体，仅HEAD请求为{@code true}
+	 * @throws HttpException 非http协议
+	 */
+	HttpAsyncExchange(URL url, Method method, Map<String, List<String>> headers, byte[] body,
+					  int connectTimeout, int readTimeout, Charset charset, boolean ignoreBody) throws HttpException {
+		if (false == "http".equalsIgnoreCase(url.getProtocol())) {
+			throw new HttpException("Unsupported protocol: {}", url);
+		}
+		this.url = url;
+		this.port = (url.getPort() < 0) ? url.getDefaultPort() : url.getPort();
+		this.route = url.getHost() + ":" + this.port;
+		this.ignoreBody = ignoreBody;
+		this.safe = Method.GET == method || Method.HEAD == method || Method.OPTIONS == method || Method.TRACE == method;
+		this.connectTimeout = connectTimeout;
+		this.readTimeout = readTimeout;
+		this.charset = charset;
+		this.data = ByteBuffer.wrap(encode(url, method, headers, body));
+	}
+
+	/**
+	 * 获取待发送的请求数据，每次发送使用独立的读取位置
+	 *
+	 * @return 请求数据
+	 */
+	ByteBuffer newData() {
+		return this.data.duplicate();
+	}
+
+	/**
+	 * 在线程池中解析主机地址，DNS查询不占用调用方线程和IO线程，解析成功后执行后续操作，失败时请求以异常完成
+	 *
+	 * @param executor 线程池
+	 * @param then     解析成功后执行的操作
+	 */
+	void resolve(Executor executor, Runnable then) {
+		execute(executor, () -> {
+			final InetSocketAddress address = new InetSocketAddress(this.url.getHost(), this.port);
+			if (address.isUnresolved()) {
+				this.future.completeExceptionally(new HttpException("Unknown host: {}", this.url.getHost()));
+				return;
+			}
+			this.address = address;
+			then.run();
+		});
+	}
+
+	/**
+	 * 在线程池中创建{@link HttpResponse}并完成请求，响应体的解压和Cookie的存储不占用IO线程
+	 *
+	 * @param executor 线程池
+	 * @param status   状态码
+	 * @param headers  响应头
+	 * @param body     响应体
+	 */
+	void complete(Executor executor, int status, Map<String, List<String>> headers, byte[] body) {
+		execute(executor, () -> {
+			try {
+				this.future.complete(new HttpResponse(this.url, status, headers, body, this.charset));
+			} catch (Throwable e) {
+				this.future.completeExceptionally(e);
+			}
+		});
+	}
+
+	/**
+	 * 在线程池中以异常完成请求
+	 *
+	 * @param executor 线程池
+	 * @param cause    异常
+	 */
+	void fail(Executor executor, Throwable cause) {
+		execute(executor, () -> this.future.completeExceptionally(cause));
+	}
+
+	/**
+	 * 在线程池中执行，线程池拒绝时在当前线程执行
+	 */
+	private static void execute(Executor executor, Runnable task) {
+		try {
+			executor.execute(task);
+		} catch (RejectedExecutionException e) {
+			task.run();
+		}
+	}
+
+	/**
+	 * 序列化HTTP/1.1请求，Content-Length按请求体重新计算
+	 *
+	 * @return 请求字节
+	 */
+	private static byte[] encode(URL url, Method method, Map<String, List<String>> headers, byte[] body) {
+		final StringBuilder head = StringUtil.builder();
+		final String file = url.getFile();
+		head.append(method.name()).append(' ').append(StringUtil.isEmpty(file) ? "/" : file).append(' ').append(HttpBase.HTTP_1_1).append(StringUtil.CRLF);
+		boolean hasHost = false;
+		for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+			final String name = entry.getKey();
+			if (null == name || null == entry.getValue()
+					|| Header.CONTENT_LENGTH.toString().equalsIgnoreCase(name)
+					|| Header.TRANSFER_ENCODING.toString().equalsIgnoreCase(name)) {
+				continue;
+			}
+			if (Header.HOST.toString().equalsIgnoreCase(name)) {
+				hasHost = true;
+			}
+			for (String value : entry.getValue()) {
+				head.append(name).append(": ").append(value).append(StringUtil.CRLF);
+			}
+		}
+		if (false == hasHost) {
+			head.append(Header.HOST).append(": ").append(url.getHost());
+			if (url.getPort() >= 0 && url.getPort() != url.getDefaultPort()) {
+				head.append(':').append(url.getPort());
+			}
+			head.append(StringUtil.CRLF);
+		}
+		if (null != body) {
+			head.append(Header.CONTENT_LENGTH).append(": ").append(body.length).append(StringUtil.CRLF);
+		}
+		head.append(StringUtil.CRLF);
+
+		final byte[] headBytes = StringUtil.bytes(head, CharsetUtil.CHARSET_UTF_8);
+		if (null == body || 0 == body.length) {
+			return headBytes;
+		}
+		final FastByteArrayOutputStream out = new FastByteArrayOutputStream(headBytes.length + body.length);
+		out.write(headBytes, 0, headBytes.length);
+		out.write(body, 0, body.length);
+		return out.toByteArray();
+	}
+}
@@ -0,0 +1,182 @@
+package org.miser.http;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * {@link HttpAsyncClient}连接池统计信息快照
+ *
+ * @author Oliver
+ */
+public class HttpPoolStats {
+
+	private final long requests;
+	private final long completed;
+	private final long failed;
+	private final long connectionsCreated;
+	private final long connectionsReused;
+	private final long connectionsClosed;
+	private final long pipelined;
+	private final Map<String, RouteStats> routes;
+
+	HttpPoolStats(long requests, long completed, long failed, long connectionsCreated, long connectionsReused,
+				  long connectionsClosed, long pipelined, Map<String, RouteStats> routes) {
+		this.requests = requests;
+		this.completed = completed;
+		this.failed = failed;
+		this.connectionsCreated = connectionsCreated;
+		this.connectionsReused = connectionsReused;
+		this.connectionsClosed = connectionsClosed;
+		this.pipelined = pipelined;
+		this.routes = Collections.unmodifiableMap(routes);
+	}
+
+	/**
+	 * 提交的请求总数
+	 *
+	 * @return 请求总数
+	 */
+	public long getRequests() {
+		return this.requests;
+	}
+
+	/**
+	 * 收到响应的请求数
+	 *
+	 * @return 收到响应的请求数
+	 */
+	public long getCompleted() {
+		return this.completed;
+	}
+
+	/**
+	 * 失败的请求数，包括超时、连接失败和队列已满
+	 *
+	 * @return 失败的请求数
+	 */
+	public long getFailed() {
+		return this.failed;
+	}
+
+	/**
+	 * 创建的连接数
+	 *
+	 * @return 创建的连接数
+	 */
+	public long getConnectionsCreated() {
+		return this.connectionsCreated;
+	}
+
+	/**
+	 * 在已有连接上发送的请求数
+	 *
+	 * @return 复用连接的请求数
+	 */
+	public long getConnectionsReused() {
+		return this.connectionsReused;
+	}
+
+	/**
+	 * 关闭的连接数
+	 *
+	 * @return 关闭的连接数
+	 */
+	public long getConnectionsClosed() {
+		return this.connectionsClosed;
+	}
+
+	/**
+	 * 管线化发送（前一个响应未返回时发送）的请求数
+	 *
+	 * @return 管线化发送的请求数
+	 */
+	public long getPipelined() {
+		return this.pipelined;
+	}
+
+	/**
+	 * 各路由的统计信息，键为“主机:端口”
+	 *
+	 * @return 各路由的统计信息
+	 */
+	public Map<String, RouteStats> getRoutes() {
+		return this.routes;
+	}
+
+	@Override
+	public String toString() {
+		return "HttpPoolStats{" +
+				"requests=" + requests +
+				", completed=" + completed +
+				", failed=" + failed +
+				", connectionsCreated=" + connectionsCreated +
+				", connectionsReused=" + connectionsReused +
+				", connectionsClosed=" + connectionsClosed +
+				", pipelined=" + pipelined +
+				", routes=" + routes +
+				'}';
+	}
+
+	/**
+	 * 单个路由的统计信息
+	 */
+	public static class RouteStats {
+		private final int leased;
+		private final int idle;
+		private final int connecting;
+		private final int pending;
+
+		RouteStats(int leased, int idle, int connecting, int pending) {
+			this.leased = leased;
+			this.idle = idle;
+			this.connecting = connecting;
+			this.pending = pending;
+		}
+
+		/**
+		 * 使用中的连接数
+		 *
+		 * @return 使用中的连接数
+		 */
+		public int getLeased() {
+			return this.leased;
+		}
+
+		/**
+		 * 空闲连接数
+		 *
+		 * @return 空闲连接数
+		 */
+		public int getIdle() {
+			return this.idle;
+		}
+
+		/**
+		 * 正在建立的连接数
+		 *
+		 * @return 正在建立的连接数
+		 */
+		public int getConnecting() {
+			return this.connecting;
+		}
+
+		/**
+		 * 等待连接的请求数
+		 *
+		 * @return 等待连接的请求数
+		 */
+		public int getPending() {
+			return this.pending;
+		}
+
+		@Override
+		public String toString() {
+			return "RouteStats{" +
+					"leased=" + leased +
+					", idle=" + idle +
+					", connecting=" + connecting +
+					", pending=" + pending +
+					'}';
+		}
+	}
+}
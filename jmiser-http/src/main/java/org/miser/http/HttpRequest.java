@@ -8,17 +8,22 @@ import java.net.HttpCookie;
 import java.net.HttpURLConnection;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
+import java.net.URL;
 import java.net.URLStreamHandler;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLSocketFactory;
 
 import org.miser.core.collection.CollUtil;
 import org.miser.core.convert.Convert;
+import org.miser.core.io.FastByteArrayOutputStream;
 import org.miser.core.io.IORuntimeException;
 import org.miser.core.io.IOUtil;
 import org.miser.core.io.resource.BytesResource;
@@ -941,12 +946,38 @@ public class HttpRequest extends HttpBase<HttpRequest> {
 	 * 一般执行完execute之后会把响应内容全部读出来放在一个
 	 * byte数组里，如果你响应的内容太多内存就爆了，此法是发送完请求不直接读响应内容，等有需要的时候读。
 	 *
+	 * <p>
+	 * 此方法仍会阻塞当前线程直到收到响应头，不阻塞线程的请求见{@link #sendAsync()}
+	 *
 	 * @return 异步对象，使用get方法获取HttpResponse对象
 	 */
 	public HttpResponse executeAsync() {
 		return this.execute(true);
 	}
 
+	/**
+	 * 使用默认的{@link HttpAsyncClient}发送请求，不阻塞当前线程<br>
+	 * 响应体读取完毕后完成返回的{@link CompletableFuture}，请求失败时以{@link HttpException}异常完成
+	 *
+	 * @return 响应的{@link CompletableFuture}
+	 * @see HttpAsyncClient#getDefault()
+	 */
+	public CompletableFuture<HttpResponse> sendAsync() {
+		return sendAsync(HttpAsyncClient.getDefault());
+	}
+
+	/**
+	 * 使用指定的{@link HttpAsyncClient}发送请求，不阻塞当前线程<br>
+	 * 响应体读取完毕后完成返回的{@link CompletableFuture}，请求失败时以{@link HttpException}异常完成
+	 *
+	 * @param client {@link HttpAsyncClient}
+	 * @return 响应的{@link CompletableFuture}
+	 */
+	public CompletableFuture<HttpResponse> sendAsync(HttpAsyncClient client) {
+		Assert.notNull(client, "HttpAsyncClient must not be null");
+		return client.execute(this);
+	}
+
 	/**
 	 * 执行Reuqest请求
 	 *
@@ -1063,8 +1094,8 @@ public class HttpRequest extends HttpBase<HttpRequest> {
 				.setReadTimeout(this.readTimeout)//
 				.setMethod(this.method)//
 				.setHttpsInfo(this.hostnameVerifier, this.ssf)//
-				// 定义转发
-				.setInstanceFollowRedirects(this.maxRedirectCount > 0)
+				// 定义转发，重定向次数用完后不再跳转
+				.setInstanceFollowRedirects(this.redirectCount < this.maxRedirectCount)
 				// 流方式上传数据
 				.setChunkedStreamingMode(this.blockSize)
 				// 覆盖默认Header
@@ -1084,6 +1115,78 @@ public class HttpRequest extends HttpBase<HttpRequest> {
 		}
 	}
 
+	/**
+	 * 是否可以由{@link HttpAsyncClient}非阻塞发送，HTTPS、代理和自定义{@link URLStreamHandler}的请求不支持
+	 *
+	 * @return 是否可以非阻塞发送
+	 */
+	boolean isNonBlockingSupported() {
+		return null == this.proxy && null == this.urlHandler && "http".equalsIgnoreCase(this.url.getScheme());
+	}
+
+	/**
+	 * 获取最大重定向次数
+	 *
+	 * @return 最大重定向次数
+	 */
+	int getMaxRedirectCount() {
+		return this.maxRedirectCount;
+	}
+
+	/**
+	 * 设置已跟随的重定向次数，{@link HttpAsyncClient}在重定向后改为同步执行时，同步执行只使用剩余的次数
+	 *
+	 * @param redirectCount 已跟随的重定向次数
+	 */
+	void setRedirectCount(int redirectCount) {
+		this.redirectCount = redirectCount;
+	}
+
+	/**
+	 * 创建{@link HttpAsyncClient}使用的请求，头、Cookie和请求体与{@link #execute()}发送的一致
+	 *
+	 * @return {@link HttpAsyncExchange}
+	 * @throws HttpException 非http协议
+	 */
+	HttpAsyncExchange createAsyncExchange() throws HttpException {
+		// 初始化URL
+		urlWithParamIfGet();
+		final URL url = this.url.toURL(this.urlHandler);
+
+		final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		headers.putAll(this.headers);
+		if (null != this.cookie) {
+			// 当用户自定义Cookie时，全局Cookie自动失效
+			headers.put(Header.COOKIE.toString(), Collections.singletonList(this.cookie));
+		} else if (false == headers.containsKey(Header.COOKIE.toString())) {
+			// 读取全局Cookie信息并附带到请求中
+			headers.putAll(GlobalCookieManager.get(url));
+		}
+
+		byte[] body = null;
+		if (Method.POST.equals(this.method) //
+				|| Method.PUT.equals(this.method) //
+				|| Method.DELETE.equals(this.method) //
+				|| this.isRest) {
+			if (isMultipart()) {
+				// 文件上传表单
+				headers.put(Header.CONTENT_TYPE.toString(), Collections.singletonList(MultipartBody.getContentType()));
+				final FastByteArrayOutputStream out = new FastByteArrayOutputStream();
+				MultipartBody.create(this.form, this.charset).write(out);
+				body = out.toByteArray();
+			} else {
+				// 普通表单
+				if (StringUtil.isBlank(header(Header.CONTENT_TYPE))) {
+					headers.put(Header.CONTENT_TYPE.toString(), Collections.singletonList(ContentType.FORM_URLENCODED.toString(this.charset)));
+				}
+				body = ArrayUtil.isNotEmpty(this.bodyBytes) ? this.bodyBytes : StringUtil.bytes(getFormUrlEncoded(), this.charset);
+			}
+		}
+
+		return new HttpAsyncExchange(url, this.method, headers, body,
+				this.connectionTimeout, this.readTimeout, this.charset, Method.HEAD == this.method);
+	}
+
 	/**
 	 * 对于GET请求将参数加到URL中<br>
 	 * 此处不对URL中的特殊字符做单独编码
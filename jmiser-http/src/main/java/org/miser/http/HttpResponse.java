@@ -22,9 +22,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.HttpCookie;
+import java.net.URL;
 import java.nio.charset.Charset;
+import java.nio.charset.UnsupportedCharsetException;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 /**
  * Http响应类<br>
@@ -38,6 +44,10 @@ public class HttpResponse extends HttpBase<HttpResponse> implements Closeable {
 	 * 持有连接对象
 	 */
 	protected HttpConnection httpConnection;
+	/**
+	 * 请求的URL
+	 */
+	private final URL url;
 	/**
 	 * Http请求原始流
 	 */
@@ -70,12 +80,49 @@ public class HttpResponse extends HttpBase<HttpResponse> implements Closeable {
 	 */
 	protected HttpResponse(HttpConnection httpConnection, Charset charset, boolean isAsync, boolean isIgnoreBody) {
 		this.httpConnection = httpConnection;
+		this.url = httpConnection.getUrl();
 		this.charset = charset;
 		this.isAsync = isAsync;
 		this.ignoreBody = isIgnoreBody;
 		initWithDisconnect();
 	}
 
+	/**
+	 * 构造，用于{@link HttpAsyncClient}中已完整读取的响应，不持有连接<br>
+	 * 构造时存储响应的Cookie，并按Content-Encoding解压响应体
+	 *
+	 * @param url     请求的URL
+	 * @param status  状态码
+	 * @param headers 响应头
+	 * @param body    未解压的响应体
+	 * @param charset 编码，响应中无编码时使用
+	 * @throws HttpException 解压失败
+	 */
+	HttpResponse(URL url, int status, Map<String, List<String>> headers, byte[] body, Charset charset) throws HttpException {
+		this.url = url;
+		this.status = status;
+		this.headers = headers;
+		this.charset = charset;
+		this.isAsync = false;
+		this.ignoreBody = false;
+
+		// 存储服务端设置的Cookie信息
+		GlobalCookieManager.store(url, headers);
+
+		// 获取响应编码
+		final String charsetName = HttpUtil.getCharset(header(Header.CONTENT_TYPE));
+		if (StringUtil.isNotBlank(charsetName)) {
+			try {
+				this.charsetFromResponse = Charset.forName(charsetName);
+				this.charset = this.charsetFromResponse;
+			} catch (UnsupportedCharsetException e) {
+				// ignore
+			}
+		}
+
+		this.bodyBytes = decompress(body);
+	}
+
 	/**
 	 * 获取状态码
 	 *
@@ -166,7 +213,7 @@ public class HttpResponse extends HttpBase<HttpResponse> implements Closeable {
 	 * 
 	 */
 	public List<HttpCookie> getCookies() {
-		return GlobalCookieManager.getCookies(this.httpConnection);
+		return GlobalCookieManager.getCookies(this.url);
 	}
 
 	/**
@@ -332,7 +379,9 @@ public class HttpResponse extends HttpBase<HttpResponse> implements Closeable {
 		IOUtil.close(this.in);
 		this.in = null;
 		// 关闭连接
-		this.httpConnection.disconnectQuietly();
+		if (null != this.httpConnection) {
+			this.httpConnection.disconnectQuietly();
+		}
 	}
 
 	@Override
@@ -365,7 +414,7 @@ public class HttpResponse extends HttpBase<HttpResponse> implements Closeable {
 		// 从头信息中获取文件名
 		String fileName = getFileNameFromDisposition();
 		if (StringUtil.isBlank(fileName)) {
-			final String path = httpConnection.getUrl().getPath();
+			final String path = this.url.getPath();
 			// 从路径中获取文件名
 			fileName = StringUtil.subSuf(path, path.lastIndexOf('/') + 1);
 			if (StringUtil.isBlank(fileName)) {
@@ -510,6 +559,34 @@ public class HttpResponse extends HttpBase<HttpResponse> implements Closeable {
 		return this;
 	}
 
+	/**
+	 * 按Content-Encoding解压已读取的响应体
+	 *
+	 * @param body 响应体
+	 * @return 解压后的响应体
+	 * @throws HttpException 解压失败
+	 */
+	private byte[] decompress(byte[] body) throws HttpException {
+		if (0 == body.length) {
+			return body;
+		}
+		InputStream in = new ByteArrayInputStream(body);
+		try {
+			if (isGzip()) {
+				// Accept-Encoding: gzip
+				in = new GZIPInputStream(in);
+			} else if (isDeflate()) {
+				// Accept-Encoding: defalte
+				in = new InflaterInputStream(in, new Inflater(true));
+			} else {
+				return body;
+			}
+			return IOUtil.readBytes(in);
+		} catch (IOException | IORuntimeException e) {
+			throw new HttpException(e);
+		}
+	}
+
 	/**
 	 * 从Content-Disposition头中获取文件名
 	 *
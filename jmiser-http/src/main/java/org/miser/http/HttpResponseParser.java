@@ -0,0 +1,293 @@
+package org.miser.http;
+
+import org.miser.core.io.FastByteArrayOutputStream;
+import org.miser.core.util.StringUtil;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * HTTP/1.1响应的增量解析器，由{@link HttpAsyncClient}在数据到达时逐段调用<br>
+ * 支持Content-Length、Transfer-Encoding: chunked和读取到连接关闭三种响应体，跳过1xx响应。
+ *
+ * @author Oliver
+ */
+final class HttpResponseParser {
+
+	/**
+	 * 状态行、头和块大小行的最大长度
+	 */
+	private static final int MAX_LINE_LENGTH = 64 * 1024;
+	/**
+	 * 按Content-Length预分配响应体缓冲区的最大大小
+	 */
+	private static final int MAX_INITIAL_BODY_SIZE = 1024 * 1024;
+
+	private enum State {
+		STATUS_LINE, HEADERS, BODY_FIXED, CHUNK_SIZE, CHUNK_DATA, CHUNK_END, TRAILERS, BODY_UNTIL_CLOSE, DONE
+	}
+
+	private State state = State.STATUS_LINE;
+	private final StringBuilder line = new StringBuilder();
+	/**
+	 * {@link #line}是否为已读取完整的一行，下次读取时清空
+	 */
+	private boolean lineComplete;
+	/**
+	 * 当前响应是否已收到数据
+	 */
+	private boolean started;
+
+	private boolean http10;
+	private int status;
+	private Map<String, List<String>> headers;
+	private FastByteArrayOutputStream body;
+	/**
+	 * 定长响应体或当前块剩余的字节数
+	 */
+	private long remaining;
+
+	/**
+	 * 解析数据，解析完一个响应后即返回，缓冲区中剩余的数据属于下一个响应
+	 *
+	 * @param buffer     数据，须为堆内缓冲区
+	 * @param ignoreBody 响应是否没有响应体，即HEAD请求
+	 * @return 是否解析完一个响应
+	 * @throws HttpException 响应格式错误
+	 */
+	boolean parse(ByteBuffer buffer, boolean ignoreBody) throws HttpException {
+		if (buffer.hasRemaining()) {
+			this.started = true;
+		}
+		while (buffer.hasRemaining()) {
+			switch (this.state) {
+				case STATUS_LINE:
+					if (readLine(buffer)) {
+						parseStatusLine();
+					}
+					break;
+				case HEADERS:
+					if (readLine(buffer)) {
+						if (this.line.length() > 0) {
+							parseHeader();
+						} else {
+							startBody(ignoreBody);
+						}
+					}
+					break;
+				case BODY_FIXED:
+				case CHUNK_DATA:
+					final int n = (int) Math.min(this.remaining, buffer.remaining());
+					this.body.write(buffer.array(), buffer.arrayOffset() + buffer.position(), n);
+					buffer.position(buffer.position() + n);
+					this.remaining -= n;
+					if (0 == this.remaining) {
+						this.state = (State.BODY_FIXED == this.state) ? State.DONE : State.CHUNK_END;
+					}
+					break;
+				case CHUNK_SIZE:
+					if (readLine(buffer)) {
+						parseChunkSize();
+					}
+					break;
+				case CHUNK_END:
+					if (readLine(buffer)) {
+						if (this.line.length() > 0) {
+							throw new HttpException("Invalid chunk end: {}", this.line);
+						}
+						this.state = State.CHUNK_SIZE;
+					}
+					break;
+				case TRAILERS:
+					if (readLine(buffer) && 0 == this.line.length()) {
+						this.state = State.DONE;
+					}
+					break;
+				case BODY_UNTIL_CLOSE:
+					this.body.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+					buffer.position(buffer.limit());
+					break;
+				default:
+					break;
+			}
+			if (State.DONE == this.state) {
+				return true;
+			}
+		}
+		return State.DONE == this.state;
+	}
+
+	/**
+	 * 连接关闭时调用，响应体读取到连接关闭时响应完成
+	 *
+	 * @return 是否解析完一个响应
+	 */
+	boolean finish() {
+		if (State.BODY_UNTIL_CLOSE == this.state) {
+			this.state = State.DONE;
+		}
+		return State.DONE == this.state;
+	}
+
+	/**
+	 * 当前响应是否已收到数据
+	 *
+	 * @return 是否已收到数据
+	 */
+	boolean isStarted() {
+		return this.started;
+	}
+
+	/**
+	 * 响应后连接是否可以继续使用
+	 *
+	 * @return 是否可以继续使用
+	 */
+	boolean isKeepAlive() {
+		final String connection = header(Header.CONNECTION.toString());
+		if (this.http10) {
+			return "keep-alive".equalsIgnoreCase(connection);
+		}
+		return false == "close".equalsIgnoreCase(connection);
+	}
+
+	int getStatus() {
+		return this.status;
+	}
+
+	Map<String, List<String>> getHeaders() {
+		return this.headers;
+	}
+
+	byte[] getBody() {
+		return (null == this.body) ? new byte[0] : this.body.toByteArray();
+	}
+
+	/**
+	 * 重置状态，准备解析下一个响应
+	 */
+	void reset() {
+		this.state = State.STATUS_LINE;
+		this.line.setLength(0);
+		this.lineComplete = false;
+		this.started = false;
+		this.http10 = false;
+		this.status = 0;
+		this.headers = null;
+		this.body = null;
+		this.remaining = 0;
+	}
+
+	// ---------------------------------------------------------------- Private method start
+
+	/**
+	 * 读取一行到{@link #line}，不包含行尾的CRLF，一行可能分多次读取
+	 *
+	 * @return 是否读取到完整的一行
+	 */
+	private boolean readLine(ByteBuffer buffer) {
+		if (this.lineComplete) {
+			this.line.setLength(0);
+			this.lineComplete = false;
+		}
+		while (buffer.hasRemaining()) {
+			final char c = (char) (buffer.get() & 0xFF);
+			if ('\n' == c) {
+				final int length = this.line.length();
+				if (length > 0 && '\r' == this.line.charAt(length - 1)) {
+					this.line.setLength(length - 1);
+				}
+				this.lineComplete = true;
+				return true;
+			}
+			if (this.line.length() >= MAX_LINE_LENGTH) {
+				throw new HttpException("HTTP response line is longer than {}", MAX_LINE_LENGTH);
+			}
+			this.line.append(c);
+		}
+		return false;
+	}
+
+	private void parseStatusLine() {
+		// HTTP/1.1 200 OK
+		final String statusLine = this.line.toString();
+		final List<String> parts = StringUtil.split(statusLine, ' ', 3);
+		if (parts.size() < 2 || false == parts.get(0).startsWith("HTTP/")) {
+			throw new HttpException("Invalid HTTP status line: {}", statusLine);
+		}
+		try {
+			this.status = Integer.parseInt(parts.get(1));
+		} catch (NumberFormatException e) {
+			throw new HttpException("Invalid HTTP status line: {}", statusLine);
+		}
+		this.http10 = HttpBase.HTTP_1_0.equals(parts.get(0));
+		this.headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		this.state = State.HEADERS;
+	}
+
+	private void parseHeader() {
+		final int index = this.line.indexOf(":");
+		if (index <= 0) {
+			throw new HttpException("Invalid HTTP header: {}", this.line);
+		}
+		final String name = this.line.substring(0, index).trim();
+		final String value = this.line.substring(index + 1).trim();
+		this.headers.computeIfAbsent(name, key -> new ArrayList<>(1)).add(value);
+	}
+
+	private void startBody(boolean ignoreBody) {
+		if (this.status >= 100 && this.status < 200) {
+			// 1xx（如100 Continue）之后还有正式的响应
+			this.state = State.STATUS_LINE;
+			return;
+		}
+		this.body = new FastByteArrayOutputStream();
+		if (ignoreBody || HttpStatus.HTTP_NO_CONTENT == this.status || HttpStatus.HTTP_NOT_MODIFIED == this.status) {
+			this.state = State.DONE;
+			return;
+		}
+		final String transferEncoding = header(Header.TRANSFER_ENCODING.toString());
+		if (StringUtil.containsIgnoreCase(transferEncoding, "chunked")) {
+			this.state = State.CHUNK_SIZE;
+			return;
+		}
+		final String contentLength = header(Header.CONTENT_LENGTH.toString());
+		if (null != contentLength) {
+			try {
+				this.remaining = Long.parseLong(contentLength.trim());
+			} catch (NumberFormatException e) {
+				throw new HttpException("Invalid Content-Length: {}", contentLength);
+			}
+			if (this.remaining < 0) {
+				throw new HttpException("Invalid Content-Length: {}", contentLength);
+			}
+			this.body = new FastByteArrayOutputStream((int) Math.min(this.remaining, MAX_INITIAL_BODY_SIZE));
+			this.state = (0 == this.remaining) ? State.DONE : State.BODY_FIXED;
+			return;
+		}
+		this.state = State.BODY_UNTIL_CLOSE;
+	}
+
+	private void parseChunkSize() {
+		String size = this.line.toString();
+		final int extension = size.indexOf(';');
+		if (extension >= 0) {
+			size = size.substring(0, extension);
+		}
+		try {
+			this.remaining = Long.parseLong(size.trim(), 16);
+		} catch (NumberFormatException e) {
+			throw new HttpException("Invalid chunk size: {}", this.line);
+		}
+		this.state = (0 == this.remaining) ? State.TRAILERS : State.CHUNK_DATA;
+	}
+
+	private String header(String name) {
+		final List<String> values = this.headers.get(name);
+		return (null == values || values.isEmpty()) ? null : values.get(0);
+	}
+	// ---------------------------------------------------------------- Private method end
+}
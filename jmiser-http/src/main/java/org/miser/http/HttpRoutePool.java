@@ -0,0 +1,56 @@
+package org.miser.http;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 一个路由（主机和端口）上的连接和等待中的请求，只在IO线程中访问
+ *
+ * @author Oliver
+ */
+final class HttpRoutePool {
+
+	final String route;
+	/**
+	 * 空闲连接，后进先出，优先使用最近用过的连接
+	 */
+	final Deque<HttpAsyncConnection> idle = new ArrayDeque<>();
+	/**
+	 * 使用中（包括连接中）的连接
+	 */
+	final List<HttpAsyncConnection> active = new ArrayList<>();
+	/**
+	 * 等待连接的请求
+	 */
+	final Deque<HttpAsyncExchange> pending = new ArrayDeque<>();
+
+	HttpRoutePool(String route) {
+		this.route = route;
+	}
+
+	/**
+	 * 连接总数
+	 *
+	 * @return 连接总数
+	 */
+	int size() {
+		return this.idle.size() + this.active.size();
+	}
+
+	/**
+	 * 生成统计快照
+	 *
+	 * @return {@link HttpPoolStats.RouteStats}
+	 */
+	HttpPoolStats.RouteStats stats() {
+		int connecting = 0;
+		for (HttpAsyncConnection connection : this.active) {
+			if (false == connection.connected) {
+				connecting++;
+			}
+		}
+		return new HttpPoolStats.RouteStats(this.active.size() - connecting, this.idle.size(), connecting, this.pending.size());
+	}
+}
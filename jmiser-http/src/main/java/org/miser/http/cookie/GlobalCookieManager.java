@@ -4,7 +4,7 @@ import java.io.IOException;
 import java.net.CookieManager;
 import java.net.CookiePolicy;
 import java.net.HttpCookie;
-import java.net.URI;
+import java.net.URL;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -53,7 +53,17 @@ public class GlobalCookieManager {
 	 * 
 	 */
 	public static List<HttpCookie> getCookies(HttpConnection conn){
-		return cookieManager.getCookieStore().get(getURI(conn));
+		return getCookies(conn.getUrl());
+	}
+
+	/**
+	 * 获取指定URL所在域名下所有Cookie信息
+	 *
+	 * @param url URL
+	 * @return Cookie信息列表
+	 */
+	public static List<HttpCookie> getCookies(URL url){
+		return cookieManager.getCookieStore().get(URLUtil.toURI(url));
 	}
 
 	/**
@@ -67,16 +77,27 @@ public class GlobalCookieManager {
 			return;
 		}
 
-		Map<String, List<String>> cookieHeader;
+		// 不覆盖模式回填Cookie头，这样用户定义的Cookie将优先
+		conn.header(get(conn.getUrl()), false);
+	}
+
+	/**
+	 * 获取请求指定URL时应附带的Cookie头
+	 *
+	 * @param url URL
+	 * @return Cookie头，全局Cookie管理器关闭时返回空Map
+	 */
+	public static Map<String, List<String>> get(URL url) {
+		if(null == cookieManager) {
+			// 全局Cookie管理器关闭
+			return new HashMap<>(0);
+		}
+
 		try {
-			cookieHeader = cookieManager.get(getURI(conn), new HashMap<>(0));
+			return cookieManager.get(URLUtil.toURI(url), new HashMap<>(0));
 		} catch (IOException e) {
 			throw new IORuntimeException(e);
 		}
-
-
-		// 不覆盖模式回填Cookie头，这样用户定义的Cookie将优先
-		conn.header(cookieHeader, false);
 	}
 
 	/**
@@ -85,24 +106,25 @@ public class GlobalCookieManager {
 	 * @param conn {@link HttpConnection}
 	 */
 	public static void store(HttpConnection conn) {
+		store(conn.getUrl(), conn.headers());
+	}
+
+	/**
+	 * 存储指定URL响应头中的Cookie信息到本地
+	 *
+	 * @param url     请求的URL
+	 * @param headers 响应头
+	 */
+	public static void store(URL url, Map<String, List<String>> headers) {
 		if(null == cookieManager) {
 			// 全局Cookie管理器关闭
 			return;
 		}
 
 		try {
-			cookieManager.put(getURI(conn), conn.headers());
+			cookieManager.put(URLUtil.toURI(url), headers);
 		} catch (IOException e) {
 			throw new IORuntimeException(e);
 		}
 	}
-
-	/**
-	 * 获取连接的URL中URI信息
-	 * @param conn HttpConnection
-	 * @return URI
-	 */
-	private static URI getURI(HttpConnection conn){
-		return URLUtil.toURI(conn.getUrl());
-	}
 }
@@ -0,0 +1,358 @@
+package org.miser.http;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.miser.core.io.IORuntimeException;
+import org.miser.core.io.IOUtil;
+import org.miser.core.util.CharsetUtil;
+import org.miser.core.util.StringUtil;
+import org.miser.core.util.ZipUtil;
+import org.miser.http.server.SimpleServer;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+
+/**
+ * {@link HttpAsyncClient}单元测试
+ *
+ * @author Oliver
+ */
+public class HttpAsyncClientTest {
+
+	private static SimpleServer server;
+	private static String baseUrl;
+
+	@BeforeClass
+	public static void startServer() {
+		server = new SimpleServer(0)
+				.addAction("/get", (request, response) ->
+						response.write(request.getURI().toString(), ContentType.TEXT_PLAIN.toString()))
+				.addAction("/form", (request, response) ->
+						response.write(request.getParams().toString(), ContentType.TEXT_PLAIN.toString()))
+				.addAction("/body", (request, response) ->
+						response.write(request.getContentType() + ":" + request.getBody(), ContentType.TEXT_PLAIN.toString()))
+				.addAction("/chunked", (request, response) -> {
+					response.setContentType(ContentType.TEXT_PLAIN.toString(CharsetUtil.CHARSET_UTF_8));
+					response.send(HttpStatus.HTTP_OK);
+					response.write(StringUtil.repeat("分块", 10000).getBytes(CharsetUtil.CHARSET_UTF_8));
+				})
+				.addAction("/gzip", (request, response) -> {
+					response.setHeader(Header.CONTENT_ENCODING, "gzip");
+					response.write(ZipUtil.gzip("压缩内容", CharsetUtil.UTF_8), ContentType.TEXT_PLAIN.toString(CharsetUtil.CHARSET_UTF_8));
+				})
+				.addAction("/redirect", (request, response) -> {
+					response.setHeader(Header.LOCATION, "get?from=redirect");
+					response.send(HttpStatus.HTTP_MOVED_TEMP, -1);
+					response.getHttpExchange().close();
+				});
+		server.start();
+		baseUrl = "http://localhost:" + server.getAddress().getPort();
+	}
+
+	@AfterClass
+	public static void stopServer() {
+		server.getRawServer().stop(0);
+	}
+
+	@Test
+	public void concurrentTest() {
+		try (HttpAsyncClient client = new HttpAsyncClient(HttpAsyncConfig.create().setMaxConnectionsPerRoute(2))) {
+			final List<CompletableFuture<HttpResponse>> futures = new ArrayList<>();
+			for (int i = 0; i < 50; i++) {
+				futures.add(HttpRequest.get(baseUrl + "/get?i=" + i).sendAsync(client));
+			}
+			for (int i = 0; i < futures.size(); i++) {
+				final HttpResponse response = futures.get(i).join();
+				Assert.assertEquals(HttpStatus.HTTP_OK, response.getStatus());
+				Assert.assertEquals("/get?i=" + i, response.body());
+			}
+
+			// 连接数不超过上限，其余请求排队复用连接
+			final HttpPoolStats stats = client.getStats();
+			Assert.assertEquals(50, stats.getRequests());
+			Assert.assertTrue(stats.toString(), stats.getConnectionsCreated() <= 2);
+			Assert.assertTrue(stats.toString(), stats.getConnectionsReused() >= 48);
+			final HttpPoolStats.RouteStats route = stats.getRoutes().get("localhost:" + server.getAddress().getPort());
+			Assert.assertEquals(0, route.getPending());
+			Assert.assertEquals(stats.getConnectionsCreated(), route.getIdle());
+		}
+	}
+
+	@Test
+	public void postTest() {
+		try (HttpAsyncClient client = new HttpAsyncClient()) {
+			final HttpResponse form = HttpRequest.post(baseUrl + "/form").form("a", "1").form("b", "中文").sendAsync(client).join();
+			Assert.assertEquals("{a=[1], b=[中文]}", form.body());
+
+			final HttpResponse body = HttpRequest.post(baseUrl + "/body").body("{\"a\":1}").sendAsync(client).join();
+			Assert.assertEquals("application/json;charset=UTF-8:{\"a\":1}", body.body());
+		}
+	}
+
+	@Test
+	public void chunkedAndGzipTest() {
+		try (HttpAsyncClient client = new HttpAsyncClient()) {
+			final HttpResponse chunked = HttpRequest.get(baseUrl + "/chunked").sendAsync(client).join();
+			Assert.assertTrue(chunked.isChunked());
+			Assert.assertEquals(StringUtil.repeat("分块", 10000), chunked.body());
+
+			final HttpResponse gzip = HttpRequest.get(baseUrl + "/gzip").sendAsync(client).join();
+			Assert.assertTrue(gzip.isGzip());
+			Assert.assertEquals("压缩内容", gzip.body());
+			Assert.assertEquals(1, client.getStats().getConnectionsCreated());
+
+			// HEAD请求无响应体
+			final HttpResponse head = HttpRequest.head(baseUrl + "/get").sendAsync(client).join();
+			Assert.assertEquals(HttpStatus.HTTP_OK, head.getStatus());
+			Assert.assertEquals(0, head.bodyBytes().length);
+			Assert.assertEquals("/get", HttpRequest.get(baseUrl + "/get").sendAsync(client).join().body());
+		}
+	}
+
+	@Test
+	public void redirectTest() {
+		try (HttpAsyncClient client = new HttpAsyncClient()) {
+			final HttpResponse response = HttpRequest.get(baseUrl + "/redirect").setMaxRedirectCount(1).sendAsync(client).join();
+			Assert.assertEquals("/get?from=redirect", response.body());
+
+			final HttpResponse noRedirect = HttpRequest.get(baseUrl + "/redirect").sendAsync(client).join();
+			Assert.assertEquals(HttpStatus.HTTP_MOVED_TEMP, noRedirect.getStatus());
+		}
+	}
+
+	@Test
+	public void redirectToHttpsTest() throws Exception {
+		final int closedPort;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			closedPort = socket.getLocalPort();
+		}
+		// 重定向到https时改为同步执行，连接失败以异常结束
+		try (ServerSocket rawServer = startRawServer((index, path) -> redirect("https://localhost:" + closedPort + "/secure"));
+			 HttpAsyncClient client = new HttpAsyncClient()) {
+			final HttpRequest request = HttpRequest.get("http://localhost:" + rawServer.getLocalPort() + "/redirect").setMaxRedirectCount(1);
+			try {
+				request.sendAsync(client).join();
+				Assert.fail();
+			} catch (CompletionException e) {
+				// 同步执行连接失败，而非异步请求拒绝https
+				Assert.assertTrue(String.valueOf(e.getCause()), e.getCause() instanceof IORuntimeException);
+			}
+			Assert.assertTrue(request.getUrl(), request.getUrl().startsWith("https://"));
+			Assert.assertEquals(2, client.getStats().getRequests());
+		}
+
+		// 同步执行只跟随剩余次数的重定向
+		try (ServerSocket httpsServer = startRawServer(createSslServerSocket(),
+				(index, path) -> "/hop1".equals(path) ? redirect("/hop2") : response(path, false));
+			 ServerSocket rawServer = startRawServer((index, path) -> redirect("https://localhost:" + httpsServer.getLocalPort() + "/hop1"));
+			 HttpAsyncClient client = new HttpAsyncClient()) {
+			final String url = "http://localhost:" + rawServer.getLocalPort() + "/redirect";
+			Assert.assertEquals("/hop2", HttpRequest.get(url).setMaxRedirectCount(2).sendAsync(client).join().body());
+			Assert.assertEquals(HttpStatus.HTTP_MOVED_TEMP, HttpRequest.get(url).setMaxRedirectCount(1).sendAsync(client).join().getStatus());
+		}
+	}
+
+	@Test
+	public void unknownHostTest() {
+		try (HttpAsyncClient client = new HttpAsyncClient()) {
+			// 主机在线程池中解析，调用方拿到的是以异常完成的Future
+			final CompletableFuture<HttpResponse> future = HttpRequest.get("http://unknown-host.invalid/").sendAsync(client);
+			try {
+				future.join();
+				Assert.fail();
+			} catch (CompletionException e) {
+				Assert.assertTrue(String.valueOf(e.getCause()), e.getCause() instanceof HttpException);
+			}
+		}
+	}
+
+	@Test
+	public void optionsWithBodyTest() throws IOException {
+		// OPTIONS响应可以有响应体，须按Content-Length读取，否则同一连接上的下一个响应错位
+		try (ServerSocket rawServer = startRawServer((index, path) -> response(path, true));
+			 HttpAsyncClient client = new HttpAsyncClient()) {
+			final String url = "http://localhost:" + rawServer.getLocalPort();
+			final HttpResponse options = HttpRequest.options(url + "/options").sendAsync(client).join();
+			Assert.assertEquals("/options", options.body());
+			Assert.assertEquals("/next", HttpRequest.get(url + "/next").sendAsync(client).join().body());
+			Assert.assertEquals(1, client.getStats().getConnectionsCreated());
+		}
+	}
+
+	@Test
+	public void pipelineTest() throws IOException {
+		try (ServerSocket rawServer = startRawServer((index, path) -> response(path, true));
+			 HttpAsyncClient client = new HttpAsyncClient(HttpAsyncConfig.create().setMaxConnectionsPerRoute(1).setPipelineDepth(4))) {
+			final String url = "http://localhost:" + rawServer.getLocalPort();
+			final List<CompletableFuture<HttpResponse>> futures = new ArrayList<>();
+			for (int i = 0; i < 20; i++) {
+				futures.add(HttpRequest.get(url + "/p" + i).sendAsync(client));
+			}
+			for (int i = 0; i < futures.size(); i++) {
+				Assert.assertEquals("/p" + i, futures.get(i).join().body());
+			}
+			final HttpPoolStats stats = client.getStats();
+			Assert.assertEquals(1, stats.getConnectionsCreated());
+			Assert.assertTrue(stats.toString(), stats.getPipelined() > 0);
+		}
+	}
+
+	@Test
+	public void staleConnectionTest() throws IOException {
+		// 服务端响应后关闭连接，但未发送Connection: close
+		try (ServerSocket rawServer = startRawServer((index, path) -> (0 == index) ? response(path, true) : null);
+			 HttpAsyncClient client = new HttpAsyncClient()) {
+			final String url = "http://localhost:" + rawServer.getLocalPort();
+			for (int i = 0; i < 5; i++) {
+				Assert.assertEquals("/s" + i, HttpRequest.get(url + "/s" + i).sendAsync(client).join().body());
+			}
+		}
+	}
+
+	@Test
+	public void readTimeoutTest() throws IOException {
+		try (ServerSocket rawServer = startRawServer((index, path) -> path.startsWith("/slow") ? "" : response(path, true));
+			 HttpAsyncClient client = new HttpAsyncClient()) {
+			final String url = "http://localhost:" + rawServer.getLocalPort();
+			try {
+				HttpRequest.get(url + "/slow").timeout(200).sendAsync(client).join();
+				Assert.fail();
+			} catch (CompletionException e) {
+				Assert.assertTrue(e.getCause() instanceof HttpException);
+				Assert.assertTrue(e.getCause().getMessage(), e.getCause().getMessage().startsWith("Read timed out"));
+			}
+			Assert.assertEquals("/fast", HttpRequest.get(url + "/fast").sendAsync(client).join().body());
+		}
+	}
+
+	@Test
+	public void closeTest() {
+		final HttpAsyncClient client = new HttpAsyncClient();
+		Assert.assertEquals("/get", HttpRequest.get(baseUrl + "/get").sendAsync(client).join().body());
+		client.close();
+		try {
+			HttpRequest.get(baseUrl + "/get").sendAsync(client).join();
+			Assert.fail();
+		} catch (CompletionException e) {
+			Assert.assertEquals("HttpAsyncClient closed", e.getCause().getMessage());
+		}
+	}
+
+	private static String redirect(String location) {
+		return "HTTP/1.1 302 Found\r\nLocation: " + location + "\r\nContent-Length: 0\r\n\r\n";
+	}
+
+	/**
+	 * 使用keytool生成的自签名证书创建SSL服务端
+	 *
+	 * @return {@link ServerSocket}
+	 */
+	private static ServerSocket createSslServerSocket() throws Exception {
+		final File keyStore = File.createTempFile("http-async-test", ".jks");
+		Assert.assertTrue(keyStore.delete());
+		keyStore.deleteOnExit();
+		final char[] password = "changeit".toCharArray();
+		final Process process = new ProcessBuilder(System.getProperty("java.home") + File.separator + "bin" + File.separator + "keytool",
+				"-genkeypair", "-alias", "test", "-keyalg", "RSA", "-keysize", "2048", "-validity", "1", "-dname", "CN=localhost",
+				"-storetype", "JKS", "-keystore", keyStore.getAbsolutePath(), "-storepass", "changeit", "-keypass", "changeit")
+				.redirectErrorStream(true).start();
+		IOUtil.readUtf8(process.getInputStream());
+		Assert.assertEquals(0, process.waitFor());
+
+		final KeyStore store = KeyStore.getInstance("JKS");
+		try (InputStream in = new FileInputStream(keyStore)) {
+			store.load(in, password);
+		}
+		final KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+		keyManagerFactory.init(store, password);
+		final SSLContext context = SSLContext.getInstance("TLS");
+		context.init(keyManagerFactory.getKeyManagers(), null, null);
+		return context.getServerSocketFactory().createServerSocket(0);
+	}
+
+	private static String response(String body, boolean keepAlive) {
+		return "HTTP/1.1 200 OK\r\nContent-Length: " + body.length() + "\r\n"
+				+ (keepAlive ? "" : "Connection: close\r\n") + "\r\n" + body;
+	}
+
+	/**
+	 * 启动按行读取请求的简单服务端，可处理管线化的请求
+	 *
+	 * @param responder 根据连接上的请求序号和路径返回响应，{@code null}表示关闭连接
+	 * @return {@link ServerSocket}
+	 */
+	private static ServerSocket startRawServer(BiFunction<Integer, String, String> responder) throws IOException {
+		return startRawServer(new ServerSocket(0), responder);
+	}
+
+	/**
+	 * 在指定的{@link ServerSocket}上启动按行读取请求的简单服务端
+	 *
+	 * @param serverSocket {@link ServerSocket}
+	 * @param responder    根据连接上的请求序号和路径返回响应，{@code null}表示关闭连接
+	 * @return {@link ServerSocket}
+	 */
+	private static ServerSocket startRawServer(ServerSocket serverSocket, BiFunction<Integer, String, String> responder) {
+		final Thread acceptor = new Thread(() -> {
+			while (false == serverSocket.isClosed()) {
+				final Socket socket;
+				try {
+					socket = serverSocket.accept();
+				} catch (IOException e) {
+					return;
+				}
+				final Thread worker = new Thread(() -> serve(socket, responder));
+				worker.setDaemon(true);
+				worker.start();
+			}
+		});
+		acceptor.setDaemon(true);
+		acceptor.start();
+		return serverSocket;
+	}
+
+	private static void serve(Socket socket, BiFunction<Integer, String, String> responder) {
+		final AtomicInteger index = new AtomicInteger();
+		try {
+			final BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), CharsetUtil.CHARSET_ISO_8859_1));
+			final OutputStream out = socket.getOutputStream();
+			String line;
+			while (null != (line = reader.readLine())) {
+				final String path = line.split(" ")[1];
+				// 跳过请求头
+				do {
+					line = reader.readLine();
+				} while (StringUtil.isNotEmpty(line));
+				final String response = responder.apply(index.getAndIncrement(), path);
+				if (null == response) {
+					break;
+				}
+				out.write(response.getBytes(CharsetUtil.CHARSET_ISO_8859_1));
+				out.flush();
+			}
+		} catch (IOException e) {
+			// ignore
+		} finally {
+			IOUtil.close(socket);
+		}
+	}
+}
@@ -0,0 +1,336 @@
+package org.miser.json;
+
+import org.miser.core.util.StringUtil;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 基于内存字符数组的JSON解析器<br>
+ * {@link JSONTokener}通过{@link java.io.Reader}逐字符读取，并在每个字符上维护行号和列号，
+ * 此类直接按下标读取字符数组，字符串和数字按区间整段截取，行号和列号仅在报告错误时计算。<br>
+ * 解析规则与{@link JSONTokener}一致，{@link JSONUtil#parseObj(String)}等解析字符串的方法默认使用此类。
+ *
+ * @author Oliver
+ */
+public class CharArrayJSONTokener extends JSONTokener {
+
+	/**
+	 * 无引号字面量的结束字符，同{@link JSONTokener#nextValue()}
+	 */
+	private static final String LITERAL_END = ",:]}/\\\"[{;=#";
+
+	private final char[] buf;
+	private final int offset;
+	private final int limit;
+	/**
+	 * 下一个读取的位置，超过{@link #limit}表示已读到结尾
+	 */
+	private int pos;
+	/**
+	 * JSON配置
+	 */
+	private final JSONConfig config;
+
+	// ------------------------------------------------------------------------------------ Constructor start
+
+	/**
+	 * 从字符串中构建
+	 *
+	 * @param s      JSON字符串
+	 * @param config JSON配置
+	 */
+	public CharArrayJSONTokener(CharSequence s, JSONConfig config) {
+		this(StringUtil.str(s).toCharArray(), config);
+	}
+
+	/**
+	 * 从字符数组中构建，数组不会被复制，解析期间不应修改
+	 *
+	 * @param chars  JSON字符数组
+	 * @param config JSON配置
+	 */
+	public CharArrayJSONTokener(char[] chars, JSONConfig config) {
+		this(chars, 0, chars.length, config);
+	}
+
+	/**
+	 * 从字符数组的指定区间中构建，数组不会被复制，解析期间不应修改
+	 *
+	 * @param chars  JSON字符数组
+	 * @param offset 起始位置
+	 * @param length 长度
+	 * @param config JSON配置
+	 */
+	public CharArrayJSONTokener(char[] chars, int offset, int length, JSONConfig config) {
+		super(config);
+		if (offset < 0 || length < 0 || offset + length > chars.length) {
+			throw new IndexOutOfBoundsException(StringUtil.format("Offset: {}, length: {}, array length: {}", offset, length, chars.length));
+		}
+		this.buf = chars;
+		this.offset = offset;
+		this.limit = offset + length;
+		this.pos = offset;
+		this.config = config;
+	}
+
+	/**
+	 * 从UTF-8编码的字节数组中构建，字节数组一次性解码后解析
+	 *
+	 * @param utf8Bytes UTF-8编码的JSON字节数组
+	 * @param config    JSON配置
+	 */
+	public CharArrayJSONTokener(byte[] utf8Bytes, JSONConfig config) {
+		this(StandardCharsets.UTF_8.decode(ByteBuffer.wrap(utf8Bytes)), config);
+	}
+
+	/**
+	 * 从{@link StandardCharsets#UTF_8}解码结果构建，直接使用其底层数组
+	 *
+	 * @param chars  解码后的字符
+	 * @param config JSON配置
+	 */
+	private CharArrayJSONTokener(CharBuffer chars, JSONConfig config) {
+		this(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining(), config);
+	}
+	// ------------------------------------------------------------------------------------ Constructor end
+
+	@Override
+	public void back() throws JSONException {
+		if (this.pos <= this.offset) {
+			throw new JSONException("Stepping back two steps is not supported");
+		}
+		this.pos--;
+	}
+
+	@Override
+	public boolean end() {
+		return this.pos > this.limit;
+	}
+
+	@Override
+	public boolean more() throws JSONException {
+		return this.pos < this.limit;
+	}
+
+	@Override
+	public char next() throws JSONException {
+		if (this.pos < this.limit) {
+			return this.buf[this.pos++];
+		}
+		// 与JSONTokener一致，读到结尾后可回退一次
+		this.pos = this.limit + 1;
+		return 0;
+	}
+
+	@Override
+	public String next(int n) throws JSONException {
+		if (n == 0) {
+			return "";
+		}
+		if (this.pos + n > this.limit) {
+			this.pos = this.limit + 1;
+			throw this.syntaxError("Substring bounds error");
+		}
+		final String result = new String(this.buf, this.pos, n);
+		this.pos += n;
+		return result;
+	}
+
+	@Override
+	public char nextClean() throws JSONException {
+		final char[] buf = this.buf;
+		int pos = this.pos;
+		while (pos < this.limit) {
+			final char c = buf[pos++];
+			if (c == 0 || c > ' ') {
+				this.pos = pos;
+				return c;
+			}
+		}
+		this.pos = this.limit + 1;
+		return 0;
+	}
+
+	@Override
+	public String nextString(char quote) throws JSONException {
+		final char[] buf = this.buf;
+		final int start = this.pos;
+		int pos = start;
+		// 无转义符的字符串直接截取
+		while (pos < this.limit) {
+			final char c = buf[pos];
+			if (c == quote) {
+				this.pos = pos + 1;
+				return new String(buf, start, pos - start);
+			}
+			if (c == '\\' || c == '\n' || c == '\r') {
+				break;
+			}
+			pos++;
+		}
+
+		final StringBuilder sb = new StringBuilder(pos - start + 16);
+		sb.append(buf, start, pos - start);
+		this.pos = pos;
+		while (true) {
+			// 整段追加两个转义符之间的字符
+			int runStart = this.pos;
+			char c = 0;
+			while (this.pos < this.limit) {
+				c = buf[this.pos];
+				if (c == quote || c == '\\' || c == '\n' || c == '\r') {
+					break;
+				}
+				this.pos++;
+			}
+			sb.append(buf, runStart, this.pos - runStart);
+			if (this.pos >= this.limit) {
+				this.pos = this.limit + 1;
+				throw this.syntaxError("Unterminated string");
+			}
+			if (c == '\n' || c == '\r') {
+				this.pos++;
+				throw this.syntaxError("Unterminated string");
+			}
+			this.pos++;
+			if (c == quote) {
+				return sb.toString();
+			}
+
+			// 转义符
+			c = this.next();
+			switch (c) {
+				case 'b':
+					sb.append('\b');
+					break;
+				case 't':
+					sb.append('\t');
+					break;
+				case 'n':
+					sb.append('\n');
+					break;
+				case 'f':
+					sb.append('\f');
+					break;
+				case 'r':
+					sb.append('\r');
+					break;
+				case 'u':// Unicode符
+					sb.append((char) Integer.parseInt(this.next(4), 16));
+					break;
+				case '"':
+				case '\'':
+				case '\\':
+				case '/':
+					sb.append(c);
+					break;
+				default:
+					throw this.syntaxError("Illegal escape.");
+			}
+		}
+	}
+
+	@Override
+	public String nextTo(char delimiter) throws JSONException {
+		final int start = this.pos;
+		while (this.pos < this.limit) {
+			final char c = this.buf[this.pos];
+			if (c == delimiter || c == 0 || c == '\n' || c == '\r') {
+				break;
+			}
+			this.pos++;
+		}
+		return new String(this.buf, start, this.pos - start).trim();
+	}
+
+	@Override
+	public String nextTo(String delimiters) throws JSONException {
+		final int start = this.pos;
+		while (this.pos < this.limit) {
+			final char c = this.buf[this.pos];
+			if (delimiters.indexOf(c) >= 0 || c == 0 || c == '\n' || c == '\r') {
+				break;
+			}
+			this.pos++;
+		}
+		return new String(this.buf, start, this.pos - start).trim();
+	}
+
+	@Override
+	public Object nextValue() throws JSONException {
+		final char c = this.nextClean();
+		switch (c) {
+			case '"':
+			case '\'':
+				return this.nextString(c);
+			case '{':
+				this.back();
+				return new JSONObject(this, this.config);
+			case '[':
+				this.back();
+				return new JSONArray(this, this.config);
+		}
+
+		// 无引号的字面量（true、false、null、数字或非标准的字符串），整段截取
+		final int start = this.pos - 1;
+		int end = start;
+		while (end < this.limit) {
+			final char ch = this.buf[end];
+			if (ch < ' ' || LITERAL_END.indexOf(ch) >= 0) {
+				break;
+			}
+			end++;
+		}
+		this.pos = end;
+
+		final String string = new String(this.buf, start, end - start).trim();
+		if (0 == string.length()) {
+			throw this.syntaxError("Missing value");
+		}
+		return InternalJSONUtil.stringToValue(string);
+	}
+
+	@Override
+	public char skipTo(char to) throws JSONException {
+		for (int i = this.pos; i < this.limit; i++) {
+			if (this.buf[i] == to) {
+				this.pos = i;
+				return to;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * 输出当前位置，行号和列号按{@link JSONTokener}的规则从头计算
+	 *
+	 * @return " at {index} [character {character} line {line}]"
+	 */
+	@Override
+	public String toString() {
+		final int end = Math.min(this.pos, this.limit);
+		long line = 1;
+		long character = 1;
+		char previous = 0;
+		for (int i = this.offset; i < end; i++) {
+			final char c = this.buf[i];
+			if (previous == '\r') {
+				line++;
+				character = (c == '\n') ? 0 : 1;
+			} else if (c == '\n') {
+				line++;
+				character = 0;
+			} else {
+				character++;
+			}
+			previous = c;
+		}
+		if (this.pos > this.limit) {
+			// 读取结尾也计为一个字符
+			character++;
+		}
+		return " at " + (this.pos - this.offset) + " [character " + character + " line " + line + "]";
+	}
+}
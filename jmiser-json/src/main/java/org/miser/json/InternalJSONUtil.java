@@ -2,11 +2,14 @@ package org.miser.json;
 
 import java.math.BigDecimal;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.SortedMap;
 
+import org.miser.core.bean.BeanPath;
 import org.miser.core.convert.Convert;
+import org.miser.core.map.FixedLinkedHashMap;
 import org.miser.core.util.CharUtil;
 import org.miser.core.util.NumberUtil;
 import org.miser.core.util.ObjectUtil;
@@ -19,9 +22,29 @@ import org.miser.core.util.StringUtil;
  */
 final class InternalJSONUtil {
 
+	/**
+	 * {@link BeanPath}缓存，避免getByPath和putByPath每次重新解析表达式
+	 */
+	private static final Map<String, BeanPath> BEAN_PATH_CACHE = Collections.synchronizedMap(new FixedLinkedHashMap<>(1024));
+
 	private InternalJSONUtil() {
 	}
 
+	/**
+	 * 获取表达式对应的{@link BeanPath}，解析结果按表达式缓存
+	 *
+	 * @param expression 表达式
+	 * @return {@link BeanPath}
+	 */
+	static BeanPath getBeanPath(String expression) {
+		BeanPath beanPath = BEAN_PATH_CACHE.get(expression);
+		if (null == beanPath) {
+			beanPath = BeanPath.create(expression);
+			BEAN_PATH_CACHE.put(expression, beanPath);
+		}
+		return beanPath;
+	}
+
 	/**
 	 * 如果对象是Number 且是 NaN or infinite，将抛出异常
 	 *
@@ -31,9 +31,12 @@ public interface JSON extends Cloneable, Serializable {
 	 * person.friends[5].name
 	 * </pre>
 	 *
+	 * 需要通配符、切片、过滤器或直接从JSON字符串中求值时使用{@link JSONPath}。
+	 *
 	 * @param expression 表达式
 	 * @return 对象
 	 * @see BeanPath#get(Object)
+	 * @see JSONPath
 	 * 
 	 */
 	Object getByPath(String expression);
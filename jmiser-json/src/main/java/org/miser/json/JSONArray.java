@@ -1,6 +1,5 @@
 package org.miser.json;
 
-import org.miser.core.bean.BeanPath;
 import org.miser.core.collection.ArrayIter;
 import org.miser.core.collection.CollUtil;
 import org.miser.core.text.StringJoiner;
@@ -237,7 +236,7 @@ public class JSONArray implements JSON, JSONGetter<Integer>, List<Object>, Rando
 
 	@Override
 	public Object getByPath(String expression) {
-		return BeanPath.create(expression).get(this);
+		return InternalJSONUtil.getBeanPath(expression).get(this);
 	}
 
 	@Override
@@ -247,7 +246,7 @@ public class JSONArray implements JSON, JSONGetter<Integer>, List<Object>, Rando
 
 	@Override
 	public void putByPath(String expression, Object value) {
-		BeanPath.create(expression).set(this, value);
+		InternalJSONUtil.getBeanPath(expression).set(this, value);
 	}
 
 	/**
@@ -590,7 +589,7 @@ public class JSONArray implements JSON, JSONGetter<Integer>, List<Object>, Rando
 	 */
 	private void init(CharSequence source) {
 		if (null != source) {
-			init(new JSONTokener(StringUtil.trim(source), this.config));
+			init(new CharArrayJSONTokener(StringUtil.trim(source), this.config));
 		}
 	}
 
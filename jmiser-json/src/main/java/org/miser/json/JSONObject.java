@@ -1,6 +1,5 @@
 package org.miser.json;
 
-import org.miser.core.bean.BeanPath;
 import org.miser.core.bean.BeanUtil;
 import org.miser.core.bean.copier.BeanCopier;
 import org.miser.core.bean.copier.CopyOptions;
@@ -325,7 +324,7 @@ public class JSONObject implements JSON, JSONGetter<String>, Map<String, Object>
 
 	@Override
 	public Object getByPath(String expression) {
-		return BeanPath.create(expression).get(this);
+		return InternalJSONUtil.getBeanPath(expression).get(this);
 	}
 
 	@Override
@@ -335,7 +334,7 @@ public class JSONObject implements JSON, JSONGetter<String>, Map<String, Object>
 
 	@Override
 	public void putByPath(String expression, Object value) {
-		BeanPath.create(expression).set(this, value);
+		InternalJSONUtil.getBeanPath(expression).set(this, value);
 	}
 
 	/**
@@ -660,7 +659,7 @@ public class JSONObject implements JSON, JSONGetter<String>, Map<String, Object>
 			// 可能为XML
 			XML.toJSONObject(this, jsonStr, false);
 		}
-		init(new JSONTokener(StringUtil.trim(source), this.config));
+		init(new CharArrayJSONTokener(jsonStr, this.config));
 	}
 
 	/**
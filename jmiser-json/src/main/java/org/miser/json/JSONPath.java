@@ -0,0 +1,403 @@
+package org.miser.json;
+
+import org.miser.core.lang.Assert;
+import org.miser.core.map.FixedLinkedHashMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 编译后的JSON路径表达式<br>
+ * 表达式只解析一次，可在多线程中重复用于不同的JSON，{@link #compile(String)}按表达式缓存编译结果。支持的语法：
+ *
+ * <pre>
+ * $                     根节点，可省略
+ * .name 或 ['name']      对象成员，首个键可省略'.'，如a.b
+ * ['a','b']             多个对象成员
+ * [0]、[-1]、[0,2]       数组元素，负数表示倒数
+ * [start:end:step]      数组切片，start、end可省略或为负数，step为正数
+ * * 或 [*]              全部成员或元素
+ * ..name、..*、..[0]     递归下降，匹配任意层级
+ * [?(filter)]           过滤器，如[?(@.price &lt; 10 &amp;&amp; @.tag)]、[?(@.name =~ /^a.*&#47;i)]
+ * </pre>
+ *
+ * 过滤器支持==、!=、&lt;、&lt;=、&gt;、&gt;=、=~（正则）比较，&amp;&amp;、||、!逻辑运算和括号，只写路径表示路径存在。<br>
+ * 求值可以针对{@link JSONObject}、{@link JSONArray}等对象树（{@link #eval(Object)}），
+ * 也可以直接针对{@link JSONReader}（{@link #read(JSONReader)}），此时未匹配的分支通过{@link JSONReader#skipValue()}跳过，不创建任何对象，
+ * 只有匹配的值和过滤器需要检查的元素被构建。两种方式的结果相同，均按文档顺序返回。
+ *
+ * <pre>
+ * JSONPath path = JSONPath.compile("$.store.book[?(@.price &lt; 10)].title");
+ * JSONArray titles = (JSONArray) path.eval(jsonObject);
+ * Object title = JSONPath.compile("$.store.book[0].title").read(jsonStr);
+ * </pre>
+ *
+ * @author Oliver
+ */
+public class JSONPath {
+
+	/**
+	 * 编译缓存的容量，超出时移除最久未使用的表达式
+	 */
+	private static final int CACHE_CAPACITY = 1024;
+	private static final Map<String, JSONPath> CACHE = Collections.synchronizedMap(new FixedLinkedHashMap<>(CACHE_CAPACITY));
+
+	private final String expression;
+	private final JSONPathSegment[] segments;
+	/**
+	 * 是否只匹配一个确定的值
+	 */
+	private final boolean definite;
+	/**
+	 * 匹配状态使用位表示，第i位表示已匹配前i段，{@link #endState}表示全部匹配
+	 */
+	private final long endState;
+	/**
+	 * 段为过滤器的状态，需要构建子节点后判断
+	 */
+	private final long filterStates;
+	/**
+	 * 段包含负数下标的状态，需要构建数组后判断
+	 */
+	private final long sizeStates;
+
+	/**
+	 * 编译表达式，编译结果按表达式缓存
+	 *
+	 * @param expression 表达式
+	 * @return JSONPath
+	 * @throws JSONException 表达式错误
+	 */
+	public static JSONPath compile(String expression) throws JSONException {
+		JSONPath path = CACHE.get(expression);
+		if (null == path) {
+			path = new JSONPath(expression);
+			CACHE.put(expression, path);
+		}
+		return path;
+	}
+
+	/**
+	 * 构造，不使用缓存
+	 *
+	 * @param expression 表达式
+	 * @throws JSONException 表达式错误
+	 */
+	public JSONPath(String expression) throws JSONException {
+		Assert.notNull(expression, "JSONPath expression must not be null!");
+		this.expression = expression;
+		final List<JSONPathSegment> segments = JSONPathParser.parse(expression);
+		if (segments.size() > 62) {
+			throw new JSONException("JSONPath '{}' has too many segments", expression);
+		}
+		this.segments = segments.toArray(new JSONPathSegment[0]);
+		this.endState = 1L << this.segments.length;
+
+		boolean definite = true;
+		long filterStates = 0;
+		long sizeStates = 0;
+		for (int i = 0; i < this.segments.length; i++) {
+			final JSONPathSegment segment = this.segments[i];
+			definite &= segment.isDefinite();
+			if (JSONPathSegment.Type.FILTER == segment.type) {
+				filterStates |= 1L << i;
+			}
+			if (segment.needsSize()) {
+				sizeStates |= 1L << i;
+			}
+		}
+		this.definite = definite;
+		this.filterStates = filterStates;
+		this.sizeStates = sizeStates;
+	}
+
+	/**
+	 * 获取表达式
+	 *
+	 * @return 表达式
+	 */
+	public String getExpression() {
+		return this.expression;
+	}
+
+	/**
+	 * 是否为只匹配一个确定值的表达式，即只包含单个键或单个下标，无通配符、切片、过滤器和递归下降
+	 *
+	 * @return 是否只匹配一个确定值
+	 */
+	public boolean isDefinite() {
+		return this.definite;
+	}
+
+	/**
+	 * 在对象树上求值
+	 *
+	 * @param root 根节点，{@link JSONObject}、{@link JSONArray}或其它{@link Map}、{@link List}
+	 * @return 确定值表达式返回匹配的值，未匹配返回{@code null}；否则返回全部匹配值组成的{@link JSONArray}
+	 */
+	public Object eval(Object root) {
+		if (this.definite) {
+			return evalDefinite(root);
+		}
+		return toResult(evalList(root));
+	}
+
+	/**
+	 * 在对象树上求值，返回全部匹配的值
+	 *
+	 * @param root 根节点，{@link JSONObject}、{@link JSONArray}或其它{@link Map}、{@link List}
+	 * @return 匹配的值列表，按文档顺序
+	 */
+	public List<Object> evalList(Object root) {
+		final List<Object> results = new ArrayList<>();
+		if (this.definite) {
+			final Object value = evalDefinite(root);
+			if (null != value) {
+				results.add(value);
+			}
+		} else {
+			walk(root, 1L, results);
+		}
+		return results;
+	}
+
+	/**
+	 * 解析JSON字符串并求值，未匹配的分支不构建对象，确定值表达式匹配后不再解析剩余部分
+	 *
+	 * @param json JSON字符串
+	 * @return 确定值表达式返回匹配的值，未匹配返回{@code null}；否则返回全部匹配值组成的{@link JSONArray}
+	 * @throws JSONException JSON语法错误
+	 */
+	public Object read(CharSequence json) throws JSONException {
+		final List<Object> results = new ArrayList<>();
+		read(new JSONReader(json), 1L, results, this.definite);
+		return this.definite ? firstOrNull(results) : toResult(results);
+	}
+
+	/**
+	 * 从{@link JSONReader}中读取下一个值并求值，未匹配的分支不构建对象，读取后此值被完整消费
+	 *
+	 * @param reader {@link JSONReader}
+	 * @return 确定值表达式返回匹配的值，未匹配返回{@code null}；否则返回全部匹配值组成的{@link JSONArray}
+	 * @throws JSONException JSON语法错误
+	 */
+	public Object read(JSONReader reader) throws JSONException {
+		final List<Object> results = readList(reader);
+		return this.definite ? firstOrNull(results) : toResult(results);
+	}
+
+	/**
+	 * 从{@link JSONReader}中读取下一个值并求值，返回全部匹配的值，读取后此值被完整消费
+	 *
+	 * @param reader {@link JSONReader}
+	 * @return 匹配的值列表，按文档顺序
+	 * @throws JSONException JSON语法错误
+	 */
+	public List<Object> readList(JSONReader reader) throws JSONException {
+		final List<Object> results = new ArrayList<>();
+		read(reader, 1L, results, false);
+		return results;
+	}
+
+	@Override
+	public String toString() {
+		return this.expression;
+	}
+
+	// ------------------------------------------------------------------------------------ Private method start
+
+	/**
+	 * 确定值表达式直接按键或下标逐层获取
+	 */
+	private Object evalDefinite(Object node) {
+		for (JSONPathSegment segment : this.segments) {
+			if (JSONPathSegment.Type.NAME == segment.type && node instanceof Map) {
+				node = ((Map<?, ?>) node).get(segment.names[0]);
+			} else if (JSONPathSegment.Type.INDEX == segment.type && node instanceof List) {
+				final List<?> list = (List<?>) node;
+				int index = segment.indexes[0];
+				if (index < 0) {
+					index += list.size();
+				}
+				node = (index >= 0 && index < list.size()) ? list.get(index) : null;
+			} else {
+				return null;
+			}
+			if (null == node) {
+				return null;
+			}
+		}
+		return node;
+	}
+
+	/**
+	 * 在对象树上匹配节点及其子节点
+	 *
+	 * @param node    节点
+	 * @param states  节点的匹配状态
+	 * @param results 结果
+	 */
+	private void walk(Object node, long states, List<Object> results) {
+		if (0 != (states & this.endState)) {
+			results.add(node);
+		}
+		final long active = states & ~this.endState;
+		if (0 == active) {
+			return;
+		}
+		if (node instanceof Map) {
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) node).entrySet()) {
+				final Object value = entry.getValue();
+				final long childStates = nameStates(active, String.valueOf(entry.getKey()), value);
+				if (0 != childStates) {
+					walk(value, childStates, results);
+				}
+			}
+		} else if (node instanceof List) {
+			final List<?> list = (List<?>) node;
+			final int size = list.size();
+			for (int i = 0; i < size; i++) {
+				final Object value = list.get(i);
+				final long childStates = indexStates(active, i, size, value);
+				if (0 != childStates) {
+					walk(value, childStates, results);
+				}
+			}
+		}
+	}
+
+	/**
+	 * 从{@link JSONReader}中读取下一个值并匹配，未匹配的分支跳过
+	 *
+	 * @param reader      {@link JSONReader}
+	 * @param states      值的匹配状态
+	 * @param results     结果
+	 * @param stopOnFirst 是否在首次匹配后停止读取
+	 * @return 是否已停止读取
+	 */
+	private boolean read(JSONReader reader, long states, List<Object> results, boolean stopOnFirst) {
+		final long active = states & ~this.endState;
+		if (0 != (states & this.endState)) {
+			final Object value = reader.nextValue();
+			results.add(value);
+			if (0 != active) {
+				// 递归下降时继续匹配其子节点
+				walk(value, active, results);
+			}
+			return stopOnFirst;
+		}
+
+		final JSONToken token = reader.peek();
+		if (JSONToken.BEGIN_OBJECT == token) {
+			final boolean hasFilter = 0 != (active & this.filterStates);
+			reader.beginObject();
+			while (reader.hasNext()) {
+				final String name = reader.nextName();
+				if (hasFilter) {
+					// 过滤器需要构建子节点后判断
+					final Object value = reader.nextValue();
+					final long childStates = nameStates(active, name, value);
+					if (0 != childStates) {
+						walk(value, childStates, results);
+					}
+					continue;
+				}
+				final long childStates = nameStates(active, name, null);
+				if (0 == childStates) {
+					reader.skipValue();
+				} else if (read(reader, childStates, results, stopOnFirst)) {
+					return true;
+				}
+			}
+			reader.endObject();
+		} else if (JSONToken.BEGIN_ARRAY == token) {
+			if (0 != (active & this.sizeStates)) {
+				// 负数下标需要数组长度
+				walk(reader.nextValue(), states, results);
+				return false;
+			}
+			final boolean hasFilter = 0 != (active & this.filterStates);
+			reader.beginArray();
+			for (int i = 0; reader.hasNext(); i++) {
+				if (hasFilter) {
+					final Object value = reader.nextValue();
+					final long childStates = indexStates(active, i, -1, value);
+					if (0 != childStates) {
+						walk(value, childStates, results);
+					}
+					continue;
+				}
+				final long childStates = indexStates(active, i, -1, null);
+				if (0 == childStates) {
+					reader.skipValue();
+				} else if (read(reader, childStates, results, stopOnFirst)) {
+					return true;
+				}
+			}
+			reader.endArray();
+		} else {
+			reader.skipValue();
+		}
+		return false;
+	}
+
+	/**
+	 * 计算对象成员的匹配状态
+	 *
+	 * @param active 对象的未完成匹配状态
+	 * @param name   成员的键
+	 * @param value  成员的值，仅过滤器使用
+	 * @return 成员的匹配状态
+	 */
+	private long nameStates(long active, String name, Object value) {
+		long childStates = 0;
+		for (long bits = active; 0 != bits; bits &= bits - 1) {
+			final int i = Long.numberOfTrailingZeros(bits);
+			final JSONPathSegment segment = this.segments[i];
+			if (segment.recursive) {
+				childStates |= 1L << i;
+			}
+			if (segment.matchName(name, value)) {
+				childStates |= 1L << (i + 1);
+			}
+		}
+		return childStates;
+	}
+
+	/**
+	 * 计算数组元素的匹配状态
+	 *
+	 * @param active 数组的未完成匹配状态
+	 * @param index  元素的下标
+	 * @param size   数组长度，未知为-1
+	 * @param value  元素的值，仅过滤器使用
+	 * @return 元素的匹配状态
+	 */
+	private long indexStates(long active, int index, int size, Object value) {
+		long childStates = 0;
+		for (long bits = active; 0 != bits; bits &= bits - 1) {
+			final int i = Long.numberOfTrailingZeros(bits);
+			final JSONPathSegment segment = this.segments[i];
+			if (segment.recursive) {
+				childStates |= 1L << i;
+			}
+			if (segment.matchIndex(index, size, value)) {
+				childStates |= 1L << (i + 1);
+			}
+		}
+		return childStates;
+	}
+
+	private static Object firstOrNull(List<Object> results) {
+		return results.isEmpty() ? null : results.get(0);
+	}
+
+	private static JSONArray toResult(List<Object> results) {
+		final JSONArray array = new JSONArray(results.size());
+		array.addAll(results);
+		return array;
+	}
+	// ------------------------------------------------------------------------------------ Private method end
+}
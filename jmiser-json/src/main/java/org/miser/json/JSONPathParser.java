@@ -0,0 +1,450 @@
+package org.miser.json;
+
+import org.miser.core.util.NumberUtil;
+import org.miser.core.util.StringUtil;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * {@link JSONPath}表达式解析器，将表达式解析为{@link JSONPathSegment}列表，过滤器解析为{@link Predicate}
+ *
+ * @author Oliver
+ */
+final class JSONPathParser {
+
+	/**
+	 * 过滤器中路径的结束字符
+	 */
+	private static final String PATH_END = "=!<>&|)";
+
+	private final String expression;
+	private int pos;
+
+	private JSONPathParser(String expression) {
+		this.expression = expression;
+	}
+
+	/**
+	 * 解析表达式
+	 *
+	 * @param expression 表达式
+	 * @return 段列表
+	 * @throws JSONException 表达式错误
+	 */
+	static List<JSONPathSegment> parse(String expression) throws JSONException {
+		return new JSONPathParser(expression).parsePath();
+	}
+
+	// ------------------------------------------------------------------------------------ Path start
+
+	private List<JSONPathSegment> parsePath() {
+		final List<JSONPathSegment> segments = new ArrayList<>();
+		final int length = this.expression.length();
+		if (length > 0 && '$' == this.expression.charAt(0)) {
+			this.pos++;
+		}
+		while (this.pos < length) {
+			final char c = this.expression.charAt(this.pos);
+			if ('.' == c) {
+				this.pos++;
+				if (this.pos < length && '.' == this.expression.charAt(this.pos)) {
+					// 递归下降
+					this.pos++;
+					segments.add(this.pos < length && '[' == this.expression.charAt(this.pos) ? parseBracket(true) : parseName(true));
+				} else {
+					segments.add(parseName(false));
+				}
+			} else if ('[' == c) {
+				segments.add(parseBracket(false));
+			} else if (segments.isEmpty()) {
+				// 首个键可以省略'.'，如a.b
+				segments.add(parseName(false));
+			} else {
+				throw error("Unexpected char '" + c + "'");
+			}
+		}
+		return segments;
+	}
+
+	/**
+	 * 解析'.'后的键或通配符
+	 */
+	private JSONPathSegment parseName(boolean recursive) {
+		final int start = this.pos;
+		while (this.pos < this.expression.length()) {
+			final char c = this.expression.charAt(this.pos);
+			if ('.' == c || '[' == c) {
+				break;
+			}
+			this.pos++;
+		}
+		final String name = this.expression.substring(start, this.pos);
+		if (name.isEmpty()) {
+			throw error("Empty name");
+		}
+		return "*".equals(name) ? JSONPathSegment.wildcard(recursive) : JSONPathSegment.name(recursive, name);
+	}
+
+	/**
+	 * 解析中括号：[*]、[?(filter)]、['a','b']、[0,1]、[start:end:step]，不带引号的非数字按键处理
+	 */
+	private JSONPathSegment parseBracket(boolean recursive) {
+		this.pos++;
+		skipSpaces();
+		final char c = peek();
+		final JSONPathSegment segment;
+		if ('*' == c) {
+			this.pos++;
+			segment = JSONPathSegment.wildcard(recursive);
+		} else if ('?' == c) {
+			this.pos++;
+			segment = JSONPathSegment.filter(recursive, parseOr());
+		} else if ('\'' == c || '"' == c) {
+			final List<String> names = new ArrayList<>();
+			while (true) {
+				skipSpaces();
+				names.add(readQuoted());
+				skipSpaces();
+				if (',' != peek()) {
+					break;
+				}
+				this.pos++;
+			}
+			segment = JSONPathSegment.name(recursive, names.toArray(new String[0]));
+		} else {
+			final int end = this.expression.indexOf(']', this.pos);
+			if (end < 0) {
+				throw error("Missing ']'");
+			}
+			final String content = this.expression.substring(this.pos, end).trim();
+			this.pos = end;
+			segment = parseBracketContent(recursive, content);
+		}
+		skipSpaces();
+		expect(']');
+		return segment;
+	}
+
+	/**
+	 * 解析不带引号的中括号内容
+	 */
+	private JSONPathSegment parseBracketContent(boolean recursive, String content) {
+		if (content.isEmpty()) {
+			throw error("Empty brackets");
+		}
+		if (content.indexOf(':') >= 0) {
+			final List<String> parts = StringUtil.split(content, ':');
+			if (parts.size() > 3) {
+				throw error("Bad slice [" + content + "]");
+			}
+			final Integer start = parseIndex(parts.get(0));
+			final Integer end = parseIndex(parts.get(1));
+			final Integer step = (3 == parts.size()) ? parseIndex(parts.get(2)) : null;
+			if (null != step && step <= 0) {
+				throw error("Slice step must be positive");
+			}
+			return JSONPathSegment.slice(recursive, start, end, null == step ? 1 : step);
+		}
+
+		final List<String> parts = StringUtil.splitTrim(content, ',');
+		final int[] indexes = new int[parts.size()];
+		for (int i = 0; i < indexes.length; i++) {
+			final String part = parts.get(i);
+			if (false == NumberUtil.isInteger(part)) {
+				// 非数字按键处理
+				return JSONPathSegment.name(recursive, parts.toArray(new String[0]));
+			}
+			indexes[i] = Integer.parseInt(part);
+		}
+		return JSONPathSegment.index(recursive, indexes);
+	}
+
+	private Integer parseIndex(String part) {
+		part = part.trim();
+		if (part.isEmpty()) {
+			return null;
+		}
+		if (false == NumberUtil.isInteger(part)) {
+			throw error("Bad index '" + part + "'");
+		}
+		return Integer.parseInt(part);
+	}
+	// ------------------------------------------------------------------------------------ Path end
+
+	// ------------------------------------------------------------------------------------ Filter start
+
+	private Predicate<Object> parseOr() {
+		Predicate<Object> predicate = parseAnd();
+		while (consume("||")) {
+			predicate = predicate.or(parseAnd());
+		}
+		return predicate;
+	}
+
+	private Predicate<Object> parseAnd() {
+		Predicate<Object> predicate = parseUnary();
+		while (consume("&&")) {
+			predicate = predicate.and(parseUnary());
+		}
+		return predicate;
+	}
+
+	private Predicate<Object> parseUnary() {
+		skipSpaces();
+		final char c = peek();
+		if ('!' == c) {
+			this.pos++;
+			return parseUnary().negate();
+		}
+		if ('(' == c) {
+			this.pos++;
+			final Predicate<Object> predicate = parseOr();
+			skipSpaces();
+			expect(')');
+			return predicate;
+		}
+		return parseComparison();
+	}
+
+	/**
+	 * 解析比较表达式，无比较符时表示路径存在
+	 */
+	private Predicate<Object> parseComparison() {
+		final Function<Object, Object> left = parseOperand();
+		skipSpaces();
+		final String operator = readOperator();
+		if (null == operator) {
+			return (node) -> null != left.apply(node);
+		}
+
+		skipSpaces();
+		if ("=~".equals(operator)) {
+			final Pattern pattern = readRegex();
+			return (node) -> {
+				final Object value = left.apply(node);
+				return value instanceof CharSequence && pattern.matcher((CharSequence) value).matches();
+			};
+		}
+		final Function<Object, Object> right = parseOperand();
+		return (node) -> compare(left.apply(node), operator, right.apply(node));
+	}
+
+	/**
+	 * 解析操作数：@开头的相对路径、字符串、数字、true、false或null
+	 */
+	private Function<Object, Object> parseOperand() {
+		final char c = peek();
+		if ('@' == c) {
+			this.pos++;
+			final String path = readFilterPath();
+			if (path.isEmpty()) {
+				return Function.identity();
+			}
+			final JSONPath jsonPath = JSONPath.compile("$" + path);
+			return jsonPath::eval;
+		}
+		final Object literal;
+		if ('\'' == c || '"' == c) {
+			literal = readQuoted();
+		} else if ('-' == c || (c >= '0' && c <= '9')) {
+			final int start = this.pos;
+			while (this.pos < this.expression.length() && "+-.eE0123456789".indexOf(this.expression.charAt(this.pos)) >= 0) {
+				this.pos++;
+			}
+			try {
+				literal = new BigDecimal(this.expression.substring(start, this.pos));
+			} catch (NumberFormatException e) {
+				throw error("Bad number");
+			}
+		} else if (consume("true")) {
+			literal = Boolean.TRUE;
+		} else if (consume("false")) {
+			literal = Boolean.FALSE;
+		} else if (consume("null")) {
+			literal = JSONNull.NULL;
+		} else {
+			throw error("Unexpected char '" + c + "' in filter");
+		}
+		return (node) -> literal;
+	}
+
+	/**
+	 * 读取过滤器中的相对路径，到空白符或比较符、逻辑符为止，中括号和引号中的字符除外
+	 */
+	private String readFilterPath() {
+		final int start = this.pos;
+		int depth = 0;
+		char quote = 0;
+		while (this.pos < this.expression.length()) {
+			final char c = this.expression.charAt(this.pos);
+			if (0 != quote) {
+				if ('\\' == c) {
+					this.pos++;
+				} else if (quote == c) {
+					quote = 0;
+				}
+			} else if ('\'' == c || '"' == c) {
+				quote = c;
+			} else if ('[' == c) {
+				depth++;
+			} else if (']' == c) {
+				if (0 == depth) {
+					break;
+				}
+				depth--;
+			} else if (0 == depth && (c <= ' ' || PATH_END.indexOf(c) >= 0)) {
+				break;
+			}
+			this.pos++;
+		}
+		return this.expression.substring(start, this.pos);
+	}
+
+	private String readOperator() {
+		for (String operator : new String[]{"==", "!=", "<=", ">=", "=~", "<", ">"}) {
+			if (consume(operator)) {
+				return operator;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 读取/pattern/或/pattern/i形式的正则表达式
+	 */
+	private Pattern readRegex() {
+		expect('/');
+		final StringBuilder sb = new StringBuilder();
+		while (true) {
+			final char c = next();
+			if ('/' == c) {
+				break;
+			}
+			if ('\\' == c && '/' == peek()) {
+				sb.append(next());
+				continue;
+			}
+			sb.append(c);
+		}
+		int flags = 0;
+		if ('i' == peek()) {
+			this.pos++;
+			flags = Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+		}
+		return Pattern.compile(sb.toString(), flags);
+	}
+
+	/**
+	 * 比较两个值，数字按数值比较，字符串按字典顺序比较，值不存在时总是返回{@code false}
+	 *
+	 * @param left     左值
+	 * @param operator 比较符
+	 * @param right    右值
+	 * @return 是否满足
+	 */
+	private static boolean compare(Object left, String operator, Object right) {
+		if (null == left || null == right) {
+			return false;
+		}
+		if (left instanceof Number && right instanceof Number) {
+			left = NumberUtil.toBigDecimal((Number) left);
+			right = NumberUtil.toBigDecimal((Number) right);
+		}
+		switch (operator) {
+			case "==":
+				return valueEquals(left, right);
+			case "!=":
+				return false == valueEquals(left, right);
+			default:
+				final int result;
+				if (left instanceof BigDecimal && right instanceof BigDecimal) {
+					result = ((BigDecimal) left).compareTo((BigDecimal) right);
+				} else if (left instanceof String && right instanceof String) {
+					result = ((String) left).compareTo((String) right);
+				} else {
+					return false;
+				}
+				switch (operator) {
+					case "<":
+						return result < 0;
+					case "<=":
+						return result <= 0;
+					case ">":
+						return result > 0;
+					default:
+						return result >= 0;
+				}
+		}
+	}
+
+	private static boolean valueEquals(Object left, Object right) {
+		if (left instanceof BigDecimal && right instanceof BigDecimal) {
+			return 0 == ((BigDecimal) left).compareTo((BigDecimal) right);
+		}
+		if (left instanceof JSONNull || right instanceof JSONNull) {
+			return left instanceof JSONNull && right instanceof JSONNull;
+		}
+		return left.equals(right);
+	}
+	// ------------------------------------------------------------------------------------ Filter end
+
+	/**
+	 * 读取单引号或双引号包围的字符串，支持反斜杠转义
+	 */
+	private String readQuoted() {
+		final char quote = next();
+		final StringBuilder sb = new StringBuilder();
+		while (true) {
+			char c = next();
+			if (quote == c) {
+				return sb.toString();
+			}
+			if ('\\' == c) {
+				c = next();
+			}
+			sb.append(c);
+		}
+	}
+
+	private void skipSpaces() {
+		while (this.pos < this.expression.length() && this.expression.charAt(this.pos) <= ' ') {
+			this.pos++;
+		}
+	}
+
+	private boolean consume(String str) {
+		skipSpaces();
+		if (this.expression.startsWith(str, this.pos)) {
+			this.pos += str.length();
+			return true;
+		}
+		return false;
+	}
+
+	private void expect(char c) {
+		if (c != peek()) {
+			throw error("Expected '" + c + "'");
+		}
+		this.pos++;
+	}
+
+	private char peek() {
+		return this.pos < this.expression.length() ? this.expression.charAt(this.pos) : 0;
+	}
+
+	private char next() {
+		if (this.pos >= this.expression.length()) {
+			throw error("Unexpected end");
+		}
+		return this.expression.charAt(this.pos++);
+	}
+
+	private JSONException error(String message) {
+		return new JSONException("Bad JSONPath '{}' at {}: {}", this.expression, this.pos, message);
+	}
+}
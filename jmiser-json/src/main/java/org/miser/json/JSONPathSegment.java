@@ -0,0 +1,161 @@
+package org.miser.json;
+
+import java.util.function.Predicate;
+
+/**
+ * {@link JSONPath}中的一段，匹配当前节点的子节点（对象的成员或数组的元素）
+ *
+ * @author Oliver
+ */
+final class JSONPathSegment {
+
+	/**
+	 * 段类型
+	 */
+	enum Type {
+		/** 键，如.name、['a','b'] */
+		NAME,
+		/** 下标，如[0]、[1,-1] */
+		INDEX,
+		/** 切片，如[1:3]、[::2]、[-2:] */
+		SLICE,
+		/** 通配符，如.*、[*] */
+		WILDCARD,
+		/** 过滤器，如[?(@.price &lt; 10)] */
+		FILTER
+	}
+
+	final Type type;
+	/**
+	 * 是否为递归下降（..），即匹配任意层级的子节点
+	 */
+	final boolean recursive;
+	final String[] names;
+	final int[] indexes;
+	/**
+	 * 切片的开始、结束和步长，开始和结束为{@code null}表示数组开始和结尾
+	 */
+	final Integer start;
+	final Integer end;
+	final int step;
+	final Predicate<Object> filter;
+
+	private JSONPathSegment(Type type, boolean recursive, String[] names, int[] indexes,
+							Integer start, Integer end, int step, Predicate<Object> filter) {
+		this.type = type;
+		this.recursive = recursive;
+		this.names = names;
+		this.indexes = indexes;
+		this.start = start;
+		this.end = end;
+		this.step = step;
+		this.filter = filter;
+	}
+
+	static JSONPathSegment name(boolean recursive, String... names) {
+		return new JSONPathSegment(Type.NAME, recursive, names, null, null, null, 1, null);
+	}
+
+	static JSONPathSegment index(boolean recursive, int... indexes) {
+		return new JSONPathSegment(Type.INDEX, recursive, null, indexes, null, null, 1, null);
+	}
+
+	static JSONPathSegment slice(boolean recursive, Integer start, Integer end, int step) {
+		return new JSONPathSegment(Type.SLICE, recursive, null, null, start, end, step, null);
+	}
+
+	static JSONPathSegment wildcard(boolean recursive) {
+		return new JSONPathSegment(Type.WILDCARD, recursive, null, null, null, null, 1, null);
+	}
+
+	static JSONPathSegment filter(boolean recursive, Predicate<Object> filter) {
+		return new JSONPathSegment(Type.FILTER, recursive, null, null, null, null, 1, filter);
+	}
+
+	/**
+	 * 是否只匹配一个确定的子节点
+	 *
+	 * @return 是否只匹配一个确定的子节点
+	 */
+	boolean isDefinite() {
+		if (this.recursive) {
+			return false;
+		}
+		return (Type.NAME == this.type && 1 == this.names.length) || (Type.INDEX == this.type && 1 == this.indexes.length);
+	}
+
+	/**
+	 * 匹配时是否需要知道数组长度，即包含负数下标
+	 *
+	 * @return 是否需要数组长度
+	 */
+	boolean needsSize() {
+		if (Type.INDEX == this.type) {
+			for (int index : this.indexes) {
+				if (index < 0) {
+					return true;
+				}
+			}
+		} else if (Type.SLICE == this.type) {
+			return (null != this.start && this.start < 0) || (null != this.end && this.end < 0);
+		}
+		return false;
+	}
+
+	/**
+	 * 是否匹配对象的成员
+	 *
+	 * @param name  键
+	 * @param value 值，仅过滤器使用
+	 * @return 是否匹配
+	 */
+	boolean matchName(String name, Object value) {
+		switch (this.type) {
+			case NAME:
+				for (String n : this.names) {
+					if (n.equals(name)) {
+						return true;
+					}
+				}
+				return false;
+			case WILDCARD:
+				return true;
+			case FILTER:
+				return this.filter.test(value);
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * 是否匹配数组的元素
+	 *
+	 * @param index 下标
+	 * @param size  数组长度，不需要时可以为-1，见{@link #needsSize()}
+	 * @param value 值，仅过滤器使用
+	 * @return 是否匹配
+	 */
+	boolean matchIndex(int index, int size, Object value) {
+		switch (this.type) {
+			case INDEX:
+				for (int i : this.indexes) {
+					if (i == index || (i < 0 && i + size == index)) {
+						return true;
+					}
+				}
+				return false;
+			case SLICE:
+				final int from = (null == this.start) ? 0 : (this.start < 0 ? Math.max(0, this.start + size) : this.start);
+				if (index < from || (index - from) % this.step != 0) {
+					return false;
+				}
+				return null == this.end || index < (this.end < 0 ? this.end + size : this.end);
+			case WILDCARD:
+				return true;
+			case FILTER:
+				return this.filter.test(value);
+			default:
+				return false;
+		}
+	}
+}
@@ -0,0 +1,675 @@
+package org.miser.json;
+
+import org.miser.core.io.IOUtil;
+
+import java.io.Closeable;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * JSON流式读取器（拉模式）<br>
+ * 基于{@link JSONTokener}逐个读取JSON标记，不构建{@link JSONObject}或{@link JSONArray}树，内存占用与数据大小无关，
+ * 不需要的部分可通过{@link #skipValue()}跳过而不创建任何对象。
+ *
+ * <pre>
+ * JSONReader reader = new JSONReader(new StringReader("{\"name\":\"miser\",\"tags\":[1,2]}"));
+ * reader.beginObject();
+ * while (reader.hasNext()) {
+ *     String name = reader.nextName();
+ *     if ("name".equals(name)) {
+ *         String value = reader.nextString();
+ *     } else {
+ *         reader.skipValue();
+ *     }
+ * }
+ * reader.endObject();
+ * </pre>
+ *
+ * 与{@link JSONTokener}一致，接受单引号字符串、无引号的键和字符串、对象和数组末尾多余的逗号以及';'作为键值对分隔符。<br>
+ * 顶层可以连续出现多个值（如JSON Lines），每个值读取完毕后继续调用{@link #peek()}读取下一个，全部读取完毕返回{@link JSONToken#END_DOCUMENT}。
+ *
+ * @author Oliver
+ */
+public class JSONReader implements Closeable {
+
+	/** 字面量（非引号包围的值）的结束字符 */
+	private static final String LITERAL_END = ",:]}/\\\"[{;=#";
+
+	// 作用域
+	private static final int EMPTY_DOCUMENT = 0;
+	private static final int NONEMPTY_DOCUMENT = 1;
+	private static final int EMPTY_ARRAY = 2;
+	private static final int NONEMPTY_ARRAY = 3;
+	private static final int EMPTY_OBJECT = 4;
+	/** 已读取键，等待值 */
+	private static final int DANGLING_NAME = 5;
+	private static final int NONEMPTY_OBJECT = 6;
+
+	private final JSONTokener tokener;
+	private final JSONConfig config;
+	private final Closeable source;
+
+	/** 作用域栈 */
+	private int[] stack = new int[32];
+	private int stackSize;
+
+	/** 已预读的标记，{@code null}表示未预读 */
+	private JSONToken peeked;
+	/** 预读到的字符串或键的引号，0表示无引号 */
+	private char peekedQuote;
+	/** 预读到的字面量 */
+	private final StringBuilder literal = new StringBuilder();
+
+	// ------------------------------------------------------------------------------------ Constructor start
+
+	/**
+	 * 构造
+	 *
+	 * @param json JSON字符串
+	 */
+	public JSONReader(CharSequence json) {
+		this(json, JSONConfig.create());
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param json   JSON字符串
+	 * @param config JSON配置，用于{@link #nextValue()}创建对象
+	 */
+	public JSONReader(CharSequence json, JSONConfig config) {
+		this(new CharArrayJSONTokener(json, config), config, null);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param reader {@link Reader}，关闭此对象时关闭
+	 */
+	public JSONReader(Reader reader) {
+		this(reader, JSONConfig.create());
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param reader {@link Reader}，关闭此对象时关闭
+	 * @param config JSON配置，用于{@link #nextValue()}创建对象
+	 */
+	public JSONReader(Reader reader, JSONConfig config) {
+		this(new JSONTokener(reader, config), config, reader);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param tokener {@link JSONTokener}
+	 * @param config  JSON配置，用于{@link #nextValue()}创建对象
+	 */
+	public JSONReader(JSONTokener tokener, JSONConfig config) {
+		this(tokener, config, null);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param tokener {@link JSONTokener}
+	 * @param config  JSON配置
+	 * @param source  关闭时需要关闭的源，可为{@code null}
+	 */
+	private JSONReader(JSONTokener tokener, JSONConfig config, Closeable source) {
+		this.tokener = tokener;
+		this.config = config;
+		this.source = source;
+		push(EMPTY_DOCUMENT);
+	}
+	// ------------------------------------------------------------------------------------ Constructor end
+
+	/**
+	 * 获取下一个标记的类型，不消费此标记
+	 *
+	 * @return {@link JSONToken}
+	 * @throws JSONException 语法错误
+	 */
+	public JSONToken peek() throws JSONException {
+		if (null == this.peeked) {
+			this.peeked = doPeek();
+		}
+		return this.peeked;
+	}
+
+	/**
+	 * 当前对象或数组中是否还有元素
+	 *
+	 * @return 是否还有元素
+	 * @throws JSONException 语法错误
+	 */
+	public boolean hasNext() throws JSONException {
+		final JSONToken token = peek();
+		return token != JSONToken.END_OBJECT && token != JSONToken.END_ARRAY && token != JSONToken.END_DOCUMENT;
+	}
+
+	/**
+	 * 消费'{'，进入对象
+	 *
+	 * @throws JSONException 下一个标记不是对象开始
+	 */
+	public void beginObject() throws JSONException {
+		expect(JSONToken.BEGIN_OBJECT);
+		push(EMPTY_OBJECT);
+		this.peeked = null;
+	}
+
+	/**
+	 * 消费'}'，退出对象
+	 *
+	 * @throws JSONException 下一个标记不是对象结束
+	 */
+	public void endObject() throws JSONException {
+		expect(JSONToken.END_OBJECT);
+		this.stackSize--;
+		this.peeked = null;
+	}
+
+	/**
+	 * 消费'['，进入数组
+	 *
+	 * @throws JSONException 下一个标记不是数组开始
+	 */
+	public void beginArray() throws JSONException {
+		expect(JSONToken.BEGIN_ARRAY);
+		push(EMPTY_ARRAY);
+		this.peeked = null;
+	}
+
+	/**
+	 * 消费']'，退出数组
+	 *
+	 * @throws JSONException 下一个标记不是数组结束
+	 */
+	public void endArray() throws JSONException {
+		expect(JSONToken.END_ARRAY);
+		this.stackSize--;
+		this.peeked = null;
+	}
+
+	/**
+	 * 读取对象中的键
+	 *
+	 * @return 键
+	 * @throws JSONException 下一个标记不是键
+	 */
+	public String nextName() throws JSONException {
+		expect(JSONToken.NAME);
+		return consumeText();
+	}
+
+	/**
+	 * 读取字符串值，数字、布尔等字面量返回其原始文本
+	 *
+	 * @return 字符串
+	 * @throws JSONException 下一个标记不是字符串或字面量
+	 */
+	public String nextString() throws JSONException {
+		final JSONToken token = peek();
+		if (token != JSONToken.STRING && token != JSONToken.NUMBER && token != JSONToken.BOOLEAN) {
+			throw unexpected(JSONToken.STRING, token);
+		}
+		return consumeText();
+	}
+
+	/**
+	 * 读取布尔值
+	 *
+	 * @return 布尔值
+	 * @throws JSONException 下一个标记不是布尔值
+	 */
+	public boolean nextBoolean() throws JSONException {
+		expect(JSONToken.BOOLEAN);
+		return Boolean.parseBoolean(consumeText());
+	}
+
+	/**
+	 * 读取null值
+	 *
+	 * @throws JSONException 下一个标记不是null
+	 */
+	public void nextNull() throws JSONException {
+		expect(JSONToken.NULL);
+		this.peeked = null;
+	}
+
+	/**
+	 * 读取数字值，规则同{@link JSONTokener#nextValue()}，返回Integer、Long或BigDecimal
+	 *
+	 * @return 数字
+	 * @throws JSONException 下一个标记不是数字
+	 */
+	public Number nextNumber() throws JSONException {
+		final String text = nextNumberText();
+		final Object value = InternalJSONUtil.stringToValue(text);
+		if (value instanceof Number) {
+			return (Number) value;
+		}
+		try {
+			return new BigDecimal(text);
+		} catch (NumberFormatException e) {
+			throw this.tokener.syntaxError("Illegal number: " + text);
+		}
+	}
+
+	/**
+	 * 读取int值，字符串形式的数字也可读取
+	 *
+	 * @return int值
+	 * @throws JSONException 下一个标记不是数字或超出范围
+	 */
+	public int nextInt() throws JSONException {
+		final String text = nextNumberText();
+		try {
+			return Integer.parseInt(text);
+		} catch (NumberFormatException e) {
+			final double value = parseDouble(text);
+			if (value != (int) value) {
+				throw this.tokener.syntaxError("Expected an int but was " + text);
+			}
+			return (int) value;
+		}
+	}
+
+	/**
+	 * 读取long值，字符串形式的数字也可读取
+	 *
+	 * @return long值
+	 * @throws JSONException 下一个标记不是数字或超出范围
+	 */
+	public long nextLong() throws JSONException {
+		final String text = nextNumberText();
+		try {
+			return Long.parseLong(text);
+		} catch (NumberFormatException e) {
+			final double value = parseDouble(text);
+			if (value != (long) value) {
+				throw this.tokener.syntaxError("Expected a long but was " + text);
+			}
+			return (long) value;
+		}
+	}
+
+	/**
+	 * 读取double值，字符串形式的数字也可读取
+	 *
+	 * @return double值
+	 * @throws JSONException 下一个标记不是数字
+	 */
+	public double nextDouble() throws JSONException {
+		return parseDouble(nextNumberText());
+	}
+
+	/**
+	 * 读取下一个值并构建为对象，用于只需要局部构建的场景<br>
+	 * 与{@link JSONTokener}一致，无法解析为数字的字面量（如{@code 1.2.3}）作为字符串返回
+	 *
+	 * @return {@link JSONObject}、{@link JSONArray}、String、Number、Boolean或{@link JSONNull#NULL}
+	 * @throws JSONException 语法错误
+	 */
+	public Object nextValue() throws JSONException {
+		final JSONToken token = peek();
+		switch (token) {
+			case BEGIN_OBJECT:
+				final JSONObject object = new JSONObject(this.config);
+				beginObject();
+				while (hasNext()) {
+					object.putOnce(nextName(), nextValue());
+				}
+				endObject();
+				return object;
+			case BEGIN_ARRAY:
+				final JSONArray array = new JSONArray(this.config);
+				beginArray();
+				while (hasNext()) {
+					array.add(nextValue());
+				}
+				endArray();
+				return array;
+			case STRING:
+				return nextString();
+			case NUMBER:
+				// 与JSONTokener一致，非法的数字字面量作为字符串返回
+				return InternalJSONUtil.stringToValue(consumeText());
+			case BOOLEAN:
+				return nextBoolean();
+			case NULL:
+				nextNull();
+				return JSONNull.NULL;
+			default:
+				throw this.tokener.syntaxError("Expected a value but was " + token);
+		}
+	}
+
+	/**
+	 * 跳过下一个值，如果是对象或数组，跳过其全部内容，跳过的内容不创建任何对象<br>
+	 * 在对象中且下一个标记为键时，跳过此键及其值
+	 *
+	 * @throws JSONException 语法错误
+	 */
+	public void skipValue() throws JSONException {
+		int depth = 0;
+		while (true) {
+			final JSONToken token = peek();
+			switch (token) {
+				case BEGIN_OBJECT:
+					beginObject();
+					depth++;
+					break;
+				case BEGIN_ARRAY:
+					beginArray();
+					depth++;
+					break;
+				case END_OBJECT:
+					checkSkipDepth(depth);
+					endObject();
+					depth--;
+					break;
+				case END_ARRAY:
+					checkSkipDepth(depth);
+					endArray();
+					depth--;
+					break;
+				case NAME:
+					skipText();
+					// 跳过键后继续跳过值
+					continue;
+				case END_DOCUMENT:
+					throw this.tokener.syntaxError("No value to skip");
+				default:
+					skipText();
+					break;
+			}
+			if (0 == depth) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * 关闭读取器，如果通过{@link Reader}构建，同时关闭{@link Reader}
+	 */
+	@Override
+	public void close() {
+		this.peeked = null;
+		this.stackSize = 0;
+		IOUtil.close(this.source);
+	}
+
+	@Override
+	public String toString() {
+		return "JSONReader" + this.tokener;
+	}
+
+	// ------------------------------------------------------------------------------------ Private method start
+
+	/**
+	 * 读取下一个标记，处理分隔符并更新作用域
+	 *
+	 * @return 下一个标记
+	 */
+	private JSONToken doPeek() {
+		final int scope = this.stack[this.stackSize - 1];
+		char c = this.tokener.nextClean();
+		switch (scope) {
+			case EMPTY_ARRAY:
+				if (']' == c) {
+					return JSONToken.END_ARRAY;
+				}
+				this.stack[this.stackSize - 1] = NONEMPTY_ARRAY;
+				break;
+			case NONEMPTY_ARRAY:
+				if (']' == c) {
+					return JSONToken.END_ARRAY;
+				}
+				if (',' != c) {
+					throw this.tokener.syntaxError("Expected a ',' or ']'");
+				}
+				c = this.tokener.nextClean();
+				if (']' == c) {
+					// 末尾多余的逗号
+					return JSONToken.END_ARRAY;
+				}
+				break;
+			case NONEMPTY_OBJECT:
+				if ('}' == c) {
+					return JSONToken.END_OBJECT;
+				}
+				if (',' != c && ';' != c) {
+					throw this.tokener.syntaxError("Expected a ',' or '}'");
+				}
+				c = this.tokener.nextClean();
+				// fall through
+			case EMPTY_OBJECT:
+				if ('}' == c) {
+					return JSONToken.END_OBJECT;
+				}
+				if (0 == c) {
+					throw this.tokener.syntaxError("A JSONObject text must end with '}'");
+				}
+				this.stack[this.stackSize - 1] = DANGLING_NAME;
+				return peekName(c);
+			case DANGLING_NAME:
+				if (':' != c) {
+					throw this.tokener.syntaxError("Expected a ':' after a key");
+				}
+				this.stack[this.stackSize - 1] = NONEMPTY_OBJECT;
+				c = this.tokener.nextClean();
+				break;
+			default:
+				// 文档顶层
+				if (0 == c) {
+					return JSONToken.END_DOCUMENT;
+				}
+				this.stack[this.stackSize - 1] = NONEMPTY_DOCUMENT;
+				break;
+		}
+		return peekValue(c);
+	}
+
+	/**
+	 * 根据值的第一个字符读取值标记
+	 *
+	 * @param c 第一个字符
+	 * @return 值标记
+	 */
+	private JSONToken peekValue(char c) {
+		switch (c) {
+			case '{':
+				return JSONToken.BEGIN_OBJECT;
+			case '[':
+				return JSONToken.BEGIN_ARRAY;
+			case '"':
+			case '\'':
+				this.peekedQuote = c;
+				return JSONToken.STRING;
+			case 0:
+				throw this.tokener.syntaxError("Missing value");
+			default:
+				readLiteral(c);
+				if (literalEqualsIgnoreCase("null")) {
+					return JSONToken.NULL;
+				}
+				if (literalEqualsIgnoreCase("true") || literalEqualsIgnoreCase("false")) {
+					return JSONToken.BOOLEAN;
+				}
+				final char first = this.literal.charAt(0);
+				if ((first >= '0' && first <= '9') || first == '-') {
+					return JSONToken.NUMBER;
+				}
+				return JSONToken.STRING;
+		}
+	}
+
+	/**
+	 * 根据键的第一个字符读取键标记
+	 *
+	 * @param c 第一个字符
+	 * @return 键标记
+	 */
+	private JSONToken peekName(char c) {
+		if ('"' == c || '\'' == c) {
+			this.peekedQuote = c;
+		} else {
+			readLiteral(c);
+		}
+		return JSONToken.NAME;
+	}
+
+	/**
+	 * 读取无引号的字面量到{@link #literal}，规则同{@link JSONTokener#nextValue()}
+	 *
+	 * @param c 第一个字符
+	 */
+	private void readLiteral(char c) {
+		this.peekedQuote = 0;
+		final StringBuilder literal = this.literal;
+		literal.setLength(0);
+		while (c >= ' ' && LITERAL_END.indexOf(c) < 0) {
+			literal.append(c);
+			c = this.tokener.next();
+		}
+		this.tokener.back();
+
+		// 去除末尾空白
+		int length = literal.length();
+		while (length > 0 && literal.charAt(length - 1) <= ' ') {
+			length--;
+		}
+		literal.setLength(length);
+		if (0 == length) {
+			throw this.tokener.syntaxError("Missing value");
+		}
+	}
+
+	/**
+	 * 消费当前预读的字符串、键或字面量，返回其文本
+	 *
+	 * @return 文本
+	 */
+	private String consumeText() {
+		final String text = (0 == this.peekedQuote) ? this.literal.toString() : this.tokener.nextString(this.peekedQuote);
+		this.peeked = null;
+		return text;
+	}
+
+	/**
+	 * 跳过当前预读的字符串、键或字面量，不创建字符串
+	 */
+	private void skipText() {
+		final char quote = this.peekedQuote;
+		if (0 != quote) {
+			char c;
+			while ((c = this.tokener.next()) != quote) {
+				if (0 == c || '\n' == c || '\r' == c) {
+					throw this.tokener.syntaxError("Unterminated string");
+				}
+				if ('\\' == c) {
+					// 转义符后的字符不会是结束引号，\\u后的4位也不包含引号
+					this.tokener.next();
+				}
+			}
+		}
+		this.peeked = null;
+	}
+
+	/**
+	 * 跳过值时，不能越过当前对象或数组的结尾
+	 *
+	 * @param depth 已进入的层数
+	 */
+	private void checkSkipDepth(int depth) {
+		if (depth <= 0) {
+			throw this.tokener.syntaxError("No value to skip");
+		}
+	}
+
+	/**
+	 * 读取数字文本，字符串形式的数字也可读取
+	 *
+	 * @return 数字文本
+	 */
+	private String nextNumberText() {
+		final JSONToken token = peek();
+		if (token != JSONToken.NUMBER && token != JSONToken.STRING) {
+			throw unexpected(JSONToken.NUMBER, token);
+		}
+		return consumeText().trim();
+	}
+
+	/**
+	 * 解析double
+	 *
+	 * @param text 数字文本
+	 * @return double
+	 */
+	private double parseDouble(String text) {
+		try {
+			return Double.parseDouble(text);
+		} catch (NumberFormatException e) {
+			throw this.tokener.syntaxError("Illegal number: " + text);
+		}
+	}
+
+	/**
+	 * 字面量是否与指定字符串相同（忽略大小写）
+	 *
+	 * @param str 字符串
+	 * @return 是否相同
+	 */
+	private boolean literalEqualsIgnoreCase(String str) {
+		final StringBuilder literal = this.literal;
+		if (literal.length() != str.length()) {
+			return false;
+		}
+		for (int i = 0; i < str.length(); i++) {
+			if (Character.toLowerCase(literal.charAt(i)) != str.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 检查下一个标记是否为指定类型
+	 *
+	 * @param expected 期望的类型
+	 */
+	private void expect(JSONToken expected) {
+		final JSONToken token = peek();
+		if (token != expected) {
+			throw unexpected(expected, token);
+		}
+	}
+
+	/**
+	 * 创建标记类型不符的异常
+	 *
+	 * @param expected 期望的类型
+	 * @param actual   实际的类型
+	 * @return {@link JSONException}
+	 */
+	private JSONException unexpected(JSONToken expected, JSONToken actual) {
+		return this.tokener.syntaxError("Expected " + expected + " but was " + actual);
+	}
+
+	/**
+	 * 压入作用域
+	 *
+	 * @param scope 作用域
+	 */
+	private void push(int scope) {
+		if (this.stackSize == this.stack.length) {
+			this.stack = Arrays.copyOf(this.stack, this.stackSize * 2);
+		}
+		this.stack[this.stackSize++] = scope;
+	}
+	// ------------------------------------------------------------------------------------ Private method end
+}
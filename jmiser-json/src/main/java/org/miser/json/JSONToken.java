@@ -0,0 +1,29 @@
+package org.miser.json;
+
+/**
+ * {@link JSONReader}读取到的JSON标记类型
+ *
+ * @author Oliver
+ */
+public enum JSONToken {
+	/** 对象开始，即'{' */
+	BEGIN_OBJECT,
+	/** 对象结束，即'}' */
+	END_OBJECT,
+	/** 数组开始，即'[' */
+	BEGIN_ARRAY,
+	/** 数组结束，即']' */
+	END_ARRAY,
+	/** 对象中的键 */
+	NAME,
+	/** 字符串值 */
+	STRING,
+	/** 数字值 */
+	NUMBER,
+	/** 布尔值 */
+	BOOLEAN,
+	/** null值 */
+	NULL,
+	/** 数据结束 */
+	END_DOCUMENT
+}
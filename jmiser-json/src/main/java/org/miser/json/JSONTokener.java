@@ -85,6 +85,16 @@ public class JSONTokener {
 	public JSONTokener(CharSequence s, JSONConfig config) {
 		this(new StringReader(StringUtil.str(s)), config);
 	}
+
+	/**
+	 * 供不通过{@link Reader}读取的子类使用，子类须覆盖所有读取方法
+	 *
+	 * @param config JSON配置
+	 */
+	protected JSONTokener(JSONConfig config) {
+		this.reader = null;
+		this.config = config;
+	}
 	// ------------------------------------------------------------------------------------ Constructor end
 
 	/**
@@ -9,11 +9,13 @@ import org.miser.core.util.HexUtil;
 import org.miser.core.util.ObjectUtil;
 import org.miser.core.util.StringUtil;
 import org.miser.core.util.TypeUtil;
+import org.miser.json.bind.BeanBinder;
 import org.miser.json.serialize.GlobalSerializeMapping;
 import org.miser.json.serialize.JSONArraySerializer;
 import org.miser.json.serialize.JSONDeserializer;
 import org.miser.json.serialize.JSONObjectSerializer;
 import org.miser.json.serialize.JSONSerializer;
+import org.miser.json.serialize.JSONWriter;
 
 import java.io.File;
 import java.io.IOException;
@@ -343,42 +345,69 @@ public class JSONUtil {
 	}
 
 	/**
-	 * 转换为JSON字符串
+	 * 转换为JSON字符串<br>
+	 * Bean、Map、集合和数组直接写出，不构建{@link JSONObject}或{@link JSONArray}，见{@link JSONWriter#writeObj(Object)}
 	 *
 	 * @param obj 被转为JSON的对象
 	 * @return JSON字符串
 	 */
 	public static String toJsonStr(Object obj) {
+		return toJsonStr(obj, JSONConfig.create());
+	}
+
+	/**
+	 * 转换为JSON字符串<br>
+	 * Bean、Map、集合和数组直接写出，不构建{@link JSONObject}或{@link JSONArray}，见{@link JSONWriter#writeObj(Object)}
+	 *
+	 * @param obj        被转为JSON的对象
+	 * @param jsonConfig JSON配置，用于日期格式、是否忽略null值等
+	 * @return JSON字符串
+	 */
+	public static String toJsonStr(Object obj, JSONConfig jsonConfig) {
 		if (null == obj) {
 			return null;
 		}
 		if (obj instanceof CharSequence) {
 			return StringUtil.str((CharSequence) obj);
 		}
-		return toJsonStr(parse(obj));
+		final StringWriter writer = new StringWriter();
+		JSONWriter.of(writer, 0, 0, jsonConfig).writeObj(obj);
+		return writer.toString();
 	}
 
 	/**
-	 * 转换为JSON字符串并写出到writer
+	 * 转换为JSON字符串并写出到writer<br>
+	 * Bean、Map、集合和数组直接写出，不构建{@link JSONObject}或{@link JSONArray}，见{@link JSONWriter#writeObj(Object)}
 	 *
 	 * @param obj 被转为JSON的对象
 	 * @param writer Writer
 	 * 
 	 */
 	public static void toJsonStr(Object obj, Writer writer) {
-		if (null != obj) {
+		if (obj instanceof CharSequence) {
 			toJsonStr(parse(obj), writer);
+		} else if (null != obj) {
+			JSONWriter.of(writer, 0, 0, JSONConfig.create()).writeObj(obj);
 		}
 	}
 
 	/**
-	 * 转换为格式化后的JSON字符串
+	 * 转换为格式化后的JSON字符串<br>
+	 * Bean、Map、集合和数组直接写出，不构建{@link JSONObject}或{@link JSONArray}，见{@link JSONWriter#writeObj(Object)}
 	 *
 	 * @param obj Bean对象
 	 * @return JSON字符串
 	 */
 	public static String toJsonPrettyStr(Object obj) {
-		return toJsonPrettyStr(parse(obj));
+		if (null == obj) {
+			return null;
+		}
+		if (obj instanceof CharSequence) {
+			return toJsonPrettyStr(parse(obj));
+		}
+		final StringWriter writer = new StringWriter();
+		JSONWriter.of(writer, 4, 0, JSONConfig.create()).writeObj(obj);
+		return writer.toString();
 	}
 
 	/**
@@ -404,6 +433,10 @@ public class JSONUtil {
 	 * 
 	 */
 	public static <T> T toBean(String jsonString, Class<T> beanClass) {
+		final BeanBinder<T> binder = getBeanBinder(jsonString, beanClass);
+		if (null != binder) {
+			return binder.parse(jsonString);
+		}
 		return toBean(parseObj(jsonString), beanClass);
 	}
 
@@ -444,6 +477,11 @@ public class JSONUtil {
 	 * 
 	 */
 	public static <T> T toBean(String jsonString, Type beanType, boolean ignoreError) {
+		// BeanBinder遇到转换错误直接抛出异常，忽略错误时走JSONObject转换
+		final BeanBinder<T> binder = ignoreError ? null : getBeanBinder(jsonString, beanType);
+		if (null != binder) {
+			return binder.parse(jsonString);
+		}
 		return toBean(parse(jsonString), beanType, ignoreError);
 	}
 
@@ -477,6 +515,27 @@ public class JSONUtil {
 		}
 		return json.toBean(beanType, ignoreError);
 	}
+
+	/**
+	 * 获取JSON对象字符串直接绑定到Bean的{@link BeanBinder}，绑定时不构建中间的{@link JSONObject}
+	 *
+	 * @param <T>        Bean类型
+	 * @param jsonString JSON字符串
+	 * @param beanType   Bean类型
+	 * @return {@link BeanBinder}，字符串不是JSON对象或类型不可直接绑定时返回{@code null}
+	 */
+	private static <T> BeanBinder<T> getBeanBinder(String jsonString, Type beanType) {
+		if (null == jsonString) {
+			return null;
+		}
+		for (int i = 0; i < jsonString.length(); i++) {
+			final char c = jsonString.charAt(i);
+			if (c > ' ') {
+				return '{' == c ? BeanBinder.of(beanType) : null;
+			}
+		}
+		return null;
+	}
 	// -------------------------------------------------------------------- toBean end
 
 	/**
@@ -0,0 +1,291 @@
+package org.miser.json;
+
+import org.miser.core.io.IORuntimeException;
+import org.miser.core.io.IOUtil;
+import org.miser.core.lang.Assert;
+import org.miser.core.util.CharsetUtil;
+import org.miser.core.util.StringUtil;
+import org.miser.json.bind.BeanBinder;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * NDJSON（JSON Lines）读取器，每行一条记录，空行被忽略<br>
+ * 读取文件时使用内存映射，按换行符将文件切分为多段并行解析，每条记录直接从映射的字节解码解析，不创建行字符串。
+ * JSON字符串中不能出现未转义的换行符，因此在字节层面按换行符切分一定落在记录边界上，要求字符集中换行符编码为单字节0x0A，如UTF-8、GBK等。
+ *
+ * <pre>
+ * try (NDJSONReader reader = NDJSONReader.of(file)) {
+ *     long count = reader.stream(Order.class).filter(Order::isPaid).count();
+ * }
+ * </pre>
+ *
+ * 默认并行且有序，即结果顺序与文件中的顺序一致，不关心顺序时可通过{@link #setOrdered(boolean)}关闭以减少并行时的合并开销。<br>
+ * 通过{@link Reader}构建时逐行读取，并行时按批分配给各线程解析。
+ *
+ * @author Oliver
+ */
+public class NDJSONReader implements Closeable {
+
+	/**
+	 * 默认内存映射窗口大小，单条记录不能超过此大小
+	 */
+	static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+	/**
+	 * 默认最小切分大小，小于此大小的段不再切分
+	 */
+	static final int DEFAULT_SPLIT_SIZE = 1 << 16;
+
+	private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+	private final FileChannel channel;
+	private final BufferedReader reader;
+	private final Charset charset;
+	private final JSONConfig config;
+
+	private boolean parallel = true;
+	private boolean ordered = true;
+	int windowSize = DEFAULT_WINDOW_SIZE;
+	int splitSize = DEFAULT_SPLIT_SIZE;
+
+	/**
+	 * 创建UTF-8编码文件的读取器
+	 *
+	 * @param file NDJSON文件
+	 * @return NDJSONReader
+	 * @throws IORuntimeException 打开文件失败
+	 */
+	public static NDJSONReader of(File file) throws IORuntimeException {
+		return new NDJSONReader(file.toPath(), CharsetUtil.CHARSET_UTF_8, JSONConfig.create());
+	}
+
+	/**
+	 * 创建文件的读取器
+	 *
+	 * @param path    NDJSON文件
+	 * @param charset 字符集，换行符须编码为单字节0x0A
+	 * @param config  JSON配置，用于创建{@link JSONObject}和{@link JSONArray}
+	 * @throws IORuntimeException 打开文件失败
+	 */
+	public NDJSONReader(Path path, Charset charset, JSONConfig config) throws IORuntimeException {
+		Assert.isTrue(Arrays.equals(new byte[]{'\n'}, "\n".getBytes(charset)), "Charset {} is not supported by NDJSON", charset);
+		try {
+			this.channel = FileChannel.open(path, StandardOpenOption.READ);
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		}
+		this.reader = null;
+		this.charset = charset;
+		this.config = config;
+	}
+
+	/**
+	 * 创建{@link Reader}的读取器，只能读取一次
+	 *
+	 * @param reader {@link Reader}，关闭此对象时关闭
+	 * @param config JSON配置，用于创建{@link JSONObject}和{@link JSONArray}
+	 */
+	public NDJSONReader(Reader reader, JSONConfig config) {
+		this.channel = null;
+		this.reader = IOUtil.getReader(reader);
+		this.charset = null;
+		this.config = config;
+	}
+
+	/**
+	 * 设置是否并行解析，默认true
+	 *
+	 * @param parallel 是否并行解析
+	 * @return this
+	 */
+	public NDJSONReader setParallel(boolean parallel) {
+		this.parallel = parallel;
+		return this;
+	}
+
+	/**
+	 * 设置结果是否保持文件中的顺序，默认true
+	 *
+	 * @param ordered 是否有序
+	 * @return this
+	 */
+	public NDJSONReader setOrdered(boolean ordered) {
+		this.ordered = ordered;
+		return this;
+	}
+
+	/**
+	 * 读取所有记录为{@link JSONObject}或{@link JSONArray}，关闭流时关闭此读取器
+	 *
+	 * @return 记录流
+	 * @throws JSONException 记录不是JSON对象或数组，或解析失败，在流消费时抛出
+	 */
+	public Stream<JSON> stream() throws JSONException {
+		return stream(this::toJSON);
+	}
+
+	/**
+	 * 读取所有记录为Bean，关闭流时关闭此读取器<br>
+	 * 可直接绑定的Bean使用{@link BeanBinder}，其它类型先解析为JSON再转换
+	 *
+	 * @param <T>       Bean类型
+	 * @param beanClass Bean类
+	 * @return 记录流
+	 * @throws JSONException 解析失败，在流消费时抛出
+	 */
+	public <T> Stream<T> stream(Class<T> beanClass) throws JSONException {
+		return stream((Type) beanClass);
+	}
+
+	/**
+	 * 读取所有记录为Bean，关闭流时关闭此读取器<br>
+	 * 可直接绑定的Bean使用{@link BeanBinder}，其它类型先解析为JSON再转换
+	 *
+	 * @param <T>      Bean类型
+	 * @param beanType Bean类型
+	 * @return 记录流
+	 * @throws JSONException 解析失败，在流消费时抛出
+	 */
+	public <T> Stream<T> stream(Type beanType) throws JSONException {
+		final BeanBinder<T> binder = BeanBinder.of(beanType);
+		if (null != binder) {
+			return stream(tokener -> binder.read(new JSONReader(tokener, this.config)));
+		}
+		return stream(tokener -> JSONUtil.toBean(toJSON(tokener), beanType, false));
+	}
+
+	/**
+	 * 关闭文件或{@link Reader}
+	 */
+	@Override
+	public void close() {
+		IOUtil.close(this.channel);
+		IOUtil.close(this.reader);
+	}
+
+	/**
+	 * 解析单条记录，记录中只能有一个值
+	 *
+	 * @param <T>     结果类型
+	 * @param tokener 记录内容
+	 * @param parser  解析函数
+	 * @param offset  记录在文件中的字节位置，未知为-1
+	 * @return 结果
+	 * @throws JSONException 解析失败
+	 */
+	<T> T parseRecord(JSONTokener tokener, Function<JSONTokener, T> parser, long offset) throws JSONException {
+		try {
+			final T result = parser.apply(tokener);
+			if (0 != tokener.nextClean()) {
+				throw tokener.syntaxError("Unexpected content after the first value");
+			}
+			return result;
+		} catch (JSONException e) {
+			if (offset < 0) {
+				throw new JSONException(e, "Bad NDJSON record: {}", e.getMessage());
+			}
+			throw new JSONException(e, "Bad NDJSON record at byte {}: {}", offset, e.getMessage());
+		}
+	}
+
+	/**
+	 * 使用指定的解析函数读取所有记录
+	 *
+	 * @param <T>    结果类型
+	 * @param parser 解析函数
+	 * @return 记录流
+	 */
+	private <T> Stream<T> stream(Function<JSONTokener, T> parser) {
+		Stream<T> stream;
+		if (null != this.channel) {
+			final long size;
+			try {
+				size = this.channel.size();
+			} catch (IOException e) {
+				throw new IORuntimeException(e);
+			}
+			stream = StreamSupport.stream(new NDJSONSpliterator<>(this, parser, bomLength(), size), this.parallel);
+		} else {
+			stream = this.reader.lines()
+					.filter(StringUtil::isNotBlank)
+					.map(line -> parseRecord(new CharArrayJSONTokener(line, this.config), parser, -1));
+			if (this.parallel) {
+				stream = stream.parallel();
+			}
+		}
+		if (false == this.ordered) {
+			stream = stream.unordered();
+		}
+		return stream.onClose(this::close);
+	}
+
+	/**
+	 * UTF-8文件开头的BOM长度
+	 *
+	 * @return BOM长度，无BOM为0
+	 */
+	private long bomLength() {
+		if (false == CharsetUtil.CHARSET_UTF_8.equals(this.charset)) {
+			return 0;
+		}
+		final ByteBuffer head = ByteBuffer.allocate(UTF8_BOM.length);
+		try {
+			while (head.hasRemaining() && this.channel.read(head, head.position()) > 0) {
+				// 读满BOM长度或到文件结尾
+			}
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		}
+		return Arrays.equals(UTF8_BOM, head.array()) ? UTF8_BOM.length : 0;
+	}
+
+	/**
+	 * 读取单个值为{@link JSONObject}或{@link JSONArray}，规则同{@link JSONUtil#parse(Object, JSONConfig)}
+	 *
+	 * @param tokener 记录内容
+	 * @return JSON
+	 * @throws JSONException 值不是JSON对象或数组
+	 */
+	private JSON toJSON(JSONTokener tokener) throws JSONException {
+		switch (tokener.nextClean()) {
+			case '{':
+				tokener.back();
+				return new JSONObject(tokener, this.config);
+			case '[':
+				tokener.back();
+				return new JSONArray(tokener, this.config);
+			default:
+				throw tokener.syntaxError("A NDJSON record must be a JSON object or array");
+		}
+	}
+
+	FileChannel getChannel() {
+		return this.channel;
+	}
+
+	Charset getCharset() {
+		return this.charset;
+	}
+
+	JSONConfig getConfig() {
+		return this.config;
+	}
+
+	boolean isOrdered() {
+		return this.ordered;
+	}
+}
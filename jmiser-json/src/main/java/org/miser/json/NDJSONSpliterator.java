@@ -0,0 +1,218 @@
+package org.miser.json;
+
+import org.miser.core.io.IORuntimeException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * {@link NDJSONReader}读取文件时使用的{@link Spliterator}，负责文件中[start, end)字节区间内的记录<br>
+ * 区间的边界总是位于换行符之后，切分时从中点向后查找换行符。区间按窗口逐段内存映射，
+ * 记录跨越窗口时从记录开始处重新映射。
+ *
+ * @param <T> 结果类型
+ * @author Oliver
+ */
+final class NDJSONSpliterator<T> implements Spliterator<T> {
+
+	/**
+	 * 切分时查找换行符每次读取的字节数
+	 */
+	private static final int SCAN_SIZE = 8192;
+
+	private final NDJSONReader reader;
+	private final Function<JSONTokener, T> parser;
+	/**
+	 * 下一条记录的开始位置
+	 */
+	private long pos;
+	private final long end;
+
+	/**
+	 * 当前映射的窗口及其在文件中的开始位置
+	 */
+	private MappedByteBuffer window;
+	private long windowStart;
+	/**
+	 * 解码器和解码缓冲区，解析完成后结果中不再引用缓冲区，因此可在记录间复用
+	 */
+	private CharsetDecoder decoder;
+	private CharBuffer chars;
+
+	/**
+	 * 构造
+	 *
+	 * @param reader {@link NDJSONReader}
+	 * @param parser 记录解析函数
+	 * @param start  开始位置（包含）
+	 * @param end    结束位置（不包含）
+	 */
+	NDJSONSpliterator(NDJSONReader reader, Function<JSONTokener, T> parser, long start, long end) {
+		this.reader = reader;
+		this.parser = parser;
+		this.pos = start;
+		this.end = end;
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super T> action) {
+		while (this.pos < this.end) {
+			if (null == this.window || this.pos >= this.windowStart + this.window.limit()) {
+				map(this.pos);
+			}
+			final int from = (int) (this.pos - this.windowStart);
+			final int limit = this.window.limit();
+			int to = indexOfLF(this.window, from, limit);
+			if (to < 0) {
+				if (this.windowStart + limit < this.end) {
+					// 记录跨越窗口
+					if (0 == from) {
+						throw new JSONException("NDJSON record at byte {} is larger than {} bytes", this.pos, this.reader.windowSize);
+					}
+					map(this.pos);
+					continue;
+				}
+				// 最后一条记录没有换行符
+				to = limit;
+			}
+			final long recordStart = this.pos;
+			this.pos = this.windowStart + Math.min(to + 1, limit);
+			if (isBlank(this.window, from, to)) {
+				continue;
+			}
+			action.accept(this.reader.parseRecord(decode(from, to), this.parser, recordStart));
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public Spliterator<T> trySplit() {
+		if (this.end - this.pos < this.reader.splitSize) {
+			return null;
+		}
+		final long split = nextRecordStart(this.pos + (this.end - this.pos) / 2);
+		if (split < 0) {
+			return null;
+		}
+		final NDJSONSpliterator<T> prefix = new NDJSONSpliterator<>(this.reader, this.parser, this.pos, split);
+		this.pos = split;
+		return prefix;
+	}
+
+	@Override
+	public long estimateSize() {
+		return this.end - this.pos;
+	}
+
+	@Override
+	public int characteristics() {
+		return this.reader.isOrdered() ? (ORDERED | IMMUTABLE) : IMMUTABLE;
+	}
+
+	/**
+	 * 从指定位置开始映射一个窗口，不超过区间结尾
+	 *
+	 * @param start 开始位置
+	 */
+	private void map(long start) {
+		try {
+			this.window = this.reader.getChannel().map(FileChannel.MapMode.READ_ONLY, start, Math.min(this.end - start, this.reader.windowSize));
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		}
+		this.windowStart = start;
+	}
+
+	/**
+	 * 查找指定位置（包含）后第一个换行符的下一个位置
+	 *
+	 * @param from 开始位置
+	 * @return 下一条记录的开始位置，区间内没有换行符或换行符位于区间结尾返回-1
+	 */
+	private long nextRecordStart(long from) {
+		final FileChannel channel = this.reader.getChannel();
+		final ByteBuffer buffer = ByteBuffer.allocate(SCAN_SIZE);
+		long position = from;
+		try {
+			while (position < this.end) {
+				buffer.clear();
+				buffer.limit((int) Math.min(SCAN_SIZE, this.end - position));
+				final int read = channel.read(buffer, position);
+				if (read <= 0) {
+					return -1;
+				}
+				final int index = indexOfLF(buffer, 0, read);
+				if (index >= 0) {
+					final long start = position + index + 1;
+					return start < this.end ? start : -1;
+				}
+				position += read;
+			}
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		}
+		return -1;
+	}
+
+	/**
+	 * 将[from, to)区间的字节解码为字符，无法解码的字节替换为替换字符，同{@link String#String(byte[], java.nio.charset.Charset)}
+	 *
+	 * @param from 窗口中的开始位置
+	 * @param to   窗口中的结束位置
+	 * @return 基于解码结果的{@link JSONTokener}
+	 */
+	private JSONTokener decode(int from, int to) {
+		if (null == this.decoder) {
+			this.decoder = this.reader.getCharset().newDecoder()
+					.onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		}
+		final int capacity = (int) Math.ceil((to - from) * (double) this.decoder.maxCharsPerByte());
+		if (null == this.chars || this.chars.capacity() < capacity) {
+			this.chars = CharBuffer.allocate(Math.max(capacity, 256));
+		}
+		final ByteBuffer bytes = this.window.duplicate();
+		bytes.limit(to).position(from);
+		this.chars.clear();
+		this.decoder.reset();
+		this.decoder.decode(bytes, this.chars, true);
+		this.decoder.flush(this.chars);
+		return new CharArrayJSONTokener(this.chars.array(), 0, this.chars.position(), this.reader.getConfig());
+	}
+
+	/**
+	 * 查找[from, to)区间中第一个换行符
+	 *
+	 * @return 换行符位置，未找到返回-1
+	 */
+	private static int indexOfLF(ByteBuffer buffer, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if ('\n' == buffer.get(i)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * [from, to)区间是否只包含空白字符
+	 */
+	private static boolean isBlank(ByteBuffer buffer, int from, int to) {
+		for (int i = from; i < to; i++) {
+			final byte b = buffer.get(i);
+			if (' ' != b && '\t' != b && '\r' != b) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,187 @@
+package org.miser.json;
+
+import org.miser.core.io.AppendableWriter;
+import org.miser.core.io.FileUtil;
+import org.miser.core.io.IORuntimeException;
+import org.miser.core.lang.Assert;
+import org.miser.core.util.CharsetUtil;
+import org.miser.json.serialize.JSONWriter;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.stream.Stream;
+
+/**
+ * NDJSON（JSON Lines）写出器，每条记录写出为一行<br>
+ * 记录先写出到内存缓冲区，累积到指定条数后批量写出到目标{@link Writer}并刷新，避免每条记录都刷新目标。
+ * 关闭或调用{@link #flush()}时写出剩余的记录。<br>
+ * 写出方法加锁，可供多个线程同时写出，每条记录整行写出，不会交错。
+ *
+ * <pre>
+ * try (NDJSONWriter writer = NDJSONWriter.of(file)) {
+ *     orders.forEach(writer::write);
+ * }
+ * </pre>
+ *
+ * @author Oliver
+ */
+public class NDJSONWriter implements Closeable, Flushable {
+
+	/**
+	 * 默认每批写出的记录数
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 1000;
+
+	private final Writer writer;
+	private final int batchSize;
+	/**
+	 * 待写出的记录
+	 */
+	private final StringBuilder buffer = new StringBuilder();
+	private final JSONWriter jsonWriter;
+	private char[] chunk;
+	/**
+	 * 缓冲区中的记录数
+	 */
+	private int pending;
+
+	/**
+	 * 创建UTF-8编码文件的写出器，文件已存在时覆盖
+	 *
+	 * @param file NDJSON文件
+	 * @return NDJSONWriter
+	 * @throws IORuntimeException 打开文件失败
+	 */
+	public static NDJSONWriter of(File file) throws IORuntimeException {
+		return new NDJSONWriter(FileUtil.getWriter(file, CharsetUtil.CHARSET_UTF_8, false));
+	}
+
+	/**
+	 * 构造，使用默认配置和批量大小
+	 *
+	 * @param writer 目标{@link Writer}，关闭此对象时关闭
+	 */
+	public NDJSONWriter(Writer writer) {
+		this(writer, JSONConfig.create(), DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param writer    目标{@link Writer}，关闭此对象时关闭
+	 * @param config    JSON配置
+	 * @param batchSize 每批写出的记录数
+	 */
+	public NDJSONWriter(Writer writer, JSONConfig config, int batchSize) {
+		Assert.isTrue(batchSize > 0, "Batch size must be positive: {}", batchSize);
+		this.writer = writer;
+		this.batchSize = batchSize;
+		this.jsonWriter = JSONWriter.of(new AppendableWriter(this.buffer), 0, 0, config);
+	}
+
+	/**
+	 * 写出一条记录，缓冲的记录数达到批量大小时写出到目标并刷新
+	 *
+	 * @param record 记录，可以为{@link JSON}、Bean、Map、集合或数组，规则同{@link JSONWriter#writeObj(Object)}
+	 * @return this
+	 * @throws JSONException 记录中有无效的数字
+	 * @throws IORuntimeException 写出失败
+	 */
+	public synchronized NDJSONWriter write(Object record) throws JSONException, IORuntimeException {
+		final int length = this.buffer.length();
+		try {
+			this.jsonWriter.writeObj(record);
+		} catch (RuntimeException e) {
+			// 丢弃写出一半的记录
+			this.buffer.setLength(length);
+			throw e;
+		}
+		this.buffer.append('\n');
+		if (++this.pending >= this.batchSize) {
+			flush();
+		}
+		return this;
+	}
+
+	/**
+	 * 写出所有记录
+	 *
+	 * @param records 记录
+	 * @return this
+	 * @throws JSONException 记录中有无效的数字
+	 * @throws IORuntimeException 写出失败
+	 */
+	public NDJSONWriter writeAll(Iterable<?> records) throws JSONException, IORuntimeException {
+		for (Object record : records) {
+			write(record);
+		}
+		return this;
+	}
+
+	/**
+	 * 写出流中的所有记录，并行流中各线程的记录按完成顺序写出
+	 *
+	 * @param records 记录
+	 * @return this
+	 * @throws JSONException 记录中有无效的数字
+	 * @throws IORuntimeException 写出失败
+	 */
+	public NDJSONWriter writeAll(Stream<?> records) throws JSONException, IORuntimeException {
+		records.forEach(this::write);
+		return this;
+	}
+
+	/**
+	 * 写出缓冲的记录并刷新目标
+	 *
+	 * @throws IORuntimeException 写出失败
+	 */
+	@Override
+	public synchronized void flush() throws IORuntimeException {
+		try {
+			writeBuffer();
+			this.writer.flush();
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		}
+	}
+
+	/**
+	 * 写出缓冲的记录并关闭目标
+	 *
+	 * @throws IORuntimeException 写出失败
+	 */
+	@Override
+	public synchronized void close() throws IORuntimeException {
+		try {
+			writeBuffer();
+			this.writer.close();
+		} catch (IOException e) {
+			throw new IORuntimeException(e);
+		}
+	}
+
+	/**
+	 * 分块写出缓冲区，不创建缓冲区大小的字符串
+	 *
+	 * @throws IOException 写出失败
+	 */
+	private void writeBuffer() throws IOException {
+		final int length = this.buffer.length();
+		if (length > 0) {
+			if (null == this.chunk) {
+				this.chunk = new char[8192];
+			}
+			for (int i = 0; i < length; i += this.chunk.length) {
+				final int n = Math.min(this.chunk.length, length - i);
+				this.buffer.getChars(i, i + n, this.chunk, 0);
+				this.writer.write(this.chunk, 0, n);
+			}
+			this.buffer.setLength(0);
+		}
+		this.pending = 0;
+	}
+}
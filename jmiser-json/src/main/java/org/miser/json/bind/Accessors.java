@@ -0,0 +1,167 @@
+package org.miser.json.bind;
+
+import org.miser.core.bean.PropertyDesc;
+import org.miser.core.convert.BasicType;
+import org.miser.core.exceptions.ExceptionUtil;
+import org.miser.core.util.ModifierUtil;
+import org.miser.core.util.ReflectUtil;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * 构造和赋值函数生成工具<br>
+ * 优先通过{@link LambdaMetafactory}生成直接调用的函数，类或方法不可访问时使用{@link MethodHandle}，均失败时使用反射。
+ *
+ * @author Oliver
+ */
+final class Accessors {
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+	private Accessors() {
+	}
+
+	/**
+	 * 生成无参构造函数
+	 *
+	 * @param clazz 类
+	 * @return 构造函数，无无参构造方法返回{@code null}
+	 */
+	static Supplier<Object> constructor(Class<?> clazz) {
+		final Constructor<?> constructor;
+		try {
+			constructor = clazz.getDeclaredConstructor();
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+
+		if (isLambdaAccessible(clazz) && ModifierUtil.isPublic(constructor)) {
+			try {
+				final MethodHandle handle = LOOKUP.unreflectConstructor(constructor);
+				final CallSite site = LambdaMetafactory.metafactory(LOOKUP, "get", MethodType.methodType(Supplier.class),
+						CONSTRUCTOR_TYPE, handle, MethodType.methodType(clazz));
+				return castSupplier(site.getTarget().invoke());
+			} catch (Throwable ignore) {
+				// 降级使用MethodHandle
+			}
+		}
+
+		try {
+			final MethodHandle handle = LOOKUP.unreflectConstructor(ReflectUtil.setAccessible(constructor)).asType(CONSTRUCTOR_TYPE);
+			return () -> {
+				try {
+					return handle.invokeExact();
+				} catch (Throwable e) {
+					throw wrap(e);
+				}
+			};
+		} catch (Exception ignore) {
+			// 降级使用反射
+		}
+		return () -> ReflectUtil.newInstance(clazz);
+	}
+
+	/**
+	 * 生成属性赋值函数，优先使用Setter方法，无Setter方法时直接赋值public字段
+	 *
+	 * @param prop 属性
+	 * @return 赋值函数，参数为Bean对象和属性值
+	 */
+	static BiConsumer<Object, Object> setter(PropertyDesc prop) {
+		final Method setter = prop.getSetter();
+		if (null != setter) {
+			final Class<?> declaringClass = setter.getDeclaringClass();
+			if (isLambdaAccessible(declaringClass) && ModifierUtil.isPublic(setter)) {
+				try {
+					final MethodHandle handle = LOOKUP.unreflect(setter);
+					final CallSite site = LambdaMetafactory.metafactory(LOOKUP, "accept", MethodType.methodType(BiConsumer.class),
+							SETTER_TYPE, handle,
+							MethodType.methodType(void.class, declaringClass, BasicType.wrap(setter.getParameterTypes()[0])));
+					return castBiConsumer(site.getTarget().invoke());
+				} catch (Throwable ignore) {
+					// 降级使用MethodHandle
+				}
+			}
+			try {
+				return toBiConsumer(LOOKUP.unreflect(ReflectUtil.setAccessible(setter)));
+			} catch (Exception ignore) {
+				// 降级使用反射
+			}
+		} else {
+			final Field field = prop.getField();
+			if (null != field && false == ModifierUtil.isStatic(field) && false == Modifier.isFinal(field.getModifiers())) {
+				try {
+					return toBiConsumer(LOOKUP.unreflectSetter(ReflectUtil.setAccessible(field)));
+				} catch (Exception ignore) {
+					// 降级使用反射
+				}
+			}
+		}
+		return prop::setValue;
+	}
+
+	/**
+	 * 类是否可被{@link LambdaMetafactory}生成的类直接访问，即类及其外部类均为public，且可以由本类的类加载器加载
+	 *
+	 * @param clazz 类
+	 * @return 是否可访问
+	 */
+	private static boolean isLambdaAccessible(Class<?> clazz) {
+		for (Class<?> c = clazz; null != c; c = c.getEnclosingClass()) {
+			if (false == Modifier.isPublic(c.getModifiers())) {
+				return false;
+			}
+		}
+		try {
+			return clazz == Class.forName(clazz.getName(), false, Accessors.class.getClassLoader());
+		} catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+
+	/**
+	 * 将赋值的{@link MethodHandle}转为函数
+	 *
+	 * @param handle 方法或字段的{@link MethodHandle}，参数为Bean对象和属性值
+	 * @return 赋值函数
+	 */
+	private static BiConsumer<Object, Object> toBiConsumer(MethodHandle handle) {
+		final MethodHandle setter = handle.asType(SETTER_TYPE);
+		return (bean, value) -> {
+			try {
+				setter.invokeExact(bean, value);
+			} catch (Throwable e) {
+				throw wrap(e);
+			}
+		};
+	}
+
+	private static RuntimeException wrap(Throwable e) {
+		if (e instanceof Error) {
+			throw (Error) e;
+		}
+		return ExceptionUtil.wrapRuntime(e);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Supplier<Object> castSupplier(Object supplier) {
+		return (Supplier<Object>) supplier;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static BiConsumer<Object, Object> castBiConsumer(Object consumer) {
+		return (BiConsumer<Object, Object>) consumer;
+	}
+}
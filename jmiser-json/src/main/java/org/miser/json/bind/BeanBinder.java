@@ -0,0 +1,275 @@
+package org.miser.json.bind;
+
+import org.miser.core.bean.BeanUtil;
+import org.miser.core.convert.Convert;
+import org.miser.core.convert.ConverterRegistry;
+import org.miser.core.lang.SimpleCache;
+import org.miser.core.util.ClassUtil;
+import org.miser.core.util.StringUtil;
+import org.miser.core.util.TypeUtil;
+import org.miser.json.JSONConfig;
+import org.miser.json.JSONException;
+import org.miser.json.JSONNull;
+import org.miser.json.JSONReader;
+import org.miser.json.JSONToken;
+import org.miser.json.serialize.GlobalSerializeMapping;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * JSON到Bean的绑定器<br>
+ * 按类型缓存Bean的构造函数和各属性的赋值函数（通过{@link java.lang.invoke.LambdaMetafactory}生成，不可用时使用{@link java.lang.invoke.MethodHandle}或反射），
+ * 从{@link JSONReader}中直接读取键值并注入Bean，不构建中间的{@link org.miser.json.JSONObject}。<br>
+ * 绑定规则同{@link org.miser.json.JSONObject#toBean(Class)}：
+ *
+ * <pre>
+ * 1、键优先匹配属性名，其次匹配下划线形式，boolean属性还匹配"is"前缀形式，完全匹配的键优先
+ * 2、null值和转换失败的值注入null（原始类型属性除外），未知的键和注入失败的属性被忽略
+ * 3、值的类型转换使用{@link Convert}
+ * </pre>
+ *
+ * 不同的是同一个键重复出现时不报错，以最后一个值为准。
+ *
+ * <pre>
+ * BeanBinder&lt;User&gt; binder = BeanBinder.of(User.class);
+ * User user = binder.parse("{\"name\":\"miser\",\"age\":18}");
+ * </pre>
+ *
+ * @param <T> Bean类型
+ * @author Oliver
+ */
+public class BeanBinder<T> {
+
+	private static final SimpleCache<Type, BeanBinder<?>> CACHE = new SimpleCache<>();
+	/**
+	 * 不可绑定类型的标记
+	 */
+	private static final BeanBinder<?> UNSUPPORTED = new BeanBinder<>(Object.class, null);
+
+	/**
+	 * 键匹配的优先级：属性名、下划线形式、"is"前缀形式、"is"前缀的下划线形式
+	 */
+	private static final int RANK_NAME = 0;
+	private static final int RANK_UNDERLINE = 1;
+	private static final int RANK_IS = 2;
+	private static final int RANK_IS_UNDERLINE = 3;
+
+	private final Type type;
+	private final Supplier<Object> constructor;
+	/**
+	 * 键与属性的对应关系，一个键可能对应多个属性
+	 */
+	private final Map<String, Target[]> targets = new HashMap<>();
+	private int propCount;
+
+	/**
+	 * 获取指定类的绑定器，绑定器按类型缓存
+	 *
+	 * @param <T>       Bean类型
+	 * @param beanClass Bean类
+	 * @return 绑定器，类不是可绑定的Bean时返回{@code null}
+	 * @see #of(Type)
+	 */
+	public static <T> BeanBinder<T> of(Class<T> beanClass) {
+		return of((Type) beanClass);
+	}
+
+	/**
+	 * 获取指定类型的绑定器，绑定器按类型缓存
+	 *
+	 * @param <T>  Bean类型
+	 * @param type Bean类型，可以为泛型类型
+	 * @return 绑定器，类型不是可绑定的Bean（如JDK类、集合、有自定义转换器的类或无无参构造方法的类）时返回{@code null}
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> BeanBinder<T> of(Type type) {
+		final BeanBinder<?> binder = CACHE.get(type, () -> create(type));
+		return UNSUPPORTED == binder ? null : (BeanBinder<T>) binder;
+	}
+
+	/**
+	 * 构造
+	 *
+	 * @param type        Bean类型
+	 * @param constructor 构造函数
+	 */
+	private BeanBinder(Type type, Supplier<Object> constructor) {
+		this.type = type;
+		this.constructor = constructor;
+	}
+
+	/**
+	 * 解析JSON字符串为Bean
+	 *
+	 * @param json JSON字符串
+	 * @return Bean，JSON为null时返回{@code null}
+	 * @throws JSONException JSON语法错误
+	 */
+	public T parse(CharSequence json) throws JSONException {
+		return read(new JSONReader(json, JSONConfig.create()));
+	}
+
+	/**
+	 * 从{@link JSONReader}中读取下一个值为Bean
+	 *
+	 * @param reader {@link JSONReader}
+	 * @return Bean，值为null时返回{@code null}
+	 * @throws JSONException JSON语法错误
+	 */
+	@SuppressWarnings("unchecked")
+	public T read(JSONReader reader) throws JSONException {
+		final JSONToken token = reader.peek();
+		if (JSONToken.NULL == token) {
+			reader.nextNull();
+			return null;
+		}
+		if (JSONToken.BEGIN_OBJECT != token) {
+			final Object value = reader.nextValue();
+			return (value instanceof JSONNull) ? null : Convert.convert(this.type, value);
+		}
+
+		final Object bean = this.constructor.get();
+		// 每个属性已匹配的键的优先级+1，0表示未匹配
+		final int[] ranks = new int[this.propCount];
+		reader.beginObject();
+		while (reader.hasNext()) {
+			final Target[] targets = this.targets.get(reader.nextName());
+			if (null == targets) {
+				reader.skipValue();
+			} else if (1 == targets.length) {
+				final Target target = targets[0];
+				if (target.accept(ranks)) {
+					target.prop.bind(bean, reader);
+				} else {
+					reader.skipValue();
+				}
+			} else {
+				// 一个键对应多个属性，读取一次后分别转换
+				final Object value = reader.nextValue();
+				for (Target target : targets) {
+					if (target.accept(ranks)) {
+						target.prop.bindValue(bean, value);
+					}
+				}
+			}
+		}
+		reader.endObject();
+		return (T) bean;
+	}
+
+	/**
+	 * 类型是否为可绑定的Bean，即非JDK类、集合、Map、枚举、数组、接口或抽象类，且无自定义转换器和反序列化器的Bean<br>
+	 * 是否有无参构造方法在创建绑定器时检查
+	 *
+	 * @param type 类型
+	 * @return 是否可绑定
+	 */
+	static boolean isBindable(Type type) {
+		final Class<?> clazz = TypeUtil.getClass(type);
+		if (null == clazz || false == ClassUtil.isNormalClass(clazz) || ClassUtil.isJdkClass(clazz)) {
+			return false;
+		}
+		if (null != ConverterRegistry.getInstance().getConverter(type, true) || null != GlobalSerializeMapping.getDeserializer(type)) {
+			return false;
+		}
+		return BeanUtil.isBean(clazz);
+	}
+
+	/**
+	 * 创建绑定器
+	 *
+	 * @param type Bean类型
+	 * @return 绑定器，不可绑定返回{@link #UNSUPPORTED}
+	 */
+	private static BeanBinder<?> create(Type type) {
+		if (false == isBindable(type)) {
+			return UNSUPPORTED;
+		}
+		final Supplier<Object> constructor = Accessors.constructor(TypeUtil.getClass(type));
+		if (null == constructor) {
+			return UNSUPPORTED;
+		}
+
+		final BeanBinder<?> binder = new BeanBinder<>(type, constructor);
+		final List<PropBinder> props = new ArrayList<>();
+		BeanUtil.descForEach(TypeUtil.getClass(type), (prop) -> {
+			if (false == prop.isWritable(true)) {
+				return;
+			}
+			final PropBinder propBinder = new PropBinder(props.size(), prop, TypeUtil.getActualType(type, prop.getFieldType()));
+			props.add(propBinder);
+
+			final String name = prop.getFieldName();
+			binder.addTarget(name, propBinder, RANK_NAME);
+			binder.addTarget(StringUtil.toUnderlineCase(name), propBinder, RANK_UNDERLINE);
+			final Class<?> fieldClass = prop.getFieldClass();
+			if (Boolean.class == fieldClass || boolean.class == fieldClass) {
+				final String isName = StringUtil.upperFirstAndAddPre(name, "is");
+				binder.addTarget(isName, propBinder, RANK_IS);
+				binder.addTarget(StringUtil.toUnderlineCase(isName), propBinder, RANK_IS_UNDERLINE);
+			}
+		});
+		binder.propCount = props.size();
+		return binder;
+	}
+
+	/**
+	 * 添加键对应的属性，同一属性的同一个键只保留优先级最高的
+	 *
+	 * @param key  键
+	 * @param prop 属性绑定器
+	 * @param rank 优先级
+	 */
+	private void addTarget(String key, PropBinder prop, int rank) {
+		final Target[] exists = this.targets.get(key);
+		if (null == exists) {
+			this.targets.put(key, new Target[]{new Target(prop, rank)});
+			return;
+		}
+		for (Target target : exists) {
+			if (target.prop == prop) {
+				return;
+			}
+		}
+		final Target[] newTargets = new Target[exists.length + 1];
+		System.arraycopy(exists, 0, newTargets, 0, exists.length);
+		newTargets[exists.length] = new Target(prop, rank);
+		this.targets.put(key, newTargets);
+	}
+
+	/**
+	 * 键对应的属性及匹配优先级
+	 */
+	private static final class Target {
+		final PropBinder prop;
+		/**
+		 * 优先级+1
+		 */
+		final int rank;
+
+		Target(PropBinder prop, int rank) {
+			this.prop = prop;
+			this.rank = rank + 1;
+		}
+
+		/**
+		 * 当前键是否可注入属性，属性未被更高优先级的键匹配时可注入，并记录优先级
+		 *
+		 * @param ranks 各属性已匹配的优先级
+		 * @return 是否可注入
+		 */
+		boolean accept(int[] ranks) {
+			final int index = this.prop.index;
+			if (0 != ranks[index] && ranks[index] < this.rank) {
+				return false;
+			}
+			ranks[index] = this.rank;
+			return true;
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package org.miser.json.bind;
+
+import org.miser.core.bean.PropertyDesc;
+import org.miser.core.convert.BasicType;
+import org.miser.core.convert.Convert;
+import org.miser.json.JSONException;
+import org.miser.json.JSONReader;
+import org.miser.json.JSONToken;
+
+import java.lang.reflect.Type;
+import java.util.function.BiConsumer;
+
+/**
+ * Bean属性绑定器，读取属性值并通过生成的赋值函数注入Bean<br>
+ * 规则同{@link org.miser.core.bean.copier.BeanCopier}忽略错误时的规则：null值和转换失败的值注入null，原始类型属性不注入null，注入失败被忽略。
+ *
+ * @author Oliver
+ */
+final class PropBinder {
+
+	/**
+	 * 属性在Bean中的序号
+	 */
+	final int index;
+	/**
+	 * 属性的实际类型
+	 */
+	final Type fieldType;
+	/**
+	 * 属性类，原始类型为其包装类
+	 */
+	private final Class<?> wrapClass;
+	/**
+	 * 是否为原始类型，原始类型不注入null
+	 */
+	private final boolean isPrimitive;
+	private final BiConsumer<Object, Object> setter;
+	private final ValueReader reader;
+
+	/**
+	 * 构造
+	 *
+	 * @param index     属性在Bean中的序号
+	 * @param prop      属性
+	 * @param fieldType 属性的实际类型
+	 */
+	PropBinder(int index, PropertyDesc prop, Type fieldType) {
+		this.index = index;
+		this.fieldType = fieldType;
+		this.wrapClass = BasicType.wrap(prop.getFieldClass());
+		this.isPrimitive = prop.getFieldClass().isPrimitive();
+		this.setter = Accessors.setter(prop);
+		this.reader = ValueReader.of(fieldType);
+	}
+
+	/**
+	 * 读取下一个值并注入Bean
+	 *
+	 * @param bean   Bean对象
+	 * @param reader {@link JSONReader}
+	 * @throws JSONException JSON语法错误
+	 */
+	void bind(Object bean, JSONReader reader) throws JSONException {
+		if (JSONToken.NULL == reader.peek()) {
+			reader.nextNull();
+			set(bean, null);
+			return;
+		}
+		Object value;
+		try {
+			value = this.reader.read(reader);
+		} catch (JSONException e) {
+			throw e;
+		} catch (Exception e) {
+			// 转换失败注入null
+			value = null;
+		}
+		set(bean, value);
+	}
+
+	/**
+	 * 转换已读取的值并注入Bean，用于一个键对应多个属性的情况
+	 *
+	 * @param bean  Bean对象
+	 * @param value JSON值
+	 */
+	void bindValue(Object bean, Object value) {
+		set(bean, Convert.convertWithCheck(this.fieldType, value, null, true));
+	}
+
+	/**
+	 * 注入Bean，类型不匹配时转换为属性类
+	 *
+	 * @param bean  Bean对象
+	 * @param value 值
+	 */
+	private void set(Object bean, Object value) {
+		if (null != value && false == this.wrapClass.isInstance(value)) {
+			value = Convert.convertWithCheck(this.wrapClass, value, null, true);
+		}
+		if ((null == value && this.isPrimitive) || bean == value) {
+			return;
+		}
+		try {
+			this.setter.accept(bean, value);
+		} catch (Exception ignore) {
+			// 忽略注入失败
+		}
+	}
+}
@@ -0,0 +1,160 @@
+package org.miser.json.bind;
+
+import org.miser.core.convert.Convert;
+import org.miser.core.util.TypeUtil;
+import org.miser.json.JSONException;
+import org.miser.json.JSONNull;
+import org.miser.json.JSONReader;
+import org.miser.json.JSONToken;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 值读取器，从{@link JSONReader}中读取一个值并转换为目标类型<br>
+ * 常用类型直接按标记读取，其它类型读取为JSON对象后使用{@link Convert}转换，转换规则与{@link org.miser.json.JSONObject#toBean(Class)}一致。<br>
+ * 调用前下一个标记不能为{@link JSONToken#NULL}，转换失败时抛出异常，此时值已被完整读取。
+ *
+ * @author Oliver
+ */
+@FunctionalInterface
+interface ValueReader {
+
+	/**
+	 * 读取值
+	 *
+	 * @param reader {@link JSONReader}
+	 * @return 转换后的值，可能为{@code null}
+	 */
+	Object read(JSONReader reader);
+
+	/**
+	 * 获取指定类型的值读取器
+	 *
+	 * @param type 目标类型
+	 * @return 值读取器
+	 */
+	static ValueReader of(Type type) {
+		if (String.class == type) {
+			return (reader) -> JSONToken.STRING == reader.peek() ? reader.nextString() : convert(type, reader);
+		}
+		if (Integer.class == type || int.class == type) {
+			return number(type, Integer.class);
+		}
+		if (Long.class == type || long.class == type) {
+			return number(type, Long.class);
+		}
+		if (BigDecimal.class == type) {
+			return number(type, BigDecimal.class);
+		}
+		if (Boolean.class == type || boolean.class == type) {
+			return (reader) -> JSONToken.BOOLEAN == reader.peek() ? reader.nextBoolean() : convert(type, reader);
+		}
+
+		final Class<?> clazz = TypeUtil.getClass(type);
+		if (List.class == clazz || Collection.class == clazz || ArrayList.class == clazz) {
+			// 与CollectionConverter一致，创建ArrayList
+			final Type elementType = TypeUtil.getTypeArgument(type);
+			return list(type, null == elementType ? Object.class : elementType);
+		}
+		if (BeanBinder.isBindable(type)) {
+			return bean(type);
+		}
+		return (reader) -> convert(type, reader);
+	}
+
+	/**
+	 * 读取数字，值类型与目标类型一致时不再转换
+	 *
+	 * @param type      目标类型
+	 * @param valueType 目标类型的包装类型
+	 * @return 值读取器
+	 */
+	static ValueReader number(Type type, Class<?> valueType) {
+		return (reader) -> {
+			if (JSONToken.NUMBER == reader.peek()) {
+				final Object value = reader.nextValue();
+				if (valueType.isInstance(value)) {
+					return value;
+				}
+				return Convert.convert(type, value);
+			}
+			return convert(type, reader);
+		};
+	}
+
+	/**
+	 * 读取集合，任意元素转换失败时，与CollectionConverter一致整个集合为{@code null}
+	 *
+	 * @param type        集合类型
+	 * @param elementType 元素类型
+	 * @return 值读取器
+	 */
+	static ValueReader list(Type type, Type elementType) {
+		final ValueReader elementReader = of(elementType);
+		return (reader) -> {
+			if (JSONToken.BEGIN_ARRAY != reader.peek()) {
+				return convert(type, reader);
+			}
+			final List<Object> list = new ArrayList<>();
+			boolean failed = false;
+			reader.beginArray();
+			while (reader.hasNext()) {
+				if (JSONToken.NULL == reader.peek()) {
+					reader.nextNull();
+					list.add(null);
+					continue;
+				}
+				try {
+					list.add(elementReader.read(reader));
+				} catch (JSONException e) {
+					throw e;
+				} catch (Exception e) {
+					// 继续读取剩余元素
+					failed = true;
+				}
+			}
+			reader.endArray();
+			return failed ? null : list;
+		};
+	}
+
+	/**
+	 * 读取Bean，绑定器在第一次读取时获取，以支持自引用的Bean，无法获取绑定器时使用{@link Convert}转换
+	 *
+	 * @param type Bean类型
+	 * @return 值读取器
+	 */
+	static ValueReader bean(Type type) {
+		return new ValueReader() {
+			private ValueReader delegate;
+
+			@Override
+			public Object read(JSONReader reader) {
+				if (null == this.delegate) {
+					final BeanBinder<?> binder = BeanBinder.of(type);
+					this.delegate = (null == binder) ? (r) -> convert(type, r) : binder::read;
+				}
+				return this.delegate.read(reader);
+			}
+		};
+	}
+
+	/**
+	 * 读取为JSON对象后使用{@link Convert}转换
+	 *
+	 * @param type   目标类型
+	 * @param reader {@link JSONReader}
+	 * @return 转换后的值
+	 */
+	static Object convert(Type type, JSONReader reader) {
+		final Object value = reader.nextValue();
+		if (value instanceof JSONNull) {
+			return null;
+		}
+		return Convert.convert(type, value);
+	}
+}
@@ -0,0 +1,7 @@
+/**
+ * JSON直接绑定到Bean的实现，按类型缓存生成的构造和赋值函数，不构建中间的JSONObject
+ * 
+ * @author Oliver
+ *
+ */
+package org.miser.json.bind;
\ No newline at end of file
@@ -2,6 +2,7 @@ package org.miser.json.serialize;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.sql.SQLException;
 import java.time.temporal.TemporalAccessor;
 import java.util.Calendar;
 import java.util.Date;
@@ -13,9 +14,12 @@ import org.miser.core.date.DateUtil;
 import org.miser.core.date.TemporalAccessorUtil;
 import org.miser.core.date.format.GlobalCustomFormat;
 import org.miser.core.io.IORuntimeException;
+import org.miser.core.collection.ArrayIter;
 import org.miser.core.util.ArrayUtil;
 import org.miser.core.util.CharUtil;
+import org.miser.core.util.ClassUtil;
 import org.miser.core.util.NumberUtil;
+import org.miser.core.util.ObjectUtil;
 import org.miser.core.util.StringUtil;
 import org.miser.json.JSON;
 import org.miser.json.JSONArray;
@@ -115,13 +119,8 @@ public class JSONWriter extends Writer {
 	 * @return this
 	 */
 	public JSONWriter end() {
-		// 换行缩进
-		writeLF().writeSpace(indent);
-		writeRaw(arrayMode ? CharUtil.BRACKET_END : CharUtil.DELIM_END);
+		endWithoutFlush();
 		flush();
-		arrayMode = false;
-		// 当前对象或数组结束，当新的
-		needSeparator = true;
 		return this;
 	}
 
@@ -132,12 +131,7 @@ public class JSONWriter extends Writer {
 	 * @return this
 	 */
 	public JSONWriter writeKey(String key) {
-		if (needSeparator) {
-			writeRaw(CharUtil.COMMA);
-		}
-		// 换行缩进
-		writeLF().writeSpace(indentFactor + indent);
-		return writeRaw(JSONUtil.quote(key));
+		return writeQuotedKey(JSONUtil.quote(key));
 	}
 
 	/**
@@ -157,7 +151,27 @@ public class JSONWriter extends Writer {
 			writeRaw(CharUtil.COLON).writeSpace(1);
 		}
 		needSeparator = true;
-		return writeObjValue(value);
+		return writeObjValue(value, indentFactor + indent);
+	}
+
+	/**
+	 * 在本级别写出一个完整的值并刷新，不写出分隔符，一般用于写出最外层的对象<br>
+	 * Bean、Map、集合和数组逐层直接写出，不构建{@link JSONObject}或{@link JSONArray}，转换规则同{@link JSONUtil#wrap(Object, JSONConfig)}：
+	 * <ul>
+	 *     <li>优先使用{@link GlobalSerializeMapping}中注册的序列化器</li>
+	 *     <li>Bean的属性和Map的键值对按原顺序写出，{@link JSONConfig#isIgnoreNullValue()}为true时跳过null值</li>
+	 *     <li>日期按照{@link JSONConfig#getDateFormat()}格式化</li>
+	 *     <li>枚举和JDK中的其它类型写出其字符串形式，无属性可读的对象写出为null</li>
+	 * </ul>
+	 *
+	 * @param value 值，可以为{@link JSON}、Bean、Map、集合、数组或其它对象
+	 * @return this
+	 * @throws JSONException 值中有无效的数字
+	 */
+	public JSONWriter writeObj(Object value) throws JSONException {
+		writeObjValue(value, indent);
+		flush();
+		return this;
 	}
 
 	@Override
@@ -184,35 +198,199 @@ public class JSONWriter extends Writer {
 	/**
 	 * 写出JSON的值，根据值类型不同，输出不同内容
 	 *
-	 * @param value 值
+	 * @param value  值
+	 * @param indent 值所在级别的缩进量
 	 * @return this
 	 */
-	private JSONWriter writeObjValue(Object value) {
-		final int indent = indentFactor + this.indent;
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private JSONWriter writeObjValue(Object value, int indent) {
 		if (value == null || value instanceof JSONNull) {
 			writeRaw(JSONNull.NULL.toString());
 		} else if (value instanceof JSON) {
 			((JSON) value).write(writer, indentFactor, indent);
-		} else if (value instanceof Map) {
-			new JSONObject(value).write(writer, indentFactor, indent);
-		} else if (value instanceof Iterable || value instanceof Iterator || ArrayUtil.isArray(value)) {
-			new JSONArray(value).write(writer, indentFactor, indent);
+		} else if (value instanceof CharSequence) {
+			writeStrValue(value.toString());
 		} else if (value instanceof Number) {
 			writeNumberValue((Number) value);
-		} else if (value instanceof Date || value instanceof Calendar || value instanceof TemporalAccessor) {
-			final String format = (null == config) ? null : config.getDateFormat();
-			writeRaw(formatDate(value, format));
 		} else if (value instanceof Boolean) {
 			writeBooleanValue((Boolean) value);
 		} else if (value instanceof JSONString) {
 			writeJSONStringValue((JSONString) value);
-		} else {
+		} else if (value instanceof Character) {
 			writeStrValue(value.toString());
+		} else {
+			// 自定义序列化
+			final JSONSerializer serializer = GlobalSerializeMapping.getSerializer(value.getClass());
+			if (serializer instanceof JSONObjectSerializer) {
+				final JSONObject json = new JSONObject(getConfig());
+				serializer.serialize(json, value);
+				json.write(writer, indentFactor, indent);
+			} else if (serializer instanceof JSONArraySerializer) {
+				final JSONArray json = new JSONArray(getConfig());
+				serializer.serialize(json, value);
+				json.write(writer, indentFactor, indent);
+			} else if (value instanceof SQLException) {
+				// SQLException实现了Iterable，按字符串写出
+				writeStrValue(value.toString());
+			} else if (value instanceof Map) {
+				writeMap((Map<?, ?>) value, indent);
+			} else if (value instanceof Iterable || value instanceof Iterator || ArrayUtil.isArray(value)) {
+				writeArray(value, indent);
+			} else if (value instanceof Date || value instanceof Calendar || value instanceof TemporalAccessor) {
+				final String format = (null == config) ? null : config.getDateFormat();
+				writeRaw(formatDate(value, format));
+			} else if (value instanceof Enum || ClassUtil.isJdkClass(value.getClass())) {
+				writeStrValue(value.toString());
+			} else {
+				writeBean(value, indent);
+			}
 		}
 
 		return this;
 	}
 
+	/**
+	 * 直接写出Map，键转为字符串，值按照{@link #writeObjValue(Object, int)}写出
+	 *
+	 * @param map    Map
+	 * @param indent Map所在级别的缩进量
+	 */
+	private void writeMap(Map<?, ?> map, int indent) {
+		final boolean ignoreNullValue = isIgnoreNullValue();
+		final JSONWriter child = child(indent).beginObj();
+		String key;
+		for (final Map.Entry<?, ?> entry : map.entrySet()) {
+			key = Convert.toStr(entry.getKey());
+			if (null == key || (null == entry.getValue() && ignoreNullValue)) {
+				continue;
+			}
+			child.writeKey(key).writeValidValue(entry.getValue());
+		}
+		child.endWithoutFlush();
+	}
+
+	/**
+	 * 直接写出数组、{@link Iterable}或{@link Iterator}，null元素写出为null，跳过元素本身的引用
+	 *
+	 * @param source 数组、{@link Iterable}或{@link Iterator}
+	 * @param indent 数组所在级别的缩进量
+	 */
+	private void writeArray(Object source, int indent) {
+		final Iterator<?> iter;
+		if (ArrayUtil.isArray(source)) {
+			iter = new ArrayIter<>(source);
+		} else if (source instanceof Iterator) {
+			iter = (Iterator<?>) source;
+		} else {
+			iter = ((Iterable<?>) source).iterator();
+		}
+
+		final JSONWriter child = child(indent).beginArray();
+		Object next;
+		while (iter.hasNext()) {
+			next = iter.next();
+			// 检查循环引用
+			if (next != source) {
+				child.writeValue(next);
+			}
+		}
+		child.endWithoutFlush();
+	}
+
+	/**
+	 * 通过缓存的{@link PropWriter}直接写出Bean，读取属性失败的属性被跳过，非可读的Bean写出为null
+	 *
+	 * @param bean   Bean对象
+	 * @param indent Bean所在级别的缩进量
+	 */
+	private void writeBean(Object bean, int indent) {
+		final PropWriter[] props = PropWriter.get(bean.getClass());
+		if (PropWriter.UNSUPPORTED == props) {
+			writeRaw(JSONNull.NULL.toString());
+			return;
+		}
+
+		final boolean ignoreNullValue = isIgnoreNullValue();
+		final boolean transientSupport = null == config || config.isTransientSupport();
+		final JSONWriter child = child(indent).beginObj();
+		Object value;
+		for (PropWriter prop : props) {
+			if (transientSupport && prop.isTransient) {
+				continue;
+			}
+			try {
+				value = prop.getValue(bean);
+			} catch (Exception e) {
+				// 忽略读取失败的属性
+				continue;
+			}
+			if ((null == value && ignoreNullValue) || bean == value) {
+				// 值不能为bean本身，防止循环引用
+				continue;
+			}
+			child.writeQuotedKey(prop.quotedKey).writeValidValue(value);
+		}
+		child.endWithoutFlush();
+	}
+
+	/**
+	 * 写出对象中的值，检查是否为有效的数字
+	 *
+	 * @param value 值
+	 * @throws JSONException 值为无穷数字或NaN
+	 */
+	private void writeValidValue(Object value) throws JSONException {
+		if (false == ObjectUtil.isValidIfNumber(value)) {
+			throw new JSONException("JSON does not allow non-finite numbers.");
+		}
+		writeValue(value);
+	}
+
+	/**
+	 * 创建嵌套对象或数组的写出器，写出到同一{@link Writer}
+	 *
+	 * @param indent 嵌套对象或数组所在级别的缩进量
+	 * @return 嵌套对象或数组的{@link JSONWriter}
+	 */
+	private JSONWriter child(int indent) {
+		return new JSONWriter(writer, indentFactor, indent, config);
+	}
+
+	/**
+	 * 结束，补充"}"或"]"，不刷新{@link Writer}，用于写出嵌套的对象或数组
+	 */
+	private void endWithoutFlush() {
+		// 换行缩进
+		writeLF().writeSpace(indent);
+		writeRaw(arrayMode ? CharUtil.BRACKET_END : CharUtil.DELIM_END);
+		arrayMode = false;
+		// 当前对象或数组结束，当新的
+		needSeparator = true;
+	}
+
+	/**
+	 * 写出已包装引号的键，自动处理分隔符和缩进
+	 *
+	 * @param quotedKey 包装引号并转义后的键名
+	 * @return this
+	 */
+	private JSONWriter writeQuotedKey(String quotedKey) {
+		if (needSeparator) {
+			writeRaw(CharUtil.COMMA);
+		}
+		// 换行缩进
+		writeLF().writeSpace(indentFactor + indent);
+		return writeRaw(quotedKey);
+	}
+
+	private boolean isIgnoreNullValue() {
+		return null == config || config.isIgnoreNullValue();
+	}
+
+	private JSONConfig getConfig() {
+		return null == config ? JSONConfig.create() : config;
+	}
+
 	/**
 	 * 写出数字，根据{@link JSONConfig#isStripTrailingZeros()} 配置不同，写出不同数字<br>
 	 * 主要针对Double型是否去掉小数点后多余的0<br>
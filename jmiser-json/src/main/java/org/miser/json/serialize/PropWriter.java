@@ -0,0 +1,73 @@
+package org.miser.json.serialize;
+
+import org.miser.core.bean.BeanUtil;
+import org.miser.core.bean.PropertyDesc;
+import org.miser.core.lang.SimpleCache;
+import org.miser.json.JSONUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bean属性写出器，按类缓存可读的属性及转义后的键名，供{@link JSONWriter}直接写出Bean<br>
+ * 属性的读取规则同{@link org.miser.core.bean.copier.BeanCopier}将Bean转为Map的规则。
+ *
+ * @author Oliver
+ */
+final class PropWriter {
+
+	private static final SimpleCache<Class<?>, PropWriter[]> CACHE = new SimpleCache<>();
+	/**
+	 * 非可读Bean的标记
+	 */
+	static final PropWriter[] UNSUPPORTED = new PropWriter[0];
+
+	/**
+	 * 包装引号并转义后的键名
+	 */
+	final String quotedKey;
+	/**
+	 * 是否被transient关键字或{@link java.beans.Transient}注解修饰
+	 */
+	final boolean isTransient;
+	private final PropertyDesc prop;
+
+	private PropWriter(PropertyDesc prop, boolean isTransient) {
+		this.quotedKey = JSONUtil.quote(prop.getFieldName());
+		this.isTransient = isTransient;
+		this.prop = prop;
+	}
+
+	/**
+	 * 获取Bean类的属性写出器
+	 *
+	 * @param beanClass Bean类
+	 * @return 属性写出器，非可读Bean返回{@link #UNSUPPORTED}
+	 */
+	static PropWriter[] get(Class<?> beanClass) {
+		return CACHE.get(beanClass, () -> create(beanClass));
+	}
+
+	/**
+	 * 读取属性值
+	 *
+	 * @param bean Bean对象
+	 * @return 属性值
+	 */
+	Object getValue(Object bean) {
+		return this.prop.getValue(bean);
+	}
+
+	private static PropWriter[] create(Class<?> beanClass) {
+		if (false == BeanUtil.isReadableBean(beanClass)) {
+			return UNSUPPORTED;
+		}
+		final List<PropWriter> writers = new ArrayList<>();
+		BeanUtil.descForEach(beanClass, (prop) -> {
+			if (prop.isReadable(false)) {
+				writers.add(new PropWriter(prop, false == prop.isReadable(true)));
+			}
+		});
+		return writers.toArray(new PropWriter[0]);
+	}
+}
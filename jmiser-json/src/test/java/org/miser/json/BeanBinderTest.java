@@ -0,0 +1,165 @@
+package org.miser.json;
+
+import lombok.Data;
+import org.junit.Assert;
+import org.junit.Test;
+import org.miser.core.lang.TypeReference;
+import org.miser.json.bind.BeanBinder;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON直接绑定Bean的单元测试，结果须与先解析为{@link JSONObject}再转Bean一致
+ *
+ * @author Oliver
+ */
+public class BeanBinderTest {
+
+	@Test
+	public void typicalTest() {
+		assertSame("{\"s\":\"x\",\"boxed\":1,\"prim\":2,\"l\":3,\"d\":4.5,\"flag\":true,\"bflag\":false,\"userName\":\"u\"," +
+				"\"date\":1600000000000,\"k\":\"B\",\"sub\":{\"v\":\"q\"},\"subs\":[{\"v\":\"a\"},null],\"ints\":[1,\"2\",null]," +
+				"\"bd\":1.10,\"map\":{\"a\":1},\"arr\":[1,2],\"obj\":{\"z\":1},\"c\":\"x\"}");
+	}
+
+	@Test
+	public void nullTest() {
+		// null值注入null，原始类型保留默认值
+		final Dto dto = assertSame("{\"s\":null,\"boxed\":null,\"prim\":null,\"sub\":null,\"subs\":null,\"k\":null,\"date\":null,\"def\":null}");
+		Assert.assertNull(dto.getDef());
+		Assert.assertEquals("def", assertSame("{\"s\":\"s\"}").getDef());
+		Assert.assertNull(BeanBinder.of(Dto.class).parse("null"));
+	}
+
+	@Test
+	public void convertTest() {
+		assertSame("{\"s\":12,\"boxed\":\"12\",\"prim\":\"13\",\"l\":\"x\",\"d\":\"1.5\",\"flag\":\"true\",\"bflag\":1," +
+				"\"k\":\"Z\",\"date\":\"2020-01-02 03:04:05\",\"bd\":\"abc\"}");
+		assertSame("{\"s\":true,\"prim\":1.9,\"boxed\":1.5,\"l\":12345678901,\"sub\":\"str\",\"subs\":{\"v\":\"single\"}," +
+				"\"ints\":\"1,2\",\"arr\":\"1\",\"obj\":[1]}");
+		assertSame("{\"prim\":2147483648,\"boxed\":true,\"flag\":1,\"c\":65,\"d\":null,\"s\":[1,2],\"ints\":[1,\"x\"],\"l\":-abc}");
+	}
+
+	@Test
+	public void keyTest() {
+		assertSame("{\"user_name\":\"under\",\"is_flag\":true,\"unknown\":{\"x\":[1,{\"y\":null}]}}");
+		assertSame("{\"userName\":\"exact\",\"user_name\":\"under\"}");
+		assertSame("{\"user_name\":\"under\",\"userName\":\"exact\"}");
+		assertSame("{\"user_name\":\"under\",\"userName\":null}");
+		assertSame("{\"isFlag\":false,\"flag\":true,\"is_flag\":false}");
+		assertSame("{\"S\":\"upper\",\"PRIM\":5}");
+	}
+
+	@Test
+	public void duplicateKeyTest() {
+		// 重复的键以最后一个值为准
+		final Dto dto = BeanBinder.of(Dto.class).parse("{\"s\":\"a\",\"s\":\"b\"}");
+		Assert.assertEquals("b", dto.getS());
+	}
+
+	@Test
+	public void accessTest() {
+		// 非public类通过MethodHandle赋值，无Setter方法的public字段直接赋值
+		final String json = "{\"name\":\"n\",\"count\":3,\"value\":\"v\"}";
+		final PrivateBean bean = BeanBinder.of(PrivateBean.class).parse(json);
+		Assert.assertEquals(JSONUtil.parseObj(json).toBean(PrivateBean.class), bean);
+		Assert.assertEquals("n", bean.getName());
+		Assert.assertEquals(3, bean.getCount());
+		Assert.assertEquals("v", BeanBinder.of(FieldBean.class).parse(json).value);
+	}
+
+	@Test
+	public void nodeTest() {
+		final Node node = JSONUtil.toBean("{\"name\":\"a\",\"child\":{\"name\":\"b\",\"children\":[{\"name\":\"c\"}]}}", Node.class);
+		Assert.assertEquals("b", node.getChild().getName());
+		Assert.assertEquals("c", node.getChild().getChildren().get(0).getName());
+	}
+
+	@Test
+	public void unsupportedTest() {
+		Assert.assertNull(BeanBinder.of(String.class));
+		Assert.assertNull(BeanBinder.of(Map.class));
+		Assert.assertNull(BeanBinder.of(NoDefaultConstructorBean.class));
+		Assert.assertEquals("x", JSONUtil.toBean("{\"name\":\"x\"}", NoDefaultConstructorBean.class).getName());
+	}
+
+	@Test
+	public void ignoreErrorTest() {
+		// 忽略错误时不经过BeanBinder，结果与JSONObject转换一致
+		final String json = "{\"prim\":\"abc\",\"date\":\"x\",\"sub\":\"str\",\"s\":\"s\"}";
+		final Dto expected = JSONUtil.parseObj(json).toBean(Dto.class, true);
+		Assert.assertEquals(expected, JSONUtil.toBean(json, (Type) Dto.class, true));
+		Assert.assertEquals(expected, JSONUtil.toBean(json, new TypeReference<Dto>() {
+		}, true));
+	}
+
+	private static Dto assertSame(String json) {
+		final Dto expected = JSONUtil.parseObj(json).toBean(Dto.class);
+		final Dto dto = BeanBinder.of(Dto.class).parse(json);
+		Assert.assertEquals(expected, dto);
+		Assert.assertEquals(expected, JSONUtil.toBean(json, Dto.class));
+		return dto;
+	}
+
+	public enum Kind {
+		A, B
+	}
+
+	@Data
+	public static class Sub {
+		private String v;
+	}
+
+	@Data
+	public static class Dto {
+		private String s;
+		private Integer boxed;
+		private int prim;
+		private long l;
+		private double d;
+		private boolean flag;
+		private Boolean bflag;
+		private String userName;
+		private Date date;
+		private Kind k;
+		private Sub sub;
+		private List<Sub> subs;
+		private List<Integer> ints;
+		private BigDecimal bd;
+		private Map<String, Object> map;
+		private int[] arr;
+		private Object obj;
+		private char c;
+		private String def = "def";
+	}
+
+	@Data
+	public static class Node {
+		private String name;
+		private Node child;
+		private List<Node> children;
+	}
+
+	@Data
+	private static class PrivateBean {
+		private String name;
+		private int count;
+	}
+
+	public static class FieldBean {
+		public String value;
+	}
+
+	@Data
+	public static class NoDefaultConstructorBean {
+		private String name;
+
+		public NoDefaultConstructorBean(String name) {
+			this.name = name;
+		}
+	}
+}
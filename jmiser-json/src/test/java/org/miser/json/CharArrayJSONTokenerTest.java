@@ -0,0 +1,90 @@
+package org.miser.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CharArrayJSONTokener单元测试，结果须与{@link JSONTokener}一致
+ *
+ * @author Oliver
+ */
+public class CharArrayJSONTokenerTest {
+
+	private static final String JSON = "{\"name\":\"miser\", \"cn\": \"中文\\u4e2d\\t\\\"q\\\"\", 'single': 'a\\'b', unquoted: text,"
+			+ " \"num\": [1, -2.5, 1e3, 12345678901, true, false, null,], \"nested\": {\"a\": {\"b\": []}}; \"empty\": \"\"}";
+
+	@Test
+	public void sameAsReaderTest() {
+		final JSONConfig config = JSONConfig.create();
+		final JSONObject expected = new JSONObject(new JSONTokener(JSON, config), config);
+		final JSONObject actual = new JSONObject(new CharArrayJSONTokener(JSON, config), config);
+		Assert.assertEquals(expected, actual);
+		Assert.assertEquals(expected.toString(), actual.toString());
+		Assert.assertEquals("中文中\t\"q\"", actual.getStr("cn"));
+		Assert.assertEquals("a'b", actual.getStr("single"));
+		Assert.assertEquals("text", actual.getStr("unquoted"));
+		Assert.assertEquals(12345678901L, actual.getJSONArray("num").get(3));
+	}
+
+	@Test
+	public void bytesTest() {
+		final byte[] bytes = JSON.getBytes(StandardCharsets.UTF_8);
+		final JSONConfig config = JSONConfig.create();
+		final JSONObject json = new JSONObject(new CharArrayJSONTokener(bytes, config), config);
+		Assert.assertEquals(JSONUtil.parseObj(JSON), json);
+	}
+
+	@Test
+	public void rangeTest() {
+		final char[] chars = "xx[1,2,3]yy".toCharArray();
+		final JSONArray array = new JSONArray(new CharArrayJSONTokener(chars, 2, 7, JSONConfig.create()));
+		Assert.assertEquals("[1,2,3]", array.toString());
+	}
+
+	@Test
+	public void syntaxErrorTest() {
+		final String[] errors = {"{\"a\":1,\n\"b\" 2}", "{\"a\":\"unterminated", "[1,2\r\n,{\"a\":\"\\x\"}]", "{\"a\":}", "[\"\\u1"};
+		for (String error : errors) {
+			final String expected = parseError(new JSONTokener(error, JSONConfig.create()));
+			final String actual = parseError(new CharArrayJSONTokener(error, JSONConfig.create()));
+			Assert.assertNotNull(error, actual);
+			// JSONTokener回退换行符后重新读取时行号会重复计数，此处只比对错误信息和位置
+			Assert.assertEquals(error, expected.substring(0, expected.indexOf(" [")), actual.substring(0, actual.indexOf(" [")));
+		}
+	}
+
+	@Test
+	public void nextToTest() {
+		final JSONTokener tokener = new CharArrayJSONTokener(" key = value \nnext", JSONConfig.create());
+		Assert.assertEquals("key", tokener.nextTo('='));
+		Assert.assertEquals('=', tokener.next());
+		Assert.assertEquals("value", tokener.nextTo("\n"));
+		Assert.assertEquals('n', tokener.skipTo('n'));
+		Assert.assertEquals("next", tokener.next(4));
+		Assert.assertEquals(0, tokener.next());
+		Assert.assertTrue(tokener.end());
+		tokener.back();
+		Assert.assertFalse(tokener.end());
+		Assert.assertFalse(tokener.more());
+	}
+
+	@Test
+	public void parseObjTest() {
+		// JSONUtil解析字符串默认使用CharArrayJSONTokener，结果与原实现一致
+		final String json = "{\"list\":[{\"id\":1},{\"id\":2}],\"str\":\"a\\\\b\"}";
+		Assert.assertEquals(new JSONObject(new JSONTokener(json, JSONConfig.create())), JSONUtil.parseObj(json));
+		Assert.assertEquals("a\\b", JSONUtil.parseObj(json).getStr("str"));
+		Assert.assertEquals(2, JSONUtil.parseArray("[{},{}]").size());
+	}
+
+	private static String parseError(JSONTokener tokener) {
+		try {
+			tokener.nextValue();
+		} catch (JSONException e) {
+			return e.getMessage();
+		}
+		return null;
+	}
+}
@@ -27,4 +27,79 @@ public class JSONPathTest {
 		Long accountId = JSONUtil.getByPath(json, "$.accountId", 0L);
 		Assert.assertEquals(111L, accountId.longValue());
 	}
+
+	private static final String STORE = "{\"store\":{\"book\":[" +
+			"{\"category\":\"reference\",\"author\":\"Nigel Rees\",\"title\":\"Sayings of the Century\",\"price\":8.95}," +
+			"{\"category\":\"fiction\",\"author\":\"Evelyn Waugh\",\"title\":\"Sword of Honour\",\"price\":12.99}," +
+			"{\"category\":\"fiction\",\"author\":\"Herman Melville\",\"title\":\"Moby Dick\",\"isbn\":\"0-553-21311-3\",\"price\":8.99}," +
+			"{\"category\":\"fiction\",\"author\":\"J. R. R. Tolkien\",\"title\":\"The Lord of the Rings\",\"isbn\":\"0-395-19395-8\",\"price\":22.99}]," +
+			"\"bicycle\":{\"color\":\"red\",\"price\":19.95,\"tags\":null}},\"expensive\":10}";
+
+	@Test
+	public void definiteTest() {
+		Assert.assertEquals("Moby Dick", eval("$.store.book[2].title"));
+		Assert.assertEquals("The Lord of the Rings", eval("store.book[-1]['title']"));
+		Assert.assertEquals(10, eval("$.expensive"));
+		Assert.assertEquals(JSONNull.NULL, JSONPath.compile("$.store.bicycle.tags").eval(JSONUtil.parseObj(STORE)));
+		Assert.assertNull(eval("$.store.book[9].title"));
+		Assert.assertNull(eval("$.store.car"));
+		Assert.assertTrue(JSONPath.compile("$.store.book[0]").isDefinite());
+		Assert.assertSame(JSONPath.compile("$.store.book[0]"), JSONPath.compile("$.store.book[0]"));
+	}
+
+	@Test
+	public void wildcardTest() {
+		Assert.assertEquals(JSONUtil.parseArray("[\"Nigel Rees\",\"Evelyn Waugh\",\"Herman Melville\",\"J. R. R. Tolkien\"]"),
+				eval("$.store.book[*].author"));
+		Assert.assertEquals(JSONUtil.parseArray("[\"Nigel Rees\",\"Evelyn Waugh\",\"Herman Melville\",\"J. R. R. Tolkien\"]"),
+				eval("$..author"));
+		Assert.assertEquals(5, ((JSONArray) eval("$.store..price")).size());
+		Assert.assertEquals(2, ((JSONArray) eval("$.store.*")).size());
+		Assert.assertEquals(JSONUtil.parseArray("[\"red\",19.95]"), eval("$.store.bicycle['color','price']"));
+	}
+
+	@Test
+	public void sliceTest() {
+		Assert.assertEquals(JSONUtil.parseArray("[\"Nigel Rees\",\"Evelyn Waugh\"]"), eval("$.store.book[:2].author"));
+		Assert.assertEquals(JSONUtil.parseArray("[\"Evelyn Waugh\",\"J. R. R. Tolkien\"]"), eval("$.store.book[1::2].author"));
+		Assert.assertEquals(JSONUtil.parseArray("[\"Herman Melville\",\"J. R. R. Tolkien\"]"), eval("$.store.book[-2:].author"));
+		Assert.assertEquals(JSONUtil.parseArray("[\"Nigel Rees\",\"J. R. R. Tolkien\"]"), eval("$.store.book[0,-1].author"));
+	}
+
+	@Test
+	public void filterTest() {
+		Assert.assertEquals(JSONUtil.parseArray("[\"Sayings of the Century\",\"Moby Dick\"]"), eval("$.store.book[?(@.price < 10)].title"));
+		Assert.assertEquals(JSONUtil.parseArray("[\"Moby Dick\",\"The Lord of the Rings\"]"), eval("$..book[?(@.isbn)].title"));
+		Assert.assertEquals(JSONUtil.parseArray("[\"Sword of Honour\"]"),
+				eval("$.store.book[?(@.category == 'fiction' && !(@.isbn))].title"));
+		Assert.assertEquals(JSONUtil.parseArray("[\"Moby Dick\"]"), eval("$.store.book[?(@.author =~ /.*melville/i)].title"));
+		Assert.assertEquals(JSONUtil.parseArray("[\"Nigel Rees\",\"J. R. R. Tolkien\"]"),
+				eval("$.store.book[?(@.price > 20 || @['category'] != \"fiction\")].author"));
+		Assert.assertEquals(JSONUtil.parseArray("[8.95,8.99]"), eval("$.store.book[?(@.price <= 9)].price"));
+	}
+
+	@Test
+	public void readerTest() {
+		// 读取后JSONReader位于下一个值
+		final JSONReader reader = new JSONReader("{\"a\":{\"b\":[1,2,3]},\"c\":4} {\"a\":{\"b\":[5]}}");
+		Assert.assertEquals(JSONUtil.parseArray("[1,2,3]"), JSONPath.compile("$.a.b").read(reader));
+		Assert.assertEquals(5, JSONPath.compile("$.a.b[0]").read(reader));
+		Assert.assertEquals(JSONToken.END_DOCUMENT, reader.peek());
+	}
+
+	@Test(expected = JSONException.class)
+	public void badExpressionTest() {
+		JSONPath.compile("$.store.book[?(@.price < )]");
+	}
+
+	/**
+	 * 对象树（保持键顺序）求值与流式求值的结果须一致，流式读取时匹配的对象使用默认配置创建
+	 */
+	private static Object eval(String expression) {
+		final JSONPath path = JSONPath.compile(expression);
+		final Object value = path.eval(new JSONReader(STORE, JSONConfig.create().setOrder(true)).nextValue());
+		Assert.assertEquals(value, path.read(STORE));
+		Assert.assertEquals(value, path.read(new JSONReader(STORE)));
+		return value;
+	}
 }
@@ -0,0 +1,143 @@
+package org.miser.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+
+/**
+ * JSONReader单元测试
+ *
+ * @author Oliver
+ */
+public class JSONReaderTest {
+
+	@Test
+	public void readObjectTest() {
+		final JSONReader reader = new JSONReader(new StringReader(
+				"{\"name\":\"miser\", \"age\": 18, \"score\": 99.5, \"big\": 12345678901, \"ok\": true, \"none\": null,"
+						+ " \"tags\": [\"a\", 'b\\n'], 'quoted': \"\\u4e2d\\\"\"}"));
+		reader.beginObject();
+		Assert.assertEquals("name", reader.nextName());
+		Assert.assertEquals("miser", reader.nextString());
+		Assert.assertEquals("age", reader.nextName());
+		Assert.assertEquals(JSONToken.NUMBER, reader.peek());
+		Assert.assertEquals(18, reader.nextInt());
+		Assert.assertEquals("score", reader.nextName());
+		Assert.assertEquals(99.5, reader.nextDouble(), 0);
+		Assert.assertEquals("big", reader.nextName());
+		Assert.assertEquals(12345678901L, reader.nextLong());
+		Assert.assertEquals("ok", reader.nextName());
+		Assert.assertTrue(reader.nextBoolean());
+		Assert.assertEquals("none", reader.nextName());
+		Assert.assertEquals(JSONToken.NULL, reader.peek());
+		reader.nextNull();
+		Assert.assertEquals("tags", reader.nextName());
+		reader.beginArray();
+		Assert.assertEquals("a", reader.nextString());
+		Assert.assertEquals("b\n", reader.nextString());
+		Assert.assertFalse(reader.hasNext());
+		reader.endArray();
+		Assert.assertEquals("quoted", reader.nextName());
+		Assert.assertEquals("中\"", reader.nextString());
+		Assert.assertFalse(reader.hasNext());
+		reader.endObject();
+		Assert.assertEquals(JSONToken.END_DOCUMENT, reader.peek());
+		reader.close();
+	}
+
+	@Test
+	public void skipValueTest() {
+		final JSONReader reader = new JSONReader("{\"skip\":{\"a\":[1,{\"b\":\"x]}\\\"\"}],\"c\":null},\"keep\":[1,2,],}");
+		reader.beginObject();
+		Assert.assertEquals("skip", reader.nextName());
+		reader.skipValue();
+		// 跳过键及其值
+		Assert.assertEquals("keep", reader.nextName());
+		Assert.assertEquals("[1,2]", reader.nextValue().toString());
+		reader.endObject();
+		Assert.assertEquals(JSONToken.END_DOCUMENT, reader.peek());
+	}
+
+	@Test
+	public void skipNameTest() {
+		final JSONReader reader = new JSONReader("{\"skip\":[1,2],\"keep\":3}");
+		reader.beginObject();
+		reader.skipValue();
+		Assert.assertEquals("keep", reader.nextName());
+		Assert.assertEquals(3, reader.nextInt());
+		reader.endObject();
+	}
+
+	@Test
+	public void nextValueTest() {
+		final JSONReader reader = new JSONReader("{\"a\":{\"b\":[1,\"2\",3.5,true,null]}}");
+		final JSONObject json = (JSONObject) reader.nextValue();
+		Assert.assertEquals(JSONUtil.parseObj("{\"a\":{\"b\":[1,\"2\",3.5,true,null]}}"), json);
+		Assert.assertEquals(new BigDecimal("3.5"), json.getByPath("a.b[2]"));
+	}
+
+	@Test
+	public void nextValueMalformedNumberTest() {
+		final JSONReader reader = new JSONReader("[1.2.3, -, 0x1F, 12]");
+		reader.beginArray();
+		Assert.assertEquals("1.2.3", reader.nextValue());
+		Assert.assertEquals("-", reader.nextValue());
+		Assert.assertEquals("0x1F", reader.nextValue());
+		Assert.assertEquals(12, reader.nextValue());
+		reader.endArray();
+	}
+
+	@Test
+	public void multiValueTest() {
+		// JSON Lines
+		final JSONReader reader = new JSONReader("{\"id\":1}\n{\"id\":2}\n\n[3]\n");
+		int sum = 0;
+		while (reader.peek() != JSONToken.END_DOCUMENT) {
+			if (reader.peek() == JSONToken.BEGIN_ARRAY) {
+				reader.beginArray();
+				sum += reader.nextInt();
+				reader.endArray();
+			} else {
+				reader.beginObject();
+				reader.nextName();
+				sum += reader.nextInt();
+				reader.endObject();
+			}
+		}
+		Assert.assertEquals(6, sum);
+	}
+
+	@Test
+	public void unquotedTest() {
+		final JSONReader reader = new JSONReader("{name : miser ; num: -1e2 }");
+		reader.beginObject();
+		Assert.assertEquals("name", reader.nextName());
+		Assert.assertEquals(JSONToken.STRING, reader.peek());
+		Assert.assertEquals("miser", reader.nextString());
+		Assert.assertEquals("num", reader.nextName());
+		Assert.assertEquals(new BigDecimal("-1e2"), reader.nextNumber());
+		reader.endObject();
+	}
+
+	@Test(expected = JSONException.class)
+	public void missingColonTest() {
+		final JSONReader reader = new JSONReader("{\"a\" 1}");
+		reader.beginObject();
+		reader.nextName();
+		reader.nextInt();
+	}
+
+	@Test(expected = JSONException.class)
+	public void wrongTokenTest() {
+		new JSONReader("[1]").beginObject();
+	}
+
+	@Test(expected = JSONException.class)
+	public void skipEndTest() {
+		final JSONReader reader = new JSONReader("[]");
+		reader.beginArray();
+		reader.skipValue();
+	}
+}
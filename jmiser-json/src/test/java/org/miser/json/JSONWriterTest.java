@@ -0,0 +1,122 @@
+package org.miser.json;
+
+import lombok.Data;
+import org.junit.Assert;
+import org.junit.Test;
+import org.miser.core.date.DateUtil;
+import org.miser.json.serialize.JSONObjectSerializer;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 对象直接写出为JSON的单元测试，结果须与先转为{@link JSONObject}、{@link JSONArray}再写出一致
+ *
+ * @author Oliver
+ */
+public class JSONWriterTest {
+
+	@Test
+	public void beanListTest() {
+		final List<Item> items = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			items.add(newItem(i));
+		}
+		final String jsonStr = JSONUtil.toJsonStr(items);
+		Assert.assertEquals(JSONUtil.parseArray(new JSONArray(items).toString()), JSONUtil.parseArray(jsonStr));
+		// Bean属性按声明顺序写出
+		Assert.assertTrue(jsonStr.startsWith("[{\"id\":0,\"name\":\"item0\",\"price\":1.5,"));
+	}
+
+	@Test
+	public void orderedMapTest() {
+		final Map<String, Object> map = new LinkedHashMap<>();
+		map.put("z", 1);
+		map.put("a", Arrays.asList(1, null, "s"));
+		map.put("m", newItem(1));
+		map.put("n", null);
+		map.put("e", new int[0]);
+		final JSONConfig config = JSONConfig.create().setOrder(true);
+		Assert.assertEquals(new JSONObject(map, config).toString(), JSONUtil.toJsonStr(map));
+		Assert.assertEquals(new JSONObject(map, config).toStringPretty(), JSONUtil.toJsonPrettyStr(map));
+	}
+
+	@Test
+	public void configTest() {
+		final Item item = newItem(1);
+		item.setName(null);
+		item.setDate(DateUtil.parse("2021-01-02 03:04:05"));
+
+		Assert.assertFalse(JSONUtil.toJsonStr(item).contains("name"));
+		Assert.assertTrue(JSONUtil.toJsonStr(item).contains("\"date\":" + item.getDate().getTime()));
+
+		final String jsonStr = JSONUtil.toJsonStr(item, JSONConfig.create().setIgnoreNullValue(false).setDateFormat("yyyy-MM-dd"));
+		Assert.assertTrue(jsonStr.contains("\"name\":null"));
+		Assert.assertTrue(jsonStr.contains("\"date\":\"2021-01-02\""));
+		// transient字段默认忽略
+		Assert.assertFalse(jsonStr.contains("secret"));
+		Assert.assertTrue(JSONUtil.toJsonStr(item, JSONConfig.create().setTransientSupport(false)).contains("\"secret\":\"s1\""));
+	}
+
+	@Test
+	public void customSerializerTest() {
+		JSONUtil.putSerializer(Money.class, (JSONObjectSerializer<Money>) (json, bean) -> json.set("cent", bean.yuan * 100));
+		final Map<String, Object> map = new HashMap<>();
+		map.put("money", new Money(3));
+		Assert.assertEquals("{\"money\":{\"cent\":300}}", JSONUtil.toJsonStr(map));
+	}
+
+	@Test
+	public void writerTest() {
+		final StringWriter writer = new StringWriter();
+		JSONUtil.toJsonStr(Arrays.asList(Kind.A, 'c', 1.0, true, new JSONObject().set("k", "v")), writer);
+		Assert.assertEquals("[\"A\",\"c\",1,true,{\"k\":\"v\"}]", writer.toString());
+	}
+
+	@Test(expected = JSONException.class)
+	public void nanTest() {
+		final Map<String, Object> map = new HashMap<>();
+		map.put("nan", Double.NaN);
+		JSONUtil.toJsonStr(map);
+	}
+
+	private static Item newItem(int i) {
+		final Item item = new Item();
+		item.setId(i);
+		item.setName("item" + i);
+		item.setPrice(1.5);
+		item.setKind(Kind.B);
+		item.setTags(Arrays.asList("t1", "t2"));
+		item.setSecret("s" + i);
+		return item;
+	}
+
+	enum Kind {
+		A, B
+	}
+
+	@Data
+	public static class Item {
+		private int id;
+		private String name;
+		private double price;
+		private Kind kind;
+		private Date date;
+		private List<String> tags;
+		private transient String secret;
+	}
+
+	public static class Money {
+		final int yuan;
+
+		Money(int yuan) {
+			this.yuan = yuan;
+		}
+	}
+}
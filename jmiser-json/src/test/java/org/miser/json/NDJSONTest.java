@@ -0,0 +1,166 @@
+package org.miser.json;
+
+import lombok.Data;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.miser.core.io.FileUtil;
+import org.miser.core.util.CharsetUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * NDJSON读写单元测试
+ *
+ * @author Oliver
+ */
+public class NDJSONTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void parallelReadTest() throws IOException {
+		final List<Item> items = createItems(2000);
+		final StringBuilder content = new StringBuilder("﻿");
+		for (int i = 0; i < items.size(); i++) {
+			content.append(JSONUtil.toJsonStr(items.get(i)));
+			// 混合空行、CRLF和行尾空白，最后一行无换行符
+			if (i % 100 == 0) {
+				content.append("\n \t\n");
+			} else if (i < items.size() - 1) {
+				content.append(i % 2 == 0 ? "\r\n" : "\n");
+			}
+		}
+		final File file = FileUtil.writeUtf8String(content.toString(), folder.newFile("items.ndjson"));
+
+		try (NDJSONReader reader = newReader(file)) {
+			Assert.assertEquals(items, reader.stream(Item.class).collect(Collectors.toList()));
+			final List<Object> names = reader.stream().map(json -> json.getByPath("name")).collect(Collectors.toList());
+			Assert.assertEquals(items.stream().map(Item::getName).collect(Collectors.toList()), names);
+		}
+		try (NDJSONReader reader = newReader(file).setParallel(false)) {
+			Assert.assertEquals(items, reader.stream(Item.class).collect(Collectors.toList()));
+		}
+		try (NDJSONReader reader = newReader(file).setOrdered(false)) {
+			final Stream<Item> stream = reader.stream(Item.class);
+			Assert.assertTrue(stream.isParallel());
+			Assert.assertEquals(new HashSet<>(items), stream.collect(Collectors.toSet()));
+		}
+	}
+
+	@Test
+	public void readerTest() {
+		final String content = "{\"id\":1,\"name\":\"a\"}\n\n[1,2]\r\n{\"id\":3,\"name\":\"c\",\"tags\":[\"x\"]}";
+		try (NDJSONReader reader = new NDJSONReader(new StringReader(content), JSONConfig.create())) {
+			final List<JSON> records = reader.stream().collect(Collectors.toList());
+			Assert.assertEquals(3, records.size());
+			Assert.assertEquals("a", records.get(0).getByPath("name"));
+			Assert.assertEquals(JSONUtil.parseArray("[1,2]"), records.get(1));
+			Assert.assertEquals("x", records.get(2).getByPath("tags[0]"));
+		}
+	}
+
+	@Test
+	public void badRecordTest() throws IOException {
+		final File file = FileUtil.writeUtf8String("{\"id\":1}\n{\"id\":2} {\"id\":3}\n", folder.newFile("bad.ndjson"));
+		try (NDJSONReader reader = NDJSONReader.of(file)) {
+			reader.stream(Item.class).count();
+			Assert.fail();
+		} catch (JSONException e) {
+			// 并行流在其它线程中抛出的异常会被包装一层
+			Assert.assertTrue(e.getMessage(), e.getMessage().contains("Bad NDJSON record at byte 9"));
+		}
+		try (NDJSONReader reader = new NDJSONReader(new StringReader("{\"id\":1}\n\"text\""), JSONConfig.create())) {
+			reader.stream().count();
+			Assert.fail();
+		} catch (JSONException e) {
+			Assert.assertTrue(e.getMessage(), e.getMessage().contains("Bad NDJSON record"));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void charsetTest() throws IOException {
+		new NDJSONReader(folder.newFile().toPath(), StandardCharsets.UTF_16, JSONConfig.create());
+	}
+
+	@Test
+	public void writeTest() throws IOException {
+		final List<Item> items = createItems(25);
+		final CountingWriter out = new CountingWriter();
+		try (NDJSONWriter writer = new NDJSONWriter(out, JSONConfig.create(), 10)) {
+			writer.writeAll(items.subList(0, 5));
+			Assert.assertEquals(0, out.flushes);
+			Assert.assertEquals("", out.toString());
+			writer.writeAll(items.subList(5, 25).stream());
+			// 每10条写出并刷新一次
+			Assert.assertEquals(2, out.flushes);
+			Assert.assertEquals(20, out.toString().split("\n").length);
+		}
+		Assert.assertEquals(25, out.toString().split("\n").length);
+		try (NDJSONReader reader = new NDJSONReader(new StringReader(out.toString()), JSONConfig.create())) {
+			Assert.assertEquals(items, reader.stream(Item.class).collect(Collectors.toList()));
+		}
+	}
+
+	@Test
+	public void roundTripTest() throws IOException {
+		final List<Item> items = createItems(500);
+		final File file = folder.newFile("round.ndjson");
+		try (NDJSONWriter writer = NDJSONWriter.of(file)) {
+			items.parallelStream().forEach(writer::write);
+		}
+		try (NDJSONReader reader = newReader(file)) {
+			Assert.assertEquals(new HashSet<>(items), reader.stream(Item.class).collect(Collectors.toSet()));
+		}
+	}
+
+	/**
+	 * 使用较小的切分和映射窗口，以测试切分和跨窗口的记录
+	 */
+	private static NDJSONReader newReader(File file) {
+		final NDJSONReader reader = new NDJSONReader(file.toPath(), CharsetUtil.CHARSET_UTF_8, JSONConfig.create());
+		reader.splitSize = 256;
+		reader.windowSize = 200;
+		return reader;
+	}
+
+	private static List<Item> createItems(int count) {
+		final List<Item> items = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			final Item item = new Item();
+			item.setId(i);
+			item.setName("名称-" + i + (i % 7 == 0 ? "\n换行\"引号\"" : ""));
+			item.setTags(i % 3 == 0 ? null : new String[]{"t" + i, "标签"});
+			items.add(item);
+		}
+		return items;
+	}
+
+	@Data
+	public static class Item {
+		private int id;
+		private String name;
+		private String[] tags;
+	}
+
+	private static class CountingWriter extends StringWriter {
+		private int flushes;
+
+		@Override
+		public void flush() {
+			flushes++;
+			super.flush();
+		}
+	}
+}
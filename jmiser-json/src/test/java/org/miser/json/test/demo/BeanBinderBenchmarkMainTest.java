@@ -0,0 +1,97 @@
+package org.miser.json.test.demo;
+
+import lombok.Data;
+import org.miser.core.lang.Console;
+import org.miser.json.JSONUtil;
+import org.miser.json.bind.BeanBinder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 先解析为JSONObject再转Bean与{@link BeanBinder}直接绑定的吞吐量对比
+ */
+public class BeanBinderBenchmarkMainTest {
+
+	private static final int WARMUP_ROUNDS = 3;
+	private static final int ROUNDS = 5;
+	private static final int PARSES = 20_000;
+
+	public static void main(String[] args) {
+		final String json = JSONUtil.toJsonStr(createOrder());
+		final BeanBinder<Order> binder = BeanBinder.of(Order.class);
+		Console.log("JSON length: {} chars", json.length());
+
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			run(json, s -> JSONUtil.parseObj(s).toBean(Order.class));
+			run(json, binder::parse);
+		}
+		for (int i = 0; i < ROUNDS; i++) {
+			final long tree = run(json, s -> JSONUtil.parseObj(s).toBean(Order.class));
+			final long bind = run(json, binder::parse);
+			Console.log("Round {}: JSONObject {} parses/s, BeanBinder {} parses/s", i, tree, bind);
+		}
+	}
+
+	/**
+	 * 多次解析同一JSON
+	 *
+	 * @return 每秒解析次数
+	 */
+	private static long run(String json, Function<String, Order> parser) {
+		final long start = System.nanoTime();
+		int size = 0;
+		for (int i = 0; i < PARSES; i++) {
+			size += parser.apply(json).getItems().size();
+		}
+		final long cost = System.nanoTime() - start;
+		if (size != PARSES * 5) {
+			throw new IllegalStateException("Unexpected size: " + size);
+		}
+		return PARSES * 1_000_000_000L / cost;
+	}
+
+	private static Order createOrder() {
+		final Order order = new Order();
+		order.setId(10001L);
+		order.setCustomer("customer-1");
+		order.setPaid(true);
+		order.setCreateTime(new Date());
+		order.setAmount(new BigDecimal("199.90"));
+		order.setTags(Arrays.asList("a", "b", "c"));
+		final List<Item> items = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			final Item item = new Item();
+			item.setSku("sku-" + i);
+			item.setName("item " + i);
+			item.setCount(i + 1);
+			item.setPrice(new BigDecimal("39.98"));
+			items.add(item);
+		}
+		order.setItems(items);
+		return order;
+	}
+
+	@Data
+	public static class Order {
+		private Long id;
+		private String customer;
+		private boolean paid;
+		private Date createTime;
+		private BigDecimal amount;
+		private List<String> tags;
+		private List<Item> items;
+	}
+
+	@Data
+	public static class Item {
+		private String sku;
+		private String name;
+		private int count;
+		private BigDecimal price;
+	}
+}
@@ -0,0 +1,70 @@
+package org.miser.json.test.demo;
+
+import org.miser.core.bean.BeanPath;
+import org.miser.core.lang.Console;
+import org.miser.json.JSONObject;
+import org.miser.json.JSONPath;
+import org.miser.json.JSONUtil;
+
+import java.util.function.Supplier;
+
+/**
+ * 每次解析路径表达式与使用编译缓存的{@link JSONPath}的吞吐量对比，以及解析后求值与流式求值的对比
+ */
+public class JSONPathBenchmarkMainTest {
+
+	private static final int WARMUP_ROUNDS = 3;
+	private static final int ROUNDS = 5;
+	private static final int EVALS = 200_000;
+	private static final int READS = 20_000;
+
+	public static void main(String[] args) {
+		final String json = createMessage();
+		final JSONObject message = JSONUtil.parseObj(json);
+		final String expression = "order.items[3].price";
+		final JSONPath path = JSONPath.compile(expression);
+		Console.log("JSON length: {} chars", json.length());
+
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			run(EVALS, () -> BeanPath.create(expression).get(message));
+			run(EVALS, () -> JSONPath.compile(expression).eval(message));
+			run(READS, () -> path.eval(JSONUtil.parseObj(json)));
+			run(READS, () -> path.read(json));
+		}
+		for (int i = 0; i < ROUNDS; i++) {
+			final long create = run(EVALS, () -> BeanPath.create(expression).get(message));
+			final long compiled = run(EVALS, () -> JSONPath.compile(expression).eval(message));
+			final long tree = run(READS, () -> path.eval(JSONUtil.parseObj(json)));
+			final long stream = run(READS, () -> path.read(json));
+			Console.log("Round {}: BeanPath {} evals/s, JSONPath {} evals/s; parse+eval {} reads/s, stream {} reads/s",
+					i, create, compiled, tree, stream);
+		}
+	}
+
+	/**
+	 * 多次求值
+	 *
+	 * @return 每秒求值次数
+	 */
+	private static long run(int times, Supplier<Object> evaluator) {
+		final long start = System.nanoTime();
+		for (int i = 0; i < times; i++) {
+			if (null == evaluator.get()) {
+				throw new IllegalStateException("No result");
+			}
+		}
+		return times * 1_000_000_000L / (System.nanoTime() - start);
+	}
+
+	private static String createMessage() {
+		final JSONObject order = JSONUtil.createObj().set("id", 10001).set("customer", "customer-1");
+		for (int i = 0; i < 20; i++) {
+			order.append("items", JSONUtil.createObj().set("sku", "sku-" + i).set("count", i + 1).set("price", 39.98 + i));
+		}
+		final JSONObject message = JSONUtil.createObj().set("order", order);
+		for (int i = 0; i < 50; i++) {
+			message.set("attr" + i, JSONUtil.createObj().set("name", "attribute " + i).set("values", new int[]{i, i + 1, i + 2}));
+		}
+		return message.toString();
+	}
+}
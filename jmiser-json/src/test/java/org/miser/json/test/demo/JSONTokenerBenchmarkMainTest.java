@@ -0,0 +1,72 @@
+package org.miser.json.test.demo;
+
+import org.miser.core.lang.Console;
+import org.miser.json.CharArrayJSONTokener;
+import org.miser.json.JSONArray;
+import org.miser.json.JSONConfig;
+import org.miser.json.JSONObject;
+import org.miser.json.JSONTokener;
+
+import java.util.function.Function;
+
+/**
+ * 基于Reader的{@link JSONTokener}与基于字符数组的{@link CharArrayJSONTokener}解析吞吐量对比
+ */
+public class JSONTokenerBenchmarkMainTest {
+
+	private static final int WARMUP_ROUNDS = 3;
+	private static final int ROUNDS = 5;
+	private static final int PARSES = 2_000;
+
+	public static void main(String[] args) {
+		final String json = createJson(1_000);
+		final JSONConfig config = JSONConfig.create();
+		Console.log("JSON length: {} chars", json.length());
+
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			run(json, s -> new JSONTokener(s, config), config);
+			run(json, s -> new CharArrayJSONTokener(s, config), config);
+		}
+		for (int i = 0; i < ROUNDS; i++) {
+			final long reader = run(json, s -> new JSONTokener(s, config), config);
+			final long charArray = run(json, s -> new CharArrayJSONTokener(s, config), config);
+			Console.log("Round {}: Reader {} parses/s, char[] {} parses/s", i, reader, charArray);
+		}
+	}
+
+	/**
+	 * 多次解析同一JSON
+	 *
+	 * @return 每秒解析次数
+	 */
+	private static long run(String json, Function<String, JSONTokener> factory, JSONConfig config) {
+		final long start = System.nanoTime();
+		int size = 0;
+		for (int i = 0; i < PARSES; i++) {
+			size += new JSONArray(factory.apply(json), config).size();
+		}
+		final long cost = System.nanoTime() - start;
+		if (size != PARSES * 1_000) {
+			throw new IllegalStateException("Unexpected size: " + size);
+		}
+		return PARSES * 1_000_000_000L / cost;
+	}
+
+	/**
+	 * 构建包含字符串、数字、转义符和嵌套对象的JSON数组
+	 */
+	private static String createJson(int count) {
+		final JSONArray array = new JSONArray();
+		for (int i = 0; i < count; i++) {
+			final JSONObject item = new JSONObject(true);
+			item.put("id", i);
+			item.put("name", "user-" + i);
+			item.put("desc", "line1\nline2 \"quoted\" 中文");
+			item.put("score", i * 1.5);
+			item.put("active", i % 2 == 0);
+			item.put("tags", new JSONArray().put("a").put("b"));
+			array.add(item);
+		}
+		return array.toString();
+	}
+}
@@ -0,0 +1,127 @@
+package org.miser.json.test.demo;
+
+import lombok.Data;
+import org.miser.core.io.FileUtil;
+import org.miser.core.lang.Console;
+import org.miser.json.JSONUtil;
+import org.miser.json.NDJSONReader;
+import org.miser.json.NDJSONWriter;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.function.ToLongFunction;
+
+/**
+ * 单线程逐行{@link JSONUtil#parseObj(String)}与{@link NDJSONReader}并行解析的吞吐量对比
+ */
+public class NDJSONBenchmarkMainTest {
+
+	private static final int WARMUP_ROUNDS = 2;
+	private static final int ROUNDS = 5;
+	private static final int RECORDS = 500_000;
+
+	public static void main(String[] args) throws IOException {
+		final File file = File.createTempFile("benchmark", ".ndjson");
+		file.deleteOnExit();
+		try (NDJSONWriter writer = NDJSONWriter.of(file)) {
+			for (int i = 0; i < RECORDS; i++) {
+				writer.write(createRecord(i));
+			}
+		}
+		Console.log("File size: {} bytes, {} records", file.length(), RECORDS);
+
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			run(file, NDJSONBenchmarkMainTest::readLines);
+			run(file, NDJSONBenchmarkMainTest::readLineBeans);
+			run(file, NDJSONBenchmarkMainTest::readJSON);
+			run(file, NDJSONBenchmarkMainTest::readBeans);
+		}
+		for (int i = 0; i < ROUNDS; i++) {
+			final long lines = run(file, NDJSONBenchmarkMainTest::readLines);
+			final long lineBeans = run(file, NDJSONBenchmarkMainTest::readLineBeans);
+			final long json = run(file, NDJSONBenchmarkMainTest::readJSON);
+			final long beans = run(file, NDJSONBenchmarkMainTest::readBeans);
+			Console.log("Round {}: lines+parseObj {} records/s, lines+toBean {} records/s, NDJSON {} records/s, NDJSON beans {} records/s",
+					i, lines, lineBeans, json, beans);
+		}
+	}
+
+	/**
+	 * 读取文件中的所有记录
+	 *
+	 * @return 每秒读取记录数
+	 */
+	private static long run(File file, ToLongFunction<File> reader) {
+		final long start = System.nanoTime();
+		final long count = reader.applyAsLong(file);
+		final long cost = System.nanoTime() - start;
+		if (count != RECORDS) {
+			throw new IllegalStateException("Unexpected count: " + count);
+		}
+		return RECORDS * 1_000_000_000L / cost;
+	}
+
+	private static long readLines(File file) {
+		long count = 0;
+		try (BufferedReader reader = FileUtil.getUtf8Reader(file)) {
+			String line;
+			while (null != (line = reader.readLine())) {
+				if (null != JSONUtil.parseObj(line).getStr("customer")) {
+					count++;
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return count;
+	}
+
+	private static long readLineBeans(File file) {
+		long count = 0;
+		try (BufferedReader reader = FileUtil.getUtf8Reader(file)) {
+			String line;
+			while (null != (line = reader.readLine())) {
+				if (null != JSONUtil.parseObj(line).toBean(Order.class).getCustomer()) {
+					count++;
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return count;
+	}
+
+	private static long readJSON(File file) {
+		try (NDJSONReader reader = NDJSONReader.of(file)) {
+			return reader.stream().filter(json -> null != json.getByPath("customer")).count();
+		}
+	}
+
+	private static long readBeans(File file) {
+		try (NDJSONReader reader = NDJSONReader.of(file)) {
+			return reader.stream(Order.class).filter(order -> null != order.getCustomer()).count();
+		}
+	}
+
+	private static Order createRecord(int i) {
+		final Order order = new Order();
+		order.setId(i);
+		order.setCustomer("customer-" + (i % 1000));
+		order.setPaid(i % 2 == 0);
+		order.setAmount(new BigDecimal(i).movePointLeft(2));
+		order.setTags(new String[]{"a", "b", "tag-" + (i % 10)});
+		return order;
+	}
+
+	@Data
+	public static class Order {
+		private long id;
+		private String customer;
+		private boolean paid;
+		private BigDecimal amount;
+		private String[] tags;
+	}
+}
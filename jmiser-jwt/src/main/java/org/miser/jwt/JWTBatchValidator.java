@@ -0,0 +1,193 @@
+package org.miser.jwt;
+
+import org.miser.core.date.DateUtil;
+import org.miser.core.lang.Assert;
+import org.miser.jwt.signers.JWTSigner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * JWT批量校验器，将一批Token分组后在线程池中并行校验，校验内容同{@link JWTValidator}：
+ * <ul>
+ *     <li>算法是否一致</li>
+ *     <li>算法签名是否正确</li>
+ *     <li>字段值是否有效（例如时间未过期等），可关闭</li>
+ * </ul>
+ * 每个Token的校验结果单独返回，某个Token无效不影响其它Token。<br>
+ * 签名器须可在多线程下共用，如{@link org.miser.jwt.signers.HMacJWTSigner}和{@link org.miser.jwt.signers.AsymmetricJWTSigner}。
+ *
+ * @author Oliver
+ */
+public class JWTBatchValidator {
+
+	private final JWTSigner signer;
+	private Executor executor = ForkJoinPool.commonPool();
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+	/** 是否检查时间 */
+	private boolean validateDate = true;
+	/** 被检查的时间，{@code null}表示每批校验开始时的当前时间 */
+	private Date dateToCheck;
+	/** 容忍空间，单位：秒 */
+	private long leeway;
+
+	/**
+	 * 构造
+	 *
+	 * @param signer 用于验证算法和签名的签名器
+	 */
+	public JWTBatchValidator(JWTSigner signer) {
+		this.signer = Assert.notNull(signer, "Signer must not be null!");
+	}
+
+	/**
+	 * 设置执行校验的线程池，默认{@link ForkJoinPool#commonPool()}
+	 *
+	 * @param executor 线程池
+	 * @param parallelism 并行度，即一批Token拆分的组数，通常为线程池的线程数
+	 * @return this
+	 */
+	public JWTBatchValidator setExecutor(Executor executor, int parallelism) {
+		Assert.isTrue(parallelism > 0, "Parallelism must be positive: {}", parallelism);
+		this.executor = Assert.notNull(executor);
+		this.parallelism = parallelism;
+		return this;
+	}
+
+	/**
+	 * 设置是否检查时间，默认检查
+	 *
+	 * @param validateDate 是否检查时间
+	 * @return this
+	 */
+	public JWTBatchValidator setValidateDate(boolean validateDate) {
+		this.validateDate = validateDate;
+		return this;
+	}
+
+	/**
+	 * 设置被检查的时间
+	 *
+	 * @param dateToCheck 被检查的时间，{@code null}表示校验开始时的当前时间
+	 * @return this
+	 */
+	public JWTBatchValidator setDateToCheck(Date dateToCheck) {
+		this.dateToCheck = dateToCheck;
+		return this;
+	}
+
+	/**
+	 * 设置检查时间时的容忍空间
+	 *
+	 * @param leeway 容忍空间，单位：秒。当不能晚于当前时间时，向后容忍；不能早于向前容忍。
+	 * @return this
+	 */
+	public JWTBatchValidator setLeeway(long leeway) {
+		this.leeway = leeway;
+		return this;
+	}
+
+	/**
+	 * 并行校验一批Token
+	 *
+	 * @param tokens JWT Token列表
+	 * @return 校验结果，与Token顺序一致
+	 */
+	public List<Result> validate(Collection<String> tokens) {
+		final String[] tokenArray = tokens.toArray(new String[0]);
+		final Result[] results = new Result[tokenArray.length];
+		final Date date = (null == this.dateToCheck) ? DateUtil.date() : this.dateToCheck;
+
+		final int groupSize = Math.max(1, (tokenArray.length + parallelism - 1) / parallelism);
+		final List<CompletableFuture<Void>> futures = new ArrayList<>(parallelism);
+		for (int from = 0; from < tokenArray.length; from += groupSize) {
+			final int start = from;
+			final int end = Math.min(tokenArray.length, from + groupSize);
+			futures.add(CompletableFuture.runAsync(() -> {
+				for (int i = start; i < end; i++) {
+					results[i] = validate(tokenArray[i], date);
+				}
+			}, this.executor));
+		}
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+		return Arrays.asList(results);
+	}
+
+	/**
+	 * 校验单个Token，异常记录在结果中
+	 *
+	 * @param token       JWT Token
+	 * @param dateToCheck 被检查的时间
+	 * @return 校验结果
+	 */
+	private Result validate(String token, Date dateToCheck) {
+		JWT jwt = null;
+		try {
+			jwt = JWT.of(token);
+			final JWTValidator validator = JWTValidator.of(jwt).validateAlgorithm(this.signer);
+			if (this.validateDate) {
+				// validateDate会修改传入的时间
+				validator.validateDate(new Date(dateToCheck.getTime()), this.leeway);
+			}
+			return new Result(token, jwt, null);
+		} catch (RuntimeException e) {
+			return new Result(token, jwt, e);
+		}
+	}
+
+	/**
+	 * 单个Token的校验结果
+	 *
+	 * @author Oliver
+	 */
+	public static class Result {
+		private final String token;
+		private final JWT jwt;
+		private final RuntimeException exception;
+
+		Result(String token, JWT jwt, RuntimeException exception) {
+			this.token = token;
+			this.jwt = jwt;
+			this.exception = exception;
+		}
+
+		/**
+		 * @return JWT Token
+		 */
+		public String getToken() {
+			return token;
+		}
+
+		/**
+		 * @return 解析后的{@link JWT}，Token格式错误时为{@code null}
+		 */
+		public JWT getJwt() {
+			return jwt;
+		}
+
+		/**
+		 * @return 校验失败的异常，校验通过为{@code null}
+		 */
+		public RuntimeException getException() {
+			return exception;
+		}
+
+		/**
+		 * @return 是否校验通过
+		 */
+		public boolean isValid() {
+			return null == exception;
+		}
+
+		@Override
+		public String toString() {
+			return "Result{valid=" + isValid() + (isValid() ? "" : ", error=" + exception.getMessage()) + '}';
+		}
+	}
+}
@@ -0,0 +1,215 @@
+package org.miser.jwt;
+
+import org.miser.core.date.DateUtil;
+import org.miser.core.exceptions.ValidateException;
+import org.miser.core.lang.Assert;
+import org.miser.core.map.FixedLinkedHashMap;
+import org.miser.core.util.CharUtil;
+import org.miser.core.util.StringUtil;
+import org.miser.jwt.signers.JWTSigner;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * 已验证JWT缓存<br>
+ * 同一Token被反复校验时（如网关对每个请求校验），首次校验算法、签名和时间后缓存解析结果，
+ * 之后只需比对Token并检查缓存的{@link JWTPayload#NOT_BEFORE}、{@link JWTPayload#EXPIRES_AT}、{@link JWTPayload#ISSUED_AT}，
+ * 不再重复计算签名和解析JSON。
+ *
+ * <p>
+ * 缓存以签名部分为键，命中后仍比对完整Token，签名相同但头或载荷被篡改的Token不会命中。
+ * 缓存容量固定，超出时移除最久未使用的Token，已过期的Token在命中时移除。
+ * </p>
+ *
+ * 此对象线程安全，返回的{@link JWT}为缓存中的共享对象，调用方不应修改。
+ *
+ * @author Oliver
+ */
+public class JWTVerifyCache {
+
+	private final JWTSigner signer;
+	private final Map<String, Entry> cache;
+	/** 容忍空间，单位：秒 */
+	private long leeway;
+
+	/**
+	 * 构造
+	 *
+	 * @param signer   用于验证算法和签名的签名器
+	 * @param capacity 最多缓存的Token数
+	 */
+	public JWTVerifyCache(JWTSigner signer, int capacity) {
+		Assert.isTrue(capacity > 0, "Capacity must be positive: {}", capacity);
+		this.signer = Assert.notNull(signer, "Signer must not be null!");
+		this.cache = Collections.synchronizedMap(new FixedLinkedHashMap<>(capacity));
+	}
+
+	/**
+	 * 设置检查时间时的容忍空间
+	 *
+	 * @param leeway 容忍空间，单位：秒。当不能晚于当前时间时，向后容忍；不能早于向前容忍。
+	 * @return this
+	 */
+	public JWTVerifyCache setLeeway(long leeway) {
+		this.leeway = leeway;
+		return this;
+	}
+
+	/**
+	 * 校验Token的算法、签名和时间，校验通过返回解析后的{@link JWT}
+	 *
+	 * @param token JWT Token字符串
+	 * @return {@link JWT}，为缓存中的共享对象，不应修改
+	 * @throws ValidateException 验证失败的异常
+	 */
+	public JWT validate(String token) throws ValidateException {
+		return validate(token, DateUtil.date());
+	}
+
+	/**
+	 * 校验Token的算法、签名和时间，校验通过返回解析后的{@link JWT}
+	 *
+	 * @param token       JWT Token字符串
+	 * @param dateToCheck 被检查的时间，一般为当前时间
+	 * @return {@link JWT}，为缓存中的共享对象，不应修改
+	 * @throws ValidateException 验证失败的异常
+	 */
+	public JWT validate(String token, Date dateToCheck) throws ValidateException {
+		Assert.notBlank(token, "Token must not be blank!");
+		// 与JWTValidator一致，去掉毫秒
+		final long now = dateToCheck.getTime() / 1000 * 1000;
+		final String sign = StringUtil.subAfter(token, CharUtil.DOT, true);
+
+		Entry entry = StringUtil.isEmpty(sign) ? null : cache.get(sign);
+		if (null == entry || false == entry.token.equals(token)) {
+			entry = parseAndVerify(token);
+			if (StringUtil.isNotEmpty(sign)) {
+				cache.put(sign, entry);
+			}
+		}
+
+		try {
+			entry.validateDate(now, this.leeway * 1000);
+		} catch (ValidateException e) {
+			if (entry.isExpired(now, this.leeway * 1000)) {
+				cache.remove(sign);
+			}
+			throw e;
+		}
+		return entry.jwt;
+	}
+
+	/**
+	 * 检查Token的算法、签名和时间是否有效
+	 *
+	 * @param token JWT Token字符串
+	 * @return 是否有效
+	 */
+	public boolean verify(String token) {
+		return verify(token, DateUtil.date());
+	}
+
+	/**
+	 * 检查Token的算法、签名和时间是否有效
+	 *
+	 * @param token       JWT Token字符串
+	 * @param dateToCheck 被检查的时间，一般为当前时间
+	 * @return 是否有效
+	 */
+	public boolean verify(String token, Date dateToCheck) {
+		try {
+			validate(token, dateToCheck);
+			return true;
+		} catch (ValidateException | JWTException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * @return 缓存的Token数
+	 */
+	public int size() {
+		return cache.size();
+	}
+
+	/**
+	 * 清空缓存，例如更换密钥后
+	 */
+	public void clear() {
+		cache.clear();
+	}
+
+	/**
+	 * 解析Token，验证算法和签名
+	 *
+	 * @param token JWT Token字符串
+	 * @return 缓存项
+	 * @throws ValidateException 验证失败的异常
+	 */
+	private Entry parseAndVerify(String token) throws ValidateException {
+		final JWT jwt = JWT.of(token);
+		JWTValidator.of(jwt).validateAlgorithm(this.signer);
+		return new Entry(token, jwt);
+	}
+
+	/**
+	 * 缓存项，保存解析后的{@link JWT}及时间声明的毫秒数
+	 *
+	 * @author Oliver
+	 */
+	private static class Entry {
+		private final String token;
+		private final JWT jwt;
+		private final Long notBefore;
+		private final Long expiresAt;
+		private final Long issuedAt;
+
+		Entry(String token, JWT jwt) {
+			this.token = token;
+			this.jwt = jwt;
+			this.notBefore = getTime(jwt, JWTPayload.NOT_BEFORE);
+			this.expiresAt = getTime(jwt, JWTPayload.EXPIRES_AT);
+			this.issuedAt = getTime(jwt, JWTPayload.ISSUED_AT);
+		}
+
+		/**
+		 * 检查时间声明，规则同{@link JWTValidator#validateDate(Date, long)}
+		 *
+		 * @param now    当前时间毫秒数
+		 * @param leeway 容忍空间，单位：毫秒
+		 * @throws ValidateException 验证失败的异常
+		 */
+		void validateDate(long now, long leeway) throws ValidateException {
+			if (null != notBefore && notBefore > now + leeway) {
+				throw new ValidateException("'{}':[{}] is after now:[{}]", JWTPayload.NOT_BEFORE, DateUtil.date(notBefore),
+						DateUtil.date(now));
+			}
+			if (isExpired(now, leeway)) {
+				throw new ValidateException("'{}':[{}] is before now:[{}]", JWTPayload.EXPIRES_AT, DateUtil.date(expiresAt),
+						DateUtil.date(now));
+			}
+			if (null != issuedAt && issuedAt > now + leeway) {
+				throw new ValidateException("'{}':[{}] is after now:[{}]", JWTPayload.ISSUED_AT, DateUtil.date(issuedAt),
+						DateUtil.date(now));
+			}
+		}
+
+		/**
+		 * 是否已过期
+		 *
+		 * @param now    当前时间毫秒数
+		 * @param leeway 容忍空间，单位：毫秒
+		 * @return 是否已过期
+		 */
+		boolean isExpired(long now, long leeway) {
+			return null != expiresAt && expiresAt < now - leeway;
+		}
+
+		private static Long getTime(JWT jwt, String name) {
+			final Date date = jwt.getPayload().getClaimsJson().getDate(name);
+			return null == date ? null : date.getTime();
+		}
+	}
+}
@@ -1,18 +1,25 @@
 package org.miser.jwt.signers;
 
 import org.miser.core.codec.Base64;
+import org.miser.core.util.CharUtil;
 import org.miser.core.util.CharsetUtil;
 import org.miser.core.util.StringUtil;
+import org.miser.crypto.CryptoException;
+import org.miser.crypto.SecureUtil;
 import org.miser.crypto.asymmetric.Sign;
 
 import java.nio.charset.Charset;
+import java.security.InvalidKeyException;
 import java.security.Key;
 import java.security.KeyPair;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
 
 /**
- * 非对称加密JWT签名封装
+ * 非对称加密JWT签名封装<br>
+ * 验签时每个线程使用独立的{@link Signature}，多线程下并行验签互不阻塞
  *
  * @author Oliver
  * 
@@ -21,6 +28,10 @@ public class AsymmetricJWTSigner implements JWTSigner {
 
 	private Charset charset = CharsetUtil.CHARSET_UTF_8;
 	private final Sign sign;
+	/**
+	 * 每个线程的验签{@link Signature}，已使用公钥初始化
+	 */
+	private final ThreadLocal<Signature> verifier = ThreadLocal.withInitial(this::createVerifier);
 
 	/**
 	 * 构造
@@ -62,9 +73,16 @@ public class AsymmetricJWTSigner implements JWTSigner {
 
 	@Override
 	public boolean verify(String headerBase64, String payloadBase64, String signBase64) {
-		return sign.verify(
-				StringUtil.bytes(StringUtil.format("{}.{}", headerBase64, payloadBase64), charset),
-				Base64.decode(signBase64));
+		final Signature signature = verifier.get();
+		try {
+			// verify后Signature自动回到initVerify后的状态，可直接复用
+			signature.update(StringUtil.bytes(headerBase64 + CharUtil.DOT + payloadBase64, charset));
+			return signature.verify(Base64.decode(signBase64));
+		} catch (SignatureException e) {
+			// 签名格式错误等异常后状态不确定，丢弃此线程的Signature
+			verifier.remove();
+			return false;
+		}
 	}
 
 	@Override
@@ -72,4 +90,22 @@ public class AsymmetricJWTSigner implements JWTSigner {
 		return this.sign.getSignature().getAlgorithm();
 	}
 
+	/**
+	 * 创建使用公钥初始化的验签{@link Signature}
+	 *
+	 * @return {@link Signature}
+	 */
+	private Signature createVerifier() {
+		final PublicKey publicKey = this.sign.getPublicKey();
+		if (null == publicKey) {
+			throw new CryptoException("Public key is required for verify!");
+		}
+		final Signature signature = SecureUtil.createSignature(getAlgorithm());
+		try {
+			signature.initVerify(publicKey);
+		} catch (InvalidKeyException e) {
+			throw new CryptoException(e);
+		}
+		return signature;
+	}
 }
@@ -1,20 +1,43 @@
 package org.miser.jwt.signers;
 
+import org.miser.core.codec.Base64;
+import org.miser.core.util.CharUtil;
 import org.miser.core.util.CharsetUtil;
 import org.miser.core.util.StringUtil;
 import org.miser.crypto.digest.HMac;
 
+import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.Charset;
 import java.security.Key;
+import java.util.Arrays;
 
 /**
- * HMac算法签名实现
+ * HMac算法签名实现<br>
+ * 内部使用池化的{@link HMac}，可在多线程下共用
  *
  * @author Oliver
  * 
  */
 public class HMacJWTSigner implements JWTSigner {
 
+	/**
+	 * Base64URL字符到6位值的对应表，非法字符为-1
+	 */
+	private static final byte[] URL_SAFE_DECODE_TABLE = new byte[128];
+
+	static {
+		Arrays.fill(URL_SAFE_DECODE_TABLE, (byte) -1);
+		final String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+		for (int i = 0; i < alphabet.length(); i++) {
+			URL_SAFE_DECODE_TABLE[alphabet.charAt(i)] = (byte) i;
+		}
+	}
+
+	/**
+	 * {@link HMac}池中保留的最大空闲引擎数
+	 */
+	private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
 	private Charset charset = CharsetUtil.CHARSET_UTF_8;
 	private final HMac hMac;
 
@@ -25,7 +48,7 @@ public class HMacJWTSigner implements JWTSigner {
 	 * @param key       密钥
 	 */
 	public HMacJWTSigner(String algorithm, byte[] key) {
-		this.hMac = new HMac(algorithm, key);
+		this(algorithm, new SecretKeySpec(key, algorithm));
 	}
 
 	/**
@@ -35,7 +58,7 @@ public class HMacJWTSigner implements JWTSigner {
 	 * @param key       密钥
 	 */
 	public HMacJWTSigner(String algorithm, Key key) {
-		this.hMac = new HMac(algorithm, key);
+		this.hMac = new HMac(algorithm, key, POOL_SIZE);
 	}
 
 	/**
@@ -51,19 +74,73 @@ public class HMacJWTSigner implements JWTSigner {
 
 	@Override
 	public String sign(String headerBase64, String payloadBase64) {
-		return hMac.digestBase64(StringUtil.format("{}.{}", headerBase64, payloadBase64), charset, true);
+		return Base64.encodeUrlSafe(hMac.digest(signingInput(headerBase64, payloadBase64)));
 	}
 
+	/**
+	 * 验签<br>
+	 * 直接解码签名的Base64URL为原始字节，与计算出的MAC按字节常量时间比较，非规范的Base64URL编码视为签名不一致
+	 *
+	 * @param headerBase64  JWT头的JSON字符串Base64表示
+	 * @param payloadBase64 JWT载荷的JSON字符串Base64表示
+	 * @param signBase64    被验证的签名Base64表示
+	 * @return 签名是否一致
+	 */
 	@Override
 	public boolean verify(String headerBase64, String payloadBase64, String signBase64) {
-		final String sign = sign(headerBase64, payloadBase64);
-		return hMac.verify(
-				StringUtil.bytes(sign, charset),
-				StringUtil.bytes(signBase64, charset));
+		final byte[] sign = decodeSign(signBase64, hMac.getMacLength());
+		if (null == sign) {
+			return false;
+		}
+		return hMac.verify(hMac.digest(signingInput(headerBase64, payloadBase64)), sign);
 	}
 
 	@Override
 	public String getAlgorithm() {
 		return this.hMac.getAlgorithm();
 	}
+
+	/**
+	 * 生成被签名的数据，即：header.payload
+	 *
+	 * @param headerBase64  JWT头的JSON字符串Base64表示
+	 * @param payloadBase64 JWT载荷的JSON字符串Base64表示
+	 * @return 被签名的数据
+	 */
+	private byte[] signingInput(String headerBase64, String payloadBase64) {
+		return StringUtil.bytes(headerBase64 + CharUtil.DOT + payloadBase64, charset);
+	}
+
+	/**
+	 * 严格解码无填充的Base64URL签名，长度不符、含非法字符或末尾未使用位不为0时返回{@code null}
+	 *
+	 * @param signBase64 签名Base64URL表示
+	 * @param length     签名字节长度
+	 * @return 签名bytes，非规范编码返回{@code null}
+	 */
+	private static byte[] decodeSign(String signBase64, int length) {
+		if (null == signBase64 || signBase64.length() != (length * 4 + 2) / 3) {
+			return null;
+		}
+		final byte[] result = new byte[length];
+		int bits = 0;
+		int bitCount = 0;
+		int index = 0;
+		for (int i = 0; i < signBase64.length(); i++) {
+			final char c = signBase64.charAt(i);
+			final int value = (c < URL_SAFE_DECODE_TABLE.length) ? URL_SAFE_DECODE_TABLE[c] : -1;
+			if (value < 0) {
+				return null;
+			}
+			bits = (bits << 6) | value;
+			bitCount += 6;
+			if (bitCount >= 8) {
+				bitCount -= 8;
+				result[index++] = (byte) (bits >> bitCount);
+				bits &= (1 << bitCount) - 1;
+			}
+		}
+		// 末尾未使用的位不为0说明是非规范编码
+		return (0 == bits) ? result : null;
+	}
 }
@@ -0,0 +1,76 @@
+package org.miser.jwt;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.miser.core.date.DateUtil;
+import org.miser.core.exceptions.ValidateException;
+import org.miser.crypto.KeyUtil;
+import org.miser.jwt.signers.AlgorithmUtil;
+import org.miser.jwt.signers.JWTSigner;
+import org.miser.jwt.signers.JWTSignerUtil;
+
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class JWTBatchValidatorTest {
+
+	@Test
+	public void rs256Test() {
+		final KeyPair keyPair = KeyUtil.generateKeyPair(AlgorithmUtil.getAlgorithm("RS256"));
+		final JWTSigner signer = JWTSignerUtil.rs256(keyPair.getPrivate());
+		final JWTSigner verifier = JWTSignerUtil.rs256(keyPair.getPublic());
+
+		final List<String> tokens = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			final JWT jwt = JWT.create().setPayload("id", i);
+			if (i % 10 == 3) {
+				jwt.setExpiresAt(DateUtil.yesterday());
+			}
+			String token = jwt.sign(signer);
+			if (i % 10 == 7) {
+				// 篡改签名
+				token = token.substring(0, token.length() - 4) + (token.endsWith("AAAA") ? "BBBB" : "AAAA");
+			}
+			tokens.add(token);
+		}
+		tokens.add("not a token");
+
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final List<JWTBatchValidator.Result> results = new JWTBatchValidator(verifier).setExecutor(executor, 4).validate(tokens);
+			Assert.assertEquals(tokens.size(), results.size());
+			for (int i = 0; i < 200; i++) {
+				final JWTBatchValidator.Result result = results.get(i);
+				Assert.assertEquals(tokens.get(i), result.getToken());
+				Assert.assertEquals(i, result.getJwt().getPayload("id"));
+				if (i % 10 == 3 || i % 10 == 7) {
+					Assert.assertFalse(result.isValid());
+					Assert.assertTrue(result.getException() instanceof ValidateException);
+				} else {
+					Assert.assertTrue(result.toString(), result.isValid());
+				}
+			}
+			Assert.assertFalse(results.get(200).isValid());
+			Assert.assertNull(results.get(200).getJwt());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void hs256WithoutDateTest() {
+		final JWTSigner signer = JWTSignerUtil.hs256("123456".getBytes());
+		final List<String> tokens = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			tokens.add(JWT.create().setPayload("id", i).setExpiresAt(DateUtil.yesterday()).sign(signer));
+		}
+		final List<JWTBatchValidator.Result> results = new JWTBatchValidator(signer).setValidateDate(false).validate(tokens);
+		for (JWTBatchValidator.Result result : results) {
+			Assert.assertTrue(result.isValid());
+		}
+		Assert.assertFalse(new JWTBatchValidator(signer).validate(tokens).get(0).isValid());
+	}
+}
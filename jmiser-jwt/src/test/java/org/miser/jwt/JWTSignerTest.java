@@ -109,6 +109,22 @@ public class JWTSignerTest {
 		signAndVerify(signer);
 	}
 
+	@Test
+	public void hs256NonCanonicalSignTest(){
+		final JWTSigner signer = JWTSignerUtil.hs256("123456".getBytes());
+		final String token = JWT.create().setPayload("sub", "1234567890").sign(signer);
+		final String[] parts = token.split("\\.");
+		Assert.assertTrue(signer.verify(parts[0], parts[1], parts[2]));
+
+		// 带填充、截断及末尾未使用位不为0的签名均视为不一致
+		Assert.assertFalse(signer.verify(parts[0], parts[1], parts[2] + "="));
+		Assert.assertFalse(signer.verify(parts[0], parts[1], parts[2].substring(1)));
+		final char last = parts[2].charAt(parts[2].length() - 1);
+		final String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+		final char nonCanonical = alphabet.charAt(alphabet.indexOf(last) | 1);
+		Assert.assertFalse(signer.verify(parts[0], parts[1], parts[2].substring(0, parts[2].length() - 1) + nonCanonical));
+	}
+
 	private static void signAndVerify(JWTSigner signer){
 		JWT jwt = JWT.create()
 				.setPayload("sub", "1234567890")
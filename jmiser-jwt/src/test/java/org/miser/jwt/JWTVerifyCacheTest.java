@@ -0,0 +1,80 @@
+package org.miser.jwt;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.miser.core.date.DateUtil;
+import org.miser.core.exceptions.ValidateException;
+import org.miser.jwt.signers.JWTSigner;
+import org.miser.jwt.signers.JWTSignerUtil;
+
+import java.util.Date;
+
+public class JWTVerifyCacheTest {
+
+	private final JWTSigner signer = JWTSignerUtil.hs256("123456".getBytes());
+
+	@Test
+	public void validateTest() {
+		final JWTVerifyCache cache = new JWTVerifyCache(signer, 2);
+		final String token = JWT.create()
+				.setPayload("sub", "1234567890")
+				.setExpiresAt(DateUtil.tomorrow())
+				.sign(signer);
+
+		final JWT jwt = cache.validate(token);
+		Assert.assertEquals("1234567890", jwt.getPayload("sub"));
+		Assert.assertEquals(1, cache.size());
+		// 命中缓存返回同一对象
+		Assert.assertSame(jwt, cache.validate(token));
+	}
+
+	@Test
+	public void tamperedTest() {
+		final JWTVerifyCache cache = new JWTVerifyCache(signer, 2);
+		final String token = JWT.create().setPayload("admin", false).sign(signer);
+		Assert.assertTrue(cache.verify(token));
+
+		// 签名相同但载荷被篡改
+		final String[] parts = token.split("\\.");
+		final String tampered = JWT.create().setPayload("admin", true).sign(signer).split("\\.")[1];
+		Assert.assertFalse(cache.verify(parts[0] + "." + tampered + "." + parts[2]));
+		Assert.assertTrue(cache.verify(token));
+		Assert.assertFalse(cache.verify(token + "x"));
+	}
+
+	@Test
+	public void expiresTest() {
+		final JWTVerifyCache cache = new JWTVerifyCache(signer, 2);
+		final Date now = DateUtil.date();
+		final String token = JWT.create()
+				.setNotBefore(DateUtil.offsetSecond(now, 10))
+				.setExpiresAt(DateUtil.offsetSecond(now, 60))
+				.sign(signer);
+
+		Assert.assertFalse(cache.verify(token, now));
+		Assert.assertTrue(cache.verify(token, DateUtil.offsetSecond(now, 30)));
+		// 过期后从缓存中移除
+		Assert.assertEquals(1, cache.size());
+		Assert.assertFalse(cache.verify(token, DateUtil.offsetSecond(now, 120)));
+		Assert.assertEquals(0, cache.size());
+
+		// 容忍空间
+		cache.setLeeway(100);
+		Assert.assertTrue(cache.verify(token, DateUtil.offsetSecond(now, 120)));
+	}
+
+	@Test
+	public void capacityTest() {
+		final JWTVerifyCache cache = new JWTVerifyCache(signer, 2);
+		for (int i = 0; i < 5; i++) {
+			Assert.assertTrue(cache.verify(JWT.create().setPayload("id", i).sign(signer)));
+		}
+		Assert.assertEquals(2, cache.size());
+	}
+
+	@Test(expected = ValidateException.class)
+	public void algorithmTest() {
+		final String token = JWT.create().setPayload("sub", "1234567890").sign(JWTSignerUtil.hs512("123456".getBytes()));
+		new JWTVerifyCache(signer, 2).validate(token);
+	}
+}